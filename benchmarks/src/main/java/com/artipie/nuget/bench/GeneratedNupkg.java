@@ -0,0 +1,84 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+
+package com.artipie.nuget.bench;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Minimal .nupkg package generated in memory.
+ *
+ * @since 0.8
+ */
+public final class GeneratedNupkg {
+
+    /**
+     * Package id.
+     */
+    private final String id;
+
+    /**
+     * Package version.
+     */
+    private final String version;
+
+    /**
+     * Ctor.
+     *
+     * @param id Package id.
+     * @param version Package version.
+     */
+    public GeneratedNupkg(final String id, final String version) {
+        this.id = id;
+        this.version = version;
+    }
+
+    /**
+     * Package .nuspec description.
+     *
+     * @return Nuspec bytes.
+     */
+    public byte[] nuspec() {
+        return String.join(
+            "",
+            "<?xml version=\"1.0\" encoding=\"utf-8\"?>",
+            "<package xmlns=\"http://schemas.microsoft.com/packaging/2013/05/nuspec.xsd\">",
+            "<metadata>",
+            String.format("<id>%s</id>", this.id),
+            String.format("<version>%s</version>", this.version),
+            String.format("<title>%s</title>", this.id),
+            "<authors>Artipie</authors>",
+            String.format("<description>Generated package %s</description>", this.id),
+            "<tags>artipie benchmark generated</tags>",
+            "</metadata>",
+            "</package>"
+        ).getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Package binary content.
+     *
+     * @return Nupkg bytes.
+     */
+    public byte[] bytes() {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(out)) {
+            zip.putNextEntry(new ZipEntry(String.format("%s.nuspec", this.id)));
+            zip.write(this.nuspec());
+            zip.closeEntry();
+            zip.putNextEntry(new ZipEntry(String.format("lib/netstandard2.0/%s.dll", this.id)));
+            zip.write(new byte[1024]);
+            zip.closeEntry();
+        } catch (final IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,245 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+
+package com.artipie.nuget.bench;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Storage;
+import com.artipie.asto.fs.FileStorage;
+import com.artipie.asto.memory.InMemoryStorage;
+import com.artipie.nuget.AstoRepository;
+import com.artipie.nuget.Repository;
+import com.artipie.nuget.http.NuGet;
+import com.artipie.nuget.perf.Latency;
+import com.artipie.nuget.perf.SimulatedStorage;
+import com.artipie.vertx.VertxSliceServer;
+import io.vertx.reactivex.core.Vertx;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * End-to-end HTTP benchmark of {@link NuGet} slice served by vertx server,
+ * the same way it is served in integration tests.
+ * Storage can simulate S3-like latency to see effect of storage round-trips.
+ * Restore threads read service index, registration, flat container versions
+ * and download package, publish threads push new packages at the same time.
+ * Throughput mode reports operations per second, sample time mode reports
+ * latency percentiles (p0.50, p0.99, p0.999), `-prof gc` reports allocation rate
+ * of the whole JVM including server.
+ *
+ * @since 0.8
+ * @checkstyle DesignForExtensionCheck (500 lines)
+ * @checkstyle JavadocMethodCheck (500 lines)
+ * @checkstyle VisibilityModifierCheck (500 lines)
+ * @checkstyle MagicNumberCheck (500 lines)
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
+ * @checkstyle ClassFanOutComplexityCheck (500 lines)
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class HttpBench {
+
+    /**
+     * Number of packages in repository.
+     */
+    private static final int PACKAGES = 100;
+
+    /**
+     * Number of versions of each package.
+     */
+    private static final int VERSIONS = 10;
+
+    /**
+     * Format of stored package version.
+     */
+    private static final String VERSION = "1.0.%d";
+
+    /**
+     * Storage implementation: in memory, file, or in memory storage
+     * with simulated S3-like latency, bandwidth and concurrency limits.
+     */
+    @Param({"memory", "file", "s3"})
+    public String storage;
+
+    /**
+     * Vertx instance.
+     */
+    private Vertx vertx;
+
+    /**
+     * Server.
+     */
+    private VertxSliceServer server;
+
+    /**
+     * Storage directory for file storage.
+     */
+    private Path dir;
+
+    /**
+     * HTTP client.
+     */
+    private LocalClient client;
+
+    /**
+     * Counter for unique ids of pushed packages.
+     */
+    private AtomicLong counter;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        this.dir = Files.createTempDirectory("nuget-bench");
+        final Storage asto;
+        if ("file".equals(this.storage)) {
+            asto = new FileStorage(this.dir);
+        } else {
+            asto = new InMemoryStorage();
+        }
+        final Repository preload = new AstoRepository(asto);
+        for (int pkg = 0; pkg < HttpBench.PACKAGES; pkg += 1) {
+            for (int ver = 0; ver < HttpBench.VERSIONS; ver += 1) {
+                preload.add(
+                    new Content.From(
+                        new GeneratedNupkg(
+                            String.format("Bench.Package%d", pkg),
+                            String.format(HttpBench.VERSION, ver)
+                        ).bytes()
+                    )
+                ).toCompletableFuture().join();
+            }
+        }
+        final Repository repository = this.served(asto, preload);
+        final int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        final String base = String.format("http://localhost:%d", port);
+        this.vertx = Vertx.vertx();
+        this.server = new VertxSliceServer(
+            this.vertx, new NuGet(new URL(base), repository), port
+        );
+        this.server.start();
+        this.client = new LocalClient(base);
+        this.counter = new AtomicLong();
+    }
+
+    @TearDown(Level.Trial)
+    public void teardown() throws IOException {
+        this.server.stop();
+        this.vertx.close();
+        try (Stream<Path> files = Files.walk(this.dir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    @Group("mix")
+    @GroupThreads(6)
+    public void restore(final Blackhole bhole) {
+        final String id = String.format(
+            "bench.package%d", ThreadLocalRandom.current().nextInt(HttpBench.PACKAGES)
+        );
+        final String version = String.format(
+            HttpBench.VERSION, ThreadLocalRandom.current().nextInt(HttpBench.VERSIONS)
+        );
+        bhole.consume(this.client.get("/index.json"));
+        bhole.consume(this.client.get(String.format("/registrations/%s/index.json", id)));
+        bhole.consume(this.client.get(String.format("/content/%s/index.json", id)));
+        bhole.consume(
+            this.client.get(
+                String.format("/content/%s/%s/%s.%s.nupkg", id, version, id, version)
+            )
+        );
+    }
+
+    @Benchmark
+    @Group("mix")
+    @GroupThreads(2)
+    public void publish() {
+        this.client.push(
+            "/package",
+            new GeneratedNupkg(
+                String.format("Bench.Pushed%d", this.counter.incrementAndGet()), "1.0.0"
+            ).bytes()
+        );
+    }
+
+    /**
+     * Main.
+     *
+     * @param args CLI args
+     * @throws RunnerException On benchmark failure
+     */
+    public static void main(final String... args) throws RunnerException {
+        new Runner(
+            new OptionsBuilder()
+                .include(HttpBench.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()
+        ).run();
+    }
+
+    /**
+     * Repository serving requests.
+     *
+     * @param asto Storage with preloaded packages.
+     * @param preload Repository used to preload packages.
+     * @return Repository over storage with simulated latency for S3 mode,
+     *  preload repository otherwise.
+     */
+    private Repository served(final Storage asto, final Repository preload) {
+        final Repository repository;
+        if ("s3".equals(this.storage)) {
+            final Map<SimulatedStorage.Operation, Latency> latencies =
+                new EnumMap<>(SimulatedStorage.Operation.class);
+            for (final SimulatedStorage.Operation kind : SimulatedStorage.Operation.values()) {
+                latencies.put(
+                    kind, new Latency.LogNormal(Duration.ofMillis(20), Duration.ofMillis(150))
+                );
+            }
+            repository = new AstoRepository(
+                new SimulatedStorage(asto, latencies, 100L * 1024 * 1024, 64)
+            );
+        } else {
+            repository = preload;
+        }
+        return repository;
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+
+package com.artipie.nuget.bench;
+
+import com.google.common.io.ByteStreams;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Minimal blocking HTTP client for benchmarks, based on {@link HttpURLConnection}
+ * which keeps connections alive between requests.
+ *
+ * @since 0.8
+ */
+public final class LocalClient {
+
+    /**
+     * Multipart boundary.
+     */
+    private static final String BOUNDARY = "artipie-bench-boundary";
+
+    /**
+     * Base URL.
+     */
+    private final String base;
+
+    /**
+     * Ctor.
+     *
+     * @param base Base URL.
+     */
+    public LocalClient(final String base) {
+        this.base = base;
+    }
+
+    /**
+     * Send GET request and read response body.
+     *
+     * @param path Request path.
+     * @return Response body.
+     * @throws IllegalStateException If response status is not 200.
+     */
+    public byte[] get(final String path) {
+        try {
+            final HttpURLConnection conn = this.open(path);
+            LocalClient.check(conn, HttpURLConnection.HTTP_OK);
+            try (InputStream input = conn.getInputStream()) {
+                return ByteStreams.toByteArray(input);
+            }
+        } catch (final IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Push package with multipart PUT request.
+     *
+     * @param path Request path.
+     * @param nupkg Package binary content.
+     * @throws IllegalStateException If response status is not 201.
+     */
+    public void push(final String path, final byte[] nupkg) {
+        try {
+            final HttpURLConnection conn = this.open(path);
+            conn.setRequestMethod("PUT");
+            conn.setDoOutput(true);
+            conn.setRequestProperty(
+                "Content-Type",
+                String.format("multipart/form-data; boundary=%s", LocalClient.BOUNDARY)
+            );
+            final byte[] body = LocalClient.multipart(nupkg);
+            conn.setFixedLengthStreamingMode(body.length);
+            try (OutputStream out = conn.getOutputStream()) {
+                out.write(body);
+            }
+            LocalClient.check(conn, HttpURLConnection.HTTP_CREATED);
+            try (InputStream input = conn.getInputStream()) {
+                ByteStreams.exhaust(input);
+            }
+        } catch (final IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Open connection.
+     *
+     * @param path Request path.
+     * @return Connection.
+     * @throws IOException On error.
+     */
+    private HttpURLConnection open(final String path) throws IOException {
+        return (HttpURLConnection) new URL(String.format("%s%s", this.base, path))
+            .openConnection();
+    }
+
+    /**
+     * Check response status.
+     *
+     * @param conn Connection.
+     * @param expected Expected status.
+     * @throws IOException On error.
+     */
+    private static void check(final HttpURLConnection conn, final int expected)
+        throws IOException {
+        final int status = conn.getResponseCode();
+        if (status != expected) {
+            final InputStream err = conn.getErrorStream();
+            if (err != null) {
+                err.close();
+            }
+            throw new IllegalStateException(
+                String.format("Unexpected status %d for %s", status, conn.getURL())
+            );
+        }
+    }
+
+    /**
+     * Build multipart body with single package part.
+     *
+     * @param nupkg Package binary content.
+     * @return Body bytes.
+     * @throws IOException On error.
+     */
+    private static byte[] multipart(final byte[] nupkg) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(
+            String.join(
+                "\r\n",
+                String.format("--%s", LocalClient.BOUNDARY),
+                "Content-Disposition: form-data; name=\"package\"; filename=\"package.nupkg\"",
+                "Content-Type: application/octet-stream",
+                "",
+                ""
+            ).getBytes(StandardCharsets.US_ASCII)
+        );
+        out.write(nupkg);
+        out.write(
+            String.format("\r\n--%s--\r\n", LocalClient.BOUNDARY)
+                .getBytes(StandardCharsets.US_ASCII)
+        );
+        return out.toByteArray();
+    }
+}
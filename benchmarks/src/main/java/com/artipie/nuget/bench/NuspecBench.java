@@ -0,0 +1,107 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+
+package com.artipie.nuget.bench;
+
+import com.artipie.nuget.metadata.Nuspec;
+import com.artipie.nuget.metadata.OptFieldName;
+import com.google.common.io.ByteStreams;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Benchmark for {@link Nuspec.Xml} parsing and field extraction
+ * on nuspec files of published packages.
+ * Run with `-prof gc` to see allocation per operation.
+ *
+ * @since 0.8
+ * @checkstyle DesignForExtensionCheck (500 lines)
+ * @checkstyle JavadocMethodCheck (500 lines)
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class NuspecBench {
+
+    /**
+     * Newtonsoft.Json package nuspec.
+     */
+    private byte[] newtonsoft;
+
+    /**
+     * Nuspec with dependency groups.
+     */
+    private byte[] deps;
+
+    @Setup
+    public void setup() throws IOException {
+        this.newtonsoft = NuspecBench.resource("nuspec/newtonsoft.json.nuspec");
+        this.deps = NuspecBench.resource("nuspec/deps-format.nuspec");
+    }
+
+    @Benchmark
+    public void fields(final Blackhole bhole) {
+        final Nuspec nuspec = new Nuspec.Xml(this.newtonsoft);
+        bhole.consume(nuspec.id().normalized());
+        bhole.consume(nuspec.version().normalized());
+        bhole.consume(nuspec.description());
+        bhole.consume(nuspec.authors());
+        bhole.consume(nuspec.fieldByName(OptFieldName.TAGS));
+    }
+
+    @Benchmark
+    public void dependencies(final Blackhole bhole) {
+        bhole.consume(new Nuspec.Xml(this.deps).dependencies());
+    }
+
+    /**
+     * Main.
+     *
+     * @param args CLI args
+     * @throws RunnerException On benchmark failure
+     */
+    public static void main(final String... args) throws RunnerException {
+        new Runner(
+            new OptionsBuilder()
+                .include(NuspecBench.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()
+        ).run();
+    }
+
+    /**
+     * Read resource.
+     *
+     * @param name Resource name.
+     * @return Resource bytes.
+     * @throws IOException On error.
+     */
+    private static byte[] resource(final String name) throws IOException {
+        try (InputStream input = Thread.currentThread().getContextClassLoader()
+            .getResourceAsStream(name)) {
+            return ByteStreams.toByteArray(input);
+        }
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+
+package com.artipie.nuget.bench;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.memory.InMemoryStorage;
+import com.artipie.nuget.AstoRepository;
+import com.artipie.nuget.BlockingRepository;
+import com.artipie.nuget.PackageIdentity;
+import com.artipie.nuget.PackageKeys;
+import com.artipie.nuget.Repository;
+import com.artipie.nuget.metadata.NuspecField;
+import com.artipie.nuget.metadata.PackageId;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Benchmark for {@link Repository} implementations:
+ * {@link AstoRepository} chains of completion stages
+ * against {@link BlockingRepository} blocking calls.
+ * Run with `-prof gc` to compare allocation rate.
+ *
+ * @since 0.8
+ * @checkstyle DesignForExtensionCheck (500 lines)
+ * @checkstyle JavadocMethodCheck (500 lines)
+ * @checkstyle VisibilityModifierCheck (500 lines)
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Threads(4)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class RepositoryBench {
+
+    /**
+     * Number of packages in repository.
+     */
+    private static final int PACKAGES = 100;
+
+    /**
+     * Number of versions of each package.
+     */
+    private static final int VERSIONS = 20;
+
+    /**
+     * Repository implementation.
+     */
+    @Param({"async", "blocking"})
+    public String mode;
+
+    /**
+     * Repository to benchmark.
+     */
+    private Repository repository;
+
+    /**
+     * Counter for unique ids of added packages,
+     * so concurrent additions do not compete for same package lock.
+     */
+    private AtomicLong counter;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        final InMemoryStorage storage = new InMemoryStorage();
+        if ("blocking".equals(this.mode)) {
+            this.repository = new BlockingRepository(storage);
+        } else {
+            this.repository = new AstoRepository(storage);
+        }
+        this.counter = new AtomicLong();
+        for (int pkg = 0; pkg < RepositoryBench.PACKAGES; pkg += 1) {
+            for (int ver = 0; ver < RepositoryBench.VERSIONS; ver += 1) {
+                this.repository.add(
+                    new Content.From(
+                        new GeneratedNupkg(
+                            String.format("Bench.Package%d", pkg),
+                            String.format("1.0.%d", ver)
+                        ).bytes()
+                    )
+                ).toCompletableFuture().join();
+            }
+        }
+    }
+
+    @Benchmark
+    public void add() {
+        this.repository.add(
+            new Content.From(
+                new GeneratedNupkg(
+                    String.format("Bench.Added%d", this.counter.incrementAndGet()),
+                    "2.0.0"
+                ).bytes()
+            )
+        ).toCompletableFuture().join();
+    }
+
+    @Benchmark
+    public void metadata(final Blackhole bhole) {
+        final NuspecField id = new PackageId(
+            String.format(
+                "Bench.Package%d",
+                ThreadLocalRandom.current().nextInt(RepositoryBench.PACKAGES)
+            )
+        );
+        for (final NuspecField version
+            : this.repository.versions(new PackageKeys(id)).toCompletableFuture().join().all()) {
+            bhole.consume(
+                this.repository.nuspec(new PackageIdentity(id, version))
+                    .toCompletableFuture().join()
+            );
+        }
+    }
+
+    /**
+     * Main.
+     *
+     * @param args CLI args
+     * @throws RunnerException On benchmark failure
+     */
+    public static void main(final String... args) throws RunnerException {
+        new Runner(
+            new OptionsBuilder()
+                .include(RepositoryBench.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()
+        ).run();
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+
+package com.artipie.nuget.bench;
+
+import com.artipie.nuget.metadata.Version;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Benchmark for {@link Version} normalization and ordering
+ * on mix of release, pre-release and non-normalized versions.
+ * Run with `-prof gc` to see allocation per operation.
+ *
+ * @since 0.8
+ * @checkstyle DesignForExtensionCheck (500 lines)
+ * @checkstyle JavadocMethodCheck (500 lines)
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+@SuppressWarnings("PMD.AvoidUsingHardCodedIP")
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class VersionBench {
+
+    /**
+     * Raw versions.
+     */
+    private static final String[] RAW = {
+        "1.0",
+        "1.0.0.0",
+        "12.0.3",
+        "01.002.0003",
+        "4.5.6.7",
+        "2.0.0-beta.1",
+        "2.0.0-beta.10+build.5",
+        "1.0.0-rc.1",
+        "3.1.0-preview1.19506.1",
+        "6.0.0-alpha-1",
+    };
+
+    /**
+     * Raw versions to parse.
+     */
+    private String[] raw;
+
+    /**
+     * Parsed versions.
+     */
+    private Version[] versions;
+
+    @Setup
+    public void setup() {
+        this.raw = VersionBench.RAW.clone();
+        this.versions = new Version[VersionBench.RAW.length];
+        for (int idx = 0; idx < VersionBench.RAW.length; idx += 1) {
+            this.versions[idx] = new Version(VersionBench.RAW[idx]);
+        }
+    }
+
+    @Benchmark
+    public void normalized(final Blackhole bhole) {
+        for (final String value : this.raw) {
+            bhole.consume(new Version(value).normalized());
+        }
+    }
+
+    @Benchmark
+    public void compareTo(final Blackhole bhole) {
+        for (final Version left : this.versions) {
+            for (final Version right : this.versions) {
+                bhole.consume(left.compareTo(right));
+            }
+        }
+    }
+
+    /**
+     * Main.
+     *
+     * @param args CLI args
+     * @throws RunnerException On benchmark failure
+     */
+    public static void main(final String... args) throws RunnerException {
+        new Runner(
+            new OptionsBuilder()
+                .include(VersionBench.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()
+        ).run();
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+
+package com.artipie.nuget.bench;
+
+import com.artipie.nuget.Versions;
+import com.artipie.nuget.metadata.Version;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Benchmark for {@link Versions} of package with many versions:
+ * adding one more version and reading all versions in order.
+ * Run with `-prof gc` to see allocation per operation.
+ *
+ * @since 0.8
+ * @checkstyle DesignForExtensionCheck (500 lines)
+ * @checkstyle JavadocMethodCheck (500 lines)
+ * @checkstyle VisibilityModifierCheck (500 lines)
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class VersionsBench {
+
+    /**
+     * Number of versions.
+     */
+    @Param({"10", "1000", "10000"})
+    public int size;
+
+    /**
+     * Versions of package.
+     */
+    private Versions versions;
+
+    /**
+     * Version to add.
+     */
+    private Version added;
+
+    @Setup
+    public void setup() {
+        Versions all = new Versions();
+        for (int idx = 0; idx < this.size; idx += 1) {
+            final String label;
+            if (idx % 10 == 0) {
+                label = String.format("-beta.%d", idx);
+            } else {
+                label = "";
+            }
+            all = all.add(
+                new Version(String.format("%d.%d.%d%s", idx / 100, idx % 100, idx, label))
+            );
+        }
+        this.versions = all;
+        this.added = new Version(String.format("%d.0.0", this.size));
+    }
+
+    @Benchmark
+    public Versions add() {
+        return this.versions.add(this.added);
+    }
+
+    @Benchmark
+    public List<?> all() {
+        return this.versions.all();
+    }
+
+    /**
+     * Main.
+     *
+     * @param args CLI args
+     * @throws RunnerException On benchmark failure
+     */
+    public static void main(final String... args) throws RunnerException {
+        new Runner(
+            new OptionsBuilder()
+                .include(VersionsBench.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()
+        ).run();
+    }
+}
@@ -8,140 +8,549 @@ package com.artipie.nuget;
 import com.artipie.asto.Content;
 import com.artipie.asto.Key;
 import com.artipie.asto.Storage;
+import com.artipie.asto.ValueNotFoundException;
 import com.artipie.asto.ext.PublisherAs;
 import com.artipie.nuget.metadata.Nuspec;
+import com.artipie.nuget.metrics.Metrics;
+import com.artipie.nuget.metrics.Stages;
 import com.google.common.io.ByteSource;
 import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.CompletionStage;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 /**
  * NuGet repository that stores packages in {@link Storage}.
+ * <p>
+ * Adding package records stages to {@code nuget.publish.stages} timer of given metrics,
+ * or to given stages of publish request:
+ * {@code save} of staged upload, {@code read}
+ * of staged upload, {@code nuspec} extraction, {@code lock} wait, {@code exists} check
+ * of package version, {@code hash} calculation and saving, {@code move} of package,
+ * {@code metadata} save of package description, {@code index} update of versions list
+ * and {@code listeners} notification of package listener.
+ * </p>
+ * <p>
+ * Content is read with its size, which is requested from storage
+ * only if storage value is read without size.
+ * </p>
  *
  * @since 0.5
  * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
  */
-public final class AstoRepository implements Repository {
+@SuppressWarnings("PMD.TooManyMethods")
+public final class AstoRepository implements StagedRepository {
+
+    /**
+     * Hash stage name.
+     */
+    private static final String HASH = "hash";
 
     /**
      * The storage.
      */
     private final Storage storage;
 
+    /**
+     * Executors for parsing and hashing packages.
+     */
+    private final Workers workers;
+
+    /**
+     * Listener of added packages.
+     */
+    private final PackageListener listener;
+
+    /**
+     * Metrics to record adding stages to.
+     */
+    private final Metrics metrics;
+
     /**
      * Ctor.
      *
      * @param storage Storage to store all repository data.
      */
     public AstoRepository(final Storage storage) {
+        this(storage, Workers.SHARED);
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param storage Storage to store all repository data.
+     * @param workers Executors for parsing and hashing packages.
+     */
+    public AstoRepository(final Storage storage, final Workers workers) {
+        this(storage, workers, PackageListener.NONE);
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param storage Storage to store all repository data.
+     * @param workers Executors for parsing and hashing packages.
+     * @param listener Listener of added packages.
+     */
+    public AstoRepository(
+        final Storage storage, final Workers workers, final PackageListener listener
+    ) {
+        this(storage, workers, listener, Metrics.NONE);
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param storage Storage to store all repository data.
+     * @param workers Executors for parsing and hashing packages.
+     * @param listener Listener of added packages.
+     * @param metrics Metrics to record adding stages to.
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    public AstoRepository(
+        final Storage storage, final Workers workers, final PackageListener listener,
+        final Metrics metrics
+    ) {
         this.storage = storage;
+        this.workers = workers;
+        this.listener = listener;
+        this.metrics = metrics;
     }
 
     @Override
     public CompletionStage<Optional<Content>> content(final Key key) {
-        return this.storage.exists(key).thenCompose(
-            exists -> {
-                final CompletionStage<Optional<Content>> result;
-                if (exists) {
-                    result = this.storage.value(key).thenApply(Optional::of);
-                } else {
-                    result = CompletableFuture.completedFuture(Optional.empty());
+        return this.storage.value(key)
+            .thenCompose(value -> this.sized(key, value))
+            .thenApply(Optional::of)
+            .exceptionally(
+                err -> {
+                    if (!AstoRepository.absent(err)) {
+                        throw AstoRepository.completion(err);
+                    }
+                    return Optional.empty();
                 }
-                return result;
+            );
+    }
+
+    @Override
+    public CompletionStage<Void> add(final Content content) {
+        return this.add(content, new Stages(this.metrics));
+    }
+
+    @Override
+    public CompletionStage<Void> add(final Content content, final Stages stages) {
+        final long start = System.nanoTime();
+        return new Uploads(this.storage).staged(
+            content,
+            key -> {
+                stages.record("save", System.nanoTime() - start);
+                return stages.<byte[]>timed(
+                    "read",
+                    () -> this.storage.value(key)
+                        .thenApply(PublisherAs::new)
+                        .thenCompose(PublisherAs::bytes)
+                ).thenApply(ByteSource::wrap).thenCompose(
+                    source -> stages.timed(
+                        "nuspec",
+                        () -> CompletableFuture.supplyAsync(
+                            () -> AstoRepository.nuspec(source),
+                            this.workers.parsing()
+                        )
+                    ).thenCompose(nuspec -> this.add(key, source, nuspec, stages))
+                );
             }
         );
     }
 
     @Override
-    public CompletionStage<Void> add(final Content content) {
-        final Key key = new Key.From(UUID.randomUUID().toString());
-        return this.storage.save(key, content).thenCompose(
-            saved -> this.storage.value(key)
-                .thenApply(PublisherAs::new)
-                .thenCompose(PublisherAs::bytes)
-                .thenApply(ByteSource::wrap)
-                .thenCompose(
-                    source -> {
-                        final Nuspec nuspec;
-                        final PackageIdentity id;
-                        try {
-                            nuspec = new Nupkg(source).nuspec();
-                            id = new PackageIdentity(nuspec.id(), nuspec.version());
-                        } catch (final UncheckedIOException | IllegalArgumentException ex) {
-                            throw new InvalidPackageException(ex);
-                        }
-                        return this.storage.list(id.rootKey()).thenCompose(
-                            existing -> {
-                                if (!existing.isEmpty()) {
-                                    throw new PackageVersionAlreadyExistsException(id.toString());
-                                }
-                                final PackageKeys pkey = new PackageKeys(nuspec.id());
-                                return this.storage.exclusively(
-                                    pkey.rootKey(),
-                                    target -> {
-                                        final CompletionStage<Versions> versions;
-                                        versions = this.versions(pkey);
-                                        return CompletableFuture.allOf(
-                                            target.move(key, id.nupkgKey()),
-                                            new Hash(source).save(target, id).toCompletableFuture(),
-                                            this.storage.save(
-                                                new PackageIdentity(nuspec.id(), nuspec.version())
-                                                    .nuspecKey(),
-                                                new Content.From(nuspec.bytes())
-                                            )
-                                        ).thenCompose(nothing -> versions).thenApply(
-                                            vers -> vers.add(nuspec.version())
-                                        ).thenCompose(
-                                            vers -> vers.save(
-                                                target,
-                                                pkey.versionsKey()
-                                            )
+    public List<CompletionStage<Void>> add(final List<ParsedPackage> packages) {
+        return this.stored(packages).stream()
+            .map(res -> res.<Void>thenApply(fresh -> null))
+            .collect(Collectors.toList());
+    }
+
+    @Override
+    public CompletionStage<Versions> versions(final PackageKeys id) {
+        return this.content(id.versionsKey()).thenCompose(
+            found -> found.map(
+                content -> new PublisherAs(content).bytes()
+                    .thenApply(ByteSource::wrap)
+                    .thenApply(Versions::new)
+            ).orElseGet(() -> CompletableFuture.completedFuture(new Versions()))
+        );
+    }
+
+    @Override
+    public CompletionStage<Nuspec> nuspec(final PackageIdentity identity) {
+        return this.content(identity.nuspecKey()).thenCompose(
+            found -> new PublisherAs(
+                found.orElseThrow(
+                    () -> new IllegalArgumentException(
+                        String.format("Cannot find package: %s", identity)
+                    )
+                )
+            ).bytes()
+        ).thenApplyAsync(Nuspec.Xml::new, this.workers.parsing());
+    }
+
+    /**
+     * Adds packages already read and described as {@link #add(List)} does.
+     *
+     * @param packages Packages.
+     * @return Completion of adding of every package in given order,
+     *  true if package is stored, false if the same package is present already.
+     */
+    List<CompletionStage<Boolean>> stored(final List<ParsedPackage> packages) {
+        final Map<String, List<Integer>> groups = IntStream.range(0, packages.size()).boxed()
+            .collect(
+                Collectors.groupingBy(
+                    num -> packages.get(num).nuspec().id().normalized(),
+                    LinkedHashMap::new,
+                    Collectors.toList()
+                )
+            );
+        final List<CompletableFuture<Boolean>> results = packages.stream()
+            .map(pkg -> new CompletableFuture<Boolean>())
+            .collect(Collectors.toList());
+        for (final List<Integer> group : groups.values()) {
+            this.add(
+                group.stream().map(packages::get).collect(Collectors.toList()),
+                group.stream().map(results::get).collect(Collectors.toList())
+            );
+        }
+        return new ArrayList<>(results);
+    }
+
+    /**
+     * Adds package saved at temporary key to the repository,
+     * package with the same identity and content is accepted again without changes.
+     * Package version is checked and added under package lock,
+     * so concurrent adds of the same package version add it once.
+     * Package version with no package binary, left by failed add, is added again.
+     * Package listener is notified about the same package pushed again as well,
+     * so listener failed on first push is retried with the push.
+     *
+     * @param key Temporary key the package is saved at.
+     * @param source Package binary content.
+     * @param nuspec Package description.
+     * @param stages Stages of adding package.
+     * @return Completion of adding package.
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    private CompletionStage<Void> add(
+        final Key key, final ByteSource source, final Nuspec nuspec, final Stages stages
+    ) {
+        final PackageIdentity id = new PackageIdentity(nuspec.id(), nuspec.version());
+        final long start = System.nanoTime();
+        return this.storage.exclusively(
+            new PackageKeys(nuspec.id()).rootKey(),
+            target -> {
+                stages.record("lock", System.nanoTime() - start);
+                return stages.timed("exists", () -> target.list(id.rootKey())).thenCompose(
+                    existing -> {
+                        final CompletionStage<Boolean> res;
+                        if (existing.contains(id.nupkgKey())) {
+                            res = stages.timed(
+                                AstoRepository.HASH, () -> this.same(source, id, existing)
+                            ).thenCompose(
+                                same -> {
+                                    if (!same) {
+                                        throw new PackageVersionAlreadyExistsException(
+                                            id.toString()
                                         );
                                     }
-                                );
-                            }
-                        );
+                                    return target.delete(key).thenApply(nothing -> false);
+                                }
+                            );
+                        } else {
+                            res = this.create(target, key, source, nuspec, stages)
+                                .thenApply(nothing -> true);
+                        }
+                        return res;
                     }
-                )
+                );
+            }
+        ).thenCompose(
+            nothing -> stages.timed("listeners", () -> this.listener.added(nuspec))
         );
     }
 
-    @Override
-    public CompletionStage<Versions> versions(final PackageKeys id) {
-        final Key key = id.versionsKey();
-        return this.storage.exists(key).thenCompose(
-            exists -> {
-                final CompletionStage<Versions> versions;
-                if (exists) {
-                    versions = this.storage.value(key)
-                        .thenApply(PublisherAs::new)
-                        .thenCompose(PublisherAs::bytes)
-                        .thenApply(ByteSource::wrap)
-                        .thenApply(Versions::new);
+    /**
+     * Adds packages with the same identifier under single package lock,
+     * versions list is updated once for all added packages.
+     * Result of package is completed when its package listeners are notified,
+     * listeners are notified about packages pushed again as well, so derived data
+     * missed by listener failure on first push is fixed by the retry.
+     *
+     * @param group Packages with the same identifier.
+     * @param results Results of packages.
+     */
+    private void add(
+        final List<ParsedPackage> group, final List<CompletableFuture<Boolean>> results
+    ) {
+        final PackageKeys pkey = new PackageKeys(group.get(0).nuspec().id());
+        final Map<Integer, Boolean> added = new LinkedHashMap<>();
+        this.storage.exclusively(
+            pkey.rootKey(), target -> this.locked(target, group, results, added)
+        ).thenCompose(
+            nothing -> {
+                CompletionStage<Void> notified = CompletableFuture.allOf();
+                for (final int idx : added.keySet()) {
+                    notified = notified.thenCompose(
+                        ignored -> this.listener.added(group.get(idx).nuspec())
+                    );
+                }
+                return notified;
+            }
+        ).whenComplete(
+            (nothing, err) -> {
+                if (err == null) {
+                    added.forEach((idx, fresh) -> results.get(idx).complete(fresh));
                 } else {
-                    versions = CompletableFuture.completedFuture(new Versions());
+                    results.forEach(res -> res.completeExceptionally(err));
                 }
-                return versions;
             }
         );
     }
 
-    @Override
-    public CompletionStage<Nuspec> nuspec(final PackageIdentity identity) {
-        return this.storage.exists(identity.nuspecKey()).thenCompose(
-            exists -> {
-                if (!exists) {
-                    throw new IllegalArgumentException(
-                        String.format("Cannot find package: %s", identity)
+    /**
+     * Store packages with the same identifier in locked package storage one by one,
+     * then update versions list once.
+     *
+     * @param target Locked storage.
+     * @param group Packages with the same identifier.
+     * @param results Results of packages, completed here for failed packages.
+     * @param added Numbers of accepted packages, mapped to true if package is stored
+     *  and to false if the same package is present.
+     * @return Completion of update.
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    private CompletionStage<Void> locked(
+        final Storage target, final List<ParsedPackage> group,
+        final List<CompletableFuture<Boolean>> results, final Map<Integer, Boolean> added
+    ) {
+        final PackageKeys pkey = new PackageKeys(group.get(0).nuspec().id());
+        CompletionStage<Void> done = CompletableFuture.allOf();
+        for (int num = 0; num < group.size(); num += 1) {
+            final int idx = num;
+            done = done.thenCompose(
+                nothing -> this.store(target, group.get(idx)).handle(
+                    (fresh, err) -> {
+                        if (err == null) {
+                            added.put(idx, fresh);
+                        } else {
+                            results.get(idx).completeExceptionally(err);
+                        }
+                        return null;
+                    }
+                )
+            );
+        }
+        return done.thenCompose(
+            nothing -> {
+                final List<Integer> stored = added.entrySet().stream()
+                    .filter(Map.Entry::getValue)
+                    .map(Map.Entry::getKey)
+                    .collect(Collectors.toList());
+                final CompletionStage<Void> res;
+                if (stored.isEmpty()) {
+                    res = CompletableFuture.allOf();
+                } else {
+                    res = this.versions(pkey).thenApply(
+                        current -> current.merge(
+                            new Versions(
+                                stored.stream()
+                                    .map(idx -> group.get(idx).nuspec().version())
+                                    .collect(Collectors.toList())
+                            )
+                        )
+                    ).thenCompose(vers -> vers.save(target, pkey.versionsKey()));
+                }
+                return res;
+            }
+        );
+    }
+
+    /**
+     * Store package files unless package version is present in locked package storage.
+     * Package with the same identity and content is accepted again without changes.
+     * Package version with no package binary, left by failed add, is stored again.
+     *
+     * @param target Locked storage.
+     * @param pkg Package.
+     * @return True if package files are stored, false if the same package is present.
+     */
+    private CompletionStage<Boolean> store(final Storage target, final ParsedPackage pkg) {
+        final Nuspec nuspec = pkg.nuspec();
+        final PackageIdentity id = new PackageIdentity(nuspec.id(), nuspec.version());
+        return target.list(id.rootKey()).thenCompose(
+            existing -> {
+                final CompletionStage<Boolean> res;
+                if (existing.contains(id.nupkgKey())) {
+                    res = this.same(pkg.source(), id, existing).thenApply(
+                        same -> {
+                            if (!same) {
+                                throw new PackageVersionAlreadyExistsException(id.toString());
+                            }
+                            return false;
+                        }
                     );
+                } else {
+                    res = CompletableFuture.allOf(
+                        CompletableFuture.supplyAsync(
+                            () -> new Hash(pkg.source()).save(target, id),
+                            this.workers.hashing()
+                        ).thenCompose(Function.identity()).thenCompose(
+                            nothing -> target.save(id.nupkgKey(), pkg.content())
+                        ).toCompletableFuture(),
+                        target.save(id.nuspecKey(), new Content.From(nuspec.bytes()))
+                    ).thenApply(nothing -> true);
                 }
-                return this.storage.value(identity.nuspecKey())
-                    .thenApply(PublisherAs::new)
-                    .thenCompose(PublisherAs::bytes)
-                    .thenApply(Nuspec.Xml::new);
+                return res;
             }
         );
     }
+
+    /**
+     * Add new package version to locked package storage.
+     * Package hash is saved before package is moved,
+     * so package present at its key always has its hash next to it.
+     *
+     * @param target Locked storage.
+     * @param key Staged upload key.
+     * @param source Package binary content.
+     * @param nuspec Package description.
+     * @param stages Stages of adding package.
+     * @return Completion of adding package.
+     * @checkstyle ParameterNumberCheck (6 lines)
+     */
+    private CompletionStage<Void> create(
+        final Storage target, final Key key, final ByteSource source, final Nuspec nuspec,
+        final Stages stages
+    ) {
+        final PackageIdentity id = new PackageIdentity(nuspec.id(), nuspec.version());
+        final PackageKeys pkey = new PackageKeys(nuspec.id());
+        final CompletionStage<Versions> versions = this.versions(pkey);
+        return CompletableFuture.allOf(
+            stages.timed(
+                AstoRepository.HASH,
+                () -> CompletableFuture.supplyAsync(
+                    () -> new Hash(source).save(target, id),
+                    this.workers.hashing()
+                ).thenCompose(Function.identity())
+            ).thenCompose(
+                nothing -> stages.timed("move", () -> target.move(key, id.nupkgKey()))
+            ).toCompletableFuture(),
+            stages.timed(
+                "metadata",
+                () -> target.save(id.nuspecKey(), new Content.From(nuspec.bytes()))
+            ).toCompletableFuture()
+        ).thenCompose(
+            nothing -> stages.timed(
+                "index",
+                () -> versions.thenApply(vers -> vers.add(nuspec.version())).thenCompose(
+                    vers -> vers.save(target, pkey.versionsKey())
+                )
+            )
+        );
+    }
+
+    /**
+     * Checks if package with the same identity was added with the same content,
+     * so adding it again can succeed without changes, e.g. on retry.
+     *
+     * @param source Package binary content.
+     * @param id Package identity.
+     * @param existing Existing keys of package identity.
+     * @return True if stored package hash matches package content hash.
+     */
+    private CompletionStage<Boolean> same(
+        final ByteSource source, final PackageIdentity id, final Collection<Key> existing
+    ) {
+        final CompletionStage<Boolean> res;
+        if (existing.contains(id.hashKey())) {
+            res = CompletableFuture.supplyAsync(
+                () -> new Hash(source).digest(), this.workers.hashing()
+            ).thenCompose(
+                digest -> this.storage.value(id.hashKey())
+                    .thenApply(PublisherAs::new)
+                    .thenCompose(PublisherAs::bytes)
+                    .thenApply(stored -> Arrays.equals(stored, digest))
+            );
+        } else {
+            res = CompletableFuture.completedFuture(false);
+        }
+        return res;
+    }
+
+    /**
+     * Content with size, requested from storage if content size is unknown.
+     *
+     * @param key Content key.
+     * @param content Content.
+     * @return Content with size.
+     */
+    private CompletionStage<Content> sized(final Key key, final Content content) {
+        final CompletionStage<Content> res;
+        if (content.size().isPresent()) {
+            res = CompletableFuture.completedFuture(content);
+        } else {
+            res = this.storage.size(key).thenApply(
+                size -> new Content.From(Optional.of(size), content)
+            );
+        }
+        return res;
+    }
+
+    /**
+     * Checks if storage operation failed because value does not exist.
+     *
+     * @param err Storage operation failure.
+     * @return True if value does not exist.
+     */
+    private static boolean absent(final Throwable err) {
+        return err instanceof ValueNotFoundException
+            || err.getCause() instanceof ValueNotFoundException;
+    }
+
+    /**
+     * Failure to rethrow from completion stage without wrapping it twice.
+     *
+     * @param err Failure.
+     * @return Completion exception.
+     */
+    private static CompletionException completion(final Throwable err) {
+        final CompletionException res;
+        if (err instanceof CompletionException) {
+            res = (CompletionException) err;
+        } else {
+            res = new CompletionException(err);
+        }
+        return res;
+    }
+
+    /**
+     * Extracts package description from package binary content.
+     *
+     * @param source Package binary content.
+     * @return Package description.
+     * @throws InvalidPackageException If package is invalid.
+     */
+    private static Nuspec nuspec(final ByteSource source) {
+        try {
+            return new Nupkg(source).nuspec();
+        } catch (final UncheckedIOException | IllegalArgumentException ex) {
+            throw new InvalidPackageException(ex);
+        }
+    }
 }
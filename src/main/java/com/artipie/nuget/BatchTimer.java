@@ -0,0 +1,67 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+
+package com.artipie.nuget;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Timer of packages added with single batch call.
+ * Packages with the same identifier are added in given order,
+ * so each package is timed since previous package with the same identifier is added,
+ * not since the batch call, which would include waiting for previous packages.
+ *
+ * @since 0.8
+ */
+final class BatchTimer {
+
+    /**
+     * Timer of adding single package, started when supplier is called.
+     */
+    private final Function<Supplier<CompletionStage<Void>>, CompletionStage<Void>> timer;
+
+    /**
+     * Ctor.
+     *
+     * @param timer Timer of adding single package, started when supplier is called.
+     */
+    BatchTimer(
+        final Function<Supplier<CompletionStage<Void>>, CompletionStage<Void>> timer
+    ) {
+        this.timer = timer;
+    }
+
+    /**
+     * Time adding of packages.
+     *
+     * @param packages Packages added with batch call.
+     * @param added Completions of adding of every package in given order.
+     * @return Completions of adding of every package in given order.
+     */
+    List<CompletionStage<Void>> timed(
+        final List<ParsedPackage> packages, final List<CompletionStage<Void>> added
+    ) {
+        final Map<String, CompletionStage<Void>> last = new HashMap<>();
+        final List<CompletionStage<Void>> res = new ArrayList<>(packages.size());
+        for (int idx = 0; idx < packages.size(); idx += 1) {
+            final String id = packages.get(idx).nuspec().id().normalized();
+            final CompletionStage<Void> origin = added.get(idx);
+            res.add(
+                last.getOrDefault(id, CompletableFuture.allOf())
+                    .handle((nothing, err) -> origin)
+                    .thenCompose(same -> this.timer.apply(() -> same))
+            );
+            last.put(id, origin);
+        }
+        return res;
+    }
+}
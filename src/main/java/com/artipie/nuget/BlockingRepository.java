@@ -0,0 +1,248 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+
+package com.artipie.nuget;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.asto.Storage;
+import com.artipie.asto.ValueNotFoundException;
+import com.artipie.asto.blocking.BlockingStorage;
+import com.artipie.nuget.metadata.Nuspec;
+import com.google.common.io.ByteSource;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+/**
+ * NuGet repository that stores packages in {@link Storage}
+ * and serves each request as single task with blocking storage calls.
+ * Alternative to {@link AstoRepository} chains of completion stages,
+ * intended to run on virtual threads executor on JDK 21 or on bounded thread pool.
+ * Values are read with single storage call, missing value is not checked for beforehand,
+ * size of content is read with another call if storage value has no size.
+ * Staged upload of package failed to add is deleted on best effort,
+ * leftovers are removed by {@link Uploads} sweep.
+ *
+ * @since 0.8
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
+ */
+public final class BlockingRepository implements Repository {
+
+    /**
+     * The storage.
+     */
+    private final Storage storage;
+
+    /**
+     * Executor to run requests on.
+     */
+    private final Executor exec;
+
+    /**
+     * Listener of added packages.
+     */
+    private final PackageListener listener;
+
+    /**
+     * Ctor.
+     *
+     * @param storage Storage to store all repository data.
+     */
+    public BlockingRepository(final Storage storage) {
+        this(storage, Workers.SHARED.blocking());
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param storage Storage to store all repository data.
+     * @param exec Executor to run requests on.
+     */
+    public BlockingRepository(final Storage storage, final Executor exec) {
+        this(storage, exec, PackageListener.NONE);
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param storage Storage to store all repository data.
+     * @param exec Executor to run requests on.
+     * @param listener Listener of added packages.
+     */
+    public BlockingRepository(
+        final Storage storage, final Executor exec, final PackageListener listener
+    ) {
+        this.storage = storage;
+        this.exec = exec;
+        this.listener = listener;
+    }
+
+    @Override
+    public CompletionStage<Optional<Content>> content(final Key key) {
+        return CompletableFuture.supplyAsync(
+            () -> BlockingRepository.found(() -> this.sized(key, this.storage.value(key).join())),
+            this.exec
+        );
+    }
+
+    @Override
+    public CompletionStage<Void> add(final Content content) {
+        return CompletableFuture.runAsync(
+            () -> {
+                final Key key = new Uploads(this.storage).key();
+                this.storage.save(key, content).join();
+                final Nuspec nuspec;
+                boolean published = false;
+                try {
+                    nuspec = this.publish(key);
+                    published = true;
+                } finally {
+                    if (!published) {
+                        this.storage.delete(key).exceptionally(err -> null).join();
+                    }
+                }
+                this.listener.added(nuspec).toCompletableFuture().join();
+            },
+            this.exec
+        );
+    }
+
+    @Override
+    public CompletionStage<Versions> versions(final PackageKeys id) {
+        return CompletableFuture.supplyAsync(
+            () -> BlockingRepository.versions(new BlockingStorage(this.storage), id),
+            this.exec
+        );
+    }
+
+    @Override
+    public CompletionStage<Nuspec> nuspec(final PackageIdentity identity) {
+        return CompletableFuture.supplyAsync(
+            () -> new Nuspec.Xml(
+                BlockingRepository.found(
+                    () -> new BlockingStorage(this.storage).value(identity.nuspecKey())
+                ).orElseThrow(
+                    () -> new IllegalArgumentException(
+                        String.format("Cannot find package: %s", identity)
+                    )
+                )
+            ),
+            this.exec
+        );
+    }
+
+    /**
+     * Move staged upload to package location and update package versions.
+     * Package version is checked and added under package lock,
+     * package with the same identity and content is not added again,
+     * package version with no package binary, left by failed add, is added again.
+     * Staged upload is removed if the same package is already added.
+     *
+     * @param key Staged upload key.
+     * @return Package description.
+     */
+    private Nuspec publish(final Key key) {
+        final ByteSource source = ByteSource.wrap(new BlockingStorage(this.storage).value(key));
+        final Nuspec nuspec = BlockingRepository.nuspec(source);
+        final PackageIdentity id = new PackageIdentity(nuspec.id(), nuspec.version());
+        final PackageKeys pkey = new PackageKeys(nuspec.id());
+        return this.storage.exclusively(
+            pkey.rootKey(),
+            target -> {
+                final BlockingStorage locked = new BlockingStorage(target);
+                final Collection<Key> existing = locked.list(id.rootKey());
+                if (existing.contains(id.nupkgKey()) && existing.contains(id.hashKey())
+                    && Arrays.equals(locked.value(id.hashKey()), new Hash(source).digest())) {
+                    locked.delete(key);
+                } else if (existing.contains(id.nupkgKey())) {
+                    throw new PackageVersionAlreadyExistsException(id.toString());
+                } else {
+                    new Hash(source).save(target, id).toCompletableFuture().join();
+                    locked.move(key, id.nupkgKey());
+                    locked.save(id.nuspecKey(), nuspec.bytes());
+                    BlockingRepository.versions(locked, pkey)
+                        .add(nuspec.version())
+                        .save(target, pkey.versionsKey())
+                        .join();
+                }
+                return CompletableFuture.completedFuture(nuspec);
+            }
+        ).toCompletableFuture().join();
+    }
+
+    /**
+     * Attach size to content if it is unknown, so it can be sent with Content-Length.
+     *
+     * @param key Content key.
+     * @param content Content.
+     * @return Content with size.
+     */
+    private Content sized(final Key key, final Content content) {
+        final Content res;
+        if (content.size().isPresent()) {
+            res = content;
+        } else {
+            res = new Content.From(Optional.of(this.storage.size(key).join()), content);
+        }
+        return res;
+    }
+
+    /**
+     * Reads package versions.
+     *
+     * @param blocking Storage to read versions from.
+     * @param id Package identifier.
+     * @return Versions of package.
+     */
+    private static Versions versions(final BlockingStorage blocking, final PackageKeys id) {
+        return BlockingRepository.found(() -> blocking.value(id.versionsKey()))
+            .map(bytes -> new Versions(ByteSource.wrap(bytes)))
+            .orElseGet(Versions::new);
+    }
+
+    /**
+     * Reads storage value with single storage call.
+     *
+     * @param read Blocking read of value.
+     * @param <T> Value type.
+     * @return Value, empty if it does not exist.
+     */
+    private static <T> Optional<T> found(final Supplier<T> read) {
+        Optional<T> res;
+        try {
+            res = Optional.of(read.get());
+        } catch (final CompletionException ex) {
+            if (!(ex.getCause() instanceof ValueNotFoundException)) {
+                throw ex;
+            }
+            res = Optional.empty();
+        } catch (final ValueNotFoundException ex) {
+            res = Optional.empty();
+        }
+        return res;
+    }
+
+    /**
+     * Extracts package description from package binary content.
+     *
+     * @param source Package binary content.
+     * @return Package description.
+     * @throws InvalidPackageException If package is invalid.
+     */
+    private static Nuspec nuspec(final ByteSource source) {
+        try {
+            return new Nupkg(source).nuspec();
+        } catch (final UncheckedIOException | IllegalArgumentException ex) {
+            throw new InvalidPackageException(ex);
+        }
+    }
+}
@@ -0,0 +1,420 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+
+package com.artipie.nuget;
+
+import com.artipie.asto.Storage;
+import com.artipie.nuget.metadata.Nuspec;
+import com.google.common.io.ByteSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Bulk import of .nupkg files into repository storage,
+ * e.g. for migration from other repository manager.
+ * <p>
+ * Files are imported in sorted order in windows of limited size, so memory use does not
+ * depend on number of files. Packages of a window are read and parsed concurrently,
+ * then added as {@link AstoRepository#add(List)} does: under package lock,
+ * comparing packages already present by hash, with versions list of each
+ * package id updated once per window and package listeners notified.
+ * Packages already present in repository are skipped, package version with
+ * no package binary, left by failed import, is imported again.
+ * Failure to import one file does not stop the import: it is recorded
+ * in {@link Result#failures()}, e.g. {@link PackageVersionAlreadyExistsException}
+ * for package version present with other content.
+ * </p>
+ *
+ * @since 0.8
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
+ */
+public final class BulkImport {
+
+    /**
+     * Max number of packages processed concurrently.
+     */
+    private static final int WINDOW = 64;
+
+    /**
+     * The storage.
+     */
+    private final Storage storage;
+
+    /**
+     * Executors for reading, parsing and hashing.
+     */
+    private final Workers workers;
+
+    /**
+     * Listener of added packages.
+     */
+    private final PackageListener listener;
+
+    /**
+     * Ctor.
+     *
+     * @param storage Repository storage.
+     */
+    public BulkImport(final Storage storage) {
+        this(storage, Workers.SHARED, PackageListener.NONE);
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param storage Repository storage.
+     * @param workers Executors for reading, parsing and hashing.
+     * @param listener Listener of added packages.
+     */
+    public BulkImport(
+        final Storage storage, final Workers workers, final PackageListener listener
+    ) {
+        this.storage = storage;
+        this.workers = workers;
+        this.listener = listener;
+    }
+
+    /**
+     * Import all .nupkg files from directory and its subdirectories.
+     *
+     * @param dir Directory.
+     * @return Import result.
+     */
+    public CompletionStage<Result> load(final Path dir) {
+        return CompletableFuture.supplyAsync(() -> BulkImport.files(dir), this.workers.blocking())
+            .thenCompose(files -> new Run().start(files));
+    }
+
+    /**
+     * List .nupkg files in directory.
+     *
+     * @param dir Directory.
+     * @return Files sorted by path.
+     */
+    private static List<Path> files(final Path dir) {
+        try (Stream<Path> all = Files.walk(dir)) {
+            return all.filter(Files::isRegularFile)
+                .filter(path -> path.getFileName().toString().endsWith(".nupkg"))
+                .sorted()
+                .collect(Collectors.toList());
+        } catch (final IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Extract package description from package binary content.
+     *
+     * @param source Package binary content.
+     * @return Package description, empty if package is invalid.
+     */
+    private static Optional<Nuspec> nuspec(final ByteSource source) {
+        Optional<Nuspec> res;
+        try {
+            res = Optional.of(new Nupkg(source).nuspec());
+        } catch (final UncheckedIOException | IllegalArgumentException ex) {
+            res = Optional.empty();
+        }
+        return res;
+    }
+
+    /**
+     * Unwrap completion exception.
+     *
+     * @param err Error.
+     * @return Cause of completion exception or error itself.
+     */
+    private static Throwable cause(final Throwable err) {
+        final Throwable cause;
+        if (err instanceof CompletionException && err.getCause() != null) {
+            cause = err.getCause();
+        } else {
+            cause = err;
+        }
+        return cause;
+    }
+
+    /**
+     * Run action for sequential windows of limited size of list items.
+     *
+     * @param items Items.
+     * @param action Action for each window.
+     * @param <T> Item type.
+     * @return Completion of all actions.
+     */
+    private static <T> CompletableFuture<Void> windows(
+        final List<T> items, final Function<List<T>, CompletionStage<Void>> action
+    ) {
+        CompletableFuture<Void> done = CompletableFuture.allOf();
+        for (int from = 0; from < items.size(); from += BulkImport.WINDOW) {
+            final List<T> window = items.subList(
+                from, Math.min(from + BulkImport.WINDOW, items.size())
+            );
+            done = done.thenCompose(nothing -> action.apply(window));
+        }
+        return done;
+    }
+
+    /**
+     * Import result.
+     *
+     * @since 0.8
+     */
+    public static final class Result {
+
+        /**
+         * Number of imported packages.
+         */
+        private final int added;
+
+        /**
+         * Number of packages skipped because already present.
+         */
+        private final int present;
+
+        /**
+         * Number of invalid packages.
+         */
+        private final int broken;
+
+        /**
+         * Failures by file.
+         */
+        private final Map<Path, Throwable> failed;
+
+        /**
+         * Ctor.
+         *
+         * @param added Number of imported packages.
+         * @param present Number of packages skipped because already present.
+         * @param broken Number of invalid packages.
+         * @param failed Failures by file.
+         * @checkstyle ParameterNumberCheck (3 lines)
+         */
+        Result(
+            final int added, final int present, final int broken,
+            final Map<Path, Throwable> failed
+        ) {
+            this.added = added;
+            this.present = present;
+            this.broken = broken;
+            this.failed = failed;
+        }
+
+        /**
+         * Number of imported packages.
+         *
+         * @return Number of packages.
+         */
+        public int imported() {
+            return this.added;
+        }
+
+        /**
+         * Number of packages skipped because already present in repository
+         * or imported from another file.
+         *
+         * @return Number of packages.
+         */
+        public int existing() {
+            return this.present;
+        }
+
+        /**
+         * Number of files which are not valid packages.
+         *
+         * @return Number of files.
+         */
+        public int invalid() {
+            return this.broken;
+        }
+
+        /**
+         * Files failed to import, e.g. because of storage failure or because
+         * package version is present with other content, they are not counted as imported.
+         *
+         * @return Failures by file sorted by path.
+         */
+        public Map<Path, Throwable> failures() {
+            return Collections.unmodifiableMap(this.failed);
+        }
+    }
+
+    /**
+     * Single import run.
+     *
+     * @since 0.8
+     */
+    private final class Run {
+
+        /**
+         * Repository to add packages to.
+         */
+        private final AstoRepository repository;
+
+        /**
+         * Number of imported packages.
+         */
+        private final AtomicInteger added;
+
+        /**
+         * Number of packages skipped because already present.
+         */
+        private final AtomicInteger present;
+
+        /**
+         * Number of invalid packages.
+         */
+        private final AtomicInteger broken;
+
+        /**
+         * Failures by file.
+         */
+        private final ConcurrentMap<Path, Throwable> failed;
+
+        /**
+         * Ctor.
+         */
+        Run() {
+            this.repository = new AstoRepository(
+                BulkImport.this.storage, BulkImport.this.workers, BulkImport.this.listener
+            );
+            this.added = new AtomicInteger();
+            this.present = new AtomicInteger();
+            this.broken = new AtomicInteger();
+            this.failed = new ConcurrentHashMap<>();
+        }
+
+        /**
+         * Import files.
+         *
+         * @param files Package files.
+         * @return Import result.
+         */
+        CompletionStage<Result> start(final List<Path> files) {
+            return BulkImport.windows(files, this::window).thenApply(
+                nothing -> new Result(
+                    this.added.get(), this.present.get(), this.broken.get(),
+                    new TreeMap<>(this.failed)
+                )
+            );
+        }
+
+        /**
+         * Import window of package files.
+         *
+         * @param files Package files.
+         * @return Completion of import.
+         */
+        private CompletionStage<Void> window(final List<Path> files) {
+            final List<CompletableFuture<Optional<ParsedPackage>>> parsed = files.stream()
+                .map(this::parsed)
+                .collect(Collectors.toList());
+            return CompletableFuture.allOf(parsed.toArray(new CompletableFuture<?>[0]))
+                .thenCompose(
+                    nothing -> {
+                        final List<Path> valid = new ArrayList<>(files.size());
+                        final List<ParsedPackage> packages = new ArrayList<>(files.size());
+                        for (int idx = 0; idx < files.size(); idx += 1) {
+                            final Path file = files.get(idx);
+                            parsed.get(idx).join().ifPresent(
+                                pkg -> {
+                                    valid.add(file);
+                                    packages.add(pkg);
+                                }
+                            );
+                        }
+                        return this.store(valid, packages);
+                    }
+                );
+        }
+
+        /**
+         * Add parsed packages to repository and record results by file.
+         *
+         * @param files Package files.
+         * @param packages Packages parsed from the files.
+         * @return Completion of adding.
+         */
+        private CompletionStage<Void> store(
+            final List<Path> files, final List<ParsedPackage> packages
+        ) {
+            final List<CompletionStage<Boolean>> results = this.repository.stored(packages);
+            return CompletableFuture.allOf(
+                IntStream.range(0, files.size()).mapToObj(
+                    idx -> results.get(idx).handle(
+                        (fresh, err) -> {
+                            if (err == null && fresh) {
+                                this.added.incrementAndGet();
+                            } else if (err == null) {
+                                this.present.incrementAndGet();
+                            } else {
+                                this.failed.put(files.get(idx), BulkImport.cause(err));
+                            }
+                            return null;
+                        }
+                    ).toCompletableFuture()
+                ).toArray(CompletableFuture<?>[]::new)
+            );
+        }
+
+        /**
+         * Read and parse package file.
+         * Invalid packages and files failed to read are recorded.
+         *
+         * @param file Package file.
+         * @return Parsed package, empty if package is not valid or file is not read.
+         */
+        private CompletableFuture<Optional<ParsedPackage>> parsed(final Path file) {
+            return CompletableFuture.supplyAsync(
+                () -> {
+                    try {
+                        return Files.readAllBytes(file);
+                    } catch (final IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                },
+                BulkImport.this.workers.blocking()
+            ).thenApplyAsync(
+                bytes -> BulkImport.nuspec(ByteSource.wrap(bytes)).map(
+                    nuspec -> new ParsedPackage(bytes, nuspec)
+                ),
+                BulkImport.this.workers.parsing()
+            ).handle(
+                (pkg, err) -> {
+                    final Optional<ParsedPackage> res;
+                    if (err == null && pkg.isPresent()) {
+                        res = pkg;
+                    } else if (err == null) {
+                        this.broken.incrementAndGet();
+                        res = Optional.empty();
+                    } else {
+                        this.failed.put(file, BulkImport.cause(err));
+                        res = Optional.empty();
+                    }
+                    return res;
+                }
+            );
+        }
+    }
+}
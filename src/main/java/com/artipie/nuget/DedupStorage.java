@@ -0,0 +1,458 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+
+package com.artipie.nuget;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.asto.Storage;
+import com.artipie.asto.ext.PublisherAs;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Storage keeping package binaries in content-addressed layout,
+ * so identical packages stored under different identities or repositories
+ * sharing the storage are stored once.
+ * <p>
+ * Package binary (.nupkg) is saved as blob under <code>.blobs/sha512/{hex}</code>
+ * key, and small pointer <code>sha512:{hex}:{size}</code> is saved at package key.
+ * Reading package key resolves pointer to blob, so repository works with
+ * this storage as with any other storage. Package binaries saved before
+ * this storage was used are read as is. Blobs are never deleted,
+ * since they may be shared by several packages.
+ * </p>
+ * <p>
+ * Package binary moved to package key is hashed on hashing executors
+ * and moved to blob key, blob key is never taken from hash saved next to package,
+ * so blob is always stored under SHA-512 of its own content.
+ * Resolved pointers are kept in memory, so reading package read before
+ * costs single storage operation. Package binaries are immutable,
+ * pointer is forgotten when package key is saved, moved or deleted by this storage.
+ * </p>
+ *
+ * @since 0.8
+ */
+@SuppressWarnings("PMD.TooManyMethods")
+public final class DedupStorage implements Storage {
+
+    /**
+     * Blobs prefix.
+     */
+    private static final Key BLOBS = new Key.From(".blobs", "sha512");
+
+    /**
+     * Pointer prefix.
+     */
+    private static final String PREFIX = "sha512:";
+
+    /**
+     * Max pointer size: prefix, hex encoded SHA-512 and size.
+     */
+    private static final long MAX = 155L;
+
+    /**
+     * Max number of resolved pointers kept in memory.
+     */
+    private static final long CAPACITY = 10_000L;
+
+    /**
+     * Origin storage.
+     */
+    private final Storage origin;
+
+    /**
+     * Executors for hashing.
+     */
+    private final Workers workers;
+
+    /**
+     * Resolved pointers by package key.
+     */
+    private final Cache<String, Pointer> pointers;
+
+    /**
+     * Ctor.
+     *
+     * @param origin Origin storage.
+     */
+    public DedupStorage(final Storage origin) {
+        this(origin, Workers.SHARED);
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param origin Origin storage.
+     * @param workers Executors for hashing.
+     */
+    public DedupStorage(final Storage origin, final Workers workers) {
+        this(
+            origin, workers,
+            CacheBuilder.newBuilder().maximumSize(DedupStorage.CAPACITY).build()
+        );
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param origin Origin storage.
+     * @param workers Executors for hashing.
+     * @param pointers Resolved pointers by package key.
+     */
+    private DedupStorage(
+        final Storage origin, final Workers workers, final Cache<String, Pointer> pointers
+    ) {
+        this.origin = origin;
+        this.workers = workers;
+        this.pointers = pointers;
+    }
+
+    @Override
+    public CompletableFuture<Boolean> exists(final Key key) {
+        return this.origin.exists(key);
+    }
+
+    @Override
+    public CompletableFuture<Collection<Key>> list(final Key prefix) {
+        return this.origin.list(prefix);
+    }
+
+    @Override
+    public CompletableFuture<Void> save(final Key key, final Content content) {
+        final CompletableFuture<Void> res;
+        if (DedupStorage.binary(key)) {
+            this.pointers.invalidate(key.string());
+            res = new PublisherAs(content).bytes().thenCompose(
+                bytes -> CompletableFuture.supplyAsync(
+                    () -> Hashing.sha512().hashBytes(bytes).toString(), this.workers.hashing()
+                ).thenCompose(
+                    hex -> this.blob(
+                        key, new Pointer(hex, bytes.length),
+                        (blob, exists) -> {
+                            final CompletionStage<Void> saved;
+                            if (exists) {
+                                saved = CompletableFuture.allOf();
+                            } else {
+                                saved = this.origin.save(blob, new Content.From(bytes));
+                            }
+                            return saved;
+                        }
+                    )
+                )
+            ).toCompletableFuture();
+        } else {
+            res = this.origin.save(key, content);
+        }
+        return res;
+    }
+
+    @Override
+    public CompletableFuture<Void> move(final Key source, final Key destination) {
+        final CompletableFuture<Void> res;
+        if (DedupStorage.binary(destination) && !DedupStorage.binary(source)) {
+            this.pointers.invalidate(destination.string());
+            res = this.digest(source).thenCompose(
+                hex -> this.origin.size(source).thenCompose(
+                    size -> this.blob(
+                        destination, new Pointer(hex, size),
+                        (blob, exists) -> {
+                            final CompletionStage<Void> moved;
+                            if (exists) {
+                                moved = this.origin.delete(source);
+                            } else {
+                                moved = this.origin.move(source, blob);
+                            }
+                            return moved;
+                        }
+                    )
+                )
+            ).toCompletableFuture();
+        } else {
+            res = this.origin.move(source, destination);
+        }
+        return res;
+    }
+
+    @Override
+    public CompletableFuture<Long> size(final Key key) {
+        final CompletableFuture<Long> res;
+        if (DedupStorage.binary(key)) {
+            res = this.pointer(key).thenCompose(
+                pointer -> pointer.map(
+                    found -> found.size().map(CompletableFuture::completedFuture)
+                        .orElseGet(() -> this.origin.size(found.blob()))
+                ).orElseGet(() -> this.origin.size(key))
+            );
+        } else {
+            res = this.origin.size(key);
+        }
+        return res;
+    }
+
+    @Override
+    public CompletableFuture<Content> value(final Key key) {
+        final CompletableFuture<Content> res;
+        final Optional<Pointer> cached = Optional.ofNullable(
+            this.pointers.getIfPresent(key.string())
+        );
+        if (cached.isPresent()) {
+            res = this.blob(cached.get());
+        } else if (DedupStorage.binary(key)) {
+            res = this.origin.value(key).thenCompose(
+                content -> content.size().map(CompletableFuture::completedFuture)
+                    .orElseGet(() -> this.origin.size(key))
+                    .thenCompose(
+                        size -> {
+                            final CompletableFuture<Content> read;
+                            if (size > DedupStorage.MAX) {
+                                read = CompletableFuture.completedFuture(
+                                    new Content.From(size, content)
+                                );
+                            } else {
+                                read = this.small(key, content);
+                            }
+                            return read;
+                        }
+                    )
+            );
+        } else {
+            res = this.origin.value(key);
+        }
+        return res;
+    }
+
+    @Override
+    public CompletableFuture<Void> delete(final Key key) {
+        this.pointers.invalidate(key.string());
+        return this.origin.delete(key);
+    }
+
+    @Override
+    public <T> CompletionStage<T> exclusively(
+        final Key key, final Function<Storage, CompletionStage<T>> operation
+    ) {
+        return this.origin.exclusively(
+            key,
+            target -> operation.apply(new DedupStorage(target, this.workers, this.pointers))
+        );
+    }
+
+    /**
+     * Hex encoded SHA-512 of package binary, calculated from package binary itself,
+     * so blob key always matches blob content.
+     *
+     * @param source Package binary key.
+     * @return Hex encoded SHA-512.
+     */
+    private CompletableFuture<String> digest(final Key source) {
+        return this.origin.value(source)
+            .thenCompose(content -> new PublisherAs(content).bytes())
+            .thenApplyAsync(
+                bytes -> Hashing.sha512().hashBytes(bytes).toString(),
+                this.workers.hashing()
+            );
+    }
+
+    /**
+     * Store blob, then save pointer to it.
+     *
+     * @param key Package binary key.
+     * @param pointer Pointer to blob.
+     * @param store Storing of blob by its key and whether it exists already.
+     * @return Completion of saving.
+     */
+    private CompletionStage<Void> blob(
+        final Key key, final Pointer pointer,
+        final BiFunction<Key, Boolean, CompletionStage<Void>> store
+    ) {
+        return this.origin.exists(pointer.blob()).thenCompose(
+            exists -> store.apply(pointer.blob(), exists)
+        ).thenCompose(
+            nothing -> this.origin.save(
+                key, new Content.From(pointer.toString().getBytes(StandardCharsets.US_ASCII))
+            )
+        ).thenRun(() -> this.pointers.put(key.string(), pointer));
+    }
+
+    /**
+     * Read blob pointed by pointer.
+     *
+     * @param pointer Pointer.
+     * @return Blob content with size if pointer has it.
+     */
+    private CompletableFuture<Content> blob(final Pointer pointer) {
+        return this.origin.value(pointer.blob()).thenApply(
+            content -> new Content.From(
+                pointer.size().map(Optional::of).orElseGet(content::size), content
+            )
+        );
+    }
+
+    /**
+     * Read small package binary value, which may be pointer.
+     *
+     * @param key Package binary key.
+     * @param content Value.
+     * @return Blob content if value is pointer, the value itself otherwise.
+     */
+    private CompletableFuture<Content> small(final Key key, final Content content) {
+        return new PublisherAs(content).bytes().thenCompose(
+            bytes -> {
+                final Optional<Pointer> pointer = Pointer.parsed(bytes);
+                final CompletableFuture<Content> res;
+                if (pointer.isPresent()) {
+                    this.pointers.put(key.string(), pointer.get());
+                    res = this.blob(pointer.get());
+                } else {
+                    res = CompletableFuture.completedFuture(new Content.From(bytes));
+                }
+                return res;
+            }
+        ).toCompletableFuture();
+    }
+
+    /**
+     * Resolve package binary pointer.
+     *
+     * @param key Package binary key.
+     * @return Pointer if key holds pointer, empty otherwise.
+     */
+    private CompletableFuture<Optional<Pointer>> pointer(final Key key) {
+        final Optional<Pointer> cached = Optional.ofNullable(
+            this.pointers.getIfPresent(key.string())
+        );
+        final CompletableFuture<Optional<Pointer>> res;
+        if (cached.isPresent()) {
+            res = CompletableFuture.completedFuture(cached);
+        } else {
+            res = this.origin.size(key).thenCompose(
+                size -> {
+                    final CompletableFuture<Optional<Pointer>> pointer;
+                    if (size <= DedupStorage.MAX) {
+                        pointer = this.origin.value(key)
+                            .thenCompose(content -> new PublisherAs(content).bytes())
+                            .thenApply(Pointer::parsed)
+                            .thenApply(
+                                found -> {
+                                    found.ifPresent(ptr -> this.pointers.put(key.string(), ptr));
+                                    return found;
+                                }
+                            ).toCompletableFuture();
+                    } else {
+                        pointer = CompletableFuture.completedFuture(Optional.empty());
+                    }
+                    return pointer;
+                }
+            );
+        }
+        return res;
+    }
+
+    /**
+     * Check if key is package binary key.
+     *
+     * @param key Key.
+     * @return True for .nupkg keys.
+     */
+    private static boolean binary(final Key key) {
+        return key.string().endsWith(".nupkg");
+    }
+
+    /**
+     * Pointer to blob.
+     *
+     * @since 0.8
+     */
+    private static final class Pointer {
+
+        /**
+         * Hex encoded SHA-512 of blob.
+         */
+        private final String hex;
+
+        /**
+         * Blob size, unknown for pointers saved with no size.
+         */
+        private final Optional<Long> length;
+
+        /**
+         * Ctor.
+         *
+         * @param hex Hex encoded SHA-512 of blob.
+         * @param size Blob size.
+         */
+        Pointer(final String hex, final long size) {
+            this(hex, Optional.of(size));
+        }
+
+        /**
+         * Ctor.
+         *
+         * @param hex Hex encoded SHA-512 of blob.
+         * @param length Blob size, if known.
+         */
+        Pointer(final String hex, final Optional<Long> length) {
+            this.hex = hex;
+            this.length = length;
+        }
+
+        @Override
+        public String toString() {
+            return this.length.map(
+                size -> String.format("%s%s:%d", DedupStorage.PREFIX, this.hex, size)
+            ).orElseGet(() -> String.format("%s%s", DedupStorage.PREFIX, this.hex));
+        }
+
+        /**
+         * Blob key.
+         *
+         * @return Key.
+         */
+        Key blob() {
+            return new Key.From(DedupStorage.BLOBS, this.hex);
+        }
+
+        /**
+         * Blob size.
+         *
+         * @return Size if known.
+         */
+        Optional<Long> size() {
+            return this.length;
+        }
+
+        /**
+         * Parse pointer.
+         *
+         * @param bytes Value bytes.
+         * @return Pointer if value is pointer, empty otherwise.
+         */
+        static Optional<Pointer> parsed(final byte[] bytes) {
+            return Optional.of(new String(bytes, StandardCharsets.US_ASCII))
+                .filter(str -> str.startsWith(DedupStorage.PREFIX))
+                .map(str -> str.substring(DedupStorage.PREFIX.length()).split(":"))
+                .map(
+                    parts -> {
+                        final Optional<Long> size;
+                        if (parts.length > 1) {
+                            size = Optional.of(Long.parseLong(parts[1]));
+                        } else {
+                            size = Optional.empty();
+                        }
+                        return new Pointer(parts[0], size);
+                    }
+                );
+        }
+    }
+}
@@ -0,0 +1,203 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+
+package com.artipie.nuget;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.nuget.metadata.Nuspec;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Read-only repository grouping ordered list of member repositories,
+ * e.g. hosted repository followed by proxy repository.
+ * <p>
+ * Versions are merged from all members. Content and package description
+ * are read from the first member which has them. Lookups are sent to all members
+ * in parallel and result is returned as soon as some member has it and all
+ * members before it have not, so slow member does not delay requests
+ * satisfied by members before it. Failed member is treated as not having
+ * the package. Content and package description lookups only check package versions
+ * of members, content and description themselves are read from the found member only,
+ * so proxy member does not download packages served by members before it.
+ * Adding packages fails with {@link ReadOnlyRepositoryException}.
+ * </p>
+ *
+ * @since 0.8
+ */
+public final class GroupRepository implements Repository {
+
+    /**
+     * Package content key pattern.
+     */
+    private static final Pattern PACKAGE = Pattern.compile(
+        "(?<id>[^/]+)/(?<version>[^/]+)/[^/]+"
+    );
+
+    /**
+     * Versions list key pattern.
+     */
+    private static final Pattern LIST = Pattern.compile("(?<id>[^/]+)/index\\.json");
+
+    /**
+     * Member repositories in priority order.
+     */
+    private final List<Repository> members;
+
+    /**
+     * Ctor.
+     *
+     * @param members Member repositories in priority order.
+     */
+    public GroupRepository(final Repository... members) {
+        this(Arrays.asList(members));
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param members Member repositories in priority order.
+     */
+    public GroupRepository(final List<Repository> members) {
+        this.members = members;
+    }
+
+    @Override
+    public CompletionStage<Optional<Content>> content(final Key key) {
+        return this.fetch(member -> member.content(key), this.checks(key), 0);
+    }
+
+    @Override
+    public CompletionStage<Void> add(final Content content) {
+        final CompletableFuture<Void> res = new CompletableFuture<>();
+        res.completeExceptionally(
+            new ReadOnlyRepositoryException("Group repository is read-only")
+        );
+        return res;
+    }
+
+    @Override
+    public CompletionStage<Versions> versions(final PackageKeys id) {
+        final List<CompletableFuture<Versions>> all = this.members.stream().map(
+            member -> member.versions(id).toCompletableFuture()
+                .exceptionally(err -> new Versions())
+        ).collect(Collectors.toList());
+        return CompletableFuture.allOf(all.toArray(new CompletableFuture<?>[0])).thenApply(
+            nothing -> all.stream()
+                .map(CompletableFuture::join)
+                .reduce(new Versions(), Versions::merge)
+        );
+    }
+
+    @Override
+    public CompletionStage<Nuspec> nuspec(final PackageIdentity identity) {
+        return this.fetch(
+            member -> member.nuspec(identity).thenApply(Optional::of),
+            this.checks(identity.nuspecKey()),
+            0
+        ).thenApply(
+            found -> found.orElseThrow(
+                () -> new IllegalArgumentException(
+                    String.format("Cannot find package: %s", identity)
+                )
+            )
+        );
+    }
+
+    /**
+     * Start checks of content presence in all members.
+     *
+     * @param key Content key.
+     * @return Checks in members order, failed checks result in absent content.
+     */
+    private List<CompletableFuture<Boolean>> checks(final Key key) {
+        return this.members.stream().map(
+            member -> GroupRepository.has(member, key).toCompletableFuture()
+                .exceptionally(err -> false)
+        ).collect(Collectors.toList());
+    }
+
+    /**
+     * Read content from first member which has it.
+     * Waits only for checks of members before the found one.
+     *
+     * @param read Read from member.
+     * @param checks Checks of content presence in members order.
+     * @param from Index of first member to check.
+     * @param <T> Result type.
+     * @return First found content, empty if nothing found.
+     */
+    private <T> CompletionStage<Optional<T>> fetch(
+        final Function<Repository, CompletionStage<Optional<T>>> read,
+        final List<CompletableFuture<Boolean>> checks, final int from
+    ) {
+        final CompletionStage<Optional<T>> res;
+        if (from < checks.size()) {
+            res = checks.get(from).thenCompose(
+                has -> {
+                    final CompletionStage<Optional<T>> found;
+                    if (has) {
+                        found = read.apply(this.members.get(from)).toCompletableFuture()
+                            .exceptionally(err -> Optional.empty());
+                    } else {
+                        found = CompletableFuture.completedFuture(Optional.empty());
+                    }
+                    return found;
+                }
+            ).thenCompose(
+                found -> {
+                    final CompletionStage<Optional<T>> next;
+                    if (found.isPresent()) {
+                        next = CompletableFuture.completedFuture(found);
+                    } else {
+                        next = this.fetch(read, checks, from + 1);
+                    }
+                    return next;
+                }
+            );
+        } else {
+            res = CompletableFuture.completedFuture(Optional.empty());
+        }
+        return res;
+    }
+
+    /**
+     * Check if member may have content by its versions,
+     * with no content read. Package content key is <code>{id}/{version}/{file}</code>,
+     * versions list key is <code>{id}/index.json</code>,
+     * any other content is assumed to be present in every member.
+     *
+     * @param member Member repository.
+     * @param key Content key.
+     * @return True if member may have content.
+     */
+    private static CompletionStage<Boolean> has(final Repository member, final Key key) {
+        final Matcher pkg = GroupRepository.PACKAGE.matcher(key.string());
+        final Matcher list = GroupRepository.LIST.matcher(key.string());
+        final CompletionStage<Boolean> res;
+        if (pkg.matches()) {
+            final String ver = pkg.group("version");
+            res = member.versions(new PackageKeys(pkg.group("id"))).thenApply(
+                versions -> versions.all().stream()
+                    .anyMatch(version -> version.normalized().equals(ver))
+            );
+        } else if (list.matches()) {
+            res = member.versions(new PackageKeys(list.group("id"))).thenApply(
+                versions -> !versions.all().isEmpty()
+            );
+        } else {
+            res = CompletableFuture.completedFuture(true);
+        }
+        return res;
+    }
+}
@@ -44,14 +44,19 @@ public final class Hash {
      * @throws ArtipieIOException On error
      */
     public CompletionStage<Void> save(final Storage storage, final PackageIdentity identity) {
+        return storage.save(identity.hashKey(), new Content.From(this.digest()));
+    }
+
+    /**
+     * Calculates hash as base64 string bytes, as it is saved to storage.
+     *
+     * @return Base64 encoded SHA-512 hash.
+     * @throws ArtipieIOException On error
+     */
+    public byte[] digest() {
         try {
-            return storage.save(
-                identity.hashKey(),
-                new Content.From(
-                    Base64.getEncoder().encode(
-                        Hashing.sha512().hashBytes(this.value.read()).asBytes()
-                    )
-                )
+            return Base64.getEncoder().encode(
+                Hashing.sha512().hashBytes(this.value.read()).asBytes()
             );
         } catch (final IOException err) {
             throw new ArtipieIOException(err);
@@ -0,0 +1,85 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+
+package com.artipie.nuget;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import javax.json.Json;
+import javax.json.JsonObject;
+import javax.json.JsonReader;
+import javax.json.JsonWriter;
+
+/**
+ * JSON object serialized to bytes.
+ *
+ * @since 0.8
+ */
+public final class JsonBytes {
+
+    /**
+     * Serialized JSON object.
+     */
+    private final byte[] data;
+
+    /**
+     * Ctor.
+     *
+     * @param json JSON object to serialize.
+     */
+    public JsonBytes(final JsonObject json) {
+        this(JsonBytes.serialized(json));
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param bytes Serialized JSON object.
+     */
+    @SuppressWarnings("PMD.ArrayIsStoredDirectly")
+    public JsonBytes(final byte[] bytes) {
+        this.data = bytes;
+    }
+
+    /**
+     * Serialized JSON object.
+     *
+     * @return Bytes.
+     */
+    @SuppressWarnings("PMD.MethodReturnsInternalArray")
+    public byte[] bytes() {
+        return this.data;
+    }
+
+    /**
+     * Read JSON object.
+     *
+     * @return JSON object.
+     */
+    public JsonObject json() {
+        try (JsonReader reader = Json.createReader(new ByteArrayInputStream(this.data))) {
+            return reader.readObject();
+        }
+    }
+
+    /**
+     * Serialize JSON object.
+     *
+     * @param json JSON object.
+     * @return Bytes.
+     */
+    private static byte[] serialized(final JsonObject json) {
+        try (ByteArrayOutputStream out = new ByteArrayOutputStream();
+            JsonWriter writer = Json.createWriter(out)) {
+            writer.writeObject(json);
+            out.flush();
+            return out.toByteArray();
+        } catch (final IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
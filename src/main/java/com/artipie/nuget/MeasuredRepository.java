@@ -0,0 +1,167 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+
+package com.artipie.nuget;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.nuget.metadata.Nuspec;
+import com.artipie.nuget.metrics.CountedBody;
+import com.artipie.nuget.metrics.Metrics;
+import com.artipie.nuget.metrics.Stages;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Supplier;
+
+/**
+ * Repository decorator recording metrics of origin repository calls.
+ * <ul>
+ *     <li>{@code nuget.repository.calls} timer of each call,
+ *     tagged by {@code method} and {@code outcome} (success or failure)</li>
+ *     <li>{@code nuget.repository.bytes} counter of package content bytes,
+ *     tagged by {@code direction}: {@code in} for added packages,
+ *     {@code out} for read content</li>
+ * </ul>
+ * Timer of {@link #content(Key)} covers the lookup, not streaming of the content.
+ * Timer of each package added with batch call starts when its adding starts.
+ *
+ * @since 0.8
+ */
+public final class MeasuredRepository implements StagedRepository {
+
+    /**
+     * Calls timer name.
+     */
+    private static final String CALLS = "nuget.repository.calls";
+
+    /**
+     * Add method name.
+     */
+    private static final String ADDING = "add";
+
+    /**
+     * Bytes counter name.
+     */
+    private static final String BYTES = "nuget.repository.bytes";
+
+    /**
+     * Direction tag name.
+     */
+    private static final String DIRECTION = "direction";
+
+    /**
+     * Origin repository.
+     */
+    private final Repository origin;
+
+    /**
+     * Metrics.
+     */
+    private final Metrics metrics;
+
+    /**
+     * Ctor.
+     *
+     * @param origin Origin repository.
+     * @param metrics Metrics.
+     */
+    public MeasuredRepository(final Repository origin, final Metrics metrics) {
+        this.origin = origin;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public CompletionStage<Optional<Content>> content(final Key key) {
+        return this.timed("content", () -> this.origin.content(key)).thenApply(
+            found -> found.map(
+                content -> new Content.From(
+                    content.size(),
+                    new CountedBody(
+                        content,
+                        bytes -> this.metrics.count(
+                            MeasuredRepository.BYTES, bytes, MeasuredRepository.DIRECTION, "out"
+                        )
+                    )
+                )
+            )
+        );
+    }
+
+    @Override
+    public CompletionStage<Void> add(final Content content) {
+        return this.timed(MeasuredRepository.ADDING, () -> this.origin.add(this.counted(content)));
+    }
+
+    @Override
+    public List<CompletionStage<Void>> add(final List<ParsedPackage> packages) {
+        return new BatchTimer(action -> this.timed(MeasuredRepository.ADDING, action))
+            .timed(packages, this.origin.add(packages));
+    }
+
+    @Override
+    public CompletionStage<Void> add(final Content content, final Stages stages) {
+        return this.timed(
+            MeasuredRepository.ADDING,
+            () -> TimedRepository.add(this.origin, this.counted(content), stages)
+        );
+    }
+
+    @Override
+    public CompletionStage<Versions> versions(final PackageKeys id) {
+        return this.timed("versions", () -> this.origin.versions(id));
+    }
+
+    @Override
+    public CompletionStage<Nuspec> nuspec(final PackageIdentity identity) {
+        return this.timed("nuspec", () -> this.origin.nuspec(identity));
+    }
+
+    /**
+     * Content counting added bytes.
+     *
+     * @param content Added content.
+     * @return Counted content.
+     */
+    private Content counted(final Content content) {
+        return new Content.From(
+            content.size(),
+            new CountedBody(
+                content,
+                bytes -> this.metrics.count(
+                    MeasuredRepository.BYTES, bytes, MeasuredRepository.DIRECTION, "in"
+                )
+            )
+        );
+    }
+
+    /**
+     * Time origin repository call.
+     *
+     * @param method Repository method name.
+     * @param call Origin repository call.
+     * @param <T> Result type.
+     * @return Call result.
+     */
+    private <T> CompletionStage<T> timed(
+        final String method, final Supplier<CompletionStage<T>> call
+    ) {
+        final long start = System.nanoTime();
+        return call.get().whenComplete(
+            (res, err) -> {
+                final String outcome;
+                if (err == null) {
+                    outcome = "success";
+                } else {
+                    outcome = "failure";
+                }
+                this.metrics.time(
+                    MeasuredRepository.CALLS, System.nanoTime() - start,
+                    "method", method, "outcome", outcome
+                );
+            }
+        );
+    }
+}
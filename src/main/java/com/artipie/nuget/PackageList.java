@@ -0,0 +1,458 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+
+package com.artipie.nuget;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.asto.Storage;
+import com.artipie.asto.ValueNotFoundException;
+import com.artipie.asto.ext.PublisherAs;
+import com.artipie.nuget.metadata.Nuspec;
+import com.artipie.nuget.metadata.NuspecField;
+import com.artipie.nuget.metadata.PackageId;
+import com.artipie.nuget.metadata.Version;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import javax.json.Json;
+import javax.json.JsonArrayBuilder;
+import javax.json.JsonObject;
+
+/**
+ * Global list of packages in repository: id, latest version and last modification time
+ * of every package. Allows to get all packages without listing whole storage.
+ * <p>
+ * List is stored as snapshot at <code>.meta/packages.json</code> and small append-only
+ * change records under <code>.meta/added/</code>, one per added package,
+ * so adding packages requires no global lock.
+ * Change records are merged into snapshot when there are enough of them,
+ * merge is skipped if another merge is in progress or records can't be listed,
+ * e.g. when file storage listing races with concurrent saves.
+ * Merge fails and keeps all records if any record or snapshot can't be read.
+ * </p>
+ *
+ * @since 0.8
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
+ */
+@SuppressWarnings("PMD.TooManyMethods")
+public final class PackageList implements PackageListener {
+
+    /**
+     * Snapshot key.
+     */
+    private static final Key STATE = new Key.From(".meta/packages.json");
+
+    /**
+     * Change records prefix.
+     */
+    private static final Key RECORDS = new Key.From(".meta/added");
+
+    /**
+     * Number of change records to merge into snapshot.
+     */
+    private static final int THRESHOLD = 64;
+
+    /**
+     * Packages field of snapshot JSON.
+     */
+    private static final String PACKAGES = "packages";
+
+    /**
+     * Version field of item JSON.
+     */
+    private static final String VERSION = "version";
+
+    /**
+     * Modification time field of item JSON.
+     */
+    private static final String MODIFIED = "modified";
+
+    /**
+     * The storage.
+     */
+    private final Storage storage;
+
+    /**
+     * Clock to get modification time.
+     */
+    private final Clock clock;
+
+    /**
+     * Ctor.
+     *
+     * @param storage Repository storage.
+     */
+    public PackageList(final Storage storage) {
+        this(storage, Clock.systemUTC());
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param storage Repository storage.
+     * @param clock Clock to get modification time.
+     */
+    public PackageList(final Storage storage, final Clock clock) {
+        this.storage = storage;
+        this.clock = clock;
+    }
+
+    @Override
+    public CompletionStage<Void> added(final Nuspec nuspec) {
+        final Instant now = this.clock.instant();
+        final Item item = new Item(
+            new PackageId(nuspec.id().raw()), new Version(nuspec.version().raw()), now
+        );
+        return this.storage.save(
+            new Key.From(
+                PackageList.RECORDS,
+                String.format("%013d-%s.json", now.toEpochMilli(), UUID.randomUUID())
+            ),
+            new Content.From(new JsonBytes(item.json()).bytes())
+        ).thenCompose(nothing -> this.storage.list(PackageList.RECORDS)).handle(
+            (changes, err) -> err == null && changes.size() >= PackageList.THRESHOLD
+        ).thenCompose(
+            full -> {
+                final CompletionStage<Void> res;
+                if (full) {
+                    res = this.merge().exceptionally(err -> null);
+                } else {
+                    res = CompletableFuture.allOf();
+                }
+                return res;
+            }
+        );
+    }
+
+    /**
+     * Read all packages.
+     *
+     * @return Packages ordered by normalized id.
+     */
+    public CompletionStage<List<Item>> items() {
+        return this.all().thenApply(
+            all -> Collections.unmodifiableList(new ArrayList<>(all.values()))
+        );
+    }
+
+    /**
+     * Merge change records into snapshot.
+     * Fails if another merge is in progress.
+     *
+     * @return Completion of merge.
+     */
+    public CompletionStage<Void> merge() {
+        return this.merge(all -> { });
+    }
+
+    /**
+     * Replace package with its latest version after repair of storage,
+     * e.g. when latest version was broken and removed from versions list.
+     * Change records are merged into snapshot with replaced package.
+     * Fails if another merge is in progress.
+     *
+     * @param id Package id.
+     * @param latest Latest valid version, empty if package has no valid versions.
+     * @return Completion of replacement.
+     */
+    public CompletionStage<Void> repaired(final NuspecField id, final Optional<Version> latest) {
+        final Instant now = this.clock.instant();
+        return this.merge(
+            all -> {
+                if (latest.isPresent()) {
+                    all.compute(
+                        id.normalized(),
+                        (key, old) -> new Item(
+                            Optional.ofNullable(old).map(Item::id).orElse(id), latest.get(), now
+                        )
+                    );
+                } else {
+                    all.remove(id.normalized());
+                }
+            }
+        );
+    }
+
+    /**
+     * Merge change records into snapshot with packages changed by given action.
+     * Fails if another merge is in progress.
+     *
+     * @param action Action changing packages by normalized id before saving.
+     * @return Completion of merge.
+     */
+    private CompletionStage<Void> merge(final Consumer<Map<String, Item>> action) {
+        return this.storage.exclusively(
+            PackageList.STATE,
+            target -> target.list(PackageList.RECORDS).thenCompose(
+                keys -> this.all().thenCompose(
+                    all -> {
+                        action.accept(all);
+                        final JsonArrayBuilder json = Json.createArrayBuilder();
+                        all.values().forEach(item -> json.add(item.json()));
+                        return target.save(
+                            PackageList.STATE,
+                            new Content.From(
+                                new JsonBytes(
+                                    Json.createObjectBuilder()
+                                        .add(PackageList.PACKAGES, json)
+                                        .build()
+                                ).bytes()
+                            )
+                        );
+                    }
+                ).thenCompose(
+                    saved -> CompletableFuture.allOf(
+                        keys.stream()
+                            .map(key -> target.delete(key).toCompletableFuture())
+                            .toArray(CompletableFuture[]::new)
+                    )
+                )
+            )
+        );
+    }
+
+    /**
+     * Read all packages.
+     *
+     * @return Packages by normalized id.
+     */
+    private CompletionStage<Map<String, Item>> all() {
+        return this.storage.list(PackageList.RECORDS).thenCompose(this::changes).thenCompose(
+            changes -> this.snapshot().thenApply(
+                snapshot -> {
+                    final Map<String, Item> all = new TreeMap<>();
+                    PackageList.put(all, snapshot);
+                    PackageList.put(all, changes);
+                    return all;
+                }
+            )
+        );
+    }
+
+    /**
+     * Read snapshot.
+     *
+     * @return Packages from snapshot.
+     */
+    private CompletionStage<List<Item>> snapshot() {
+        return this.storage.value(PackageList.STATE)
+            .thenApply(PublisherAs::new)
+            .thenCompose(PublisherAs::bytes)
+            .<List<Item>>thenApply(
+                bytes -> new JsonBytes(bytes).json()
+                    .getJsonArray(PackageList.PACKAGES)
+                    .getValuesAs(JsonObject.class)
+                    .stream()
+                    .map(Item::new)
+                    .collect(Collectors.toList())
+            ).exceptionally(
+                err -> {
+                    if (!PackageList.absent(err)) {
+                        throw PackageList.completion(err);
+                    }
+                    return Collections.emptyList();
+                }
+            );
+    }
+
+    /**
+     * Read change records.
+     * Records removed by concurrent merge are skipped,
+     * they are read from snapshot which is always read after records.
+     * Fails if record can't be read for other reason, so merge keeps records then.
+     *
+     * @param keys Change record keys.
+     * @return Packages from change records.
+     */
+    private CompletionStage<List<Item>> changes(final Collection<Key> keys) {
+        final List<CompletableFuture<Optional<Item>>> items = keys.stream().map(
+            key -> this.storage.value(key)
+                .thenApply(PublisherAs::new)
+                .thenCompose(PublisherAs::bytes)
+                .thenApply(bytes -> Optional.of(new Item(new JsonBytes(bytes).json())))
+                .exceptionally(
+                    err -> {
+                        if (!PackageList.absent(err)) {
+                            throw PackageList.completion(err);
+                        }
+                        return Optional.empty();
+                    }
+                )
+                .toCompletableFuture()
+        ).collect(Collectors.toList());
+        return CompletableFuture.allOf(items.toArray(new CompletableFuture<?>[0])).thenApply(
+            nothing -> items.stream()
+                .map(CompletableFuture::join)
+                .filter(Optional::isPresent)
+                .map(Optional::get)
+                .collect(Collectors.toList())
+        );
+    }
+
+    /**
+     * Put items into map by normalized id, keeping latest version of each package.
+     *
+     * @param all Items by normalized id.
+     * @param items Items to put.
+     */
+    private static void put(final Map<String, Item> all, final List<Item> items) {
+        for (final Item item : items) {
+            all.merge(item.id().normalized(), item, Item::merge);
+        }
+    }
+
+    /**
+     * Checks if storage operation failed because value does not exist.
+     *
+     * @param err Storage operation failure.
+     * @return True if value does not exist.
+     */
+    private static boolean absent(final Throwable err) {
+        return err instanceof ValueNotFoundException
+            || err.getCause() instanceof ValueNotFoundException;
+    }
+
+    /**
+     * Failure to rethrow from completion stage without wrapping it twice.
+     *
+     * @param err Failure.
+     * @return Completion exception.
+     */
+    private static CompletionException completion(final Throwable err) {
+        final CompletionException res;
+        if (err instanceof CompletionException) {
+            res = (CompletionException) err;
+        } else {
+            res = new CompletionException(err);
+        }
+        return res;
+    }
+
+    /**
+     * Package in the list.
+     *
+     * @since 0.8
+     */
+    public static final class Item {
+
+        /**
+         * Package id.
+         */
+        private final NuspecField pid;
+
+        /**
+         * Latest version.
+         */
+        private final Version ver;
+
+        /**
+         * Last modification time.
+         */
+        private final Instant time;
+
+        /**
+         * Ctor.
+         *
+         * @param json Item JSON.
+         */
+        Item(final JsonObject json) {
+            this(
+                new PackageId(json.getString("id")),
+                new Version(json.getString(PackageList.VERSION)),
+                Instant.parse(json.getString(PackageList.MODIFIED))
+            );
+        }
+
+        /**
+         * Ctor.
+         *
+         * @param pid Package id.
+         * @param ver Latest version.
+         * @param time Last modification time.
+         */
+        Item(final NuspecField pid, final Version ver, final Instant time) {
+            this.pid = pid;
+            this.ver = ver;
+            this.time = time;
+        }
+
+        /**
+         * Package id.
+         *
+         * @return Package id.
+         * @checkstyle MethodNameCheck (3 lines)
+         */
+        @SuppressWarnings("PMD.ShortMethodName")
+        public NuspecField id() {
+            return this.pid;
+        }
+
+        /**
+         * Latest version.
+         *
+         * @return Version.
+         */
+        public Version version() {
+            return this.ver;
+        }
+
+        /**
+         * Last modification time.
+         *
+         * @return Time.
+         */
+        public Instant modified() {
+            return this.time;
+        }
+
+        /**
+         * Merge with other item of same package.
+         *
+         * @param other Other item.
+         * @return Item with latest version and modification time.
+         */
+        Item merge(final Item other) {
+            final Item latest;
+            if (this.ver.compareTo(other.ver) >= 0) {
+                latest = this;
+            } else {
+                latest = other;
+            }
+            final Instant max;
+            if (this.time.isAfter(other.time)) {
+                max = this.time;
+            } else {
+                max = other.time;
+            }
+            return new Item(latest.pid, latest.ver, max);
+        }
+
+        /**
+         * Item JSON.
+         *
+         * @return JSON object.
+         */
+        JsonObject json() {
+            return Json.createObjectBuilder()
+                .add("id", this.pid.raw())
+                .add(PackageList.VERSION, this.ver.raw())
+                .add(PackageList.MODIFIED, this.time.toString())
+                .build();
+        }
+    }
+}
@@ -0,0 +1,32 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+
+package com.artipie.nuget;
+
+import com.artipie.nuget.metadata.Nuspec;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Listener of packages added to repository.
+ * Used to keep derived data, like search index, up to date.
+ *
+ * @since 0.8
+ */
+public interface PackageListener {
+
+    /**
+     * Listener which does nothing.
+     */
+    PackageListener NONE = nuspec -> CompletableFuture.allOf();
+
+    /**
+     * Handle package added to repository.
+     *
+     * @param nuspec Description of added package.
+     * @return Completion of handling.
+     */
+    CompletionStage<Void> added(Nuspec nuspec);
+}
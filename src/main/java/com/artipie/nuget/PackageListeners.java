@@ -0,0 +1,53 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+
+package com.artipie.nuget;
+
+import com.artipie.nuget.metadata.Nuspec;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Listeners of packages added to repository, notified one by one in given order.
+ * Used to enable several kinds of derived data, e.g.:
+ * <code>new PackageListeners(new PackageList(storage), new Catalog(storage), index)</code>.
+ *
+ * @since 0.8
+ */
+public final class PackageListeners implements PackageListener {
+
+    /**
+     * Listeners.
+     */
+    private final Iterable<PackageListener> listeners;
+
+    /**
+     * Ctor.
+     *
+     * @param listeners Listeners.
+     */
+    public PackageListeners(final PackageListener... listeners) {
+        this(Arrays.asList(listeners));
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param listeners Listeners.
+     */
+    public PackageListeners(final Iterable<PackageListener> listeners) {
+        this.listeners = listeners;
+    }
+
+    @Override
+    public CompletionStage<Void> added(final Nuspec nuspec) {
+        CompletionStage<Void> res = CompletableFuture.allOf();
+        for (final PackageListener listener : this.listeners) {
+            res = res.thenCompose(nothing -> listener.added(nuspec));
+        }
+        return res;
+    }
+}
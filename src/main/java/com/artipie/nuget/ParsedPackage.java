@@ -0,0 +1,64 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+
+package com.artipie.nuget;
+
+import com.artipie.asto.Content;
+import com.artipie.nuget.metadata.Nuspec;
+import com.google.common.io.ByteSource;
+
+/**
+ * NuGet package read into memory with its description already extracted,
+ * so it is not parsed again when added to repository.
+ *
+ * @since 0.8
+ */
+@SuppressWarnings("PMD.ArrayIsStoredDirectly")
+public final class ParsedPackage implements NuGetPackage {
+
+    /**
+     * Package binary content.
+     */
+    private final byte[] bytes;
+
+    /**
+     * Package description.
+     */
+    private final Nuspec description;
+
+    /**
+     * Ctor.
+     *
+     * @param bytes Package binary content.
+     * @param description Package description extracted from the content.
+     */
+    public ParsedPackage(final byte[] bytes, final Nuspec description) {
+        this.bytes = bytes;
+        this.description = description;
+    }
+
+    @Override
+    public Nuspec nuspec() {
+        return this.description;
+    }
+
+    /**
+     * Package binary content.
+     *
+     * @return Content.
+     */
+    public Content content() {
+        return new Content.From(this.bytes);
+    }
+
+    /**
+     * Package binary content.
+     *
+     * @return Content.
+     */
+    public ByteSource source() {
+        return ByteSource.wrap(this.bytes);
+    }
+}
@@ -0,0 +1,26 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+package com.artipie.nuget;
+
+import com.artipie.ArtipieException;
+
+/**
+ * Exception indicates that package cannot be added,
+ * because repository is read-only, e.g. group or proxy repository.
+ *
+ * @since 0.8
+ */
+@SuppressWarnings("serial")
+public final class ReadOnlyRepositoryException extends ArtipieException {
+
+    /**
+     * Ctor.
+     *
+     * @param message Exception details message.
+     */
+    public ReadOnlyRepositoryException(final String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,853 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+
+package com.artipie.nuget;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.asto.Storage;
+import com.artipie.asto.ext.PublisherAs;
+import com.artipie.nuget.metadata.Nuspec;
+import com.artipie.nuget.metadata.NuspecField;
+import com.artipie.nuget.metadata.PackageId;
+import com.artipie.nuget.metadata.Version;
+import com.google.common.io.ByteSource;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Consistency check and repair of repository storage,
+ * e.g. after adding package failed midway.
+ * <p>
+ * Packages are found in {@link PackageList} if it is given, otherwise storage is listed
+ * once to find package ids. Packages are then repaired in windows of limited size:
+ * files of window packages are listed per package and every package version
+ * is checked in parallel windows of limited size:
+ * .nupkg file should exist and contain description of the same package,
+ * missing or outdated .nuspec and .sha512 files are regenerated from .nupkg.
+ * Versions without valid .nupkg are reported as broken and left in storage as is.
+ * Then versions list of every package is regenerated under package lock from valid versions
+ * and versions stored after the check started.
+ * Progress is reported after every window of versions. Memory usage is bounded
+ * by window size and ids of all packages.
+ * </p>
+ * <p>
+ * Derived data of every package with repaired files, broken versions or regenerated
+ * versions list is refreshed: package is replaced in package list with its latest valid
+ * version and valid versions are replayed to given listener, e.g. to regenerate
+ * {@link com.artipie.nuget.http.metadata.GzipRegistrations} and append to
+ * {@link com.artipie.nuget.catalog.Catalog}.
+ * </p>
+ *
+ * @since 0.8
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
+ */
+public final class Repair {
+
+    /**
+     * Max number of package versions checked concurrently.
+     */
+    private static final int WINDOW = 64;
+
+    /**
+     * Number of parts in package version file key: id, version and file name.
+     */
+    private static final int PARTS = 3;
+
+    /**
+     * The storage.
+     */
+    private final Storage storage;
+
+    /**
+     * Executors for parsing and hashing.
+     */
+    private final Workers workers;
+
+    /**
+     * Package list to find packages in and to repair, if storage should not be listed.
+     */
+    private final Optional<PackageList> packages;
+
+    /**
+     * Listener to replay valid versions of repaired packages to.
+     */
+    private final PackageListener listener;
+
+    /**
+     * Ctor.
+     *
+     * @param storage Repository storage.
+     */
+    public Repair(final Storage storage) {
+        this(storage, Workers.SHARED);
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param storage Repository storage.
+     * @param workers Executors for parsing and hashing.
+     */
+    public Repair(final Storage storage, final Workers workers) {
+        this(storage, workers, PackageListener.NONE);
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param storage Repository storage.
+     * @param workers Executors for parsing and hashing.
+     * @param listener Listener to replay valid versions of repaired packages to.
+     */
+    public Repair(
+        final Storage storage, final Workers workers, final PackageListener listener
+    ) {
+        this(storage, workers, Optional.empty(), listener);
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param storage Repository storage.
+     * @param workers Executors for parsing and hashing.
+     * @param packages Package list to find packages in and to repair.
+     * @param listener Listener to replay valid versions of repaired packages to.
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    public Repair(
+        final Storage storage, final Workers workers, final PackageList packages,
+        final PackageListener listener
+    ) {
+        this(storage, workers, Optional.of(packages), listener);
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param storage Repository storage.
+     * @param workers Executors for parsing and hashing.
+     * @param packages Package list to find packages in, if storage should not be listed.
+     * @param listener Listener to replay valid versions of repaired packages to.
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    private Repair(
+        final Storage storage, final Workers workers, final Optional<PackageList> packages,
+        final PackageListener listener
+    ) {
+        this.storage = storage;
+        this.workers = workers;
+        this.packages = packages;
+        this.listener = listener;
+    }
+
+    /**
+     * Check and repair repository.
+     *
+     * @param progress Progress consumer, called after every window of checked versions.
+     * @return Final status.
+     */
+    public CompletionStage<Status> run(final Consumer<Status> progress) {
+        return this.ids().thenCompose(ids -> new Run(progress).start(ids));
+    }
+
+    /**
+     * Find normalized ids of stored packages.
+     *
+     * @return Package ids.
+     */
+    private CompletionStage<List<String>> ids() {
+        return this.packages.map(
+            list -> list.items().thenApply(
+                items -> items.stream()
+                    .map(item -> item.id().normalized())
+                    .collect(Collectors.toList())
+            )
+        ).orElseGet(
+            () -> this.storage.list(Key.ROOT).thenApply(
+                keys -> keys.stream()
+                    .map(Key::string)
+                    .filter(key -> key.charAt(0) != '.' && key.indexOf('/') > 0)
+                    .map(key -> key.substring(0, key.indexOf('/')))
+                    .distinct()
+                    .collect(Collectors.toList())
+            )
+        );
+    }
+
+    /**
+     * Group package storage keys into package versions.
+     *
+     * @param id Normalized package id.
+     * @param keys Package storage keys.
+     * @return File names by normalized version.
+     */
+    private static Map<String, Set<String>> versions(
+        final String id, final Collection<Key> keys
+    ) {
+        final Map<String, Set<String>> res = new TreeMap<>();
+        for (final Key key : keys) {
+            final String[] parts = key.string().split("/");
+            if (parts.length == Repair.PARTS && parts[0].equals(id)) {
+                res.computeIfAbsent(parts[1], ver -> new TreeSet<>()).add(parts[2]);
+            }
+        }
+        return res;
+    }
+
+    /**
+     * Run action for sequential windows of list items of limited size.
+     *
+     * @param items Items.
+     * @param action Action for each window.
+     * @param <T> Item type.
+     * @return Completion of all actions.
+     */
+    private static <T> CompletableFuture<Void> batches(
+        final List<T> items, final Function<List<T>, CompletionStage<Void>> action
+    ) {
+        CompletableFuture<Void> done = CompletableFuture.allOf();
+        for (int from = 0; from < items.size(); from += Repair.WINDOW) {
+            final List<T> window = items.subList(
+                from, Math.min(from + Repair.WINDOW, items.size())
+            );
+            done = done.thenCompose(nothing -> action.apply(window));
+        }
+        return done;
+    }
+
+    /**
+     * Run actions for list items in sequential windows of limited size.
+     *
+     * @param items Items.
+     * @param action Action for each item.
+     * @param after Action after each window.
+     * @param <T> Item type.
+     * @return Completion of all actions.
+     */
+    private static <T> CompletableFuture<Void> windows(
+        final List<T> items, final Function<T, CompletionStage<Void>> action,
+        final Runnable after
+    ) {
+        return Repair.batches(
+            items,
+            window -> CompletableFuture.allOf(
+                window.stream()
+                    .map(item -> action.apply(item).toCompletableFuture())
+                    .toArray(CompletableFuture[]::new)
+            ).thenRun(after)
+        );
+    }
+
+    /**
+     * Extract package description and check it describes expected package.
+     *
+     * @param identity Expected package identity.
+     * @param bytes Package binary content.
+     * @return Package description, empty if package is invalid.
+     */
+    private static Optional<Nuspec> nuspec(final PackageIdentity identity, final byte[] bytes) {
+        Optional<Nuspec> res;
+        try {
+            res = Optional.of(new Nupkg(ByteSource.wrap(bytes)).nuspec()).filter(
+                nuspec -> new PackageIdentity(nuspec.id(), nuspec.version()).nupkgKey().string()
+                    .equals(identity.nupkgKey().string())
+            );
+        } catch (final UncheckedIOException | IllegalArgumentException ex) {
+            res = Optional.empty();
+        }
+        return res;
+    }
+
+    /**
+     * Versions list of given versions.
+     *
+     * @param versions Normalized versions.
+     * @return Versions list.
+     */
+    private static Versions versions(final Collection<String> versions) {
+        Versions res = new Versions();
+        for (final String version : versions) {
+            res = res.add(new Version(version));
+        }
+        return res;
+    }
+
+    /**
+     * Versions package index should list: stored versions with .nupkg file,
+     * which were found valid or were not checked, being stored after repair started.
+     *
+     * @param id Normalized package id.
+     * @param checked Checked normalized versions.
+     * @param good Valid checked normalized versions.
+     * @param keys Current package storage keys.
+     * @return Normalized versions.
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    private static Set<String> expected(
+        final String id, final Set<String> checked, final Set<String> good,
+        final Collection<Key> keys
+    ) {
+        final Set<String> res = new TreeSet<>();
+        Repair.versions(id, keys).forEach(
+            (ver, names) -> {
+                final Stored stored = new Stored(id, ver, names);
+                if (stored.has(stored.identity().nupkgKey())
+                    && (good.contains(ver) || !checked.contains(ver))) {
+                    res.add(ver);
+                }
+            }
+        );
+        return res;
+    }
+
+    /**
+     * Repair status.
+     *
+     * @since 0.8
+     */
+    public static final class Status {
+
+        /**
+         * Total number of package versions found so far.
+         */
+        private final int all;
+
+        /**
+         * Number of checked package versions.
+         */
+        private final int done;
+
+        /**
+         * Number of regenerated .nuspec and .sha512 files.
+         */
+        private final int fixed;
+
+        /**
+         * Number of broken package versions.
+         */
+        private final int bad;
+
+        /**
+         * Number of regenerated versions lists.
+         */
+        private final int rebuilt;
+
+        /**
+         * Time elapsed since start.
+         */
+        private final Duration time;
+
+        /**
+         * Ctor.
+         *
+         * @param all Total number of package versions found so far.
+         * @param done Number of checked package versions.
+         * @param fixed Number of regenerated .nuspec and .sha512 files.
+         * @param bad Number of broken package versions.
+         * @param rebuilt Number of regenerated versions lists.
+         * @param time Time elapsed since start.
+         * @checkstyle ParameterNumberCheck (3 lines)
+         */
+        Status(final int all, final int done, final int fixed, final int bad,
+            final int rebuilt, final Duration time) {
+            this.all = all;
+            this.done = done;
+            this.fixed = fixed;
+            this.bad = bad;
+            this.rebuilt = rebuilt;
+            this.time = time;
+        }
+
+        /**
+         * Total number of package versions found so far,
+         * packages are listed window by window.
+         *
+         * @return Number of versions.
+         */
+        public int total() {
+            return this.all;
+        }
+
+        /**
+         * Number of checked package versions.
+         *
+         * @return Number of versions.
+         */
+        public int checked() {
+            return this.done;
+        }
+
+        /**
+         * Number of regenerated .nuspec and .sha512 files.
+         *
+         * @return Number of files.
+         */
+        public int repaired() {
+            return this.fixed;
+        }
+
+        /**
+         * Number of package versions without valid .nupkg file.
+         *
+         * @return Number of versions.
+         */
+        public int broken() {
+            return this.bad;
+        }
+
+        /**
+         * Number of regenerated versions lists.
+         *
+         * @return Number of packages.
+         */
+        public int indexes() {
+            return this.rebuilt;
+        }
+
+        /**
+         * Time elapsed since start.
+         *
+         * @return Elapsed time.
+         */
+        public Duration elapsed() {
+            return this.time;
+        }
+
+        /**
+         * Number of checked package versions per second.
+         *
+         * @return Throughput.
+         * @checkstyle MagicNumberCheck (3 lines)
+         */
+        public double throughput() {
+            return this.done * 1000.0 / Math.max(1L, this.time.toMillis());
+        }
+
+        @Override
+        public String toString() {
+            return String.format(
+                "checked %d/%d versions (%.1f/s), repaired %d files, %d broken, %d indexes",
+                this.done, this.all, this.throughput(), this.fixed, this.bad, this.rebuilt
+            );
+        }
+    }
+
+    /**
+     * Single repair run.
+     *
+     * @since 0.8
+     */
+    @SuppressWarnings("PMD.TooManyMethods")
+    private final class Run {
+
+        /**
+         * Progress consumer.
+         */
+        private final Consumer<Status> progress;
+
+        /**
+         * Valid versions by normalized package id of current window.
+         */
+        private final ConcurrentMap<String, Queue<String>> valid;
+
+        /**
+         * Normalized ids of packages of current window with repaired files or broken versions.
+         */
+        private final Set<String> touched;
+
+        /**
+         * Number of package versions found so far.
+         */
+        private final AtomicInteger all;
+
+        /**
+         * Number of checked package versions.
+         */
+        private final AtomicInteger done;
+
+        /**
+         * Number of regenerated files.
+         */
+        private final AtomicInteger fixed;
+
+        /**
+         * Number of broken package versions.
+         */
+        private final AtomicInteger bad;
+
+        /**
+         * Number of regenerated versions lists.
+         */
+        private final AtomicInteger rebuilt;
+
+        /**
+         * Start time in nanoseconds.
+         */
+        private final long begin;
+
+        /**
+         * Ctor.
+         *
+         * @param progress Progress consumer.
+         */
+        Run(final Consumer<Status> progress) {
+            this.progress = progress;
+            this.valid = new ConcurrentHashMap<>();
+            this.touched = ConcurrentHashMap.newKeySet();
+            this.all = new AtomicInteger();
+            this.done = new AtomicInteger();
+            this.fixed = new AtomicInteger();
+            this.bad = new AtomicInteger();
+            this.rebuilt = new AtomicInteger();
+            this.begin = System.nanoTime();
+        }
+
+        /**
+         * Start repair.
+         *
+         * @param ids Normalized ids of packages.
+         * @return Final status.
+         */
+        CompletionStage<Status> start(final List<String> ids) {
+            return Repair.batches(ids, this::repair).thenApply(nothing -> this.status());
+        }
+
+        /**
+         * Current status.
+         *
+         * @return Status.
+         */
+        private Status status() {
+            return new Status(
+                this.all.get(), this.done.get(), this.fixed.get(), this.bad.get(),
+                this.rebuilt.get(), Duration.ofNanos(System.nanoTime() - this.begin)
+            );
+        }
+
+        /**
+         * Repair window of packages: list their files, check their versions
+         * and regenerate their versions lists.
+         *
+         * @param ids Normalized ids of packages.
+         * @return Completion of repair.
+         */
+        private CompletionStage<Void> repair(final List<String> ids) {
+            final Map<String, Map<String, Set<String>>> found = new ConcurrentHashMap<>();
+            return CompletableFuture.allOf(
+                ids.stream().map(
+                    id -> Repair.this.storage.list(new Key.From(id)).thenAccept(
+                        keys -> found.put(id, Repair.versions(id, keys))
+                    )
+                ).toArray(CompletableFuture[]::new)
+            ).thenCompose(
+                nothing -> {
+                    final List<Stored> versions = new ArrayList<>(0);
+                    ids.forEach(
+                        id -> found.get(id).forEach(
+                            (ver, names) -> versions.add(new Stored(id, ver, names))
+                        )
+                    );
+                    this.all.addAndGet(versions.size());
+                    return Repair.windows(
+                        versions, this::check, () -> this.progress.accept(this.status())
+                    );
+                }
+            ).thenCompose(
+                nothing -> Repair.windows(
+                    ids, id -> this.index(id, found.get(id).keySet()), () -> { }
+                )
+            );
+        }
+
+        /**
+         * Check package version.
+         *
+         * @param stored Stored package version.
+         * @return Completion of check.
+         */
+        private CompletionStage<Void> check(final Stored stored) {
+            final PackageIdentity identity = stored.identity();
+            final CompletionStage<Optional<Nuspec>> res;
+            if (stored.has(identity.nupkgKey())) {
+                res = Repair.this.storage.value(identity.nupkgKey())
+                    .thenApply(PublisherAs::new)
+                    .thenCompose(PublisherAs::bytes)
+                    .thenCompose(bytes -> this.files(stored, bytes));
+            } else {
+                res = CompletableFuture.completedFuture(Optional.empty());
+            }
+            return res.thenAccept(
+                nuspec -> {
+                    if (nuspec.isPresent()) {
+                        this.valid.computeIfAbsent(
+                            stored.pid, id -> new ConcurrentLinkedQueue<>()
+                        ).add(stored.ver);
+                    } else {
+                        this.bad.incrementAndGet();
+                        this.touched.add(stored.pid);
+                    }
+                    this.done.incrementAndGet();
+                }
+            );
+        }
+
+        /**
+         * Validate package and regenerate its .nuspec and .sha512 files if needed.
+         *
+         * @param stored Stored package version.
+         * @param bytes Package binary content.
+         * @return Package description, empty if package is not valid.
+         */
+        private CompletionStage<Optional<Nuspec>> files(final Stored stored, final byte[] bytes) {
+            return CompletableFuture.supplyAsync(
+                () -> Repair.nuspec(stored.identity(), bytes), Repair.this.workers.parsing()
+            ).thenCompose(
+                nuspec -> nuspec.map(
+                    found -> CompletableFuture.allOf(
+                        this.hash(stored, bytes).toCompletableFuture(),
+                        this.description(stored, found).toCompletableFuture()
+                    ).thenApply(nothing -> nuspec)
+                ).orElseGet(() -> CompletableFuture.completedFuture(Optional.empty()))
+            );
+        }
+
+        /**
+         * Regenerate .sha512 file if it is missing or does not match package.
+         *
+         * @param stored Stored package version.
+         * @param bytes Package binary content.
+         * @return Completion of check.
+         */
+        private CompletionStage<Void> hash(final Stored stored, final byte[] bytes) {
+            final Key key = stored.identity().hashKey();
+            return CompletableFuture.supplyAsync(
+                () -> new Hash(ByteSource.wrap(bytes)).digest(), Repair.this.workers.hashing()
+            ).thenCompose(expected -> this.matches(stored, key, expected));
+        }
+
+        /**
+         * Regenerate .nuspec file if it is missing or does not match package.
+         *
+         * @param stored Stored package version.
+         * @param nuspec Package description from package.
+         * @return Completion of check.
+         */
+        private CompletionStage<Void> description(final Stored stored, final Nuspec nuspec) {
+            return this.matches(stored, stored.identity().nuspecKey(), nuspec.bytes());
+        }
+
+        /**
+         * Save expected file content if stored one is missing or differs.
+         *
+         * @param stored Stored package version.
+         * @param key File key.
+         * @param expected Expected file content.
+         * @return Completion of check.
+         */
+        private CompletionStage<Void> matches(
+            final Stored stored, final Key key, final byte[] expected
+        ) {
+            final CompletionStage<Boolean> same;
+            if (stored.has(key)) {
+                same = Repair.this.storage.value(key)
+                    .thenApply(PublisherAs::new)
+                    .thenCompose(PublisherAs::bytes)
+                    .thenApply(actual -> Arrays.equals(actual, expected));
+            } else {
+                same = CompletableFuture.completedFuture(false);
+            }
+            return same.thenCompose(
+                equal -> {
+                    final CompletionStage<Void> res;
+                    if (equal) {
+                        res = CompletableFuture.allOf();
+                    } else {
+                        this.fixed.incrementAndGet();
+                        this.touched.add(stored.pid);
+                        res = Repair.this.storage.save(key, new Content.From(expected));
+                    }
+                    return res;
+                }
+            );
+        }
+
+        /**
+         * Regenerate versions list of package if it does not match valid versions
+         * and refresh derived data of package if it was repaired.
+         * Package is listed again under package lock, so versions published
+         * since repair started are kept and versions removed since are dropped.
+         *
+         * @param id Normalized package id.
+         * @param checked Checked normalized versions.
+         * @return Completion of regeneration.
+         */
+        private CompletionStage<Void> index(final String id, final Set<String> checked) {
+            final PackageKeys pkey = new PackageKeys(id);
+            final Set<String> good = new TreeSet<>(
+                Optional.ofNullable(this.valid.remove(id)).orElseGet(ConcurrentLinkedQueue::new)
+            );
+            return Repair.this.storage.exclusively(
+                pkey.rootKey(),
+                target -> target.list(pkey.rootKey()).thenCompose(
+                    keys -> {
+                        final Set<String> expected = Repair.expected(id, checked, good, keys);
+                        return new AstoRepository(target, Repair.this.workers).versions(pkey)
+                            .thenCompose(
+                                versions -> this.rebuild(target, id, versions, expected)
+                            ).thenApply(nothing -> expected);
+                    }
+                )
+            ).thenCompose(
+                expected -> {
+                    final CompletionStage<Void> res;
+                    if (this.touched.remove(id)) {
+                        res = this.refresh(id, Repair.versions(expected).all(), good);
+                    } else {
+                        res = CompletableFuture.allOf();
+                    }
+                    return res;
+                }
+            );
+        }
+
+        /**
+         * Save versions list of package if it differs from expected one.
+         *
+         * @param target Locked storage.
+         * @param id Normalized package id.
+         * @param versions Stored versions list.
+         * @param expected Expected normalized versions.
+         * @return Completion of saving.
+         * @checkstyle ParameterNumberCheck (5 lines)
+         */
+        private CompletionStage<Void> rebuild(
+            final Storage target, final String id, final Versions versions,
+            final Set<String> expected
+        ) {
+            final Set<String> actual = versions.all().stream()
+                .map(NuspecField::normalized)
+                .collect(Collectors.toCollection(TreeSet::new));
+            final CompletionStage<Void> res;
+            if (actual.equals(expected)) {
+                res = CompletableFuture.allOf();
+            } else {
+                this.rebuilt.incrementAndGet();
+                this.touched.add(id);
+                res = Repair.versions(expected).save(target, new PackageKeys(id).versionsKey());
+            }
+            return res;
+        }
+
+        /**
+         * Refresh derived data of repaired package: replace it in package list
+         * with its latest version and replay its valid versions to listener in order.
+         *
+         * @param id Normalized package id.
+         * @param versions Versions of package sorted by natural order.
+         * @param good Valid checked normalized versions.
+         * @return Completion of refresh.
+         */
+        private CompletionStage<Void> refresh(
+            final String id, final List<NuspecField> versions, final Set<String> good
+        ) {
+            CompletionStage<Void> res = Repair.this.packages.map(
+                list -> list.repaired(
+                    new PackageId(id),
+                    versions.stream().reduce((first, second) -> second)
+                        .map(last -> new Version(last.raw()))
+                )
+            ).orElseGet(CompletableFuture::allOf);
+            for (final NuspecField version : versions) {
+                if (good.contains(version.normalized())) {
+                    final Key key = new PackageIdentity(new PackageId(id), version).nuspecKey();
+                    res = res.thenCompose(
+                        nothing -> Repair.this.storage.value(key)
+                            .thenApply(PublisherAs::new)
+                            .thenCompose(PublisherAs::bytes)
+                            .thenApplyAsync(Nuspec.Xml::new, Repair.this.workers.parsing())
+                            .thenCompose(Repair.this.listener::added)
+                    );
+                }
+            }
+            return res;
+        }
+    }
+
+    /**
+     * Package version found in storage.
+     *
+     * @since 0.8
+     */
+    private static final class Stored {
+
+        /**
+         * Normalized package id.
+         */
+        private final String pid;
+
+        /**
+         * Normalized package version.
+         */
+        private final String ver;
+
+        /**
+         * Names of stored files of package version.
+         */
+        private final Set<String> names;
+
+        /**
+         * Ctor.
+         *
+         * @param pid Normalized package id.
+         * @param ver Normalized package version.
+         * @param names Names of stored files of package version.
+         */
+        Stored(final String pid, final String ver, final Set<String> names) {
+            this.pid = pid;
+            this.ver = ver;
+            this.names = names;
+        }
+
+        /**
+         * Package identity.
+         *
+         * @return Identity.
+         */
+        PackageIdentity identity() {
+            return new PackageIdentity(new PackageId(this.pid), new Version(this.ver));
+        }
+
+        /**
+         * Check if file of package version is stored.
+         *
+         * @param key File key.
+         * @return True if stored.
+         */
+        boolean has(final Key key) {
+            final String full = key.string();
+            return this.names.contains(full.substring(full.lastIndexOf('/') + 1));
+        }
+    }
+}
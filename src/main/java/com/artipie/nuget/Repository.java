@@ -8,7 +8,12 @@ package com.artipie.nuget;
 import com.artipie.asto.Content;
 import com.artipie.asto.Key;
 import com.artipie.nuget.metadata.Nuspec;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 
 /**
@@ -34,6 +39,28 @@ public interface Repository {
      */
     CompletionStage<Void> add(Content content);
 
+    /**
+     * Adds packages already read and described, e.g. pushed with single request.
+     * Packages with the same identifier are added in given order.
+     * By default packages with the same identifier are added one by one
+     * and packages with different identifiers are added concurrently.
+     *
+     * @param packages Packages.
+     * @return Completion of adding of every package in given order.
+     */
+    default List<CompletionStage<Void>> add(final List<ParsedPackage> packages) {
+        final Map<String, CompletionStage<Void>> last = new HashMap<>();
+        final List<CompletionStage<Void>> res = new ArrayList<>(packages.size());
+        for (final ParsedPackage pkg : packages) {
+            final CompletionStage<Void> added = last.getOrDefault(
+                pkg.nuspec().id().normalized(), CompletableFuture.allOf()
+            ).handle((nothing, err) -> pkg).thenCompose(same -> this.add(same.content()));
+            last.put(pkg.nuspec().id().normalized(), added);
+            res.add(added);
+        }
+        return res;
+    }
+
     /**
      * Enumerates package versions.
      *
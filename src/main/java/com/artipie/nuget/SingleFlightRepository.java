@@ -0,0 +1,177 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+
+package com.artipie.nuget;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.nuget.metadata.Nuspec;
+import com.artipie.nuget.metrics.Stages;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Repository decorator coalescing concurrent identical reads:
+ * while a read of some key is in flight, other reads of the same key
+ * wait for it instead of going to origin repository.
+ * <p>
+ * Versions and package descriptions are immutable and shared by all waiting callers.
+ * Package content can be consumed only once, so waiting callers share the lookup
+ * and read content from origin again after it is completed, e.g. from cache
+ * which was filled by the first read of {@link com.artipie.nuget.proxy.ProxyRepository}.
+ * Absent content is not read again.
+ * </p>
+ *
+ * @since 0.8
+ */
+public final class SingleFlightRepository implements StagedRepository {
+
+    /**
+     * Origin repository.
+     */
+    private final Repository origin;
+
+    /**
+     * Content reads in flight.
+     */
+    private final ConcurrentMap<String, CompletableFuture<Optional<Content>>> contents;
+
+    /**
+     * Versions reads in flight.
+     */
+    private final ConcurrentMap<String, CompletableFuture<Versions>> lists;
+
+    /**
+     * Package description reads in flight.
+     */
+    private final ConcurrentMap<String, CompletableFuture<Nuspec>> specs;
+
+    /**
+     * Ctor.
+     *
+     * @param origin Origin repository.
+     */
+    public SingleFlightRepository(final Repository origin) {
+        this.origin = origin;
+        this.contents = new ConcurrentHashMap<>();
+        this.lists = new ConcurrentHashMap<>();
+        this.specs = new ConcurrentHashMap<>();
+    }
+
+    @Override
+    public CompletionStage<Optional<Content>> content(final Key key) {
+        final CompletableFuture<Optional<Content>> flight = new CompletableFuture<>();
+        final CompletableFuture<Optional<Content>> running =
+            this.contents.putIfAbsent(key.string(), flight);
+        final CompletionStage<Optional<Content>> res;
+        if (running == null) {
+            SingleFlightRepository.start(
+                this.contents, key.string(), flight, () -> this.origin.content(key)
+            );
+            res = flight;
+        } else {
+            res = running.thenCompose(
+                found -> {
+                    final CompletionStage<Optional<Content>> again;
+                    if (found.isPresent()) {
+                        again = this.origin.content(key);
+                    } else {
+                        again = CompletableFuture.completedFuture(Optional.empty());
+                    }
+                    return again;
+                }
+            );
+        }
+        return res;
+    }
+
+    @Override
+    public CompletionStage<Void> add(final Content content) {
+        return this.origin.add(content);
+    }
+
+    @Override
+    public List<CompletionStage<Void>> add(final List<ParsedPackage> packages) {
+        return this.origin.add(packages);
+    }
+
+    @Override
+    public CompletionStage<Void> add(final Content content, final Stages stages) {
+        return TimedRepository.add(this.origin, content, stages);
+    }
+
+    @Override
+    public CompletionStage<Versions> versions(final PackageKeys id) {
+        return SingleFlightRepository.shared(
+            this.lists, id.versionsKey().string(), () -> this.origin.versions(id)
+        );
+    }
+
+    @Override
+    public CompletionStage<Nuspec> nuspec(final PackageIdentity identity) {
+        return SingleFlightRepository.shared(
+            this.specs, identity.nuspecKey().string(), () -> this.origin.nuspec(identity)
+        );
+    }
+
+    /**
+     * Join read in flight or start new one.
+     *
+     * @param flights Reads in flight.
+     * @param key Read key.
+     * @param read Read from origin.
+     * @param <T> Result type.
+     * @return Result shared by all concurrent reads of the key.
+     */
+    private static <T> CompletionStage<T> shared(
+        final ConcurrentMap<String, CompletableFuture<T>> flights,
+        final String key,
+        final Supplier<CompletionStage<T>> read
+    ) {
+        final CompletableFuture<T> flight = new CompletableFuture<>();
+        final CompletableFuture<T> running = flights.putIfAbsent(key, flight);
+        final CompletableFuture<T> res;
+        if (running == null) {
+            SingleFlightRepository.start(flights, key, flight, read);
+            res = flight;
+        } else {
+            res = running;
+        }
+        return res.thenApply(Function.identity());
+    }
+
+    /**
+     * Start read and complete the flight with its result.
+     * Flight is removed before completion, so reads started after completion
+     * go to origin.
+     *
+     * @param flights Reads in flight.
+     * @param key Read key.
+     * @param flight Flight registered for the key.
+     * @param read Read from origin.
+     * @param <T> Result type.
+     * @checkstyle ParameterNumberCheck (3 lines)
+     */
+    private static <T> void start(final ConcurrentMap<String, CompletableFuture<T>> flights,
+        final String key, final CompletableFuture<T> flight,
+        final Supplier<CompletionStage<T>> read) {
+        read.get().whenComplete(
+            (value, err) -> {
+                flights.remove(key, flight);
+                if (err == null) {
+                    flight.complete(value);
+                } else {
+                    flight.completeExceptionally(err);
+                }
+            }
+        );
+    }
+}
@@ -0,0 +1,28 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+
+package com.artipie.nuget;
+
+import com.artipie.asto.Content;
+import com.artipie.nuget.metrics.Stages;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * NuGet repository able to record stages of adding package,
+ * e.g. lock wait, move, hash and index update, to stages of publish request.
+ *
+ * @since 0.8
+ */
+public interface StagedRepository extends Repository {
+
+    /**
+     * Adds NuGet package in .nupkg file format recording stages of adding it.
+     *
+     * @param content Content of .nupkg package.
+     * @param stages Stages of package publish.
+     * @return Completion of adding package.
+     */
+    CompletionStage<Void> add(Content content, Stages stages);
+}
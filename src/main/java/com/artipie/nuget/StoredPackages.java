@@ -0,0 +1,204 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+
+package com.artipie.nuget;
+
+import com.artipie.asto.Key;
+import com.artipie.asto.Storage;
+import com.artipie.asto.ext.PublisherAs;
+import com.artipie.nuget.metadata.Nuspec;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Packages already stored in repository storage.
+ * Used to fill {@link PackageListener} derived data on startup.
+ * <p>
+ * Stored packages are found by listing whole storage, or by reading
+ * {@link PackageList} and versions list of every package in it if the list
+ * is given, so startup does not depend on listing huge storage.
+ * Package list should be maintained since repository was created then,
+ * e.g. it may be filled once with <code>new StoredPackages(storage).replay(list)</code>.
+ * </p>
+ *
+ * @since 0.8
+ */
+public final class StoredPackages {
+
+    /**
+     * Max number of files read concurrently.
+     */
+    private static final int WINDOW = 64;
+
+    /**
+     * Number of parts in .nuspec key: id, version and file name.
+     */
+    private static final int PARTS = 3;
+
+    /**
+     * The storage.
+     */
+    private final Storage storage;
+
+    /**
+     * Executors for parsing.
+     */
+    private final Workers workers;
+
+    /**
+     * Package list to find packages in, if storage should not be listed.
+     */
+    private final Optional<PackageList> packages;
+
+    /**
+     * Ctor.
+     *
+     * @param storage Repository storage.
+     */
+    public StoredPackages(final Storage storage) {
+        this(storage, Workers.SHARED);
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param storage Repository storage.
+     * @param workers Executors for parsing.
+     */
+    public StoredPackages(final Storage storage, final Workers workers) {
+        this(storage, workers, Optional.empty());
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param storage Repository storage.
+     * @param workers Executors for parsing.
+     * @param packages Package list to find packages in instead of listing storage.
+     */
+    public StoredPackages(
+        final Storage storage, final Workers workers, final PackageList packages
+    ) {
+        this(storage, workers, Optional.of(packages));
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param storage Repository storage.
+     * @param workers Executors for parsing.
+     * @param packages Package list to find packages in, if storage should not be listed.
+     */
+    private StoredPackages(
+        final Storage storage, final Workers workers, final Optional<PackageList> packages
+    ) {
+        this.storage = storage;
+        this.workers = workers;
+        this.packages = packages;
+    }
+
+    /**
+     * Notify listener about every stored package version.
+     * Package descriptions are read in windows of limited size
+     * to keep memory usage bounded.
+     *
+     * @param listener Listener.
+     * @return Completion of notification.
+     */
+    public CompletionStage<Void> replay(final PackageListener listener) {
+        return this.nuspecs().thenCompose(
+            nuspecs -> StoredPackages.windows(
+                nuspecs,
+                key -> this.storage.value(key)
+                    .thenApply(PublisherAs::new)
+                    .thenCompose(PublisherAs::bytes)
+                    .thenApplyAsync(Nuspec.Xml::new, this.workers.parsing())
+                    .thenCompose(listener::added)
+            )
+        ).thenApply(nothing -> null);
+    }
+
+    /**
+     * Find package description keys.
+     *
+     * @return Keys of .nuspec files.
+     */
+    private CompletionStage<List<Key>> nuspecs() {
+        final AstoRepository repository = new AstoRepository(this.storage, this.workers);
+        return this.packages.map(
+            list -> list.items().thenCompose(
+                items -> StoredPackages.windows(
+                    items,
+                    item -> repository.versions(new PackageKeys(item.id()))
+                        .thenApply(
+                            versions -> versions.all().stream().map(
+                                version -> new PackageIdentity(item.id(), version).nuspecKey()
+                            ).collect(Collectors.toList())
+                        )
+                )
+            ).thenApply(
+                keys -> keys.stream().flatMap(Collection::stream).collect(Collectors.toList())
+            )
+        ).orElseGet(
+            () -> this.storage.list(Key.ROOT).thenApply(
+                keys -> keys.stream()
+                    .filter(StoredPackages::nuspec)
+                    .collect(Collectors.toList())
+            )
+        );
+    }
+
+    /**
+     * Run action for list items in sequential windows of limited size.
+     *
+     * @param items Items.
+     * @param action Action for each item.
+     * @param <T> Item type.
+     * @param <R> Result type.
+     * @return Results of all actions in items order.
+     */
+    private static <T, R> CompletionStage<List<R>> windows(
+        final List<T> items, final Function<T, CompletionStage<R>> action
+    ) {
+        final List<R> results = new ArrayList<>(items.size());
+        CompletableFuture<Void> done = CompletableFuture.allOf();
+        for (int from = 0; from < items.size(); from += StoredPackages.WINDOW) {
+            final List<T> window = items.subList(
+                from, Math.min(from + StoredPackages.WINDOW, items.size())
+            );
+            done = done.thenCompose(
+                nothing -> {
+                    final List<CompletableFuture<R>> running = window.stream()
+                        .map(item -> action.apply(item).toCompletableFuture())
+                        .collect(Collectors.toList());
+                    return CompletableFuture.allOf(
+                        running.toArray(new CompletableFuture<?>[0])
+                    ).thenRun(
+                        () -> running.forEach(res -> results.add(res.join()))
+                    );
+                }
+            );
+        }
+        return done.thenApply(nothing -> results);
+    }
+
+    /**
+     * Check if key is package description key like `{id}/{version}/{id}.nuspec`.
+     *
+     * @param key Storage key.
+     * @return True if key is .nuspec key.
+     */
+    private static boolean nuspec(final Key key) {
+        final String[] parts = key.string().split("/");
+        return parts.length == StoredPackages.PARTS
+            && parts[2].equals(String.format("%s.nuspec", parts[0]));
+    }
+}
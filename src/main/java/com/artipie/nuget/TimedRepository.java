@@ -0,0 +1,100 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+
+package com.artipie.nuget;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.nuget.metadata.Nuspec;
+import com.artipie.nuget.metrics.Stages;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Repository decorator recording adding of packages as {@code add} stage
+ * of single package publish, created for each publish request.
+ * Stages of adding package are recorded too if origin is {@link StagedRepository},
+ * e.g. {@code lock}, {@code move}, {@code hash} and {@code index} of {@link AstoRepository}.
+ * Each package of batch is timed since its adding starts.
+ *
+ * @since 0.8
+ */
+public final class TimedRepository implements Repository {
+
+    /**
+     * Add stage name.
+     */
+    private static final String STAGE = "add";
+
+    /**
+     * Origin repository.
+     */
+    private final Repository origin;
+
+    /**
+     * Stages of package publish.
+     */
+    private final Stages stages;
+
+    /**
+     * Ctor.
+     *
+     * @param origin Origin repository.
+     * @param stages Stages of package publish.
+     */
+    public TimedRepository(final Repository origin, final Stages stages) {
+        this.origin = origin;
+        this.stages = stages;
+    }
+
+    @Override
+    public CompletionStage<Optional<Content>> content(final Key key) {
+        return this.origin.content(key);
+    }
+
+    @Override
+    public CompletionStage<Void> add(final Content content) {
+        return this.stages.timed(
+            TimedRepository.STAGE, () -> TimedRepository.add(this.origin, content, this.stages)
+        );
+    }
+
+    @Override
+    public List<CompletionStage<Void>> add(final List<ParsedPackage> packages) {
+        return new BatchTimer(action -> this.stages.timed(TimedRepository.STAGE, action))
+            .timed(packages, this.origin.add(packages));
+    }
+
+    @Override
+    public CompletionStage<Versions> versions(final PackageKeys id) {
+        return this.origin.versions(id);
+    }
+
+    @Override
+    public CompletionStage<Nuspec> nuspec(final PackageIdentity identity) {
+        return this.origin.nuspec(identity);
+    }
+
+    /**
+     * Add package to repository recording stages of adding it if repository is able to.
+     *
+     * @param repository Repository.
+     * @param content Content of .nupkg package.
+     * @param stages Stages of package publish.
+     * @return Completion of adding package.
+     */
+    static CompletionStage<Void> add(
+        final Repository repository, final Content content, final Stages stages
+    ) {
+        final CompletionStage<Void> res;
+        if (repository instanceof StagedRepository) {
+            res = ((StagedRepository) repository).add(content, stages);
+        } else {
+            res = repository.add(content);
+        }
+        return res;
+    }
+}
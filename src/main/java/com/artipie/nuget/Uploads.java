@@ -0,0 +1,197 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+
+package com.artipie.nuget;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.asto.Storage;
+import com.jcabi.log.Logger;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Uploaded packages staged in storage before they are added to repository.
+ * <p>
+ * Uploads are saved under <code>.upload/</code> prefix with upload time in key name,
+ * so they do not pollute storage root and stale uploads can be found by age.
+ * Staged upload is deleted if adding it to repository fails. Uploads left by
+ * crashed or killed process are removed by {@link #sweep(Duration)},
+ * which can be scheduled to run periodically.
+ * </p>
+ *
+ * @since 0.8
+ */
+public final class Uploads {
+
+    /**
+     * Staged uploads prefix.
+     */
+    private static final Key PREFIX = new Key.From(".upload");
+
+    /**
+     * Staged upload key name pattern.
+     */
+    private static final Pattern NAME = Pattern.compile("^(?<millis>\\d{13})-[0-9a-f-]+$");
+
+    /**
+     * The storage.
+     */
+    private final Storage storage;
+
+    /**
+     * Clock to get upload time.
+     */
+    private final Clock clock;
+
+    /**
+     * Ctor.
+     *
+     * @param storage Repository storage.
+     */
+    public Uploads(final Storage storage) {
+        this(storage, Clock.systemUTC());
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param storage Repository storage.
+     * @param clock Clock to get upload time.
+     */
+    public Uploads(final Storage storage, final Clock clock) {
+        this.storage = storage;
+        this.clock = clock;
+    }
+
+    /**
+     * New staged upload key.
+     *
+     * @return Key.
+     */
+    public Key key() {
+        return new Key.From(
+            Uploads.PREFIX,
+            String.format("%013d-%s", this.clock.millis(), UUID.randomUUID())
+        );
+    }
+
+    /**
+     * Stage content and process it. Staged content is deleted if processing fails,
+     * so processing should move it to its permanent location on success.
+     *
+     * @param content Uploaded content.
+     * @param action Processing of staged content.
+     * @param <T> Processing result type.
+     * @return Processing result.
+     */
+    public <T> CompletionStage<T> staged(
+        final Content content, final Function<Key, CompletionStage<T>> action
+    ) {
+        final Key key = this.key();
+        return this.storage.save(key, content)
+            .thenCompose(nothing -> action.apply(key))
+            .handle(
+                (res, err) -> {
+                    final CompletionStage<T> out;
+                    if (err == null) {
+                        out = CompletableFuture.completedFuture(res);
+                    } else {
+                        out = this.storage.delete(key).handle((nothing, ignored) -> null)
+                            .thenCompose(
+                                nothing -> {
+                                    final CompletableFuture<T> failed = new CompletableFuture<>();
+                                    failed.completeExceptionally(err);
+                                    return failed;
+                                }
+                            );
+                    }
+                    return out;
+                }
+            ).thenCompose(Function.identity());
+    }
+
+    /**
+     * Delete staged uploads older than given age.
+     *
+     * @param age Max age of staged upload.
+     * @return Number of deleted uploads, uploads failed to delete are not counted.
+     */
+    public CompletionStage<Integer> sweep(final Duration age) {
+        final long before = this.clock.millis() - age.toMillis();
+        return this.storage.list(Uploads.PREFIX).thenCompose(
+            keys -> {
+                final List<CompletableFuture<Boolean>> deleted = keys.stream()
+                    .filter(key -> Uploads.millis(key) < before)
+                    .map(
+                        key -> this.storage.delete(key).toCompletableFuture()
+                            .handle((nothing, err) -> err == null)
+                    )
+                    .collect(Collectors.toList());
+                return CompletableFuture.allOf(deleted.toArray(new CompletableFuture<?>[0]))
+                    .thenApply(
+                        nothing -> (int) deleted.stream()
+                            .filter(CompletableFuture::join)
+                            .count()
+                    );
+            }
+        );
+    }
+
+    /**
+     * Schedule periodic deletion of stale uploads.
+     * Failed run is logged and does not cancel next runs.
+     *
+     * @param exec Scheduled executor.
+     * @param age Max age of staged upload.
+     * @param period Period between runs.
+     * @return Scheduled task, cancel it to stop deletion.
+     * @checkstyle IllegalCatchCheck (15 lines)
+     */
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    public ScheduledFuture<?> schedule(
+        final ScheduledExecutorService exec, final Duration age, final Duration period
+    ) {
+        return exec.scheduleWithFixedDelay(
+            () -> {
+                try {
+                    this.sweep(age).toCompletableFuture().join();
+                } catch (final RuntimeException ex) {
+                    Logger.warn(this, "Failed to delete stale uploads: %[exception]s", ex);
+                }
+            },
+            period.toMillis(), period.toMillis(), TimeUnit.MILLISECONDS
+        );
+    }
+
+    /**
+     * Upload time of staged upload.
+     *
+     * @param key Staged upload key.
+     * @return Upload time in milliseconds, zero for unknown keys, so they are stale.
+     */
+    private static long millis(final Key key) {
+        final String full = key.string();
+        final Matcher matcher = Uploads.NAME.matcher(full.substring(full.lastIndexOf('/') + 1));
+        final long res;
+        if (matcher.matches()) {
+            res = Long.parseLong(matcher.group("millis"));
+        } else {
+            res = 0L;
+        }
+        return res;
+    }
+}
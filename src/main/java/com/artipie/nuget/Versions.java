@@ -15,8 +15,13 @@ import com.google.common.io.ByteSource;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
 import javax.json.Json;
 import javax.json.JsonArray;
 import javax.json.JsonArrayBuilder;
@@ -55,6 +60,29 @@ public final class Versions {
         );
     }
 
+    /**
+     * Ctor.
+     *
+     * @param versions Versions, versions present several times are added once.
+     */
+    public Versions(final Collection<? extends NuspecField> versions) {
+        this(
+            bytes(
+                Json.createObjectBuilder()
+                    .add(
+                        Versions.ARRAY,
+                        Json.createArrayBuilder(
+                            versions.stream()
+                                .map(NuspecField::normalized)
+                                .distinct()
+                                .collect(Collectors.toList())
+                        )
+                    )
+                    .build()
+            )
+        );
+    }
+
     /**
      * Ctor.
      *
@@ -66,27 +94,34 @@ public final class Versions {
 
     /**
      * Add version.
+     * Version already present is not added again.
      *
      * @param version Version.
      * @return Updated versions.
      */
     public Versions add(final NuspecField version) {
-        final JsonObject json = this.json();
-        final JsonArray versions = json.getJsonArray(Versions.ARRAY);
-        final JsonArrayBuilder builder;
-        if (versions == null) {
-            builder = Json.createArrayBuilder();
+        final Versions res;
+        if (this.strings().contains(version.normalized())) {
+            res = this;
         } else {
-            builder = Json.createArrayBuilder(versions);
+            final JsonObject json = this.json();
+            final JsonArray versions = json.getJsonArray(Versions.ARRAY);
+            final JsonArrayBuilder builder;
+            if (versions == null) {
+                builder = Json.createArrayBuilder();
+            } else {
+                builder = Json.createArrayBuilder(versions);
+            }
+            builder.add(version.normalized());
+            res = new Versions(
+                bytes(
+                    Json.createObjectBuilder(json)
+                        .add(Versions.ARRAY, builder)
+                        .build()
+                )
+            );
         }
-        builder.add(version.normalized());
-        return new Versions(
-            bytes(
-                Json.createObjectBuilder(json)
-                    .add(Versions.ARRAY, builder)
-                    .build()
-            )
-        );
+        return res;
     }
 
     /**
@@ -105,6 +140,27 @@ public final class Versions {
             .collect(ImmutableList.toImmutableList());
     }
 
+    /**
+     * Merge with other versions enumeration.
+     * Versions present in both enumerations are added once.
+     *
+     * @param other Other versions.
+     * @return Versions containing versions from both enumerations.
+     */
+    public Versions merge(final Versions other) {
+        final Set<String> all = new LinkedHashSet<>(this.strings());
+        all.addAll(other.strings());
+        final JsonArrayBuilder builder = Json.createArrayBuilder();
+        all.forEach(builder::add);
+        return new Versions(
+            bytes(
+                Json.createObjectBuilder(this.json())
+                    .add(Versions.ARRAY, builder)
+                    .build()
+            )
+        );
+    }
+
     /**
      * Saves binary content to storage.
      *
@@ -120,6 +176,24 @@ public final class Versions {
         }
     }
 
+    /**
+     * Reads versions as stored in JSON.
+     *
+     * @return Version strings.
+     */
+    private List<String> strings() {
+        final JsonArray versions = this.json().getJsonArray(Versions.ARRAY);
+        final List<String> res;
+        if (versions == null) {
+            res = Collections.emptyList();
+        } else {
+            res = versions.getValuesAs(JsonString.class).stream()
+                .map(JsonString::getString)
+                .collect(Collectors.toList());
+        }
+        return res;
+    }
+
     /**
      * Reads content as JSON object.
      *
@@ -0,0 +1,197 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+
+package com.artipie.nuget;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Executors used by repository to run blocking I/O, package parsing and hashing
+ * instead of the thread which completed previous storage operation.
+ *
+ * @since 0.8
+ */
+public interface Workers {
+
+    /**
+     * Bounded workers shared by all repositories in JVM.
+     */
+    Workers SHARED = new Bounded();
+
+    /**
+     * Executor for blocking I/O calls.
+     *
+     * @return Executor.
+     */
+    Executor blocking();
+
+    /**
+     * Executor for CPU-bound parsing: zip inflation, multipart decoding, XML parsing.
+     *
+     * @return Executor.
+     */
+    Executor parsing();
+
+    /**
+     * Executor for hash calculation.
+     *
+     * @return Executor.
+     */
+    Executor hashing();
+
+    /**
+     * Workers from executors provided by caller,
+     * e.g. virtual thread per task executors on JDK 21.
+     *
+     * @since 0.8
+     */
+    final class From implements Workers {
+
+        /**
+         * Blocking I/O executor.
+         */
+        private final Executor blocking;
+
+        /**
+         * Parsing executor.
+         */
+        private final Executor cpu;
+
+        /**
+         * Hashing executor.
+         */
+        private final Executor digest;
+
+        /**
+         * Ctor.
+         *
+         * @param exec Executor for all kinds of work.
+         */
+        public From(final Executor exec) {
+            this(exec, exec, exec);
+        }
+
+        /**
+         * Ctor.
+         *
+         * @param blocking Blocking I/O executor.
+         * @param cpu Parsing executor.
+         * @param digest Hashing executor.
+         */
+        public From(final Executor blocking, final Executor cpu, final Executor digest) {
+            this.blocking = blocking;
+            this.cpu = cpu;
+            this.digest = digest;
+        }
+
+        @Override
+        public Executor blocking() {
+            return this.blocking;
+        }
+
+        @Override
+        public Executor parsing() {
+            return this.cpu;
+        }
+
+        @Override
+        public Executor hashing() {
+            return this.digest;
+        }
+    }
+
+    /**
+     * Separate thread pools with bounded number of threads for each kind of work.
+     * Pools use daemon threads, which are stopped when idle.
+     * Tasks queues are not bounded, so tasks never run on the caller thread,
+     * e.g. on HTTP server event loop, when pool is saturated.
+     *
+     * @since 0.8
+     */
+    final class Bounded implements Workers {
+
+        /**
+         * Number of blocking I/O threads per processor.
+         */
+        private static final int IO_PER_CPU = 4;
+
+        /**
+         * Blocking I/O pool.
+         */
+        private final ExecutorService blocking;
+
+        /**
+         * Parsing pool.
+         */
+        private final ExecutorService cpu;
+
+        /**
+         * Hashing pool.
+         */
+        private final ExecutorService digest;
+
+        /**
+         * Ctor.
+         * Pools are sized by number of available processors.
+         */
+        public Bounded() {
+            this(
+                Runtime.getRuntime().availableProcessors() * Bounded.IO_PER_CPU,
+                Runtime.getRuntime().availableProcessors(),
+                Runtime.getRuntime().availableProcessors()
+            );
+        }
+
+        /**
+         * Ctor.
+         *
+         * @param blocking Max number of blocking I/O threads.
+         * @param cpu Max number of parsing threads.
+         * @param digest Max number of hashing threads.
+         */
+        public Bounded(final int blocking, final int cpu, final int digest) {
+            this.blocking = Bounded.pool("nuget-io-%d", blocking);
+            this.cpu = Bounded.pool("nuget-parsing-%d", cpu);
+            this.digest = Bounded.pool("nuget-hashing-%d", digest);
+        }
+
+        @Override
+        public Executor blocking() {
+            return this.blocking;
+        }
+
+        @Override
+        public Executor parsing() {
+            return this.cpu;
+        }
+
+        @Override
+        public Executor hashing() {
+            return this.digest;
+        }
+
+        /**
+         * Create thread pool with bounded number of threads and not bounded tasks queue.
+         *
+         * @param name Threads name format.
+         * @param size Max number of threads.
+         * @return Thread pool.
+         */
+        private static ExecutorService pool(final String name, final int size) {
+            final ThreadPoolExecutor pool = new ThreadPoolExecutor(
+                size, size, 1L, TimeUnit.MINUTES,
+                new LinkedBlockingQueue<>(),
+                new ThreadFactoryBuilder().setNameFormat(name).setDaemon(true).build()
+            );
+            pool.allowCoreThreadTimeOut(true);
+            return pool;
+        }
+    }
+}
@@ -0,0 +1,697 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+
+package com.artipie.nuget.catalog;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.asto.Storage;
+import com.artipie.asto.ValueNotFoundException;
+import com.artipie.asto.ext.PublisherAs;
+import com.artipie.nuget.JsonBytes;
+import com.artipie.nuget.PackageListener;
+import com.artipie.nuget.metadata.Nuspec;
+import com.artipie.nuget.metadata.OptFieldName;
+import com.artipie.nuget.metadata.PackageId;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.jcabi.log.Logger;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import javax.json.Json;
+import javax.json.JsonArrayBuilder;
+import javax.json.JsonObject;
+import javax.json.JsonObjectBuilder;
+
+/**
+ * Append-only catalog of added packages.
+ * See <a href="https://docs.microsoft.com/en-us/nuget/api/catalog-resource">Catalog</a>
+ * <p>
+ * Every added package version is saved as small pending item under
+ * <code>.catalog/pending/</code> and committed under storage lock: pending items get
+ * commit time stamps strictly increasing in commit sequence, immutable leaf documents
+ * are written under <code>.catalog/data/</code>, items are appended to pages
+ * <code>.catalog/page/{n}.json</code> of fixed size and pages summary
+ * <code>.catalog/index.json</code> is updated. Only committed items are visible to readers
+ * and every later commit has later time stamp, so reader cursor never passes
+ * a commit which is not visible yet. Full pages never change, the last page grows.
+ * </p>
+ * <p>
+ * Commits of catalog instance are coalesced: items added while commit is running
+ * are committed together by the next one. Commit which failed, e.g. because
+ * another catalog instance holds the lock, is retried with bounded backoff,
+ * items left pending are committed by the next commit.
+ * </p>
+ *
+ * @since 0.8
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
+ * @checkstyle ClassFanOutComplexityCheck (500 lines)
+ */
+@SuppressWarnings({"PMD.TooManyMethods", "PMD.AvoidDuplicateLiterals"})
+public final class Catalog implements PackageListener {
+
+    /**
+     * Pages summary key.
+     */
+    private static final Key SUMMARY = new Key.From(".catalog/index.json");
+
+    /**
+     * Pending items prefix.
+     */
+    private static final Key QUEUE = new Key.From(".catalog/pending");
+
+    /**
+     * Leaf documents prefix.
+     */
+    private static final Key DATA = new Key.From(".catalog/data");
+
+    /**
+     * Pages prefix.
+     */
+    private static final Key PAGED = new Key.From(".catalog/page");
+
+    /**
+     * Default number of items on page.
+     */
+    private static final int PAGE_SIZE = 550;
+
+    /**
+     * Max number of commit attempts.
+     */
+    private static final int ATTEMPTS = 5;
+
+    /**
+     * Delay before second commit attempt in milliseconds, doubled on every next attempt.
+     */
+    private static final long BACKOFF = 50L;
+
+    /**
+     * Timer of commit retries.
+     */
+    private static final ScheduledExecutorService TIMER =
+        Executors.newSingleThreadScheduledExecutor(
+            new ThreadFactoryBuilder().setNameFormat("nuget-catalog-%d").setDaemon(true).build()
+        );
+
+    /**
+     * Items field name.
+     */
+    private static final String ITEMS_FIELD = "items";
+
+    /**
+     * Pages field name.
+     */
+    private static final String PAGES_FIELD = "pages";
+
+    /**
+     * Version field name.
+     */
+    private static final String VERSION = "version";
+
+    /**
+     * The storage.
+     */
+    private final Storage storage;
+
+    /**
+     * Clock to get commit time.
+     */
+    private final Clock clock;
+
+    /**
+     * Number of items on page.
+     */
+    private final int size;
+
+    /**
+     * Completions of commits waiting for the next commit.
+     */
+    private final Queue<CompletableFuture<Void>> waiting;
+
+    /**
+     * Number of requested commits not taken by running commit yet.
+     */
+    private final AtomicInteger requests;
+
+    /**
+     * Ctor.
+     *
+     * @param storage Repository storage.
+     */
+    public Catalog(final Storage storage) {
+        this(storage, Clock.systemUTC(), Catalog.PAGE_SIZE);
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param storage Repository storage.
+     * @param clock Clock to get commit time.
+     * @param size Number of items on page.
+     */
+    public Catalog(final Storage storage, final Clock clock, final int size) {
+        this.storage = storage;
+        this.clock = clock;
+        this.size = size;
+        this.waiting = new ConcurrentLinkedQueue<>();
+        this.requests = new AtomicInteger();
+    }
+
+    @Override
+    public CompletionStage<Void> added(final Nuspec nuspec) {
+        return this.storage.save(
+            new Key.From(
+                Catalog.QUEUE,
+                String.format(
+                    "%013d-%s.json", this.clock.instant().toEpochMilli(), UUID.randomUUID()
+                )
+            ),
+            new Content.From(new JsonBytes(Catalog.details(nuspec)).bytes())
+        ).thenCompose(nothing -> this.commit());
+    }
+
+    /**
+     * Summaries of all catalog pages, the last one may still grow.
+     *
+     * @return Pages ordered by number.
+     */
+    public CompletionStage<List<CatalogPage>> pages() {
+        return this.storage.value(Catalog.SUMMARY)
+            .thenApply(PublisherAs::new)
+            .thenCompose(PublisherAs::bytes)
+            .<List<CatalogPage>>thenApply(
+                bytes -> {
+                    final List<JsonObject> pages = new JsonBytes(bytes).json()
+                        .getJsonArray(Catalog.PAGES_FIELD)
+                        .getValuesAs(JsonObject.class);
+                    return IntStream.range(0, pages.size())
+                        .mapToObj(num -> new CatalogPage(num, pages.get(num)))
+                        .collect(Collectors.toList());
+                }
+            ).exceptionally(
+                err -> {
+                    if (!Catalog.absent(err)) {
+                        throw Catalog.completion(err);
+                    }
+                    return Collections.emptyList();
+                }
+            );
+    }
+
+    /**
+     * Items of catalog page.
+     *
+     * @param num Page number.
+     * @return Items ordered by commit time, empty if there is no such page.
+     */
+    public CompletionStage<Optional<List<CatalogItem>>> page(final int num) {
+        return this.pages().thenCompose(
+            pages -> {
+                final CompletionStage<Optional<List<CatalogItem>>> res;
+                if (num < 0 || num >= pages.size()) {
+                    res = CompletableFuture.completedFuture(Optional.empty());
+                } else {
+                    res = this.stored(pages.get(num)).thenApply(Optional::of);
+                }
+                return res;
+            }
+        );
+    }
+
+    /**
+     * Items committed after the cursor.
+     * Only pages with commits after the cursor are read.
+     *
+     * @param cursor Time of last commit seen by reader.
+     * @return Items ordered by commit time.
+     */
+    public CompletionStage<List<CatalogItem>> after(final Instant cursor) {
+        return this.pages().thenCompose(
+            pages -> {
+                final List<CompletableFuture<List<CatalogItem>>> reads = pages.stream()
+                    .filter(page -> page.time().isAfter(cursor))
+                    .map(page -> this.stored(page).toCompletableFuture())
+                    .collect(Collectors.toList());
+                return CompletableFuture.allOf(reads.toArray(new CompletableFuture<?>[0]))
+                    .thenApply(
+                        nothing -> reads.stream()
+                            .flatMap(read -> read.join().stream())
+                            .filter(item -> item.time().isAfter(cursor))
+                            .collect(Collectors.toList())
+                    );
+            }
+        );
+    }
+
+    /**
+     * Catalog leaf document.
+     *
+     * @param name Leaf name.
+     * @return Leaf JSON, empty if there is no such leaf.
+     */
+    public CompletionStage<Optional<JsonObject>> leaf(final String name) {
+        return this.storage.value(new Key.From(Catalog.DATA, name))
+            .thenApply(PublisherAs::new)
+            .thenCompose(PublisherAs::bytes)
+            .thenApply(bytes -> Optional.of(new JsonBytes(bytes).json()))
+            .exceptionally(
+                err -> {
+                    if (!Catalog.absent(err)) {
+                        throw Catalog.completion(err);
+                    }
+                    return Optional.empty();
+                }
+            );
+    }
+
+    /**
+     * Commit pending items.
+     * Fails if another commit holds the lock.
+     *
+     * @return Completion of commit.
+     */
+    public CompletionStage<Void> seal() {
+        return this.storage.exclusively(
+            Catalog.SUMMARY,
+            target -> target.list(Catalog.QUEUE).thenCompose(
+                keys -> {
+                    final List<Key> queued = keys.stream()
+                        .sorted(Key.CMP_STRING)
+                        .collect(Collectors.toList());
+                    final CompletionStage<Void> res;
+                    if (queued.isEmpty()) {
+                        res = CompletableFuture.allOf();
+                    } else {
+                        res = this.pages().thenCompose(this::opened).thenCompose(
+                            seq -> this.pending(queued).thenCompose(
+                                details -> this.append(target, seq, details)
+                            )
+                        ).thenCompose(nothing -> Catalog.delete(target, queued));
+                    }
+                    return res;
+                }
+            )
+        );
+    }
+
+    /**
+     * Request commit of pending items, coalesced with other requests
+     * made while commit is running.
+     *
+     * @return Completion of commit, which never fails.
+     */
+    private CompletionStage<Void> commit() {
+        final CompletableFuture<Void> res = new CompletableFuture<>();
+        this.waiting.add(res);
+        if (this.requests.getAndIncrement() == 0) {
+            this.drain();
+        }
+        return res;
+    }
+
+    /**
+     * Commit pending items for all waiting requests,
+     * then commit again if there were new requests meanwhile.
+     */
+    private void drain() {
+        final List<CompletableFuture<Void>> batch = new ArrayList<>(1);
+        CompletableFuture<Void> next = this.waiting.poll();
+        while (next != null) {
+            batch.add(next);
+            next = this.waiting.poll();
+        }
+        this.retried(0).thenRun(
+            () -> {
+                batch.forEach(done -> done.complete(null));
+                if (this.requests.addAndGet(-batch.size()) > 0) {
+                    this.drain();
+                }
+            }
+        );
+    }
+
+    /**
+     * Commit pending items, retrying with backoff on failure.
+     *
+     * @param attempt Number of failed attempts.
+     * @return Completion of commit, which never fails.
+     */
+    private CompletionStage<Void> retried(final int attempt) {
+        return this.seal().handle((nothing, err) -> Optional.ofNullable(err)).thenCompose(
+            err -> {
+                final CompletableFuture<Void> res = new CompletableFuture<>();
+                if (err.isPresent() && attempt + 1 < Catalog.ATTEMPTS) {
+                    Catalog.TIMER.schedule(
+                        () -> this.retried(attempt + 1).thenRun(() -> res.complete(null)),
+                        Catalog.BACKOFF << attempt, TimeUnit.MILLISECONDS
+                    );
+                } else {
+                    err.ifPresent(
+                        failure -> Logger.warn(
+                            this, "Failed to commit catalog items: %[exception]s", failure
+                        )
+                    );
+                    res.complete(null);
+                }
+                return res;
+            }
+        );
+    }
+
+    /**
+     * Commit sequence continuing after given pages.
+     *
+     * @param pages Pages.
+     * @return Commit sequence with items of the last page if it is not full.
+     */
+    private CompletionStage<Sequence> opened(final List<CatalogPage> pages) {
+        final CompletionStage<List<CatalogItem>> open;
+        if (pages.isEmpty() || pages.get(pages.size() - 1).count() >= this.size) {
+            open = CompletableFuture.completedFuture(Collections.emptyList());
+        } else {
+            open = this.stored(pages.get(pages.size() - 1));
+        }
+        return open.thenApply(items -> new Sequence(this.size, pages, items));
+    }
+
+    /**
+     * Append pending items to commit sequence: write their leaves,
+     * then changed pages one by one, then pages summary.
+     *
+     * @param target Storage to write to.
+     * @param seq Commit sequence.
+     * @param details Package details of pending items in commit order.
+     * @return Completion of writing.
+     */
+    private CompletionStage<Void> append(
+        final Storage target, final Sequence seq, final List<JsonObject> details
+    ) {
+        final List<CompletableFuture<Void>> leaves = new ArrayList<>(details.size());
+        for (final JsonObject json : details) {
+            final CatalogItem item = seq.next(this.clock.instant(), json);
+            leaves.add(
+                target.save(
+                    new Key.From(Catalog.DATA, item.leaf()),
+                    new Content.From(new JsonBytes(Catalog.leaf(json, item)).bytes())
+                )
+            );
+        }
+        CompletionStage<Void> res = CompletableFuture.allOf(
+            leaves.toArray(new CompletableFuture<?>[0])
+        );
+        for (final Map.Entry<Integer, List<CatalogItem>> page : seq.changed().entrySet()) {
+            final JsonArrayBuilder items = Json.createArrayBuilder();
+            page.getValue().forEach(item -> items.add(item.json()));
+            res = res.thenCompose(
+                nothing -> target.save(
+                    Catalog.pageKey(page.getKey()),
+                    new Content.From(
+                        new JsonBytes(
+                            Json.createObjectBuilder().add(Catalog.ITEMS_FIELD, items).build()
+                        ).bytes()
+                    )
+                )
+            );
+        }
+        final JsonArrayBuilder summary = Json.createArrayBuilder();
+        seq.pages().forEach(page -> summary.add(page.json()));
+        return res.thenCompose(
+            nothing -> target.save(
+                Catalog.SUMMARY,
+                new Content.From(
+                    new JsonBytes(
+                        Json.createObjectBuilder().add(Catalog.PAGES_FIELD, summary).build()
+                    ).bytes()
+                )
+            )
+        );
+    }
+
+    /**
+     * Read items of page, up to the number of items in its summary.
+     *
+     * @param page Page summary.
+     * @return Items ordered by commit time.
+     */
+    private CompletionStage<List<CatalogItem>> stored(final CatalogPage page) {
+        return this.storage.value(Catalog.pageKey(page.number()))
+            .thenApply(PublisherAs::new)
+            .thenCompose(PublisherAs::bytes)
+            .thenApply(
+                bytes -> new JsonBytes(bytes).json().getJsonArray(Catalog.ITEMS_FIELD)
+                    .getValuesAs(JsonObject.class).stream()
+                    .limit(page.count())
+                    .map(CatalogItem::new)
+                    .collect(Collectors.toList())
+            );
+    }
+
+    /**
+     * Read package details of pending items.
+     * Items removed since listing are skipped.
+     *
+     * @param keys Pending item keys in commit order.
+     * @return Package details in commit order.
+     */
+    private CompletionStage<List<JsonObject>> pending(final List<Key> keys) {
+        final List<CompletableFuture<Optional<JsonObject>>> reads = keys.stream().map(
+            key -> this.storage.value(key)
+                .thenApply(PublisherAs::new)
+                .thenCompose(PublisherAs::bytes)
+                .thenApply(bytes -> Optional.of(new JsonBytes(bytes).json()))
+                .exceptionally(
+                    err -> {
+                        if (!Catalog.absent(err)) {
+                            throw Catalog.completion(err);
+                        }
+                        return Optional.empty();
+                    }
+                )
+                .toCompletableFuture()
+        ).collect(Collectors.toList());
+        return CompletableFuture.allOf(reads.toArray(new CompletableFuture<?>[0])).thenApply(
+            nothing -> reads.stream()
+                .map(CompletableFuture::join)
+                .filter(Optional::isPresent)
+                .map(Optional::get)
+                .collect(Collectors.toList())
+        );
+    }
+
+    /**
+     * Delete committed pending items.
+     *
+     * @param target Storage to delete from.
+     * @param keys Keys of pending items.
+     * @return Completion of deletion.
+     */
+    private static CompletionStage<Void> delete(final Storage target, final List<Key> keys) {
+        return CompletableFuture.allOf(
+            keys.stream()
+                .map(key -> target.delete(key).toCompletableFuture())
+                .toArray(CompletableFuture[]::new)
+        );
+    }
+
+    /**
+     * Page key.
+     *
+     * @param num Page number.
+     * @return Key.
+     */
+    private static Key pageKey(final int num) {
+        return new Key.From(Catalog.PAGED, String.format("%d.json", num));
+    }
+
+    /**
+     * Package details of leaf document.
+     *
+     * @param nuspec Package description.
+     * @return Details JSON.
+     */
+    private static JsonObject details(final Nuspec nuspec) {
+        final JsonArrayBuilder tags = Json.createArrayBuilder();
+        nuspec.fieldByName(OptFieldName.TAGS).ifPresent(
+            value -> {
+                for (final String tag : value.trim().split("\\s+")) {
+                    if (!tag.isEmpty()) {
+                        tags.add(tag);
+                    }
+                }
+            }
+        );
+        final JsonObjectBuilder json = Json.createObjectBuilder()
+            .add("id", nuspec.id().raw())
+            .add(Catalog.VERSION, nuspec.version().normalized())
+            .add("description", nuspec.description())
+            .add("authors", nuspec.authors())
+            .add("tags", tags);
+        nuspec.fieldByName(OptFieldName.TITLE).ifPresent(title -> json.add("title", title));
+        return json.build();
+    }
+
+    /**
+     * Build leaf document.
+     *
+     * @param details Package details.
+     * @param item Catalog item.
+     * @return Leaf JSON.
+     */
+    private static JsonObject leaf(final JsonObject details, final CatalogItem item) {
+        return Json.createObjectBuilder(details)
+            .add(
+                "@type",
+                Json.createArrayBuilder().add("PackageDetails").add("catalog:Permalink")
+            )
+            .add("catalogCommitId", item.commit())
+            .add("catalogCommitTimeStamp", item.time().toString())
+            .add("published", item.time().toString())
+            .build();
+    }
+
+    /**
+     * Checks if storage operation failed because value does not exist.
+     *
+     * @param err Storage operation failure.
+     * @return True if value does not exist.
+     */
+    private static boolean absent(final Throwable err) {
+        return err instanceof ValueNotFoundException
+            || err.getCause() instanceof ValueNotFoundException;
+    }
+
+    /**
+     * Failure to rethrow from completion stage without wrapping it twice.
+     *
+     * @param err Failure.
+     * @return Completion exception.
+     */
+    private static CompletionException completion(final Throwable err) {
+        final CompletionException res;
+        if (err instanceof CompletionException) {
+            res = (CompletionException) err;
+        } else {
+            res = new CompletionException(err);
+        }
+        return res;
+    }
+
+    /**
+     * Commit sequence: pages with items appended in commit order
+     * with strictly increasing commit time stamps.
+     *
+     * @since 0.8
+     */
+    private static final class Sequence {
+
+        /**
+         * Number of items on page.
+         */
+        private final int size;
+
+        /**
+         * Summaries of full pages.
+         */
+        private final List<CatalogPage> full;
+
+        /**
+         * Items of changed pages by page number.
+         */
+        private final Map<Integer, List<CatalogItem>> dirty;
+
+        /**
+         * Items of the last page which is not full.
+         */
+        private List<CatalogItem> open;
+
+        /**
+         * Commit time of the last item in milliseconds.
+         */
+        private long last;
+
+        /**
+         * Ctor.
+         *
+         * @param size Number of items on page.
+         * @param pages Pages.
+         * @param open Items of the last page if it is not full.
+         */
+        Sequence(final int size, final List<CatalogPage> pages, final List<CatalogItem> open) {
+            this.size = size;
+            this.full = new ArrayList<>(pages.subList(0, pages.size() - Math.min(1, open.size())));
+            this.open = new ArrayList<>(open);
+            this.dirty = new TreeMap<>();
+            this.last = pages.stream().reduce((first, second) -> second)
+                .map(page -> page.time().toEpochMilli())
+                .orElse(0L);
+        }
+
+        /**
+         * Append item to the sequence.
+         *
+         * @param now Current time.
+         * @param details Package details.
+         * @return Appended item.
+         */
+        CatalogItem next(final Instant now, final JsonObject details) {
+            this.last = Math.max(now.toEpochMilli(), this.last + 1);
+            final Instant time = Instant.ofEpochMilli(this.last);
+            final String version = details.getString(Catalog.VERSION);
+            final CatalogItem item = new CatalogItem(
+                String.format(
+                    "%013d.%s.%s.json", this.last,
+                    new PackageId(details.getString("id")).normalized(), version
+                ),
+                UUID.randomUUID().toString(), time, details.getString("id"), version
+            );
+            this.open.add(item);
+            this.dirty.put(this.full.size(), this.open);
+            if (this.open.size() == this.size) {
+                this.full.add(new CatalogPage(this.full.size(), this.open));
+                this.open = new ArrayList<>(this.size);
+            }
+            return item;
+        }
+
+        /**
+         * Items of changed pages.
+         *
+         * @return Items by page number.
+         */
+        Map<Integer, List<CatalogItem>> changed() {
+            return this.dirty;
+        }
+
+        /**
+         * Summaries of all pages.
+         *
+         * @return Pages ordered by number.
+         */
+        List<CatalogPage> pages() {
+            final List<CatalogPage> res = new ArrayList<>(this.full);
+            if (!this.open.isEmpty()) {
+                res.add(new CatalogPage(this.full.size(), this.open));
+            }
+            return res;
+        }
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+
+package com.artipie.nuget.catalog;
+
+import java.time.Instant;
+import javax.json.Json;
+import javax.json.JsonObject;
+
+/**
+ * Catalog item: reference to catalog leaf committed for added package version.
+ *
+ * @since 0.8
+ */
+public final class CatalogItem {
+
+    /**
+     * Leaf field name.
+     */
+    private static final String NAME = "leaf";
+
+    /**
+     * Commit id field name.
+     */
+    private static final String COMMIT_ID = "commitId";
+
+    /**
+     * Commit time field name.
+     */
+    private static final String COMMIT_TIME = "commitTimeStamp";
+
+    /**
+     * Package id field name.
+     */
+    private static final String ID = "nuget:id";
+
+    /**
+     * Package version field name.
+     */
+    private static final String VERSION = "nuget:version";
+
+    /**
+     * Item JSON.
+     */
+    private final JsonObject content;
+
+    /**
+     * Ctor.
+     *
+     * @param leaf Leaf name.
+     * @param commit Commit id.
+     * @param time Commit time.
+     * @param pid Package id.
+     * @param version Package version.
+     * @checkstyle ParameterNumberCheck (3 lines)
+     */
+    CatalogItem(final String leaf, final String commit, final Instant time,
+        final String pid, final String version) {
+        this(
+            Json.createObjectBuilder()
+                .add(CatalogItem.NAME, leaf)
+                .add(CatalogItem.COMMIT_ID, commit)
+                .add(CatalogItem.COMMIT_TIME, time.toString())
+                .add(CatalogItem.ID, pid)
+                .add(CatalogItem.VERSION, version)
+                .build()
+        );
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param json Item JSON.
+     */
+    CatalogItem(final JsonObject json) {
+        this.content = json;
+    }
+
+    /**
+     * Leaf name.
+     *
+     * @return Name of leaf document.
+     */
+    public String leaf() {
+        return this.content.getString(CatalogItem.NAME);
+    }
+
+    /**
+     * Commit id.
+     *
+     * @return Commit id.
+     */
+    public String commit() {
+        return this.content.getString(CatalogItem.COMMIT_ID);
+    }
+
+    /**
+     * Commit time.
+     *
+     * @return Commit time.
+     */
+    public Instant time() {
+        return Instant.parse(this.content.getString(CatalogItem.COMMIT_TIME));
+    }
+
+    /**
+     * Package id.
+     *
+     * @return Package id as specified in .nuspec.
+     */
+    public String packageId() {
+        return this.content.getString(CatalogItem.ID);
+    }
+
+    /**
+     * Package version.
+     *
+     * @return Normalized package version.
+     */
+    public String packageVersion() {
+        return this.content.getString(CatalogItem.VERSION);
+    }
+
+    /**
+     * Item JSON as stored.
+     *
+     * @return JSON object.
+     */
+    JsonObject json() {
+        return this.content;
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+
+package com.artipie.nuget.catalog;
+
+import java.time.Instant;
+import java.util.List;
+import javax.json.Json;
+import javax.json.JsonObject;
+
+/**
+ * Summary of catalog page: number of items and latest commit.
+ *
+ * @since 0.8
+ */
+public final class CatalogPage {
+
+    /**
+     * Count field name.
+     */
+    private static final String TOTAL = "count";
+
+    /**
+     * Commit id field name.
+     */
+    private static final String COMMIT_ID = "commitId";
+
+    /**
+     * Commit time field name.
+     */
+    private static final String COMMIT_TIME = "commitTimeStamp";
+
+    /**
+     * Page number.
+     */
+    private final int num;
+
+    /**
+     * Summary JSON.
+     */
+    private final JsonObject content;
+
+    /**
+     * Ctor.
+     *
+     * @param num Page number.
+     * @param items Page items ordered by commit time, should not be empty.
+     */
+    CatalogPage(final int num, final List<CatalogItem> items) {
+        this(
+            num,
+            Json.createObjectBuilder()
+                .add(CatalogPage.TOTAL, items.size())
+                .add(CatalogPage.COMMIT_ID, items.get(items.size() - 1).commit())
+                .add(CatalogPage.COMMIT_TIME, items.get(items.size() - 1).time().toString())
+                .build()
+        );
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param num Page number.
+     * @param json Summary JSON.
+     */
+    CatalogPage(final int num, final JsonObject json) {
+        this.num = num;
+        this.content = json;
+    }
+
+    /**
+     * Page number.
+     *
+     * @return Number of the page starting from zero.
+     */
+    public int number() {
+        return this.num;
+    }
+
+    /**
+     * Number of items on the page.
+     *
+     * @return Number of items.
+     */
+    public int count() {
+        return this.content.getInt(CatalogPage.TOTAL);
+    }
+
+    /**
+     * Latest commit id on the page.
+     *
+     * @return Commit id.
+     */
+    public String commit() {
+        return this.content.getString(CatalogPage.COMMIT_ID);
+    }
+
+    /**
+     * Latest commit time on the page.
+     *
+     * @return Commit time.
+     */
+    public Instant time() {
+        return Instant.parse(this.content.getString(CatalogPage.COMMIT_TIME));
+    }
+
+    /**
+     * Summary JSON as stored.
+     *
+     * @return JSON object.
+     */
+    JsonObject json() {
+        return this.content;
+    }
+}
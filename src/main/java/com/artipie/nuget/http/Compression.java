@@ -0,0 +1,160 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+package com.artipie.nuget.http;
+
+import com.artipie.http.Headers;
+import com.artipie.http.Response;
+import com.artipie.http.rs.RsStatus;
+import com.artipie.http.rs.RsWithHeaders;
+import com.artipie.http.rs.RsWithStatus;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Compressed variants of JSON documents, negotiated by Accept-Encoding request header.
+ * Variant of each document is cached together with document it was made from,
+ * so document is compressed once per change rather than once per request.
+ * Variant is not used if it is not smaller than the document.
+ *
+ * @since 0.8
+ */
+public final class Compression {
+
+    /**
+     * Default cache capacity in bytes.
+     */
+    private static final long CAPACITY = 64L * 1024 * 1024;
+
+    /**
+     * Vary header name.
+     */
+    private static final String VARY = "Vary";
+
+    /**
+     * Accept-Encoding header name, response varies by it.
+     */
+    private static final String ACCEPT = "Accept-Encoding";
+
+    /**
+     * Cached variants by coding and document name.
+     */
+    private final Cache<String, Variant> variants;
+
+    /**
+     * Ctor.
+     */
+    public Compression() {
+        this(Compression.CAPACITY);
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param capacity Cache capacity in bytes of documents and their variants.
+     */
+    public Compression(final long capacity) {
+        this.variants = CacheBuilder.newBuilder()
+            .maximumWeight(capacity)
+            .<String, Variant>weigher((name, variant) -> variant.weight())
+            .build();
+    }
+
+    /**
+     * Response with document encoded by coding accepted by client.
+     *
+     * @param headers Request headers.
+     * @param name Document name, unique among documents served.
+     * @param document Document bytes.
+     * @return Response with OK status.
+     */
+    public Response response(
+        final Iterable<Map.Entry<String, String>> headers,
+        final String name,
+        final byte[] document
+    ) {
+        final Optional<Encoding> encoding = Encoding.accepted(headers);
+        final byte[] body = encoding.map(enc -> this.variant(enc, name, document))
+            .orElse(document);
+        final Response res;
+        if (encoding.isPresent() && body.length < document.length) {
+            res = new RsWithHeaders(
+                new RsWithBodyNoHeaders(new RsWithStatus(RsStatus.OK), body),
+                new Headers.From(
+                    new Headers.From(Compression.VARY, Compression.ACCEPT),
+                    "Content-Encoding", encoding.get().coding()
+                )
+            );
+        } else {
+            res = new RsWithHeaders(
+                new RsWithBodyNoHeaders(new RsWithStatus(RsStatus.OK), document),
+                Compression.VARY, Compression.ACCEPT
+            );
+        }
+        return res;
+    }
+
+    /**
+     * Encoded variant of document, from cache if document was not changed.
+     *
+     * @param encoding Encoding.
+     * @param name Document name.
+     * @param document Document bytes.
+     * @return Encoded bytes.
+     */
+    private byte[] variant(final Encoding encoding, final String name, final byte[] document) {
+        final String key = String.format("%s:%s", encoding.coding(), name);
+        final Variant cached = this.variants.getIfPresent(key);
+        final byte[] res;
+        if (cached != null && Arrays.equals(cached.source, document)) {
+            res = cached.encoded;
+        } else {
+            res = encoding.encode(document);
+            this.variants.put(key, new Variant(document, res));
+        }
+        return res;
+    }
+
+    /**
+     * Document with its encoded variant.
+     *
+     * @since 0.8
+     */
+    @SuppressWarnings("PMD.ArrayIsStoredDirectly")
+    private static final class Variant {
+
+        /**
+         * Document bytes.
+         */
+        private final byte[] source;
+
+        /**
+         * Encoded bytes.
+         */
+        private final byte[] encoded;
+
+        /**
+         * Ctor.
+         *
+         * @param source Document bytes.
+         * @param encoded Encoded bytes.
+         */
+        Variant(final byte[] source, final byte[] encoded) {
+            this.source = source;
+            this.encoded = encoded;
+        }
+
+        /**
+         * Weight in cache.
+         *
+         * @return Number of bytes held.
+         */
+        int weight() {
+            return this.source.length + this.encoded.length;
+        }
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+package com.artipie.nuget.http;
+
+import com.artipie.http.rq.RqHeaders;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Content coding of response body.
+ * See <a href="https://datatracker.ietf.org/doc/html/rfc7231#section-5.3.4">Accept-Encoding</a>
+ *
+ * @since 0.8
+ */
+public enum Encoding {
+
+    /**
+     * Gzip coding, preferred when client accepts several codings with same quality.
+     */
+    GZIP("gzip") {
+        @Override
+        OutputStream stream(final OutputStream out) throws IOException {
+            return new GZIPOutputStream(out);
+        }
+    },
+
+    /**
+     * Deflate coding, zlib format.
+     */
+    DEFLATE("deflate") {
+        @Override
+        OutputStream stream(final OutputStream out) throws IOException {
+            return new DeflaterOutputStream(out);
+        }
+    };
+
+    /**
+     * Accept-Encoding header name.
+     */
+    private static final String ACCEPT = "Accept-Encoding";
+
+    /**
+     * Wildcard matching any coding.
+     */
+    private static final String ANY = "*";
+
+    /**
+     * Coding name.
+     */
+    private final String coding;
+
+    /**
+     * Ctor.
+     *
+     * @param coding Coding name.
+     */
+    Encoding(final String coding) {
+        this.coding = coding;
+    }
+
+    /**
+     * Coding name for Content-Encoding header.
+     *
+     * @return Coding name.
+     */
+    public String coding() {
+        return this.coding;
+    }
+
+    /**
+     * Encode bytes.
+     *
+     * @param bytes Bytes to encode.
+     * @return Encoded bytes.
+     */
+    public byte[] encode(final byte[] bytes) {
+        final ByteArrayOutputStream res = new ByteArrayOutputStream(bytes.length / 2 + 1);
+        try (OutputStream out = this.stream(res)) {
+            out.write(bytes);
+        } catch (final IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return res.toByteArray();
+    }
+
+    /**
+     * Coding with highest quality accepted by client.
+     *
+     * @param headers Request headers.
+     * @return Accepted coding, empty if client accepts identity only.
+     */
+    static Optional<Encoding> accepted(final Iterable<Map.Entry<String, String>> headers) {
+        final Map<String, Double> qualities = new HashMap<>();
+        for (final String header : new RqHeaders(headers, Encoding.ACCEPT)) {
+            for (final String item : header.split(",")) {
+                final String[] params = item.split(";");
+                final String name = params[0].trim().toLowerCase(Locale.ROOT);
+                if (!name.isEmpty()) {
+                    qualities.put(name, Encoding.quality(params));
+                }
+            }
+        }
+        Encoding best = null;
+        double max = 0;
+        for (final Encoding encoding : Encoding.values()) {
+            final double quality = qualities.getOrDefault(
+                encoding.coding, qualities.getOrDefault(Encoding.ANY, 0.0)
+            );
+            if (quality > max) {
+                best = encoding;
+                max = quality;
+            }
+        }
+        return Optional.ofNullable(best);
+    }
+
+    /**
+     * Wrap output stream with encoding stream.
+     *
+     * @param out Output stream.
+     * @return Encoding stream.
+     * @throws IOException If failed to write header.
+     */
+    abstract OutputStream stream(OutputStream out) throws IOException;
+
+    /**
+     * Quality of coding from its parameters, 1 if there is no `q` parameter
+     * and 0 if it is malformed.
+     *
+     * @param params Coding name followed by parameters.
+     * @return Quality.
+     */
+    private static double quality(final String... params) {
+        double res = 1;
+        for (int idx = 1; idx < params.length; idx += 1) {
+            final String[] pair = params[idx].split("=", 2);
+            if (pair.length == 2 && "q".equalsIgnoreCase(pair[0].trim())) {
+                try {
+                    res = Double.parseDouble(pair[1].trim());
+                } catch (final NumberFormatException ex) {
+                    res = 0;
+                }
+            }
+        }
+        return res;
+    }
+}
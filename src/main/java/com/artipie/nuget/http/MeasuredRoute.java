@@ -0,0 +1,155 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+package com.artipie.nuget.http;
+
+import com.artipie.http.Headers;
+import com.artipie.http.Response;
+import com.artipie.nuget.metrics.CountedBody;
+import com.artipie.nuget.metrics.Metrics;
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicReference;
+import org.reactivestreams.Publisher;
+
+/**
+ * Route recording metrics of served requests.
+ * <ul>
+ *     <li>{@code nuget.http.requests} timer from start of response sending to its completion,
+ *     tagged by {@code route} path, request {@code method} and response {@code status}</li>
+ *     <li>{@code nuget.http.bytes} counter of request and response body bytes,
+ *     tagged by {@code route} and {@code direction} ({@code in} or {@code out})</li>
+ * </ul>
+ *
+ * @since 0.8
+ */
+final class MeasuredRoute implements Route {
+
+    /**
+     * Route tag name.
+     */
+    private static final String ROUTE = "route";
+
+    /**
+     * Bytes counter name.
+     */
+    private static final String BYTES = "nuget.http.bytes";
+
+    /**
+     * Direction tag name.
+     */
+    private static final String DIRECTION = "direction";
+
+    /**
+     * Origin route.
+     */
+    private final Route origin;
+
+    /**
+     * Metrics.
+     */
+    private final Metrics metrics;
+
+    /**
+     * Ctor.
+     *
+     * @param origin Origin route.
+     * @param metrics Metrics.
+     */
+    MeasuredRoute(final Route origin, final Metrics metrics) {
+        this.origin = origin;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public String path() {
+        return this.origin.path();
+    }
+
+    @Override
+    public Resource resource(final String path) {
+        return new Measured(this.origin.resource(path));
+    }
+
+    /**
+     * Resource recording metrics.
+     *
+     * @since 0.8
+     */
+    private final class Measured implements Resource {
+
+        /**
+         * Origin resource.
+         */
+        private final Resource resource;
+
+        /**
+         * Ctor.
+         *
+         * @param resource Origin resource.
+         */
+        Measured(final Resource resource) {
+            this.resource = resource;
+        }
+
+        @Override
+        public Response get(final Headers headers) {
+            return this.measured("GET", this.resource.get(headers));
+        }
+
+        @Override
+        public Response put(final Headers headers, final Publisher<ByteBuffer> body) {
+            return this.measured(
+                "PUT",
+                this.resource.put(
+                    headers,
+                    new CountedBody(
+                        body,
+                        bytes -> MeasuredRoute.this.metrics.count(
+                            MeasuredRoute.BYTES, bytes,
+                            MeasuredRoute.ROUTE, MeasuredRoute.this.origin.path(),
+                            MeasuredRoute.DIRECTION, "in"
+                        )
+                    )
+                )
+            );
+        }
+
+        /**
+         * Response recording metrics when sent.
+         *
+         * @param method Request method.
+         * @param response Origin response.
+         * @return Measured response.
+         */
+        private Response measured(final String method, final Response response) {
+            final Metrics mtr = MeasuredRoute.this.metrics;
+            final String route = MeasuredRoute.this.origin.path();
+            return connection -> {
+                final long start = System.nanoTime();
+                final AtomicReference<String> status = new AtomicReference<>("none");
+                return response.send(
+                    (code, headers, body) -> {
+                        status.set(code.code());
+                        return connection.accept(
+                            code,
+                            headers,
+                            new CountedBody(
+                                body,
+                                bytes -> mtr.count(
+                                    MeasuredRoute.BYTES, bytes, MeasuredRoute.ROUTE, route,
+                                    MeasuredRoute.DIRECTION, "out"
+                                )
+                            )
+                        );
+                    }
+                ).whenComplete(
+                    (nothing, err) -> mtr.time(
+                        "nuget.http.requests", System.nanoTime() - start,
+                        MeasuredRoute.ROUTE, route, "method", method, "status", status.get()
+                    )
+                );
+            };
+        }
+    }
+}
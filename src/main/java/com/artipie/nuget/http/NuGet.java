@@ -16,14 +16,29 @@ import com.artipie.http.rq.RqMethod;
 import com.artipie.http.rs.RsStatus;
 import com.artipie.http.rs.RsWithStatus;
 import com.artipie.nuget.Repository;
+import com.artipie.nuget.Workers;
+import com.artipie.nuget.catalog.Catalog;
+import com.artipie.nuget.http.catalog.PackageCatalog;
 import com.artipie.nuget.http.content.PackageContent;
+import com.artipie.nuget.http.index.Service;
 import com.artipie.nuget.http.index.ServiceIndex;
+import com.artipie.nuget.http.metadata.GzipMetadata;
+import com.artipie.nuget.http.metadata.GzipRegistrations;
 import com.artipie.nuget.http.metadata.PackageMetadata;
+import com.artipie.nuget.http.publish.PackageBatch;
 import com.artipie.nuget.http.publish.PackagePublish;
+import com.artipie.nuget.http.search.PackageAutocomplete;
+import com.artipie.nuget.http.search.PackageSearch;
+import com.artipie.nuget.metrics.Metrics;
+import com.artipie.nuget.search.SearchIndex;
+import java.net.URI;
 import java.net.URL;
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import org.reactivestreams.Publisher;
 
 /**
@@ -35,7 +50,8 @@ import org.reactivestreams.Publisher;
  *  Probably it is needed to extract some additional abstractions to reduce it,
  *  joint Permissions and Identities might be one of them.
  * @checkstyle ParameterNumberCheck (500 lines)
- * @checkstyle ClassDataAbstractionCouplingCheck (2 lines)
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
+ * @checkstyle ClassFanOutComplexityCheck (500 lines)
  */
 public final class NuGet implements Slice {
 
@@ -59,6 +75,16 @@ public final class NuGet implements Slice {
      */
     private final Authentication users;
 
+    /**
+     * Optional resources and settings.
+     */
+    private final Options options;
+
+    /**
+     * Compressed variants of served JSON documents.
+     */
+    private final Compression compression;
+
     /**
      * Ctor.
      *
@@ -82,11 +108,32 @@ public final class NuGet implements Slice {
         final Repository repository,
         final Permissions perms,
         final Authentication users
+    ) {
+        this(url, repository, perms, users, new Options());
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param url Base URL.
+     * @param repository Storage for packages.
+     * @param perms Access permissions.
+     * @param users User identities.
+     * @param options Optional resources and settings.
+     */
+    public NuGet(
+        final URL url,
+        final Repository repository,
+        final Permissions perms,
+        final Authentication users,
+        final Options options
     ) {
         this.url = url;
         this.repository = repository;
         this.perms = perms;
         this.users = users;
+        this.options = options;
+        this.compression = new Compression();
     }
 
     @Override
@@ -97,8 +144,7 @@ public final class NuGet implements Slice {
     ) {
         final Response response;
         final RequestLineFrom request = new RequestLineFrom(line);
-        final String path = request.uri().getPath();
-        final Resource resource = this.resource(path);
+        final Resource resource = this.resource(request.uri());
         final RqMethod method = request.method();
         if (method.equals(RqMethod.GET)) {
             response = resource.get(new Headers.From(headers));
@@ -111,30 +157,99 @@ public final class NuGet implements Slice {
     }
 
     /**
-     * Find resource by relative path.
+     * Find resource by request URI.
      *
-     * @param path Relative path.
-     * @return Resource found by path.
+     * @param uri Request URI.
+     * @return Resource found by URI path.
      */
-    private Resource resource(final String path) {
-        final PackagePublish publish = new PackagePublish(this.repository);
-        final PackageContent content = new PackageContent(this.url, this.repository);
-        final PackageMetadata metadata = new PackageMetadata(this.repository, content);
+    private Resource resource(final URI uri) {
+        final PackagePublish publish = this.options.metrics.map(
+            mtr -> new PackagePublish(this.repository, this.options.workers.parsing(), mtr)
+        ).orElseGet(() -> new PackagePublish(this.repository, this.options.workers.parsing()));
+        final PackageContent content = new PackageContent(
+            this.url, this.repository, this.compression
+        );
+        final PackageMetadata metadata = new PackageMetadata(
+            this.url, this.repository, content, this.compression
+        );
+        final List<Service> services = new ArrayList<>(
+            Arrays.asList(
+                new RouteService(this.url, publish, "PackagePublish/2.0.0"),
+                new RouteService(this.url, metadata, "RegistrationsBaseUrl/Versioned"),
+                new RouteService(this.url, content, "PackageBaseAddress/3.0.0")
+            )
+        );
+        final List<Route> routes = new ArrayList<>(
+            Arrays.asList(
+                this.auth(publish, Action.Standard.WRITE),
+                this.auth(
+                    new PackageBatch(this.repository, this.options.workers.parsing()),
+                    Action.Standard.WRITE
+                ),
+                this.auth(content, Action.Standard.READ),
+                this.auth(metadata, Action.Standard.READ)
+            )
+        );
+        this.options.index.ifPresent(
+            packages -> this.search(packages, metadata, uri, services, routes)
+        );
+        this.options.catalog.ifPresent(
+            packages -> {
+                final PackageCatalog route = new PackageCatalog(this.url, packages);
+                services.add(route);
+                routes.add(this.auth(route, Action.Standard.READ));
+            }
+        );
+        this.options.gzipped.ifPresent(
+            stored -> {
+                final GzipMetadata route = new GzipMetadata(stored);
+                services.add(new RouteService(this.url, route, "RegistrationsBaseUrl/3.4.0"));
+                services.add(new RouteService(this.url, route, "RegistrationsBaseUrl/3.6.0"));
+                routes.add(this.auth(route, Action.Standard.READ));
+            }
+        );
+        routes.add(new ServiceIndex(services, this.compression));
         return new RoutingResource(
-            path,
-            new ServiceIndex(
-                Arrays.asList(
-                    new RouteService(this.url, publish, "PackagePublish/2.0.0"),
-                    new RouteService(this.url, metadata, "RegistrationsBaseUrl/Versioned"),
-                    new RouteService(this.url, content, "PackageBaseAddress/3.0.0")
-                )
-            ),
-            this.auth(publish, Action.Standard.WRITE),
-            this.auth(content, Action.Standard.READ),
-            this.auth(metadata, Action.Standard.READ)
+            uri.getPath(),
+            this.options.metrics.map(
+                mtr -> routes.stream().map(route -> new MeasuredRoute(route, mtr))
+                    .toArray(Route[]::new)
+            ).orElseGet(() -> routes.toArray(new Route[0]))
         );
     }
 
+    /**
+     * Add search resources.
+     *
+     * @param packages Search index.
+     * @param metadata Package metadata resource.
+     * @param uri Request URI.
+     * @param services Advertised services.
+     * @param routes Routes.
+     */
+    private void search(
+        final SearchIndex packages,
+        final PackageMetadata metadata,
+        final URI uri,
+        final List<Service> services,
+        final List<Route> routes
+    ) {
+        final PackageSearch search = new PackageSearch(packages, metadata, uri);
+        final PackageAutocomplete autocomplete = new PackageAutocomplete(packages, uri);
+        services.addAll(
+            Arrays.asList(
+                new RouteService(this.url, search, "SearchQueryService"),
+                new RouteService(this.url, search, "SearchQueryService/3.0.0-rc"),
+                new RouteService(this.url, search, "SearchQueryService/3.5.0"),
+                new RouteService(this.url, autocomplete, "SearchAutocompleteService"),
+                new RouteService(this.url, autocomplete, "SearchAutocompleteService/3.0.0-rc"),
+                new RouteService(this.url, autocomplete, "SearchAutocompleteService/3.5.0")
+            )
+        );
+        routes.add(this.auth(search, Action.Standard.READ));
+        routes.add(this.auth(autocomplete, Action.Standard.READ));
+    }
+
     /**
      * Create route supporting basic authentication.
      *
@@ -149,4 +264,131 @@ public final class NuGet implements Slice {
             this.users
         );
     }
+
+    /**
+     * Optional resources and settings of {@link NuGet}, none are enabled by default,
+     * e.g. <code>new NuGet.Options().withSearch(index).withMetrics(metrics)</code>.
+     *
+     * @since 0.8
+     */
+    public static final class Options {
+
+        /**
+         * Executors for request processing.
+         */
+        private final Workers workers;
+
+        /**
+         * Search index, if search resources are enabled.
+         */
+        private final Optional<SearchIndex> index;
+
+        /**
+         * Catalog of added packages, if catalog resource is enabled.
+         */
+        private final Optional<Catalog> catalog;
+
+        /**
+         * Metrics of served requests, if metrics are enabled.
+         */
+        private final Optional<Metrics> metrics;
+
+        /**
+         * Gzip compressed registrations stored in repository, if they are enabled.
+         */
+        private final Optional<GzipRegistrations> gzipped;
+
+        /**
+         * Ctor.
+         */
+        public Options() {
+            this(
+                Workers.SHARED, Optional.empty(), Optional.empty(),
+                Optional.empty(), Optional.empty()
+            );
+        }
+
+        /**
+         * Ctor.
+         *
+         * @param workers Executors for request processing.
+         * @param index Search index, if search resources are enabled.
+         * @param catalog Catalog of packages added to repository, if catalog is enabled.
+         * @param metrics Metrics of served requests, if metrics are enabled.
+         * @param gzipped Gzip compressed registrations, if they are enabled.
+         */
+        private Options(
+            final Workers workers,
+            final Optional<SearchIndex> index,
+            final Optional<Catalog> catalog,
+            final Optional<Metrics> metrics,
+            final Optional<GzipRegistrations> gzipped
+        ) {
+            this.workers = workers;
+            this.index = index;
+            this.catalog = catalog;
+            this.metrics = metrics;
+            this.gzipped = gzipped;
+        }
+
+        /**
+         * Process requests with given executors.
+         *
+         * @param pool Executors for request processing.
+         * @return Options with executors.
+         */
+        public Options withWorkers(final Workers pool) {
+            return new Options(pool, this.index, this.catalog, this.metrics, this.gzipped);
+        }
+
+        /**
+         * Enable search resources.
+         *
+         * @param search Search index, should be notified about packages added to repository.
+         * @return Options with search enabled.
+         */
+        public Options withSearch(final SearchIndex search) {
+            return new Options(
+                this.workers, Optional.of(search), this.catalog, this.metrics, this.gzipped
+            );
+        }
+
+        /**
+         * Enable catalog resource.
+         *
+         * @param packages Catalog of packages added to repository.
+         * @return Options with catalog enabled.
+         */
+        public Options withCatalog(final Catalog packages) {
+            return new Options(
+                this.workers, this.index, Optional.of(packages), this.metrics, this.gzipped
+            );
+        }
+
+        /**
+         * Enable metrics of served requests,
+         * publish responses are sent with Server-Timing header of publish stages.
+         *
+         * @param meters Metrics of served requests.
+         * @return Options with metrics enabled.
+         */
+        public Options withMetrics(final Metrics meters) {
+            return new Options(
+                this.workers, this.index, this.catalog, Optional.of(meters), this.gzipped
+            );
+        }
+
+        /**
+         * Enable gzip compressed registrations resource.
+         *
+         * @param registrations Gzip compressed registrations stored in repository,
+         *  should be notified about packages added to repository.
+         * @return Options with gzip compressed registrations enabled.
+         */
+        public Options withRegistrations(final GzipRegistrations registrations) {
+            return new Options(
+                this.workers, this.index, this.catalog, this.metrics, Optional.of(registrations)
+            );
+        }
+    }
 }
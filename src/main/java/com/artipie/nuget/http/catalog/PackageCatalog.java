@@ -0,0 +1,269 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+package com.artipie.nuget.http.catalog;
+
+import com.artipie.http.Headers;
+import com.artipie.http.Response;
+import com.artipie.http.async.AsyncResponse;
+import com.artipie.http.rs.RsStatus;
+import com.artipie.http.rs.RsWithStatus;
+import com.artipie.nuget.JsonBytes;
+import com.artipie.nuget.catalog.Catalog;
+import com.artipie.nuget.catalog.CatalogItem;
+import com.artipie.nuget.catalog.CatalogPage;
+import com.artipie.nuget.http.Resource;
+import com.artipie.nuget.http.Route;
+import com.artipie.nuget.http.RsWithBodyNoHeaders;
+import com.artipie.nuget.http.index.Service;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import javax.json.Json;
+import javax.json.JsonArrayBuilder;
+import javax.json.JsonObject;
+import org.reactivestreams.Publisher;
+
+/**
+ * Catalog route, also catalog service for service index.
+ * See <a href="https://docs.microsoft.com/en-us/nuget/api/catalog-resource">Catalog</a>
+ *
+ * @since 0.8
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
+ */
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+public final class PackageCatalog implements Route, Service {
+
+    /**
+     * Base path for the route.
+     */
+    private static final String BASE = "/catalog";
+
+    /**
+     * RegEx pattern for page path.
+     */
+    private static final Pattern PAGE_PATH = Pattern.compile(
+        String.format("%s/page(?<num>\\d{1,9})\\.json$", PackageCatalog.BASE)
+    );
+
+    /**
+     * RegEx pattern for leaf path.
+     */
+    private static final Pattern LEAF = Pattern.compile(
+        String.format("%s/data/(?<name>[^/]+\\.json)$", PackageCatalog.BASE)
+    );
+
+    /**
+     * Commit id used when catalog is empty.
+     */
+    private static final String NO_COMMIT = "00000000-0000-0000-0000-000000000000";
+
+    /**
+     * Base URL of repository.
+     */
+    private final URL base;
+
+    /**
+     * Catalog.
+     */
+    private final Catalog catalog;
+
+    /**
+     * Ctor.
+     *
+     * @param base Base URL of repository.
+     * @param catalog Catalog.
+     */
+    public PackageCatalog(final URL base, final Catalog catalog) {
+        this.base = base;
+        this.catalog = catalog;
+    }
+
+    @Override
+    public String path() {
+        return PackageCatalog.BASE;
+    }
+
+    @Override
+    public Resource resource(final String path) {
+        final Matcher page = PackageCatalog.PAGE_PATH.matcher(path);
+        final Matcher leaf = PackageCatalog.LEAF.matcher(path);
+        final Resource resource;
+        if (path.equals(String.format("%s/index.json", PackageCatalog.BASE))) {
+            resource = new Document(() -> this.catalog.pages().thenApply(this::index));
+        } else if (page.find()) {
+            final int num = Integer.parseInt(page.group("num"));
+            resource = new Document(
+                () -> this.catalog.page(num).thenApply(
+                    items -> items.map(list -> this.page(num, list))
+                )
+            );
+        } else if (leaf.find()) {
+            final String name = leaf.group("name");
+            resource = new Document(
+                () -> this.catalog.leaf(name).thenApply(
+                    json -> json.map(
+                        obj -> Json.createObjectBuilder(obj)
+                            .add("@id", this.url(String.format("data/%s", name)))
+                            .build()
+                    )
+                )
+            );
+        } else {
+            resource = new Document(() -> CompletableFuture.completedFuture(Optional.empty()));
+        }
+        return resource;
+    }
+
+    @Override
+    public String url() {
+        return this.url("index.json");
+    }
+
+    @Override
+    public String type() {
+        return "Catalog/3.0.0";
+    }
+
+    /**
+     * Build catalog index JSON.
+     *
+     * @param pages Catalog pages.
+     * @return Catalog index, always present.
+     */
+    private Optional<JsonObject> index(final List<CatalogPage> pages) {
+        final JsonArrayBuilder items = Json.createArrayBuilder();
+        for (final CatalogPage page : pages) {
+            items.add(
+                Json.createObjectBuilder()
+                    .add("@id", this.url(String.format("page%d.json", page.number())))
+                    .add("@type", "CatalogPage")
+                    .add("commitId", page.commit())
+                    .add("commitTimeStamp", page.time().toString())
+                    .add("count", page.count())
+            );
+        }
+        final Optional<CatalogPage> last = pages.stream().reduce((first, second) -> second);
+        return Optional.of(
+            Json.createObjectBuilder()
+                .add("@id", this.url())
+                .add(
+                    "@type",
+                    Json.createArrayBuilder()
+                        .add("CatalogRoot")
+                        .add("AppendOnlyCatalog")
+                        .add("Permalink")
+                )
+                .add("commitId", last.map(CatalogPage::commit).orElse(PackageCatalog.NO_COMMIT))
+                .add(
+                    "commitTimeStamp",
+                    last.map(CatalogPage::time).orElse(Instant.EPOCH).toString()
+                )
+                .add("count", pages.size())
+                .add("items", items)
+                .build()
+        );
+    }
+
+    /**
+     * Build catalog page JSON.
+     *
+     * @param num Page number.
+     * @param items Page items, not empty.
+     * @return Catalog page.
+     */
+    private JsonObject page(final int num, final List<CatalogItem> items) {
+        final JsonArrayBuilder array = Json.createArrayBuilder();
+        for (final CatalogItem item : items) {
+            array.add(
+                Json.createObjectBuilder()
+                    .add("@id", this.url(String.format("data/%s", item.leaf())))
+                    .add("@type", "nuget:PackageDetails")
+                    .add("commitId", item.commit())
+                    .add("commitTimeStamp", item.time().toString())
+                    .add("nuget:id", item.packageId())
+                    .add("nuget:version", item.packageVersion())
+            );
+        }
+        final CatalogItem last = items.get(items.size() - 1);
+        return Json.createObjectBuilder()
+            .add("@id", this.url(String.format("page%d.json", num)))
+            .add("@type", "CatalogPage")
+            .add("commitId", last.commit())
+            .add("commitTimeStamp", last.time().toString())
+            .add("count", items.size())
+            .add("parent", this.url())
+            .add("items", array)
+            .build();
+    }
+
+    /**
+     * Build absolute URL of catalog document.
+     *
+     * @param relative Path relative to catalog root.
+     * @return URL.
+     */
+    private String url(final String relative) {
+        try {
+            return new URL(
+                this.base,
+                String.format("%s%s/%s", this.base.getPath(), PackageCatalog.BASE, relative)
+            ).toString();
+        } catch (final MalformedURLException ex) {
+            throw new IllegalStateException(
+                String.format("Failed to build URL from base: '%s'", this.base),
+                ex
+            );
+        }
+    }
+
+    /**
+     * Catalog document resource.
+     *
+     * @since 0.8
+     */
+    private static final class Document implements Resource {
+
+        /**
+         * Document JSON reader, gives empty if there is no such document.
+         */
+        private final Supplier<CompletionStage<Optional<JsonObject>>> json;
+
+        /**
+         * Ctor.
+         *
+         * @param json Document JSON reader, gives empty if there is no such document.
+         */
+        Document(final Supplier<CompletionStage<Optional<JsonObject>>> json) {
+            this.json = json;
+        }
+
+        @Override
+        public Response get(final Headers headers) {
+            return new AsyncResponse(
+                this.json.get().thenApply(
+                    found -> found.<Response>map(
+                        obj -> new RsWithStatus(
+                            new RsWithBodyNoHeaders(new JsonBytes(obj).bytes()),
+                            RsStatus.OK
+                        )
+                    ).orElse(new RsWithStatus(RsStatus.NOT_FOUND))
+                )
+            );
+        }
+
+        @Override
+        public Response put(final Headers headers, final Publisher<ByteBuffer> body) {
+            return new RsWithStatus(RsStatus.METHOD_NOT_ALLOWED);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+
+/**
+ * NuGet repository Catalog service.
+ * See <a href="https://docs.microsoft.com/en-us/nuget/api/catalog-resource">Catalog</a>
+ *
+ * @since 0.8
+ */
+package com.artipie.nuget.http.catalog;
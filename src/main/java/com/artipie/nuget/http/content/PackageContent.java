@@ -4,14 +4,22 @@
  */
 package com.artipie.nuget.http.content;
 
+import com.artipie.asto.Content;
 import com.artipie.asto.Key;
+import com.artipie.asto.ext.KeyLastPart;
+import com.artipie.asto.ext.PublisherAs;
 import com.artipie.http.Headers;
 import com.artipie.http.Response;
 import com.artipie.http.async.AsyncResponse;
+import com.artipie.http.headers.ContentLength;
+import com.artipie.http.headers.ContentType;
+import com.artipie.http.headers.Header;
 import com.artipie.http.rs.RsStatus;
+import com.artipie.http.rs.RsWithHeaders;
 import com.artipie.http.rs.RsWithStatus;
 import com.artipie.nuget.PackageIdentity;
 import com.artipie.nuget.Repository;
+import com.artipie.nuget.http.Compression;
 import com.artipie.nuget.http.Resource;
 import com.artipie.nuget.http.Route;
 import com.artipie.nuget.http.RsWithBodyNoHeaders;
@@ -20,6 +28,8 @@ import java.net.MalformedURLException;
 import java.net.URL;
 import java.nio.ByteBuffer;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import org.reactivestreams.Publisher;
 
 /**
@@ -30,6 +40,31 @@ import org.reactivestreams.Publisher;
  */
 public final class PackageContent implements Route, ContentLocation {
 
+    /**
+     * Name of package versions document, served compressed if client accepts it.
+     */
+    private static final String VERSIONS = "index.json";
+
+    /**
+     * Cache-Control header name.
+     */
+    private static final String CACHE_CONTROL = "Cache-Control";
+
+    /**
+     * Cache-Control of package files, they never change once added.
+     */
+    private static final String IMMUTABLE = "public, max-age=31536000, immutable";
+
+    /**
+     * Cache-Control of package versions document, it changes when package is added.
+     */
+    private static final String REVALIDATE = "public, max-age=60, must-revalidate";
+
+    /**
+     * Number of key parts of package file: id, version and file name.
+     */
+    private static final int PACKAGE_FILE = 3;
+
     /**
      * Base URL of repository.
      */
@@ -40,6 +75,11 @@ public final class PackageContent implements Route, ContentLocation {
      */
     private final Repository repository;
 
+    /**
+     * Compressed variants of package versions documents.
+     */
+    private final Compression compression;
+
     /**
      * Ctor.
      *
@@ -47,8 +87,22 @@ public final class PackageContent implements Route, ContentLocation {
      * @param repository Repository to read content from.
      */
     public PackageContent(final URL base, final Repository repository) {
+        this(base, repository, new Compression());
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param base Base URL of repository.
+     * @param repository Repository to read content from.
+     * @param compression Compressed variants of package versions documents.
+     */
+    public PackageContent(
+        final URL base, final Repository repository, final Compression compression
+    ) {
         this.base = base;
         this.repository = repository;
+        this.compression = compression;
     }
 
     @Override
@@ -79,6 +133,48 @@ public final class PackageContent implements Route, ContentLocation {
         }
     }
 
+    /**
+     * Headers of file: Content-Length if content size is known,
+     * so file is not sent with chunked transfer encoding,
+     * and caching headers and Content-Type of immutable package file.
+     *
+     * @param key File key.
+     * @param data File content.
+     * @return Headers.
+     */
+    private static Headers file(final Key key, final Content data) {
+        final Headers headers = PackageContent.type(key).<Headers>map(
+            type -> new Headers.From(
+                new Header(PackageContent.CACHE_CONTROL, PackageContent.IMMUTABLE),
+                new ContentType(type)
+            )
+        ).orElse(Headers.EMPTY);
+        return data.size().<Headers>map(
+            size -> new Headers.From(headers, new ContentLength(size))
+        ).orElse(headers);
+    }
+
+    /**
+     * Media type of immutable package file: .nupkg package or .nuspec description
+     * stored under package identity.
+     *
+     * @param key Content key.
+     * @return Media type, empty if content is not immutable package file.
+     */
+    private static Optional<String> type(final Key key) {
+        final String name = key.string();
+        final Optional<String> res;
+        final boolean file = name.split("/").length == PackageContent.PACKAGE_FILE;
+        if (file && name.endsWith(".nupkg")) {
+            res = Optional.of("application/octet-stream");
+        } else if (file && name.endsWith(".nuspec")) {
+            res = Optional.of("application/xml");
+        } else {
+            res = Optional.empty();
+        }
+        return res;
+    }
+
     /**
      * Package content resource.
      *
@@ -111,10 +207,12 @@ public final class PackageContent implements Route, ContentLocation {
         public Response get(final Headers headers) {
             return this.key().<Response>map(
                 key -> new AsyncResponse(
-                    this.repository.content(key).thenApply(
-                        existing -> existing.<Response>map(
-                            data -> new RsWithBodyNoHeaders(new RsWithStatus(RsStatus.OK), data)
-                        ).orElse(new RsWithStatus(RsStatus.NOT_FOUND))
+                    this.repository.content(key).thenCompose(
+                        existing -> existing.map(data -> this.found(headers, key, data)).orElse(
+                            CompletableFuture.completedFuture(
+                                new RsWithStatus(RsStatus.NOT_FOUND)
+                            )
+                        )
                     )
                 )
             ).orElse(new RsWithStatus(RsStatus.NOT_FOUND));
@@ -127,6 +225,40 @@ public final class PackageContent implements Route, ContentLocation {
             return new RsWithStatus(RsStatus.METHOD_NOT_ALLOWED);
         }
 
+        /**
+         * Response with found content, package versions document is compressed
+         * if client accepts it and revalidated by caches after short time,
+         * other files are sent with their size, package files are also sent
+         * with type and cached as immutable. Versions document is sent without
+         * Content-Length, see {@link RsWithBodyNoHeaders}.
+         *
+         * @param headers Request headers.
+         * @param key Content key.
+         * @param data Content.
+         * @return Response.
+         */
+        private CompletionStage<Response> found(
+            final Headers headers, final Key key, final Content data
+        ) {
+            final CompletionStage<Response> res;
+            if (new KeyLastPart(key).get().equals(PackageContent.VERSIONS)) {
+                res = new PublisherAs(data).bytes().thenApply(
+                    bytes -> new RsWithHeaders(
+                        PackageContent.this.compression.response(headers, this.path, bytes),
+                        PackageContent.CACHE_CONTROL, PackageContent.REVALIDATE
+                    )
+                );
+            } else {
+                res = CompletableFuture.completedFuture(
+                    new RsWithHeaders(
+                        new RsWithBodyNoHeaders(new RsWithStatus(RsStatus.OK), data),
+                        PackageContent.file(key, data)
+                    )
+                );
+            }
+            return res;
+        }
+
         /**
          * Tries to build key to storage value from path.
          *
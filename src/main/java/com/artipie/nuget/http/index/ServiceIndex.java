@@ -9,9 +9,9 @@ import com.artipie.http.Response;
 import com.artipie.http.rs.RsStatus;
 import com.artipie.http.rs.RsWithStatus;
 import com.artipie.nuget.http.Absent;
+import com.artipie.nuget.http.Compression;
 import com.artipie.nuget.http.Resource;
 import com.artipie.nuget.http.Route;
-import com.artipie.nuget.http.RsWithBodyNoHeaders;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.nio.ByteBuffer;
@@ -29,18 +29,39 @@ import org.reactivestreams.Publisher;
  */
 public final class ServiceIndex implements Route {
 
+    /**
+     * Path of services index.
+     */
+    private static final String INDEX = "/index.json";
+
     /**
      * Services.
      */
     private final Iterable<Service> services;
 
+    /**
+     * Compressed variants of index.
+     */
+    private final Compression compression;
+
     /**
      * Ctor.
      *
      * @param services Services.
      */
     public ServiceIndex(final Iterable<Service> services) {
+        this(services, new Compression());
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param services Services.
+     * @param compression Compressed variants of index.
+     */
+    public ServiceIndex(final Iterable<Service> services, final Compression compression) {
         this.services = services;
+        this.compression = compression;
     }
 
     @Override
@@ -51,7 +72,7 @@ public final class ServiceIndex implements Route {
     @Override
     public Resource resource(final String path) {
         final Resource resource;
-        if (path.equals("/index.json")) {
+        if (path.equals(ServiceIndex.INDEX)) {
             resource = new Index();
         } else {
             resource = new Absent();
@@ -84,9 +105,8 @@ public final class ServiceIndex implements Route {
                 JsonWriter writer = Json.createWriter(out)) {
                 writer.writeObject(json);
                 out.flush();
-                return new RsWithStatus(
-                    new RsWithBodyNoHeaders(out.toByteArray()),
-                    RsStatus.OK
+                return ServiceIndex.this.compression.response(
+                    headers, ServiceIndex.INDEX, out.toByteArray()
                 );
             } catch (final IOException ex) {
                 throw new IllegalStateException("Failed to serialize JSON to bytes", ex);
@@ -0,0 +1,118 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+package com.artipie.nuget.http.metadata;
+
+import com.artipie.http.Headers;
+import com.artipie.http.Response;
+import com.artipie.http.async.AsyncResponse;
+import com.artipie.http.rs.RsStatus;
+import com.artipie.http.rs.RsWithHeaders;
+import com.artipie.http.rs.RsWithStatus;
+import com.artipie.nuget.http.Absent;
+import com.artipie.nuget.http.Encoding;
+import com.artipie.nuget.http.Resource;
+import com.artipie.nuget.http.Route;
+import com.artipie.nuget.http.RsWithBodyNoHeaders;
+import com.artipie.nuget.metadata.PackageId;
+import java.nio.ByteBuffer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.reactivestreams.Publisher;
+
+/**
+ * Gzip compressed registrations route, advertised as
+ * <code>RegistrationsBaseUrl/3.4.0</code> and <code>RegistrationsBaseUrl/3.6.0</code>.
+ * Registration indexes are always sent gzip encoded, clients of these resource
+ * versions are required to support it.
+ * See <a href="https://docs.microsoft.com/en-us/nuget/api/registration-base-url-resource#versioning">Registrations versioning</a>
+ *
+ * @since 0.8
+ */
+public final class GzipMetadata implements Route {
+
+    /**
+     * Base path for the route.
+     */
+    private static final String BASE = "/registrations-gz";
+
+    /**
+     * RegEx pattern for registration path.
+     */
+    private static final Pattern REGISTRATION = Pattern.compile(
+        String.format("%s/(?<id>[^/]+)/index.json$", GzipMetadata.BASE)
+    );
+
+    /**
+     * Stored registrations.
+     */
+    private final GzipRegistrations gzipped;
+
+    /**
+     * Ctor.
+     *
+     * @param gzipped Stored registrations.
+     */
+    public GzipMetadata(final GzipRegistrations gzipped) {
+        this.gzipped = gzipped;
+    }
+
+    @Override
+    public String path() {
+        return GzipMetadata.BASE;
+    }
+
+    @Override
+    public Resource resource(final String path) {
+        final Matcher matcher = GzipMetadata.REGISTRATION.matcher(path);
+        final Resource resource;
+        if (matcher.find()) {
+            resource = new GzipRegistration(new PackageId(matcher.group("id")));
+        } else {
+            resource = new Absent();
+        }
+        return resource;
+    }
+
+    /**
+     * Gzip compressed registration resource.
+     *
+     * @since 0.8
+     */
+    private final class GzipRegistration implements Resource {
+
+        /**
+         * Package identifier.
+         */
+        private final PackageId id;
+
+        /**
+         * Ctor.
+         *
+         * @param id Package identifier.
+         */
+        GzipRegistration(final PackageId id) {
+            this.id = id;
+        }
+
+        @Override
+        public Response get(final Headers headers) {
+            return new AsyncResponse(
+                GzipMetadata.this.gzipped.document(this.id).thenApply(
+                    content -> new RsWithHeaders(
+                        new RsWithBodyNoHeaders(new RsWithStatus(RsStatus.OK), content),
+                        "Content-Encoding", Encoding.GZIP.coding()
+                    )
+                )
+            );
+        }
+
+        @Override
+        public Response put(
+            final Headers headers,
+            final Publisher<ByteBuffer> body) {
+            return new RsWithStatus(RsStatus.METHOD_NOT_ALLOWED);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+package com.artipie.nuget.http.metadata;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.asto.Storage;
+import com.artipie.nuget.PackageListener;
+import com.artipie.nuget.Repository;
+import com.artipie.nuget.http.Encoding;
+import com.artipie.nuget.http.content.PackageContent;
+import com.artipie.nuget.metadata.Nuspec;
+import com.artipie.nuget.metadata.NuspecField;
+import java.net.URL;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Gzip compressed registration indexes stored in repository storage.
+ * Registration index of package is built and stored compressed under
+ * <code>.registrations-gz/{id}/index.json</code> when package is added,
+ * so it is read and sent as is with no compression on every request.
+ * Index of package added before is built on request until package is added again
+ * or stored packages are replayed: <code>new StoredPackages(storage).replay(registrations)</code>.
+ * Packages are read from given repository, it should not notify this listener itself,
+ * e.g. <code>new GzipRegistrations(url, storage, new AstoRepository(storage))</code>.
+ *
+ * @since 0.8
+ */
+public final class GzipRegistrations implements PackageListener {
+
+    /**
+     * Stored indexes prefix.
+     */
+    private static final Key ROOT = new Key.From(".registrations-gz");
+
+    /**
+     * Storage of repository.
+     */
+    private final Storage storage;
+
+    /**
+     * Repository to read packages from.
+     */
+    private final Repository repository;
+
+    /**
+     * Package content location.
+     */
+    private final ContentLocation content;
+
+    /**
+     * Ctor.
+     *
+     * @param base Base URL of repository, same as of NuGet slice serving it.
+     * @param storage Storage of repository.
+     * @param repository Repository to read packages from.
+     */
+    public GzipRegistrations(
+        final URL base, final Storage storage, final Repository repository
+    ) {
+        this(storage, repository, new PackageContent(base, repository));
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param storage Storage of repository.
+     * @param repository Repository to read packages from.
+     * @param content Package content location.
+     */
+    public GzipRegistrations(
+        final Storage storage, final Repository repository, final ContentLocation content
+    ) {
+        this.storage = storage;
+        this.repository = repository;
+        this.content = content;
+    }
+
+    @Override
+    public CompletionStage<Void> added(final Nuspec nuspec) {
+        final Key key = GzipRegistrations.key(nuspec.id());
+        return this.storage.exclusively(
+            key,
+            target -> this.index(nuspec.id()).thenCompose(
+                bytes -> target.save(key, new Content.From(bytes))
+            )
+        );
+    }
+
+    /**
+     * Gzip compressed registration index of package.
+     *
+     * @param id Package identifier.
+     * @return Index content.
+     */
+    public CompletionStage<Content> document(final NuspecField id) {
+        return this.repository.content(GzipRegistrations.key(id)).thenCompose(
+            stored -> stored.<CompletionStage<Content>>map(
+                CompletableFuture::completedFuture
+            ).orElseGet(() -> this.index(id).thenApply(Content.From::new))
+        );
+    }
+
+    /**
+     * Build gzip compressed registration index.
+     *
+     * @param id Package identifier.
+     * @return Compressed index bytes.
+     */
+    private CompletionStage<byte[]> index(final NuspecField id) {
+        return new RegistrationIndex(this.repository, this.content, id).bytes()
+            .thenApply(Encoding.GZIP::encode);
+    }
+
+    /**
+     * Key of stored registration index.
+     *
+     * @param id Package identifier.
+     * @return Storage key.
+     */
+    private static Key key(final NuspecField id) {
+        return new Key.From(GzipRegistrations.ROOT, id.normalized(), "index.json");
+    }
+}
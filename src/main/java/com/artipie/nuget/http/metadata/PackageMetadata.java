@@ -6,9 +6,13 @@ package com.artipie.nuget.http.metadata;
 
 import com.artipie.nuget.Repository;
 import com.artipie.nuget.http.Absent;
+import com.artipie.nuget.http.Compression;
 import com.artipie.nuget.http.Resource;
 import com.artipie.nuget.http.Route;
+import com.artipie.nuget.metadata.NuspecField;
 import com.artipie.nuget.metadata.PackageId;
+import java.net.MalformedURLException;
+import java.net.URL;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -18,7 +22,7 @@ import java.util.regex.Pattern;
  *
  * @since 0.1
  */
-public final class PackageMetadata implements Route {
+public final class PackageMetadata implements Route, RegistrationLocation {
 
     /**
      * Base path for the route.
@@ -32,6 +36,11 @@ public final class PackageMetadata implements Route {
         String.format("%s/(?<id>[^/]+)/index.json$", PackageMetadata.BASE)
     );
 
+    /**
+     * Base URL of repository.
+     */
+    private final URL base;
+
     /**
      * Repository to read data from.
      */
@@ -42,15 +51,41 @@ public final class PackageMetadata implements Route {
      */
     private final ContentLocation content;
 
+    /**
+     * Compressed variants of registrations.
+     */
+    private final Compression compression;
+
+    /**
+     * Ctor.
+     *
+     * @param base Base URL of repository.
+     * @param repository Repository to read data from.
+     * @param content Package content storage.
+     */
+    public PackageMetadata(
+        final URL base, final Repository repository, final ContentLocation content
+    ) {
+        this(base, repository, content, new Compression());
+    }
+
     /**
      * Ctor.
      *
+     * @param base Base URL of repository.
      * @param repository Repository to read data from.
      * @param content Package content storage.
+     * @param compression Compressed variants of registrations.
+     * @checkstyle ParameterNumberCheck (5 lines)
      */
-    public PackageMetadata(final Repository repository, final ContentLocation content) {
+    public PackageMetadata(
+        final URL base, final Repository repository, final ContentLocation content,
+        final Compression compression
+    ) {
+        this.base = base;
         this.repository = repository;
         this.content = content;
+        this.compression = compression;
     }
 
     @Override
@@ -66,11 +101,47 @@ public final class PackageMetadata implements Route {
             resource = new Registration(
                 this.repository,
                 this.content,
-                new PackageId(matcher.group("id"))
+                new PackageId(matcher.group("id")),
+                this.compression
             );
         } else {
             resource = new Absent();
         }
         return resource;
     }
+
+    @Override
+    public URL url(final NuspecField id) {
+        return this.url(id, "index");
+    }
+
+    @Override
+    public URL url(final NuspecField id, final NuspecField version) {
+        return this.url(id, version.normalized());
+    }
+
+    /**
+     * Get URL for registration JSON document of package.
+     *
+     * @param id Package identifier.
+     * @param name Document name without extension.
+     * @return URL for registration document.
+     */
+    private URL url(final NuspecField id, final String name) {
+        final String relative = String.format(
+            "%s%s/%s/%s.json",
+            this.base.getPath(),
+            this.path(),
+            id.normalized(),
+            name
+        );
+        try {
+            return new URL(this.base, relative);
+        } catch (final MalformedURLException ex) {
+            throw new IllegalStateException(
+                String.format("Failed to build URL from base: '%s'", this.base),
+                ex
+            );
+        }
+    }
 }
@@ -9,23 +9,11 @@ import com.artipie.http.Response;
 import com.artipie.http.async.AsyncResponse;
 import com.artipie.http.rs.RsStatus;
 import com.artipie.http.rs.RsWithStatus;
-import com.artipie.nuget.PackageKeys;
 import com.artipie.nuget.Repository;
-import com.artipie.nuget.Versions;
+import com.artipie.nuget.http.Compression;
 import com.artipie.nuget.http.Resource;
-import com.artipie.nuget.http.RsWithBodyNoHeaders;
 import com.artipie.nuget.metadata.NuspecField;
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
-import java.io.UncheckedIOException;
 import java.nio.ByteBuffer;
-import java.util.Collections;
-import java.util.List;
-import java.util.concurrent.CompletionStage;
-import javax.json.Json;
-import javax.json.JsonArrayBuilder;
-import javax.json.JsonObject;
-import javax.json.JsonWriter;
 import org.reactivestreams.Publisher;
 
 /**
@@ -52,49 +40,40 @@ class Registration implements Resource {
      */
     private final NuspecField id;
 
+    /**
+     * Compressed variants of registration.
+     */
+    private final Compression compression;
+
     /**
      * Ctor.
      *
      * @param repository Repository to read data from.
      * @param content Package content location.
      * @param id Package identifier.
+     * @param compression Compressed variants of registration.
+     * @checkstyle ParameterNumberCheck (10 lines)
      */
     Registration(
         final Repository repository,
         final ContentLocation content,
-        final NuspecField id) {
+        final NuspecField id,
+        final Compression compression) {
         this.repository = repository;
         this.content = content;
         this.id = id;
+        this.compression = compression;
     }
 
     @Override
     public Response get(final Headers headers) {
         return new AsyncResponse(
-            this.pages().thenCompose(
-                pages -> new CompletionStages<>(pages.stream().map(RegistrationPage::json)).all()
-            ).thenApply(
-                pages -> {
-                    final JsonArrayBuilder items = Json.createArrayBuilder();
-                    for (final JsonObject page : pages) {
-                        items.add(page);
-                    }
-                    final JsonObject json = Json.createObjectBuilder()
-                        .add("count", pages.size())
-                        .add("items", items)
-                        .build();
-                    try (ByteArrayOutputStream out = new ByteArrayOutputStream();
-                        JsonWriter writer = Json.createWriter(out)) {
-                        writer.writeObject(json);
-                        out.flush();
-                        return new RsWithStatus(
-                            new RsWithBodyNoHeaders(out.toByteArray()),
-                            RsStatus.OK
-                        );
-                    } catch (final IOException ex) {
-                        throw new UncheckedIOException(ex);
-                    }
-                }
+            new RegistrationIndex(this.repository, this.content, this.id).bytes().thenApply(
+                bytes -> this.compression.response(
+                    headers,
+                    String.format("/registrations/%s", this.id.normalized()),
+                    bytes
+                )
             )
         );
     }
@@ -105,26 +84,4 @@ class Registration implements Resource {
         final Publisher<ByteBuffer> body) {
         return new RsWithStatus(RsStatus.METHOD_NOT_ALLOWED);
     }
-
-    /**
-     * Enumerate version pages.
-     *
-     * @return List of pages.
-     */
-    private CompletionStage<List<RegistrationPage>> pages() {
-        return this.repository.versions(new PackageKeys(this.id)).thenApply(Versions::all)
-            .thenApply(
-                versions -> {
-                    final List<RegistrationPage> pages;
-                    if (versions.isEmpty()) {
-                        pages = Collections.emptyList();
-                    } else {
-                        pages = Collections.singletonList(
-                            new RegistrationPage(this.repository, this.content, this.id, versions)
-                        );
-                    }
-                    return pages;
-                }
-            );
-    }
 }
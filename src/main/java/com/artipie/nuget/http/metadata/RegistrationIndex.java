@@ -0,0 +1,113 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+package com.artipie.nuget.http.metadata;
+
+import com.artipie.nuget.PackageKeys;
+import com.artipie.nuget.Repository;
+import com.artipie.nuget.Versions;
+import com.artipie.nuget.metadata.NuspecField;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+import javax.json.Json;
+import javax.json.JsonArrayBuilder;
+import javax.json.JsonObject;
+import javax.json.JsonWriter;
+
+/**
+ * Registration index document of package.
+ * See <a href="https://docs.microsoft.com/en-us/nuget/api/registration-base-url-resource#registration-index">Registration index</a>
+ *
+ * @since 0.8
+ */
+final class RegistrationIndex {
+
+    /**
+     * Repository to read data from.
+     */
+    private final Repository repository;
+
+    /**
+     * Package content location.
+     */
+    private final ContentLocation content;
+
+    /**
+     * Package identifier.
+     */
+    private final NuspecField id;
+
+    /**
+     * Ctor.
+     *
+     * @param repository Repository to read data from.
+     * @param content Package content location.
+     * @param id Package identifier.
+     */
+    RegistrationIndex(
+        final Repository repository,
+        final ContentLocation content,
+        final NuspecField id
+    ) {
+        this.repository = repository;
+        this.content = content;
+        this.id = id;
+    }
+
+    /**
+     * Build document.
+     *
+     * @return Document bytes.
+     */
+    CompletionStage<byte[]> bytes() {
+        return this.pages().thenCompose(
+            pages -> new CompletionStages<>(pages.stream().map(RegistrationPage::json)).all()
+        ).thenApply(
+            pages -> {
+                final JsonArrayBuilder items = Json.createArrayBuilder();
+                for (final JsonObject page : pages) {
+                    items.add(page);
+                }
+                final JsonObject json = Json.createObjectBuilder()
+                    .add("count", pages.size())
+                    .add("items", items)
+                    .build();
+                try (ByteArrayOutputStream out = new ByteArrayOutputStream();
+                    JsonWriter writer = Json.createWriter(out)) {
+                    writer.writeObject(json);
+                    out.flush();
+                    return out.toByteArray();
+                } catch (final IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            }
+        );
+    }
+
+    /**
+     * Enumerate version pages.
+     *
+     * @return List of pages.
+     */
+    private CompletionStage<List<RegistrationPage>> pages() {
+        return this.repository.versions(new PackageKeys(this.id)).thenApply(Versions::all)
+            .thenApply(
+                versions -> {
+                    final List<RegistrationPage> pages;
+                    if (versions.isEmpty()) {
+                        pages = Collections.emptyList();
+                    } else {
+                        pages = Collections.singletonList(
+                            new RegistrationPage(this.repository, this.content, this.id, versions)
+                        );
+                    }
+                    return pages;
+                }
+            );
+    }
+}
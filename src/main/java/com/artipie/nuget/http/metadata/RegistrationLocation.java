@@ -0,0 +1,33 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+package com.artipie.nuget.http.metadata;
+
+import com.artipie.nuget.metadata.NuspecField;
+import java.net.URL;
+
+/**
+ * Package registration location.
+ *
+ * @since 0.8
+ */
+public interface RegistrationLocation {
+
+    /**
+     * Get URL for package registration index.
+     *
+     * @param id Package identifier.
+     * @return URL for registration index.
+     */
+    URL url(NuspecField id);
+
+    /**
+     * Get URL for registration leaf of package version.
+     *
+     * @param id Package identifier.
+     * @param version Package version.
+     * @return URL for registration leaf.
+     */
+    URL url(NuspecField id, NuspecField version);
+}
@@ -15,6 +15,8 @@ import javax.json.JsonObject;
 
 /**
  * Registration page.
+ * Leaves are built from versions list and package id of the latest version description,
+ * so the page costs single description read regardless of number of versions.
  * See <a href="https://docs.microsoft.com/en-us/nuget/api/registration-base-url-resource#registration-page-object">Registration page</a>
  *
  * @since 0.1
@@ -78,15 +80,11 @@ final class RegistrationPage {
         }
         final NuspecField lower = this.versions.get(0);
         final NuspecField upper = this.versions.get(this.versions.size() - 1);
-        return new CompletionStages<>(
-            this.versions.stream().map(
-                version -> this.leaf(new PackageIdentity(this.id, version))
-            )
-        ).all().thenApply(
-            leafs -> {
+        return this.repository.nuspec(new PackageIdentity(this.id, upper)).thenApply(
+            nuspec -> {
                 final JsonArrayBuilder items = Json.createArrayBuilder();
-                for (final JsonObject leaf : leafs) {
-                    items.add(leaf);
+                for (final NuspecField version : this.versions) {
+                    items.add(this.leaf(nuspec.id(), version));
                 }
                 return Json.createObjectBuilder()
                     .add("lower", lower.normalized())
@@ -102,20 +100,22 @@ final class RegistrationPage {
      * Builds registration leaf.
      * See <a href="https://docs.microsoft.com/en-us/nuget/api/registration-base-url-resource#registration-leaf-object-in-a-page"></a>
      *
-     * @param identity Package identity.
+     * @param pid Package id as written in package description.
+     * @param version Package version.
      * @return JSON representing registration leaf.
      */
-    private CompletionStage<JsonObject> leaf(final PackageIdentity identity) {
-        return this.repository.nuspec(identity).thenApply(
-            nuspec -> Json.createObjectBuilder()
-                .add(
-                    "catalogEntry",
-                    Json.createObjectBuilder()
-                        .add("id", nuspec.id().raw())
-                        .add("version", nuspec.version().normalized())
-                )
-                .add("packageContent", this.content.url(identity).toString())
-                .build()
-        );
+    private JsonObject leaf(final NuspecField pid, final NuspecField version) {
+        return Json.createObjectBuilder()
+            .add(
+                "catalogEntry",
+                Json.createObjectBuilder()
+                    .add("id", pid.raw())
+                    .add("version", version.normalized())
+            )
+            .add(
+                "packageContent",
+                this.content.url(new PackageIdentity(this.id, version)).toString()
+            )
+            .build();
     }
 }
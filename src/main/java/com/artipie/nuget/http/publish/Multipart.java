@@ -7,13 +7,18 @@ package com.artipie.nuget.http.publish;
 import com.artipie.asto.Concatenation;
 import com.artipie.asto.Content;
 import com.artipie.asto.Remaining;
+import com.artipie.asto.ext.PublisherAs;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
 import java.util.stream.StreamSupport;
 import org.apache.commons.fileupload.MultipartStream;
 import org.apache.commons.fileupload.ParameterParser;
@@ -31,6 +36,11 @@ final class Multipart {
      */
     private static final int BUFFER = 4096;
 
+    /**
+     * Message of error on reading multipart body.
+     */
+    private static final String FAILED = "Failed to read body as multipart";
+
     /**
      * Request headers.
      */
@@ -69,10 +79,56 @@ final class Multipart {
                 .map(ByteArrayInputStream::new)
                 .map(input -> new MultipartStream(input, this.boundary(), Multipart.BUFFER, null))
                 .map(Multipart::first)
+                .map(ByteBuffer::wrap)
                 .toFlowable()
         );
     }
 
+    /**
+     * Read body and decode first part on executor.
+     *
+     * @param exec Executor for decoding.
+     * @return First part content.
+     */
+    public CompletionStage<byte[]> first(final Executor exec) {
+        return new PublisherAs(this.body).bytes().thenApplyAsync(
+            bytes -> Multipart.first(this.stream(bytes)), exec
+        );
+    }
+
+    /**
+     * Read all parts.
+     *
+     * @return Binary content of every part in order of appearance.
+     */
+    public CompletionStage<List<byte[]>> parts() {
+        return this.parts(Runnable::run);
+    }
+
+    /**
+     * Read body and decode all parts on executor.
+     *
+     * @param exec Executor for decoding.
+     * @return Binary content of every part in order of appearance.
+     */
+    public CompletionStage<List<byte[]>> parts(final Executor exec) {
+        return new PublisherAs(this.body).bytes().thenApplyAsync(
+            bytes -> Multipart.parts(this.stream(bytes)), exec
+        );
+    }
+
+    /**
+     * Multipart stream of body bytes.
+     *
+     * @param bytes Body bytes.
+     * @return Multipart stream.
+     */
+    private MultipartStream stream(final byte[] bytes) {
+        return new MultipartStream(
+            new ByteArrayInputStream(bytes), this.boundary(), Multipart.BUFFER, null
+        );
+    }
+
     /**
      * Reads boundary from headers.
      *
@@ -101,7 +157,7 @@ final class Multipart {
      * @param stream Multipart stream.
      * @return Binary content of first part.
      */
-    private static ByteBuffer first(final MultipartStream stream) {
+    private static byte[] first(final MultipartStream stream) {
         final ByteArrayOutputStream bos = new ByteArrayOutputStream();
         try {
             if (!stream.skipPreamble()) {
@@ -110,8 +166,31 @@ final class Multipart {
             stream.readHeaders();
             stream.readBodyData(bos);
         } catch (final IOException ex) {
-            throw new IllegalStateException("Failed to read body as multipart", ex);
+            throw new IllegalStateException(Multipart.FAILED, ex);
+        }
+        return bos.toByteArray();
+    }
+
+    /**
+     * Read all parts from stream.
+     *
+     * @param stream Multipart stream.
+     * @return Binary content of every part.
+     */
+    private static List<byte[]> parts(final MultipartStream stream) {
+        final List<byte[]> parts = new ArrayList<>(0);
+        try {
+            boolean next = stream.skipPreamble();
+            while (next) {
+                stream.readHeaders();
+                final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+                stream.readBodyData(bos);
+                parts.add(bos.toByteArray());
+                next = stream.readBoundary();
+            }
+        } catch (final IOException ex) {
+            throw new IllegalStateException(Multipart.FAILED, ex);
         }
-        return ByteBuffer.wrap(bos.toByteArray());
+        return parts;
     }
 }
@@ -0,0 +1,342 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+
+package com.artipie.nuget.http.publish;
+
+import com.artipie.http.Headers;
+import com.artipie.http.Response;
+import com.artipie.http.async.AsyncResponse;
+import com.artipie.http.rs.RsStatus;
+import com.artipie.http.rs.RsWithStatus;
+import com.artipie.nuget.InvalidPackageException;
+import com.artipie.nuget.JsonBytes;
+import com.artipie.nuget.Nupkg;
+import com.artipie.nuget.ParsedPackage;
+import com.artipie.nuget.Repository;
+import com.artipie.nuget.Workers;
+import com.artipie.nuget.http.Resource;
+import com.artipie.nuget.http.Route;
+import com.artipie.nuget.http.RsWithBodyNoHeaders;
+import com.artipie.nuget.metadata.Nuspec;
+import com.google.common.io.ByteSource;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import javax.json.Json;
+import javax.json.JsonArrayBuilder;
+import javax.json.JsonObject;
+import javax.json.JsonObjectBuilder;
+import org.reactivestreams.Publisher;
+
+/**
+ * Batch publish service, used to push many packages with single request.
+ * Request body is 'multipart/form-data' with one package per part.
+ * Packages are validated in parallel, then added to repository at once,
+ * so repository may update index of packages with the same id once.
+ * Each part is parsed once. Part status is 400 for invalid package,
+ * 409 for other package with the same identity and 500 for other failures.
+ * Response is JSON with status of every package, for example:
+ * <pre>
+ * {"packages":[{"part":0,"id":"Foo","version":"1.0.0","status":201}]}
+ * </pre>
+ *
+ * @since 0.8
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
+ * @checkstyle ClassFanOutComplexityCheck (500 lines)
+ */
+public final class PackageBatch implements Route {
+
+    /**
+     * Repository for adding packages.
+     */
+    private final Repository repository;
+
+    /**
+     * Executor for decoding request body and validating packages.
+     */
+    private final Executor exec;
+
+    /**
+     * Ctor.
+     *
+     * @param repository Repository for adding packages.
+     */
+    public PackageBatch(final Repository repository) {
+        this(repository, Workers.SHARED.parsing());
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param repository Repository for adding packages.
+     * @param exec Executor for decoding request body and validating packages.
+     */
+    public PackageBatch(final Repository repository, final Executor exec) {
+        this.repository = repository;
+        this.exec = exec;
+    }
+
+    @Override
+    public String path() {
+        return "/package/batch";
+    }
+
+    @Override
+    public Resource resource(final String path) {
+        return new Batch();
+    }
+
+    /**
+     * Read package description from part.
+     *
+     * @param bytes Part content.
+     * @return Package description, empty if part is not valid package.
+     */
+    private static Optional<Nuspec> nuspec(final byte[] bytes) {
+        Optional<Nuspec> nuspec;
+        try {
+            nuspec = Optional.of(new Nupkg(ByteSource.wrap(bytes)).nuspec());
+        } catch (final UncheckedIOException | IllegalArgumentException ex) {
+            nuspec = Optional.empty();
+        }
+        return nuspec;
+    }
+
+    /**
+     * Unwrap completion exception.
+     *
+     * @param err Error.
+     * @return Cause of completion exception or error itself.
+     */
+    private static Throwable cause(final Throwable err) {
+        final Throwable cause;
+        if (err instanceof CompletionException && err.getCause() != null) {
+            cause = err.getCause();
+        } else {
+            cause = err;
+        }
+        return cause;
+    }
+
+    /**
+     * Part with status of adding its package.
+     *
+     * @param part Part.
+     * @param added Completion of adding package.
+     * @return Part with status.
+     */
+    private static CompletableFuture<Part> status(
+        final Part part, final CompletionStage<Void> added
+    ) {
+        return added.handle(
+            (nothing, err) -> {
+                final RsStatus status;
+                if (err == null) {
+                    status = RsStatus.CREATED;
+                } else {
+                    status = PackagePublish.NewPackage.toStatus(PackageBatch.cause(err));
+                }
+                return part.with(status);
+            }
+        ).toCompletableFuture();
+    }
+
+    /**
+     * Build response with status of every package.
+     *
+     * @param results Results of parts.
+     * @return Response.
+     */
+    private static Response json(final List<Part> results) {
+        final JsonArrayBuilder packages = Json.createArrayBuilder();
+        results.forEach(part -> packages.add(part.json()));
+        final JsonObject json = Json.createObjectBuilder()
+            .add("packages", packages)
+            .build();
+        return new RsWithStatus(
+            new RsWithBodyNoHeaders(new JsonBytes(json).bytes()),
+            RsStatus.OK
+        );
+    }
+
+    /**
+     * Batch resource.
+     *
+     * @since 0.8
+     */
+    private final class Batch implements Resource {
+
+        @Override
+        public Response get(final Headers headers) {
+            return new RsWithStatus(RsStatus.METHOD_NOT_ALLOWED);
+        }
+
+        @Override
+        public Response put(final Headers headers, final Publisher<ByteBuffer> body) {
+            return new AsyncResponse(
+                new Multipart(headers, body).parts(PackageBatch.this.exec).exceptionally(
+                    err -> {
+                        throw new InvalidPackageException(PackageBatch.cause(err));
+                    }
+                ).thenCompose(this::publish).thenApply(PackageBatch::json).exceptionally(
+                    err -> new RsWithStatus(
+                        PackagePublish.NewPackage.toStatus(PackageBatch.cause(err))
+                    )
+                )
+            );
+        }
+
+        /**
+         * Validate and add packages.
+         *
+         * @param parts Request parts.
+         * @return Result of every part ordered by part number.
+         */
+        private CompletionStage<List<Part>> publish(final List<byte[]> parts) {
+            final List<CompletableFuture<Part>> parsed = IntStream.range(0, parts.size())
+                .mapToObj(
+                    index -> CompletableFuture.supplyAsync(
+                        () -> new Part(
+                            index, parts.get(index), PackageBatch.nuspec(parts.get(index))
+                        ),
+                        PackageBatch.this.exec
+                    )
+                ).collect(Collectors.toList());
+            return CompletableFuture.allOf(parsed.toArray(new CompletableFuture<?>[0]))
+                .thenCompose(
+                    nothing -> {
+                        final List<Part> valid = new ArrayList<>(parts.size());
+                        final List<CompletableFuture<Part>> done = new ArrayList<>(parts.size());
+                        for (final CompletableFuture<Part> future : parsed) {
+                            final Part part = future.join();
+                            if (part.nuspec.isPresent()) {
+                                valid.add(part);
+                            } else {
+                                done.add(
+                                    CompletableFuture.completedFuture(
+                                        part.with(RsStatus.BAD_REQUEST)
+                                    )
+                                );
+                            }
+                        }
+                        final List<CompletionStage<Void>> added =
+                            PackageBatch.this.repository.add(
+                                valid.stream().map(Part::parsed).collect(Collectors.toList())
+                            );
+                        for (int num = 0; num < valid.size(); num += 1) {
+                            done.add(PackageBatch.status(valid.get(num), added.get(num)));
+                        }
+                        return CompletableFuture.allOf(done.toArray(new CompletableFuture<?>[0]))
+                            .thenApply(
+                                all -> done.stream()
+                                    .map(CompletableFuture::join)
+                                    .sorted(Comparator.comparingInt(part -> part.index))
+                                    .collect(Collectors.toList())
+                            );
+                    }
+                );
+        }
+    }
+
+    /**
+     * Request part with package.
+     *
+     * @since 0.8
+     */
+    @SuppressWarnings("PMD.ArrayIsStoredDirectly")
+    private static final class Part {
+
+        /**
+         * Part number.
+         */
+        private final int index;
+
+        /**
+         * Part content.
+         */
+        private final byte[] bytes;
+
+        /**
+         * Package description, empty if part is not valid package.
+         */
+        private final Optional<Nuspec> nuspec;
+
+        /**
+         * Status of adding package.
+         */
+        private final RsStatus status;
+
+        /**
+         * Ctor.
+         *
+         * @param index Part number.
+         * @param bytes Part content.
+         * @param nuspec Package description, empty if part is not valid package.
+         */
+        Part(final int index, final byte[] bytes, final Optional<Nuspec> nuspec) {
+            this(index, bytes, nuspec, RsStatus.ACCEPTED);
+        }
+
+        /**
+         * Ctor.
+         *
+         * @param index Part number.
+         * @param bytes Part content.
+         * @param nuspec Package description, empty if part is not valid package.
+         * @param status Status of adding package.
+         * @checkstyle ParameterNumberCheck (3 lines)
+         */
+        Part(
+            final int index, final byte[] bytes, final Optional<Nuspec> nuspec,
+            final RsStatus status
+        ) {
+            this.index = index;
+            this.bytes = bytes;
+            this.nuspec = nuspec;
+            this.status = status;
+        }
+
+        /**
+         * Copy part with status. Content is not kept.
+         *
+         * @param res Status of adding package.
+         * @return Part with status.
+         */
+        Part with(final RsStatus res) {
+            return new Part(this.index, new byte[0], this.nuspec, res);
+        }
+
+        /**
+         * Package of valid part.
+         *
+         * @return Package with its description.
+         */
+        ParsedPackage parsed() {
+            return new ParsedPackage(this.bytes, this.nuspec.get());
+        }
+
+        /**
+         * Part result JSON.
+         *
+         * @return JSON object.
+         */
+        JsonObject json() {
+            final JsonObjectBuilder json = Json.createObjectBuilder().add("part", this.index);
+            this.nuspec.ifPresent(
+                value -> json.add("id", value.id().raw()).add("version", value.version().raw())
+            );
+            return json.add("status", Integer.parseInt(this.status.code())).build();
+        }
+    }
+}
@@ -5,18 +5,26 @@
 
 package com.artipie.nuget.http.publish;
 
+import com.artipie.asto.Content;
 import com.artipie.http.Headers;
 import com.artipie.http.Response;
 import com.artipie.http.async.AsyncResponse;
 import com.artipie.http.rs.RsStatus;
+import com.artipie.http.rs.RsWithHeaders;
 import com.artipie.http.rs.RsWithStatus;
 import com.artipie.nuget.InvalidPackageException;
 import com.artipie.nuget.PackageVersionAlreadyExistsException;
+import com.artipie.nuget.ReadOnlyRepositoryException;
 import com.artipie.nuget.Repository;
+import com.artipie.nuget.TimedRepository;
+import com.artipie.nuget.Workers;
 import com.artipie.nuget.http.Resource;
 import com.artipie.nuget.http.Route;
+import com.artipie.nuget.metrics.Metrics;
+import com.artipie.nuget.metrics.Stages;
 import java.nio.ByteBuffer;
-import java.util.concurrent.CompletableFuture;
+import java.util.Optional;
+import java.util.concurrent.Executor;
 import org.reactivestreams.Publisher;
 
 /**
@@ -32,13 +40,62 @@ public final class PackagePublish implements Route {
      */
     private final Repository repository;
 
+    /**
+     * Executor for decoding request body.
+     */
+    private final Executor exec;
+
+    /**
+     * Metrics of publish stages, if enabled.
+     */
+    private final Optional<Metrics> metrics;
+
     /**
      * Ctor.
      *
      * @param repository Repository for adding package.
      */
     public PackagePublish(final Repository repository) {
+        this(repository, Workers.SHARED.parsing());
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param repository Repository for adding package.
+     * @param exec Executor for decoding request body.
+     */
+    public PackagePublish(final Repository repository, final Executor exec) {
+        this(repository, exec, Optional.empty());
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param repository Repository for adding package.
+     * @param exec Executor for decoding request body.
+     * @param metrics Metrics of publish stages, responses are sent
+     *  with Server-Timing header of publish stages.
+     */
+    public PackagePublish(
+        final Repository repository, final Executor exec, final Metrics metrics
+    ) {
+        this(repository, exec, Optional.of(metrics));
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param repository Repository for adding package.
+     * @param exec Executor for decoding request body.
+     * @param metrics Metrics of publish stages, if enabled.
+     */
+    private PackagePublish(
+        final Repository repository, final Executor exec, final Optional<Metrics> metrics
+    ) {
         this.repository = repository;
+        this.exec = exec;
+        this.metrics = metrics;
     }
 
     @Override
@@ -48,7 +105,8 @@ public final class PackagePublish implements Route {
 
     @Override
     public Resource resource(final String path) {
-        return new NewPackage(this.repository);
+        return this.metrics.map(mtr -> new NewPackage(this.repository, this.exec, mtr))
+            .orElseGet(() -> new NewPackage(this.repository, this.exec));
     }
 
     /**
@@ -64,13 +122,62 @@ public final class PackagePublish implements Route {
          */
         private final Repository repository;
 
+        /**
+         * Executor for decoding request body.
+         */
+        private final Executor exec;
+
+        /**
+         * Metrics of publish stages, if enabled.
+         */
+        private final Optional<Metrics> metrics;
+
         /**
          * Ctor.
          *
          * @param repository Repository for adding package.
          */
         public NewPackage(final Repository repository) {
+            this(repository, Workers.SHARED.parsing());
+        }
+
+        /**
+         * Ctor.
+         *
+         * @param repository Repository for adding package.
+         * @param exec Executor for decoding request body.
+         */
+        public NewPackage(final Repository repository, final Executor exec) {
+            this(repository, exec, Optional.empty());
+        }
+
+        /**
+         * Ctor.
+         *
+         * @param repository Repository for adding package.
+         * @param exec Executor for decoding request body.
+         * @param metrics Metrics of publish stages, responses are sent
+         *  with Server-Timing header of publish stages.
+         */
+        public NewPackage(
+            final Repository repository, final Executor exec, final Metrics metrics
+        ) {
+            this(repository, exec, Optional.of(metrics));
+        }
+
+        /**
+         * Ctor.
+         *
+         * @param repository Repository for adding package.
+         * @param exec Executor for decoding request body.
+         * @param metrics Metrics of publish stages, if enabled.
+         */
+        private NewPackage(
+            final Repository repository, final Executor exec, final Optional<Metrics> metrics
+        ) {
             this.repository = repository;
+            this.exec = exec;
+            this.metrics = metrics;
         }
 
         @Override
@@ -83,16 +190,19 @@ public final class PackagePublish implements Route {
             final Headers headers,
             final Publisher<ByteBuffer> body
         ) {
+            final Stages stages = this.metrics.map(Stages::new).orElseGet(Stages::new);
             return new AsyncResponse(
-                CompletableFuture.supplyAsync(
-                    () -> new Multipart(headers, body).first()
+                stages.<byte[]>timed(
+                    "decode",
+                    () -> new Multipart(headers, body).first(this.exec)
                 ).thenCompose(
-                    content -> this.repository.add(content).thenApply(
-                        nothing -> RsStatus.CREATED
-                    ).exceptionally(
-                        throwable -> toStatus(throwable.getCause())
-                    ).thenApply(RsWithStatus::new)
-                )
+                    bytes -> new TimedRepository(this.repository, stages)
+                        .add(new Content.From(bytes))
+                ).thenApply(
+                    nothing -> RsStatus.CREATED
+                ).exceptionally(
+                    throwable -> toStatus(throwable.getCause())
+                ).thenApply(status -> this.response(status, stages))
             );
         }
 
@@ -102,16 +212,37 @@ public final class PackagePublish implements Route {
          * @param throwable Throwable.
          * @return HTTP response status.
          */
-        private static RsStatus toStatus(final Throwable throwable) {
+        static RsStatus toStatus(final Throwable throwable) {
             final RsStatus status;
             if (throwable instanceof InvalidPackageException) {
                 status = RsStatus.BAD_REQUEST;
             } else if (throwable instanceof PackageVersionAlreadyExistsException) {
                 status = RsStatus.CONFLICT;
+            } else if (throwable instanceof ReadOnlyRepositoryException) {
+                status = RsStatus.METHOD_NOT_ALLOWED;
             } else {
                 status = RsStatus.INTERNAL_ERROR;
             }
             return status;
         }
+
+        /**
+         * Response with status and Server-Timing header if metrics are enabled.
+         *
+         * @param status Response status.
+         * @param stages Publish stages.
+         * @return Response.
+         */
+        private Response response(final RsStatus status, final Stages stages) {
+            final Response res;
+            if (this.metrics.isPresent()) {
+                res = new RsWithHeaders(
+                    new RsWithStatus(status), "Server-Timing", stages.header()
+                );
+            } else {
+                res = new RsWithStatus(status);
+            }
+            return res;
+        }
     }
 }
@@ -0,0 +1,189 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+package com.artipie.nuget.http.search;
+
+import com.artipie.http.Headers;
+import com.artipie.http.Response;
+import com.artipie.http.rq.RqParams;
+import com.artipie.http.rs.RsStatus;
+import com.artipie.http.rs.RsWithStatus;
+import com.artipie.nuget.JsonBytes;
+import com.artipie.nuget.http.Absent;
+import com.artipie.nuget.http.Resource;
+import com.artipie.nuget.http.Route;
+import com.artipie.nuget.http.RsWithBodyNoHeaders;
+import com.artipie.nuget.metadata.PackageId;
+import com.artipie.nuget.metadata.Version;
+import com.artipie.nuget.search.Completions;
+import com.artipie.nuget.search.SearchIndex;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Optional;
+import javax.json.Json;
+import javax.json.JsonArrayBuilder;
+import javax.json.JsonObject;
+import org.reactivestreams.Publisher;
+
+/**
+ * Package id and version autocomplete route.
+ * Answers from in-memory {@link SearchIndex} without reading storage.
+ * See <a href="https://docs.microsoft.com/en-us/nuget/api/search-autocomplete-service-resource">Autocomplete</a>
+ *
+ * @since 0.8
+ */
+public final class PackageAutocomplete implements Route {
+
+    /**
+     * Base path for the route.
+     */
+    private static final String BASE = "/autocomplete";
+
+    /**
+     * Name of results field.
+     */
+    private static final String DATA = "data";
+
+    /**
+     * Default number of results to return.
+     */
+    private static final int TAKE = 20;
+
+    /**
+     * Max number of results to return.
+     */
+    private static final int MAX_TAKE = 1000;
+
+    /**
+     * Search index.
+     */
+    private final SearchIndex index;
+
+    /**
+     * Request URI with autocomplete parameters.
+     */
+    private final URI uri;
+
+    /**
+     * Ctor.
+     *
+     * @param index Search index.
+     * @param uri Request URI with autocomplete parameters.
+     */
+    public PackageAutocomplete(final SearchIndex index, final URI uri) {
+        this.index = index;
+        this.uri = uri;
+    }
+
+    @Override
+    public String path() {
+        return PackageAutocomplete.BASE;
+    }
+
+    @Override
+    public Resource resource(final String path) {
+        final Resource resource;
+        if (path.equals(PackageAutocomplete.BASE)) {
+            resource = new Autocomplete();
+        } else {
+            resource = new Absent();
+        }
+        return resource;
+    }
+
+    /**
+     * Build versions response.
+     *
+     * @param versions Package versions.
+     * @return Response with versions JSON.
+     */
+    private static Response json(final List<Version> versions) {
+        final JsonArrayBuilder data = Json.createArrayBuilder();
+        versions.forEach(version -> data.add(version.normalized()));
+        return PackageAutocomplete.json(
+            Json.createObjectBuilder().add(PackageAutocomplete.DATA, data).build()
+        );
+    }
+
+    /**
+     * Build id completions response.
+     *
+     * @param completions Package ids.
+     * @return Response with completions JSON.
+     */
+    private static Response json(final Completions completions) {
+        final JsonArrayBuilder data = Json.createArrayBuilder();
+        completions.ids().forEach(data::add);
+        return PackageAutocomplete.json(
+            Json.createObjectBuilder()
+                .add("totalHits", completions.total())
+                .add(PackageAutocomplete.DATA, data)
+                .build()
+        );
+    }
+
+    /**
+     * Build JSON response.
+     *
+     * @param json Response JSON.
+     * @return Response.
+     */
+    private static Response json(final JsonObject json) {
+        return new RsWithStatus(
+            new RsWithBodyNoHeaders(new JsonBytes(json).bytes()),
+            RsStatus.OK
+        );
+    }
+
+    /**
+     * Autocomplete resource.
+     *
+     * @since 0.8
+     */
+    private final class Autocomplete implements Resource {
+
+        @Override
+        public Response get(final Headers headers) {
+            final RqParams params = new RqParams(PackageAutocomplete.this.uri);
+            final boolean prerelease = Boolean.parseBoolean(
+                params.value("prerelease").orElse("false")
+            );
+            final Optional<String> id = params.value("id");
+            Response response;
+            if (id.isPresent()) {
+                response = PackageAutocomplete.json(
+                    PackageAutocomplete.this.index.versions(new PackageId(id.get()), prerelease)
+                );
+            } else {
+                try {
+                    final int skip = Integer.parseInt(params.value("skip").orElse("0"));
+                    final int take = Integer.parseInt(
+                        params.value("take").orElse(String.valueOf(PackageAutocomplete.TAKE))
+                    );
+                    if (skip < 0 || take < 0) {
+                        response = new RsWithStatus(RsStatus.BAD_REQUEST);
+                    } else {
+                        response = PackageAutocomplete.json(
+                            PackageAutocomplete.this.index.complete(
+                                params.value("q").orElse(""),
+                                prerelease,
+                                skip,
+                                Math.min(take, PackageAutocomplete.MAX_TAKE)
+                            )
+                        );
+                    }
+                } catch (final NumberFormatException ex) {
+                    response = new RsWithStatus(RsStatus.BAD_REQUEST);
+                }
+            }
+            return response;
+        }
+
+        @Override
+        public Response put(final Headers headers, final Publisher<ByteBuffer> body) {
+            return new RsWithStatus(RsStatus.METHOD_NOT_ALLOWED);
+        }
+    }
+}
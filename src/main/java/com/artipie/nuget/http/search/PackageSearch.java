@@ -0,0 +1,197 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+package com.artipie.nuget.http.search;
+
+import com.artipie.http.Headers;
+import com.artipie.http.Response;
+import com.artipie.http.rq.RqParams;
+import com.artipie.http.rs.RsStatus;
+import com.artipie.http.rs.RsWithStatus;
+import com.artipie.nuget.JsonBytes;
+import com.artipie.nuget.http.Absent;
+import com.artipie.nuget.http.Resource;
+import com.artipie.nuget.http.Route;
+import com.artipie.nuget.http.RsWithBodyNoHeaders;
+import com.artipie.nuget.http.metadata.RegistrationLocation;
+import com.artipie.nuget.metadata.Version;
+import com.artipie.nuget.search.PackageSummary;
+import com.artipie.nuget.search.SearchIndex;
+import com.artipie.nuget.search.SearchResults;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import javax.json.Json;
+import javax.json.JsonArrayBuilder;
+import javax.json.JsonObject;
+import org.reactivestreams.Publisher;
+
+/**
+ * Package search route.
+ * See <a href="https://docs.microsoft.com/en-us/nuget/api/search-query-service-resource">Search</a>
+ *
+ * @since 0.8
+ */
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+public final class PackageSearch implements Route {
+
+    /**
+     * Base path for the route.
+     */
+    private static final String BASE = "/query";
+
+    /**
+     * Default number of results to return.
+     */
+    private static final int TAKE = 20;
+
+    /**
+     * Max number of results to return.
+     */
+    private static final int MAX_TAKE = 1000;
+
+    /**
+     * Search index.
+     */
+    private final SearchIndex index;
+
+    /**
+     * Package registration location.
+     */
+    private final RegistrationLocation location;
+
+    /**
+     * Request URI with search parameters.
+     */
+    private final URI uri;
+
+    /**
+     * Ctor.
+     *
+     * @param index Search index.
+     * @param registrations Package registration location.
+     * @param uri Request URI with search parameters.
+     */
+    public PackageSearch(
+        final SearchIndex index, final RegistrationLocation registrations, final URI uri
+    ) {
+        this.index = index;
+        this.location = registrations;
+        this.uri = uri;
+    }
+
+    @Override
+    public String path() {
+        return PackageSearch.BASE;
+    }
+
+    @Override
+    public Resource resource(final String path) {
+        final Resource resource;
+        if (path.equals(PackageSearch.BASE)) {
+            resource = new Search();
+        } else {
+            resource = new Absent();
+        }
+        return resource;
+    }
+
+    /**
+     * Search resource.
+     *
+     * @since 0.8
+     */
+    private final class Search implements Resource {
+
+        @Override
+        public Response get(final Headers headers) {
+            final RqParams params = new RqParams(PackageSearch.this.uri);
+            Response response;
+            try {
+                final int skip = Integer.parseInt(params.value("skip").orElse("0"));
+                final int take = Integer.parseInt(
+                    params.value("take").orElse(String.valueOf(PackageSearch.TAKE))
+                );
+                if (skip < 0 || take < 0) {
+                    response = new RsWithStatus(RsStatus.BAD_REQUEST);
+                } else {
+                    response = this.json(
+                        PackageSearch.this.index.search(
+                            params.value("q").orElse(""),
+                            Boolean.parseBoolean(params.value("prerelease").orElse("false")),
+                            skip,
+                            Math.min(take, PackageSearch.MAX_TAKE)
+                        )
+                    );
+                }
+            } catch (final NumberFormatException ex) {
+                response = new RsWithStatus(RsStatus.BAD_REQUEST);
+            }
+            return response;
+        }
+
+        @Override
+        public Response put(final Headers headers, final Publisher<ByteBuffer> body) {
+            return new RsWithStatus(RsStatus.METHOD_NOT_ALLOWED);
+        }
+
+        /**
+         * Build search response.
+         *
+         * @param results Search results.
+         * @return Response with results JSON.
+         */
+        private Response json(final SearchResults results) {
+            final JsonArrayBuilder data = Json.createArrayBuilder();
+            for (final PackageSummary pkg : results.packages()) {
+                data.add(this.item(pkg));
+            }
+            final JsonObject json = Json.createObjectBuilder()
+                .add("totalHits", results.total())
+                .add("data", data)
+                .build();
+            return new RsWithStatus(
+                new RsWithBodyNoHeaders(new JsonBytes(json).bytes()),
+                RsStatus.OK
+            );
+        }
+
+        /**
+         * Build search result item.
+         *
+         * @param pkg Package found.
+         * @return Search result JSON.
+         */
+        private JsonObject item(final PackageSummary pkg) {
+            final String registration = PackageSearch.this.location.url(pkg.id()).toString();
+            final JsonArrayBuilder versions = Json.createArrayBuilder();
+            for (final Version version : pkg.versions()) {
+                versions.add(
+                    Json.createObjectBuilder()
+                        .add("version", version.normalized())
+                        .add("downloads", 0)
+                        .add("@id", PackageSearch.this.location.url(pkg.id(), version).toString())
+                );
+            }
+            final JsonArrayBuilder authors = Json.createArrayBuilder();
+            pkg.authors().forEach(authors::add);
+            final JsonArrayBuilder tags = Json.createArrayBuilder();
+            pkg.tags().forEach(tags::add);
+            return Json.createObjectBuilder()
+                .add("@id", registration)
+                .add("@type", "Package")
+                .add("registration", registration)
+                .add("id", pkg.id().raw())
+                .add("version", pkg.version().normalized())
+                .add("description", pkg.description())
+                .add("summary", "")
+                .add("title", pkg.title())
+                .add("authors", authors)
+                .add("tags", tags)
+                .add("totalDownloads", 0)
+                .add("verified", false)
+                .add("versions", versions)
+                .build();
+        }
+    }
+}
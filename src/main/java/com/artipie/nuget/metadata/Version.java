@@ -79,6 +79,15 @@ public final class Version implements Comparable<Version>, NuspecField {
         return builder.toString();
     }
 
+    /**
+     * Checks if version is a pre-release, i.e. it has a label part.
+     *
+     * @return True if version is a pre-release, false otherwise.
+     */
+    public boolean isPrerelease() {
+        return this.label().isPresent();
+    }
+
     @Override
     public int compareTo(final Version that) {
         return Comparator
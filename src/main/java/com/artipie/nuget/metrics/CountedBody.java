@@ -0,0 +1,53 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+
+package com.artipie.nuget.metrics;
+
+import io.reactivex.Flowable;
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongConsumer;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+
+/**
+ * Body publisher counting bytes passed to subscriber.
+ * Total is reported once when body is completed, failed or cancelled,
+ * so metrics are not touched for each buffer.
+ *
+ * @since 0.8
+ */
+public final class CountedBody implements Publisher<ByteBuffer> {
+
+    /**
+     * Origin publisher.
+     */
+    private final Publisher<ByteBuffer> origin;
+
+    /**
+     * Consumer of total number of bytes.
+     */
+    private final LongConsumer total;
+
+    /**
+     * Ctor.
+     *
+     * @param origin Origin publisher.
+     * @param total Consumer of total number of bytes.
+     */
+    public CountedBody(final Publisher<ByteBuffer> origin, final LongConsumer total) {
+        this.origin = origin;
+        this.total = total;
+    }
+
+    @Override
+    public void subscribe(final Subscriber<? super ByteBuffer> subscriber) {
+        final AtomicLong bytes = new AtomicLong();
+        Flowable.fromPublisher(this.origin)
+            .doOnNext(buf -> bytes.addAndGet(buf.remaining()))
+            .doFinally(() -> this.total.accept(bytes.get()))
+            .subscribe(subscriber);
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+
+package com.artipie.nuget.metrics;
+
+/**
+ * Metrics of repository and HTTP operations.
+ * Implementations are called on request processing threads,
+ * so they should not block.
+ *
+ * @since 0.8
+ */
+public interface Metrics {
+
+    /**
+     * Metrics which are not recorded.
+     */
+    Metrics NONE = new None();
+
+    /**
+     * Record operation duration.
+     *
+     * @param name Timer name.
+     * @param nanos Duration in nanoseconds.
+     * @param tags Tag names and values: name, value, name, value...
+     */
+    void time(String name, long nanos, String... tags);
+
+    /**
+     * Increment counter.
+     *
+     * @param name Counter name.
+     * @param amount Amount to add.
+     * @param tags Tag names and values: name, value, name, value...
+     */
+    void count(String name, long amount, String... tags);
+
+    /**
+     * Metrics which are not recorded.
+     *
+     * @since 0.8
+     */
+    final class None implements Metrics {
+
+        @Override
+        public void time(final String name, final long nanos, final String... tags) {
+            // metrics are not recorded
+        }
+
+        @Override
+        public void count(final String name, final long amount, final String... tags) {
+            // metrics are not recorded
+        }
+    }
+}
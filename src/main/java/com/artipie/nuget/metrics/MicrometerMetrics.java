@@ -0,0 +1,43 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+
+package com.artipie.nuget.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Metrics recorded to Micrometer registry.
+ * Micrometer is not a transitive dependency of the adapter,
+ * it should be added by application using this class.
+ *
+ * @since 0.8
+ */
+public final class MicrometerMetrics implements Metrics {
+
+    /**
+     * Meter registry.
+     */
+    private final MeterRegistry registry;
+
+    /**
+     * Ctor.
+     *
+     * @param registry Meter registry.
+     */
+    public MicrometerMetrics(final MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public void time(final String name, final long nanos, final String... tags) {
+        this.registry.timer(name, tags).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void count(final String name, final long amount, final String... tags) {
+        this.registry.counter(name, tags).increment(amount);
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+
+package com.artipie.nuget.metrics;
+
+import java.util.AbstractMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Durations of stages of single package publish.
+ * Each stage is recorded to {@code nuget.publish.stages} timer tagged by {@code stage}
+ * and kept to be reported in
+ * <a href="https://www.w3.org/TR/server-timing/">Server-Timing</a> response header.
+ * Stages may run concurrently, so their durations may overlap.
+ *
+ * @since 0.8
+ */
+public final class Stages {
+
+    /**
+     * Stages timer name.
+     */
+    private static final String TIMER = "nuget.publish.stages";
+
+    /**
+     * Nanoseconds in millisecond.
+     */
+    private static final double MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+    /**
+     * Metrics.
+     */
+    private final Metrics metrics;
+
+    /**
+     * Completed stages with their durations in nanoseconds, in order of completion.
+     */
+    private final Queue<Map.Entry<String, Long>> done;
+
+    /**
+     * Ctor, stages are not recorded to metrics.
+     */
+    public Stages() {
+        this(Metrics.NONE);
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param metrics Metrics to record stages to.
+     */
+    public Stages(final Metrics metrics) {
+        this.metrics = metrics;
+        this.done = new ConcurrentLinkedQueue<>();
+    }
+
+    /**
+     * Record completed stage.
+     *
+     * @param stage Stage name.
+     * @param nanos Stage duration in nanoseconds.
+     */
+    public void record(final String stage, final long nanos) {
+        this.done.add(new AbstractMap.SimpleImmutableEntry<>(stage, nanos));
+        this.metrics.time(Stages.TIMER, nanos, "stage", stage);
+    }
+
+    /**
+     * Run stage and record its duration when it is completed, successfully or not.
+     *
+     * @param stage Stage name.
+     * @param action Stage action.
+     * @param <T> Result type.
+     * @return Stage result.
+     */
+    public <T> CompletionStage<T> timed(
+        final String stage, final Supplier<? extends CompletionStage<T>> action
+    ) {
+        final long start = System.nanoTime();
+        return action.get().whenComplete(
+            (res, err) -> this.record(stage, System.nanoTime() - start)
+        );
+    }
+
+    /**
+     * Server-Timing header value, e.g. {@code decode;dur=1.250, save;dur=3.100}.
+     *
+     * @return Header value with stage durations in milliseconds.
+     */
+    public String header() {
+        return this.done.stream().map(
+            entry -> String.format(
+                Locale.ROOT, "%s;dur=%.3f", entry.getKey(), entry.getValue() / Stages.MILLI
+            )
+        ).collect(Collectors.joining(", "));
+    }
+}
@@ -0,0 +1,11 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+
+/**
+ * Metrics of repository and HTTP operations.
+ *
+ * @since 0.8
+ */
+package com.artipie.nuget.metrics;
@@ -0,0 +1,137 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+
+package com.artipie.nuget.perf;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Distribution of storage operation latency.
+ *
+ * @since 0.8
+ */
+public interface Latency {
+
+    /**
+     * No latency.
+     */
+    Latency NONE = new Fixed(Duration.ZERO);
+
+    /**
+     * Next latency sample.
+     *
+     * @return Latency.
+     */
+    Duration next();
+
+    /**
+     * Same latency for every operation.
+     *
+     * @since 0.8
+     */
+    final class Fixed implements Latency {
+
+        /**
+         * Latency.
+         */
+        private final Duration value;
+
+        /**
+         * Ctor.
+         *
+         * @param value Latency.
+         */
+        public Fixed(final Duration value) {
+            this.value = value;
+        }
+
+        @Override
+        public Duration next() {
+            return this.value;
+        }
+    }
+
+    /**
+     * Latency uniformly distributed in range.
+     *
+     * @since 0.8
+     */
+    final class Uniform implements Latency {
+
+        /**
+         * Min latency.
+         */
+        private final Duration min;
+
+        /**
+         * Max latency.
+         */
+        private final Duration max;
+
+        /**
+         * Ctor.
+         *
+         * @param min Min latency.
+         * @param max Max latency.
+         */
+        public Uniform(final Duration min, final Duration max) {
+            this.min = min;
+            this.max = max;
+        }
+
+        @Override
+        public Duration next() {
+            return Duration.ofNanos(
+                ThreadLocalRandom.current().nextLong(this.min.toNanos(), this.max.toNanos() + 1)
+            );
+        }
+    }
+
+    /**
+     * Log-normal latency with long tail, defined by median and 99th percentile,
+     * typical for network storage like S3 (e.g. 20ms and 150ms) or NFS (1ms and 10ms).
+     *
+     * @since 0.8
+     */
+    final class LogNormal implements Latency {
+
+        /**
+         * Quantile of standard normal distribution for 99th percentile.
+         */
+        private static final double Z_99 = 2.326;
+
+        /**
+         * Median latency in nanoseconds.
+         */
+        private final double median;
+
+        /**
+         * Standard deviation of latency logarithm.
+         */
+        private final double sigma;
+
+        /**
+         * Ctor.
+         *
+         * @param median Median latency.
+         * @param tail Latency of 99th percentile.
+         */
+        public LogNormal(final Duration median, final Duration tail) {
+            this.median = median.toNanos();
+            this.sigma = Math.log((double) tail.toNanos() / median.toNanos()) / LogNormal.Z_99;
+        }
+
+        @Override
+        public Duration next() {
+            return Duration.ofNanos(
+                (long) (
+                    this.median
+                        * Math.exp(this.sigma * ThreadLocalRandom.current().nextGaussian())
+                )
+            );
+        }
+    }
+}
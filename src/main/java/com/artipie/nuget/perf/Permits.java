@@ -0,0 +1,75 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+
+package com.artipie.nuget.perf;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Non-blocking semaphore: permit is acquired asynchronously,
+ * waiting operations are resumed in order of arrival.
+ *
+ * @since 0.8
+ */
+final class Permits {
+
+    /**
+     * Operations waiting for permit.
+     */
+    private final Queue<CompletableFuture<Void>> waiting;
+
+    /**
+     * Number of free permits.
+     */
+    private int free;
+
+    /**
+     * Ctor.
+     *
+     * @param total Total number of permits.
+     */
+    Permits(final int total) {
+        this.waiting = new ArrayDeque<>(0);
+        this.free = total;
+    }
+
+    /**
+     * Acquire permit.
+     *
+     * @return Completion when permit is acquired.
+     */
+    CompletionStage<Void> acquire() {
+        final CompletableFuture<Void> res;
+        synchronized (this.waiting) {
+            if (this.free > 0) {
+                this.free -= 1;
+                res = CompletableFuture.completedFuture(null);
+            } else {
+                res = new CompletableFuture<>();
+                this.waiting.add(res);
+            }
+        }
+        return res;
+    }
+
+    /**
+     * Release permit, passing it to the next waiting operation if any.
+     */
+    void release() {
+        final CompletableFuture<Void> next;
+        synchronized (this.waiting) {
+            next = this.waiting.poll();
+            if (next == null) {
+                this.free += 1;
+            }
+        }
+        if (next != null) {
+            next.complete(null);
+        }
+    }
+}
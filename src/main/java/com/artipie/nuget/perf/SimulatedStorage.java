@@ -0,0 +1,331 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+
+package com.artipie.nuget.perf;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.asto.Storage;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.reactivex.Flowable;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Storage decorator simulating remote storage like S3 or NFS for performance testing:
+ * adds latency to every operation, limits bandwidth of read and written content
+ * and number of concurrent operations, and counts operations of each kind.
+ * <p>
+ * Operation holds concurrency permit from start until origin operation completes,
+ * for {@link #value(Key)} content is streamed after permit is released.
+ * Operations made under {@link #exclusively(Key, Function)} are simulated
+ * and counted the same way, lock itself does not hold a permit.
+ * </p>
+ *
+ * @since 0.8
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
+ */
+@SuppressWarnings("PMD.TooManyMethods")
+public final class SimulatedStorage implements Storage {
+
+    /**
+     * Timer completing delayed operations.
+     */
+    private static final ScheduledExecutorService TIMER = Executors.newScheduledThreadPool(
+        Runtime.getRuntime().availableProcessors(),
+        new ThreadFactoryBuilder().setDaemon(true).setNameFormat("nuget-simulated-%d").build()
+    );
+
+    /**
+     * Nanoseconds in second.
+     */
+    private static final long NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    /**
+     * Origin storage.
+     */
+    private final Storage origin;
+
+    /**
+     * Latency of each operation kind, operations not in map have no latency.
+     */
+    private final Map<Operation, Latency> latencies;
+
+    /**
+     * Bandwidth in bytes per second, zero if not limited.
+     */
+    private final long bandwidth;
+
+    /**
+     * Concurrent operation permits.
+     */
+    private final Permits permits;
+
+    /**
+     * Number of operations of each kind.
+     */
+    private final Map<Operation, AtomicLong> counters;
+
+    /**
+     * Ctor, counting operations only.
+     *
+     * @param origin Origin storage.
+     */
+    public SimulatedStorage(final Storage origin) {
+        this(origin, Latency.NONE);
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param origin Origin storage.
+     * @param latency Latency of every operation.
+     */
+    public SimulatedStorage(final Storage origin, final Latency latency) {
+        this(origin, SimulatedStorage.all(latency), 0, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param origin Origin storage.
+     * @param latencies Latency of each operation kind,
+     *  operations not in map have no latency.
+     * @param bandwidth Bandwidth in bytes per second, zero if not limited.
+     * @param concurrency Max number of concurrent operations.
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    public SimulatedStorage(
+        final Storage origin, final Map<Operation, Latency> latencies,
+        final long bandwidth, final int concurrency
+    ) {
+        this(origin, latencies, bandwidth, new Permits(concurrency), SimulatedStorage.zero());
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param origin Origin storage.
+     * @param latencies Latency of each operation kind.
+     * @param bandwidth Bandwidth in bytes per second, zero if not limited.
+     * @param permits Concurrent operation permits.
+     * @param counters Number of operations of each kind.
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    private SimulatedStorage(
+        final Storage origin, final Map<Operation, Latency> latencies,
+        final long bandwidth, final Permits permits, final Map<Operation, AtomicLong> counters
+    ) {
+        this.origin = origin;
+        this.latencies = latencies;
+        this.bandwidth = bandwidth;
+        this.permits = permits;
+        this.counters = counters;
+    }
+
+    @Override
+    public CompletableFuture<Boolean> exists(final Key key) {
+        return this.call(Operation.EXISTS, () -> this.origin.exists(key));
+    }
+
+    @Override
+    public CompletableFuture<Collection<Key>> list(final Key prefix) {
+        return this.call(Operation.LIST, () -> this.origin.list(prefix));
+    }
+
+    @Override
+    public CompletableFuture<Void> save(final Key key, final Content content) {
+        return this.call(Operation.SAVE, () -> this.origin.save(key, this.throttled(content)));
+    }
+
+    @Override
+    public CompletableFuture<Void> move(final Key source, final Key destination) {
+        return this.call(Operation.MOVE, () -> this.origin.move(source, destination));
+    }
+
+    @Override
+    public CompletableFuture<Long> size(final Key key) {
+        return this.call(Operation.SIZE, () -> this.origin.size(key));
+    }
+
+    @Override
+    public CompletableFuture<Content> value(final Key key) {
+        return this.call(Operation.VALUE, () -> this.origin.value(key)).thenApply(this::throttled);
+    }
+
+    @Override
+    public CompletableFuture<Void> delete(final Key key) {
+        return this.call(Operation.DELETE, () -> this.origin.delete(key));
+    }
+
+    @Override
+    public <T> CompletionStage<T> exclusively(
+        final Key key, final Function<Storage, CompletionStage<T>> operation
+    ) {
+        this.counters.get(Operation.EXCLUSIVELY).incrementAndGet();
+        return this.delay(Operation.EXCLUSIVELY).thenCompose(
+            nothing -> this.origin.exclusively(
+                key,
+                target -> operation.apply(
+                    new SimulatedStorage(
+                        target, this.latencies, this.bandwidth, this.permits, this.counters
+                    )
+                )
+            )
+        );
+    }
+
+    /**
+     * Number of operations of each kind made so far,
+     * including operations under lock.
+     *
+     * @return Operation counts.
+     */
+    public Map<Operation, Long> counts() {
+        final Map<Operation, Long> res = new EnumMap<>(Operation.class);
+        this.counters.forEach((kind, count) -> res.put(kind, count.get()));
+        return Collections.unmodifiableMap(res);
+    }
+
+    /**
+     * Run origin operation with simulated latency and concurrency limit.
+     *
+     * @param kind Operation kind.
+     * @param action Origin operation.
+     * @param <T> Result type.
+     * @return Operation result.
+     */
+    private <T> CompletableFuture<T> call(
+        final Operation kind, final Supplier<? extends CompletionStage<T>> action
+    ) {
+        this.counters.get(kind).incrementAndGet();
+        return this.permits.acquire()
+            .thenCompose(nothing -> this.delay(kind))
+            .thenCompose(nothing -> action.get())
+            .whenComplete((res, err) -> this.permits.release())
+            .toCompletableFuture();
+    }
+
+    /**
+     * Delay for next latency sample of operation.
+     *
+     * @param kind Operation kind.
+     * @return Completion after delay.
+     */
+    private CompletableFuture<Void> delay(final Operation kind) {
+        final Duration latency = this.latencies.getOrDefault(kind, Latency.NONE).next();
+        final CompletableFuture<Void> res = new CompletableFuture<>();
+        if (latency.isZero() || latency.isNegative()) {
+            res.complete(null);
+        } else {
+            SimulatedStorage.TIMER.schedule(
+                () -> res.complete(null), latency.toNanos(), TimeUnit.NANOSECONDS
+            );
+        }
+        return res;
+    }
+
+    /**
+     * Limit content streaming rate by bandwidth.
+     *
+     * @param content Content.
+     * @return Throttled content.
+     */
+    private Content throttled(final Content content) {
+        final Content res;
+        if (this.bandwidth > 0) {
+            res = new Content.From(
+                content.size(),
+                Flowable.fromPublisher(content).concatMap(
+                    buf -> Flowable.just(buf).delay(
+                        buf.remaining() * SimulatedStorage.NANOS / this.bandwidth,
+                        TimeUnit.NANOSECONDS
+                    )
+                )
+            );
+        } else {
+            res = content;
+        }
+        return res;
+    }
+
+    /**
+     * Same latency for all operation kinds.
+     *
+     * @param latency Latency.
+     * @return Latency of each operation kind.
+     */
+    private static Map<Operation, Latency> all(final Latency latency) {
+        final Map<Operation, Latency> res = new EnumMap<>(Operation.class);
+        for (final Operation kind : Operation.values()) {
+            res.put(kind, latency);
+        }
+        return res;
+    }
+
+    /**
+     * Zero counters of all operation kinds.
+     *
+     * @return Counters.
+     */
+    private static Map<Operation, AtomicLong> zero() {
+        final Map<Operation, AtomicLong> res = new EnumMap<>(Operation.class);
+        for (final Operation kind : Operation.values()) {
+            res.put(kind, new AtomicLong());
+        }
+        return res;
+    }
+
+    /**
+     * Storage operation kind.
+     *
+     * @since 0.8
+     */
+    public enum Operation {
+        /**
+         * {@link Storage#exists(Key)}.
+         */
+        EXISTS,
+        /**
+         * {@link Storage#list(Key)}.
+         */
+        LIST,
+        /**
+         * {@link Storage#save(Key, Content)}.
+         */
+        SAVE,
+        /**
+         * {@link Storage#move(Key, Key)}.
+         */
+        MOVE,
+        /**
+         * {@link Storage#size(Key)}.
+         */
+        SIZE,
+        /**
+         * {@link Storage#value(Key)}.
+         */
+        VALUE,
+        /**
+         * {@link Storage#delete(Key)}.
+         */
+        DELETE,
+        /**
+         * {@link Storage#exclusively(Key, Function)}.
+         */
+        EXCLUSIVELY
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+
+package com.artipie.nuget.proxy;
+
+import com.artipie.nuget.Workers;
+import com.google.common.io.ByteStreams;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+
+/**
+ * Upstream accessed over HTTP.
+ * Requests are blocking and run on blocking I/O executor,
+ * slow upstream fails with timeout, so proxy can serve cached resources instead.
+ *
+ * @since 0.8
+ */
+public final class HttpUpstream implements Upstream {
+
+    /**
+     * Default connect and read timeout.
+     */
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    /**
+     * Executor to run requests on.
+     */
+    private final Executor exec;
+
+    /**
+     * Connect and read timeout.
+     */
+    private final Duration timeout;
+
+    /**
+     * Ctor.
+     */
+    public HttpUpstream() {
+        this(Workers.SHARED.blocking(), HttpUpstream.TIMEOUT);
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param exec Executor to run requests on.
+     * @param timeout Connect and read timeout.
+     */
+    public HttpUpstream(final Executor exec, final Duration timeout) {
+        this.exec = exec;
+        this.timeout = timeout;
+    }
+
+    @Override
+    public CompletionStage<Optional<byte[]>> get(final URL url) {
+        return CompletableFuture.supplyAsync(
+            () -> {
+                try {
+                    return this.fetch(url);
+                } catch (final IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            },
+            this.exec
+        );
+    }
+
+    /**
+     * Fetch resource.
+     *
+     * @param url Resource URL.
+     * @return Resource bytes, empty if not found.
+     * @throws IOException If failed to fetch.
+     */
+    private Optional<byte[]> fetch(final URL url) throws IOException {
+        final HttpURLConnection conn = (HttpURLConnection) url.openConnection();
+        try {
+            conn.setConnectTimeout((int) this.timeout.toMillis());
+            conn.setReadTimeout((int) this.timeout.toMillis());
+            final int code = conn.getResponseCode();
+            final Optional<byte[]> res;
+            if (code == HttpURLConnection.HTTP_OK) {
+                try (InputStream input = conn.getInputStream()) {
+                    res = Optional.of(ByteStreams.toByteArray(input));
+                }
+            } else if (code == HttpURLConnection.HTTP_NOT_FOUND) {
+                res = Optional.empty();
+            } else {
+                throw new IOException(
+                    String.format("Unexpected status %d for '%s'", code, url)
+                );
+            }
+            return res;
+        } finally {
+            conn.disconnect();
+        }
+    }
+}
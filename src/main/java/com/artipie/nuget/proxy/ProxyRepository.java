@@ -0,0 +1,386 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+
+package com.artipie.nuget.proxy;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.asto.Storage;
+import com.artipie.asto.ext.PublisherAs;
+import com.artipie.nuget.PackageIdentity;
+import com.artipie.nuget.PackageKeys;
+import com.artipie.nuget.ReadOnlyRepositoryException;
+import com.artipie.nuget.Repository;
+import com.artipie.nuget.Versions;
+import com.artipie.nuget.Workers;
+import com.artipie.nuget.metadata.Nuspec;
+import com.artipie.nuget.metrics.Metrics;
+import com.google.common.io.ByteSource;
+import java.io.ByteArrayInputStream;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import javax.json.Json;
+import javax.json.JsonObject;
+import javax.json.JsonReader;
+
+/**
+ * NuGet repository proxying upstream NuGet V3 feed, e.g. nuget.org.
+ * <p>
+ * Packages are fetched from upstream package base address (flat container)
+ * found in upstream service index and cached in storage using the same layout
+ * as {@link com.artipie.nuget.AstoRepository}, registrations are built from cached
+ * versions and package descriptions. Immutable resources (.nupkg and .nuspec)
+ * are fetched once, mutable documents (service index and versions list)
+ * are re-fetched when cached copy is older than TTL.
+ * If upstream is down or slow cached copy is served regardless of its age.
+ * Fetch times of mutable documents are kept in memory,
+ * so they are re-fetched once after restart.
+ * </p>
+ *
+ * @since 0.8
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
+ */
+@SuppressWarnings("PMD.TooManyMethods")
+public final class ProxyRepository implements Repository {
+
+    /**
+     * Name of mutable JSON documents: service index and versions list.
+     */
+    private static final String DOCUMENT = "index.json";
+
+    /**
+     * Cached upstream service index key.
+     */
+    private static final Key INDEX = new Key.From(".proxy", ProxyRepository.DOCUMENT);
+
+    /**
+     * Package base address resource type.
+     */
+    private static final String FLAT = "PackageBaseAddress/3.0.0";
+
+    /**
+     * Default TTL of mutable documents.
+     */
+    private static final Duration TTL = Duration.ofMinutes(10);
+
+    /**
+     * Upstream service index URL.
+     */
+    private final URL index;
+
+    /**
+     * Upstream.
+     */
+    private final Upstream upstream;
+
+    /**
+     * Cache storage.
+     */
+    private final Storage storage;
+
+    /**
+     * Executors for parsing.
+     */
+    private final Workers workers;
+
+    /**
+     * Clock.
+     */
+    private final Clock clock;
+
+    /**
+     * TTL of mutable documents.
+     */
+    private final Duration ttl;
+
+    /**
+     * Fetch times of mutable documents by key.
+     */
+    private final ConcurrentMap<String, Instant> fetched;
+
+    /**
+     * Metrics of cache lookups.
+     */
+    private final Metrics metrics;
+
+    /**
+     * Ctor.
+     *
+     * @param index Upstream service index URL, e.g. https://api.nuget.org/v3/index.json
+     * @param storage Cache storage.
+     */
+    public ProxyRepository(final URL index, final Storage storage) {
+        this(index, new HttpUpstream(), storage);
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param index Upstream service index URL.
+     * @param upstream Upstream.
+     * @param storage Cache storage.
+     */
+    public ProxyRepository(final URL index, final Upstream upstream, final Storage storage) {
+        this(index, upstream, storage, Workers.SHARED, Clock.systemUTC(), ProxyRepository.TTL);
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param index Upstream service index URL.
+     * @param upstream Upstream.
+     * @param storage Cache storage.
+     * @param workers Executors for parsing.
+     * @param clock Clock.
+     * @param ttl TTL of mutable documents.
+     * @checkstyle ParameterNumberCheck (3 lines)
+     */
+    public ProxyRepository(final URL index, final Upstream upstream, final Storage storage,
+        final Workers workers, final Clock clock, final Duration ttl) {
+        this(index, upstream, storage, workers, clock, ttl, Metrics.NONE);
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param index Upstream service index URL.
+     * @param upstream Upstream.
+     * @param storage Cache storage.
+     * @param workers Executors for parsing.
+     * @param clock Clock.
+     * @param ttl TTL of mutable documents.
+     * @param metrics Metrics of cache lookups.
+     * @checkstyle ParameterNumberCheck (4 lines)
+     */
+    public ProxyRepository(final URL index, final Upstream upstream, final Storage storage,
+        final Workers workers, final Clock clock, final Duration ttl, final Metrics metrics) {
+        this.index = index;
+        this.upstream = upstream;
+        this.storage = storage;
+        this.workers = workers;
+        this.clock = clock;
+        this.ttl = ttl;
+        this.fetched = new ConcurrentHashMap<>();
+        this.metrics = metrics;
+    }
+
+    @Override
+    public CompletionStage<Optional<Content>> content(final Key key) {
+        return this.cached(key, () -> this.origin(key));
+    }
+
+    @Override
+    public CompletionStage<Void> add(final Content content) {
+        final CompletableFuture<Void> res = new CompletableFuture<>();
+        res.completeExceptionally(
+            new ReadOnlyRepositoryException("Proxy repository is read-only")
+        );
+        return res;
+    }
+
+    @Override
+    public CompletionStage<Versions> versions(final PackageKeys id) {
+        return this.bytes(id.versionsKey()).thenApply(
+            bytes -> bytes.map(ByteSource::wrap).map(Versions::new).orElseGet(Versions::new)
+        );
+    }
+
+    @Override
+    public CompletionStage<Nuspec> nuspec(final PackageIdentity identity) {
+        return this.bytes(identity.nuspecKey()).thenApplyAsync(
+            bytes -> bytes.<Nuspec>map(Nuspec.Xml::new).orElseThrow(
+                () -> new IllegalArgumentException(
+                    String.format("Cannot find package: %s", identity)
+                )
+            ),
+            this.workers.parsing()
+        );
+    }
+
+    /**
+     * Read cached or fetched resource bytes.
+     *
+     * @param key Resource key.
+     * @return Bytes, empty if there is no such resource.
+     */
+    private CompletionStage<Optional<byte[]>> bytes(final Key key) {
+        return this.content(key).thenCompose(
+            content -> content.map(
+                data -> new PublisherAs(data).bytes().thenApply(Optional::of)
+            ).orElseGet(() -> CompletableFuture.completedFuture(Optional.empty()))
+        );
+    }
+
+    /**
+     * Read resource from cache if it is fresh, fetch it from upstream otherwise.
+     * Cached resource is served if upstream fails.
+     * Lookups are counted by {@code nuget.proxy.cache} counter tagged by {@code result}:
+     * {@code hit} for fresh cached resource, {@code miss} for fetched resource
+     * and {@code stale} for cached resource served because upstream failed.
+     *
+     * @param key Resource key.
+     * @param origin Upstream resource URL.
+     * @return Content, empty if there is no such resource.
+     */
+    private CompletionStage<Optional<Content>> cached(
+        final Key key, final Supplier<CompletionStage<URL>> origin
+    ) {
+        return this.storage.exists(key).thenCompose(
+            exists -> {
+                final CompletionStage<Optional<Content>> res;
+                if (exists && this.fresh(key)) {
+                    this.lookup("hit");
+                    res = this.storage.value(key).thenApply(Optional::of);
+                } else {
+                    res = origin.get().thenCompose(this.upstream::get).thenCompose(
+                        remote -> this.save(key, remote)
+                    ).handle(
+                        (content, err) -> {
+                            final CompletionStage<Optional<Content>> stage;
+                            if (err == null) {
+                                this.lookup("miss");
+                                stage = CompletableFuture.completedFuture(content);
+                            } else if (exists) {
+                                this.lookup("stale");
+                                stage = this.storage.value(key).thenApply(Optional::of);
+                            } else {
+                                final CompletableFuture<Optional<Content>> failed =
+                                    new CompletableFuture<>();
+                                failed.completeExceptionally(err);
+                                stage = failed;
+                            }
+                            return stage;
+                        }
+                    ).thenCompose(Function.identity());
+                }
+                return res;
+            }
+        );
+    }
+
+    /**
+     * Count cache lookup.
+     *
+     * @param result Lookup result.
+     */
+    private void lookup(final String result) {
+        this.metrics.count("nuget.proxy.cache", 1, "result", result);
+    }
+
+    /**
+     * Save fetched resource to cache.
+     *
+     * @param key Resource key.
+     * @param remote Fetched resource bytes.
+     * @return Cached content, empty if there is no such resource.
+     */
+    private CompletionStage<Optional<Content>> save(
+        final Key key, final Optional<byte[]> remote
+    ) {
+        return remote.map(
+            bytes -> {
+                final Instant now = this.clock.instant();
+                return this.storage.save(key, new Content.From(bytes)).thenApply(
+                    nothing -> {
+                        this.fetched.put(key.string(), now);
+                        return Optional.<Content>of(new Content.From(bytes));
+                    }
+                );
+            }
+        ).orElseGet(() -> CompletableFuture.completedFuture(Optional.empty()));
+    }
+
+    /**
+     * Check if cached resource is fresh.
+     * Immutable resources are always fresh.
+     *
+     * @param key Resource key.
+     * @return True if cached resource may be served without asking upstream.
+     */
+    private boolean fresh(final Key key) {
+        final boolean res;
+        if (key.string().endsWith(ProxyRepository.DOCUMENT)) {
+            res = Optional.ofNullable(this.fetched.get(key.string()))
+                .map(time -> time.plus(this.ttl).isAfter(this.clock.instant()))
+                .orElse(false);
+        } else {
+            res = true;
+        }
+        return res;
+    }
+
+    /**
+     * Upstream URL of package resource.
+     *
+     * @param key Resource key.
+     * @return URL in upstream package base address.
+     */
+    private CompletionStage<URL> origin(final Key key) {
+        return this.cached(
+            ProxyRepository.INDEX, () -> CompletableFuture.completedFuture(this.index)
+        ).thenCompose(
+            content -> content.map(data -> new PublisherAs(data).bytes()).orElseThrow(
+                () -> new IllegalStateException(
+                    String.format("Upstream service index not found: '%s'", this.index)
+                )
+            )
+        ).thenApply(bytes -> ProxyRepository.url(ProxyRepository.base(bytes), key));
+    }
+
+    /**
+     * Find package base address in service index.
+     *
+     * @param bytes Service index JSON.
+     * @return Package base address.
+     */
+    private static String base(final byte[] bytes) {
+        try (JsonReader reader = Json.createReader(new ByteArrayInputStream(bytes))) {
+            return reader.readObject().getJsonArray("resources")
+                .getValuesAs(JsonObject.class).stream()
+                .filter(res -> ProxyRepository.FLAT.equals(res.getString("@type", "")))
+                .map(res -> res.getString("@id"))
+                .findFirst()
+                .orElseThrow(
+                    () -> new IllegalStateException(
+                        String.format("Upstream has no %s resource", ProxyRepository.FLAT)
+                    )
+                );
+        }
+    }
+
+    /**
+     * Build resource URL.
+     *
+     * @param base Package base address.
+     * @param key Resource key.
+     * @return Resource URL.
+     */
+    private static URL url(final String base, final Key key) {
+        final String prefix;
+        if (base.endsWith("/")) {
+            prefix = base.substring(0, base.length() - 1);
+        } else {
+            prefix = base;
+        }
+        try {
+            return new URL(String.format("%s/%s", prefix, key.string()));
+        } catch (final MalformedURLException ex) {
+            throw new IllegalStateException(
+                String.format("Failed to build URL from base: '%s'", base),
+                ex
+            );
+        }
+    }
+}
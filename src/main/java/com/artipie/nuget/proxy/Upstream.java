@@ -0,0 +1,27 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+
+package com.artipie.nuget.proxy;
+
+import java.net.URL;
+import java.util.Optional;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Upstream NuGet feed resources.
+ *
+ * @since 0.8
+ */
+public interface Upstream {
+
+    /**
+     * Fetch resource from upstream.
+     *
+     * @param url Resource URL.
+     * @return Resource bytes, empty if there is no such resource.
+     *  Fails if upstream is unavailable or responded with unexpected status.
+     */
+    CompletionStage<Optional<byte[]>> get(URL url);
+}
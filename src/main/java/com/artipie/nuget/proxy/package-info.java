@@ -0,0 +1,11 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+
+/**
+ * NuGet repository proxying upstream NuGet V3 feed.
+ *
+ * @since 0.8
+ */
+package com.artipie.nuget.proxy;
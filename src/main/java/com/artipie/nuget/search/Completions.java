@@ -0,0 +1,55 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+
+package com.artipie.nuget.search;
+
+import java.util.List;
+
+/**
+ * Page of package ids completing a prefix.
+ *
+ * @since 0.8
+ */
+public final class Completions {
+
+    /**
+     * Total number of package ids matching the prefix.
+     */
+    private final int hits;
+
+    /**
+     * Package ids on the page.
+     */
+    private final List<String> page;
+
+    /**
+     * Ctor.
+     *
+     * @param hits Total number of package ids matching the prefix.
+     * @param page Package ids on the page.
+     */
+    Completions(final int hits, final List<String> page) {
+        this.hits = hits;
+        this.page = page;
+    }
+
+    /**
+     * Total number of package ids matching the prefix.
+     *
+     * @return Number of package ids.
+     */
+    public int total() {
+        return this.hits;
+    }
+
+    /**
+     * Package ids on the page ordered alphabetically.
+     *
+     * @return Package ids.
+     */
+    public List<String> ids() {
+        return this.page;
+    }
+}
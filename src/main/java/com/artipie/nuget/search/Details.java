@@ -0,0 +1,184 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+
+package com.artipie.nuget.search;
+
+import com.artipie.nuget.metadata.Nuspec;
+import com.artipie.nuget.metadata.NuspecField;
+import com.artipie.nuget.metadata.OptFieldName;
+import com.artipie.nuget.metadata.PackageId;
+import com.artipie.nuget.metadata.Version;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Searchable fields of single package version, extracted from .nuspec once.
+ * Keeps only the values needed by search, not the whole .nuspec document.
+ *
+ * @since 0.8
+ */
+final class Details {
+
+    /**
+     * Separator of authors list.
+     */
+    private static final Pattern COMMA = Pattern.compile("\\s*,\\s*");
+
+    /**
+     * Separator of tags list.
+     */
+    private static final Pattern BLANKS = Pattern.compile("[\\s,;]+");
+
+    /**
+     * Package identifier.
+     */
+    private final NuspecField pid;
+
+    /**
+     * Package version.
+     */
+    private final Version ver;
+
+    /**
+     * Title.
+     */
+    private final Optional<String> name;
+
+    /**
+     * Description.
+     */
+    private final String text;
+
+    /**
+     * Authors.
+     */
+    private final List<String> people;
+
+    /**
+     * Tags.
+     */
+    private final List<String> labels;
+
+    /**
+     * Ctor.
+     *
+     * @param nuspec Package description.
+     */
+    Details(final Nuspec nuspec) {
+        this(
+            new PackageId(nuspec.id().raw()),
+            new Version(nuspec.version().raw()),
+            nuspec.fieldByName(OptFieldName.TITLE),
+            nuspec.description(),
+            Details.split(Details.COMMA, nuspec.authors()),
+            Details.split(Details.BLANKS, nuspec.fieldByName(OptFieldName.TAGS).orElse(""))
+        );
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param pid Package identifier.
+     * @param ver Package version.
+     * @param name Title.
+     * @param text Description.
+     * @param people Authors.
+     * @param labels Tags.
+     * @checkstyle ParameterNumberCheck (3 lines)
+     */
+    Details(final NuspecField pid, final Version ver, final Optional<String> name,
+        final String text, final List<String> people, final List<String> labels) {
+        this.pid = pid;
+        this.ver = ver;
+        this.name = name;
+        this.text = text;
+        this.people = people;
+        this.labels = labels;
+    }
+
+    /**
+     * Package identifier.
+     *
+     * @return Identifier.
+     * @checkstyle MethodNameCheck (3 lines)
+     */
+    @SuppressWarnings("PMD.ShortMethodName")
+    NuspecField id() {
+        return this.pid;
+    }
+
+    /**
+     * Package version.
+     *
+     * @return Version.
+     */
+    Version version() {
+        return this.ver;
+    }
+
+    /**
+     * Title, identifier if title is not specified.
+     *
+     * @return Title.
+     */
+    String title() {
+        return this.name.orElse(this.pid.raw());
+    }
+
+    /**
+     * Title as specified in .nuspec.
+     *
+     * @return Title, empty if not specified.
+     */
+    Optional<String> explicitTitle() {
+        return this.name;
+    }
+
+    /**
+     * Description.
+     *
+     * @return Description.
+     */
+    String description() {
+        return this.text;
+    }
+
+    /**
+     * Authors.
+     *
+     * @return Authors.
+     */
+    List<String> authors() {
+        return this.people;
+    }
+
+    /**
+     * Tags.
+     *
+     * @return Tags.
+     */
+    List<String> tags() {
+        return this.labels;
+    }
+
+    /**
+     * Split list value.
+     *
+     * @param separator Values separator.
+     * @param value List value.
+     * @return Values.
+     */
+    private static List<String> split(final Pattern separator, final String value) {
+        return Collections.unmodifiableList(
+            Arrays.stream(separator.split(value.trim()))
+                .filter(item -> !item.isEmpty())
+                .collect(Collectors.toList())
+        );
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+
+package com.artipie.nuget.search;
+
+import com.artipie.nuget.metadata.NuspecField;
+import com.artipie.nuget.metadata.Version;
+import java.util.List;
+
+/**
+ * Package found by search: description of latest version and all listed versions.
+ *
+ * @since 0.8
+ */
+public final class PackageSummary {
+
+    /**
+     * Package description.
+     */
+    private final Details details;
+
+    /**
+     * Listed versions ordered from lowest to highest.
+     */
+    private final List<Version> all;
+
+    /**
+     * Ctor.
+     *
+     * @param details Package description.
+     * @param versions Listed versions ordered from lowest to highest.
+     */
+    PackageSummary(final Details details, final List<Version> versions) {
+        this.details = details;
+        this.all = versions;
+    }
+
+    /**
+     * Package identifier.
+     *
+     * @return Identifier.
+     * @checkstyle MethodNameCheck (3 lines)
+     */
+    @SuppressWarnings("PMD.ShortMethodName")
+    public NuspecField id() {
+        return this.details.id();
+    }
+
+    /**
+     * Latest listed version.
+     *
+     * @return Version.
+     */
+    public Version version() {
+        return this.details.version();
+    }
+
+    /**
+     * Package title, identifier if title is not specified.
+     *
+     * @return Title.
+     */
+    public String title() {
+        return this.details.title();
+    }
+
+    /**
+     * Package description.
+     *
+     * @return Description.
+     */
+    public String description() {
+        return this.details.description();
+    }
+
+    /**
+     * Package authors.
+     *
+     * @return Authors.
+     */
+    public List<String> authors() {
+        return this.details.authors();
+    }
+
+    /**
+     * Package tags.
+     *
+     * @return Tags.
+     */
+    public List<String> tags() {
+        return this.details.tags();
+    }
+
+    /**
+     * Listed versions ordered from lowest to highest.
+     *
+     * @return Versions.
+     */
+    public List<Version> versions() {
+        return this.all;
+    }
+}
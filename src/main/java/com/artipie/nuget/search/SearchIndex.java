@@ -0,0 +1,648 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+
+package com.artipie.nuget.search;
+
+import com.artipie.nuget.PackageListener;
+import com.artipie.nuget.metadata.Nuspec;
+import com.artipie.nuget.metadata.NuspecField;
+import com.artipie.nuget.metadata.PackageId;
+import com.artipie.nuget.metadata.Version;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory inverted index of packages.
+ * Terms are taken from id, title, tags, authors and description of latest package version,
+ * each field has its own weight. Terms of latest stable version are indexed separately
+ * from terms of latest version, so search without pre-release versions matches
+ * stable versions only. Index is filled by listening to added packages,
+ * see {@link com.artipie.nuget.StoredPackages} to fill it with packages already in storage.
+ * Packages listed by empty query are ranked once after index changes.
+ *
+ * @since 0.8
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
+ */
+@SuppressWarnings("PMD.TooManyMethods")
+public final class SearchIndex implements PackageListener {
+
+    /**
+     * Weight of term found in package id.
+     */
+    private static final float ID = 10f;
+
+    /**
+     * Weight of term found in title.
+     */
+    private static final float TITLE = 5f;
+
+    /**
+     * Weight of term found in tags.
+     */
+    private static final float TAGS = 3f;
+
+    /**
+     * Weight of term found in authors.
+     */
+    private static final float AUTHORS = 2f;
+
+    /**
+     * Weight of term found in description.
+     */
+    private static final float DESCRIPTION = 1f;
+
+    /**
+     * Weight factor of term matched by prefix only.
+     */
+    private static final float PREFIX = 0.5f;
+
+    /**
+     * Score bonus for query equal to package id.
+     */
+    private static final float EXACT = 100f;
+
+    /**
+     * Query prefix for filter by exact package id.
+     */
+    private static final String PACKAGE_ID = "packageid:";
+
+    /**
+     * Separator of terms.
+     */
+    private static final Pattern SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    /**
+     * Lock guarding index structures.
+     */
+    private final ReadWriteLock lock;
+
+    /**
+     * Terms of latest stable versions.
+     */
+    private final Terms stable;
+
+    /**
+     * Terms of latest versions including pre-release ones.
+     */
+    private final Terms latest;
+
+    /**
+     * Indexed packages by document number.
+     */
+    private final List<Entry> docs;
+
+    /**
+     * Document numbers by normalized package id, sorted for id prefix lookups.
+     */
+    private final NavigableMap<String, Integer> ids;
+
+    /**
+     * Document numbers listed by empty query ordered by package id,
+     * by pre-release versions inclusion, dropped on index changes.
+     */
+    private final Map<Boolean, List<Integer>> ranked;
+
+    /**
+     * Ctor.
+     */
+    public SearchIndex() {
+        this.lock = new ReentrantReadWriteLock();
+        this.stable = new Terms();
+        this.latest = new Terms();
+        this.docs = new ArrayList<>(0);
+        this.ids = new TreeMap<>();
+        this.ranked = new ConcurrentHashMap<>();
+    }
+
+    @Override
+    public CompletionStage<Void> added(final Nuspec nuspec) {
+        this.add(new Details(nuspec));
+        return CompletableFuture.allOf();
+    }
+
+    /**
+     * Search packages.
+     * All query terms should match a package, term matches words in package fields
+     * exactly or by prefix. Empty query matches all packages.
+     * Query part like <code>packageid:Newtonsoft.Json</code> matches package id exactly.
+     *
+     * @param query Search query.
+     * @param prerelease Include pre-release versions.
+     * @param skip Number of results to skip.
+     * @param take Number of results to return.
+     * @return Page of results ordered by relevance, then by package id.
+     * @checkstyle ParameterNumberCheck (3 lines)
+     */
+    public SearchResults search(
+        final String query, final boolean prerelease, final int skip, final int take
+    ) {
+        final Lock read = this.lock.readLock();
+        read.lock();
+        try {
+            final List<String> words = new ArrayList<>(0);
+            Optional<String> exact = Optional.empty();
+            for (final String part : query.trim().split("\\s+")) {
+                if (part.toLowerCase(Locale.ROOT).startsWith(SearchIndex.PACKAGE_ID)) {
+                    exact = Optional.of(part.substring(SearchIndex.PACKAGE_ID.length()));
+                } else {
+                    words.addAll(SearchIndex.tokens(part));
+                }
+            }
+            final boolean all = words.isEmpty() && !exact.isPresent();
+            final SearchResults results;
+            if (all) {
+                results = this.listing(prerelease, skip, take);
+            } else {
+                final Map<Integer, Float> scores = this.scores(
+                    this.terms(prerelease), exact, words
+                );
+                Optional.ofNullable(this.ids.get(new PackageId(query.trim()).normalized()))
+                    .filter(scores::containsKey)
+                    .ifPresent(doc -> scores.merge(doc, SearchIndex.EXACT, Float::sum));
+                results = this.page(scores, prerelease, skip, take);
+            }
+            return results;
+        } finally {
+            read.unlock();
+        }
+    }
+
+    /**
+     * Complete package id by prefix.
+     *
+     * @param prefix Package id prefix, case insensitive.
+     * @param prerelease Include packages having pre-release versions only.
+     * @param skip Number of results to skip.
+     * @param take Number of results to return.
+     * @return Package ids ordered alphabetically.
+     * @checkstyle ParameterNumberCheck (3 lines)
+     */
+    public Completions complete(
+        final String prefix, final boolean prerelease, final int skip, final int take
+    ) {
+        final Lock read = this.lock.readLock();
+        read.lock();
+        try {
+            final String from = new PackageId(prefix.trim()).normalized();
+            final List<String> page = new ArrayList<>(Math.min(take, this.ids.size()));
+            int total = 0;
+            for (final int doc : this.ids.subMap(from, true, SearchIndex.after(from), false)
+                .values()) {
+                final Entry entry = this.docs.get(doc);
+                if (entry.listed(prerelease)) {
+                    if (total >= skip && page.size() < take) {
+                        page.add(entry.latest(prerelease).get().id().raw());
+                    }
+                    total += 1;
+                }
+            }
+            return new Completions(total, page);
+        } finally {
+            read.unlock();
+        }
+    }
+
+    /**
+     * Versions of the package.
+     *
+     * @param id Package id.
+     * @param prerelease Include pre-release versions.
+     * @return Versions ordered from lowest to highest, empty if package is unknown.
+     */
+    public List<Version> versions(final NuspecField id, final boolean prerelease) {
+        final Lock read = this.lock.readLock();
+        read.lock();
+        try {
+            return Optional.ofNullable(this.ids.get(id.normalized()))
+                .map(doc -> this.docs.get(doc).versions(prerelease))
+                .orElse(Collections.emptyList());
+        } finally {
+            read.unlock();
+        }
+    }
+
+    /**
+     * Add package version to index.
+     *
+     * @param details Package version details.
+     */
+    private void add(final Details details) {
+        final Lock write = this.lock.writeLock();
+        write.lock();
+        try {
+            final String key = details.id().normalized();
+            final int doc = this.ids.computeIfAbsent(
+                key,
+                id -> {
+                    this.docs.add(new Entry());
+                    return this.docs.size() - 1;
+                }
+            );
+            final Entry entry = this.docs.get(doc);
+            final Optional<Details> released = entry.latest(false);
+            final Optional<Details> last = entry.latest(true);
+            entry.add(details);
+            this.stable.update(doc, released, entry.latest(false));
+            this.latest.update(doc, last, entry.latest(true));
+            this.ranked.clear();
+        } finally {
+            write.unlock();
+        }
+    }
+
+    /**
+     * Terms to search in.
+     *
+     * @param prerelease Include pre-release versions.
+     * @return Terms of latest versions or of latest stable versions.
+     */
+    private Terms terms(final boolean prerelease) {
+        final Terms terms;
+        if (prerelease) {
+            terms = this.latest;
+        } else {
+            terms = this.stable;
+        }
+        return terms;
+    }
+
+    /**
+     * Score documents matching all query words and id filter.
+     *
+     * @param terms Terms to search in.
+     * @param exact Package id filter.
+     * @param words Query words, not empty if there is no id filter.
+     * @return Scores by document number.
+     */
+    private Map<Integer, Float> scores(
+        final Terms terms, final Optional<String> exact, final List<String> words
+    ) {
+        final Map<Integer, Float> scores;
+        final List<String> rest;
+        if (exact.isPresent()) {
+            scores = new HashMap<>();
+            final Integer doc = this.ids.get(new PackageId(exact.get()).normalized());
+            if (doc != null) {
+                scores.put(doc, 0f);
+            }
+            rest = words;
+        } else {
+            scores = terms.matched(words.get(0));
+            rest = words.subList(1, words.size());
+        }
+        for (final String word : rest) {
+            final Map<Integer, Float> matched = terms.matched(word);
+            scores.keySet().retainAll(matched.keySet());
+            for (final Map.Entry<Integer, Float> hit : matched.entrySet()) {
+                scores.computeIfPresent(hit.getKey(), (doc, sum) -> sum + hit.getValue());
+            }
+        }
+        return scores;
+    }
+
+    /**
+     * Page of packages listed by empty query.
+     *
+     * @param prerelease Include pre-release versions.
+     * @param skip Number of results to skip.
+     * @param take Number of results to return.
+     * @return Page of results ordered by package id.
+     */
+    private SearchResults listing(final boolean prerelease, final int skip, final int take) {
+        final List<Integer> listed = this.ranked.computeIfAbsent(prerelease, this::ranking);
+        final int from = Math.min(skip, listed.size());
+        final int upto = (int) Math.min((long) from + take, listed.size());
+        return new SearchResults(
+            listed.size(),
+            listed.subList(from, upto).stream()
+                .map(doc -> this.docs.get(doc).summary(prerelease))
+                .collect(Collectors.toList())
+        );
+    }
+
+    /**
+     * Rank packages listed by empty query.
+     *
+     * @param prerelease Include pre-release versions.
+     * @return Document numbers ordered by package id.
+     */
+    private List<Integer> ranking(final boolean prerelease) {
+        return Collections.unmodifiableList(
+            this.ids.values().stream()
+                .filter(doc -> this.docs.get(doc).listed(prerelease))
+                .collect(Collectors.toList())
+        );
+    }
+
+    /**
+     * Select page of best scored documents.
+     *
+     * @param scores Scores by document number.
+     * @param prerelease Include pre-release versions.
+     * @param skip Number of results to skip.
+     * @param take Number of results to return.
+     * @return Page of results.
+     * @checkstyle ParameterNumberCheck (3 lines)
+     */
+    private SearchResults page(
+        final Map<Integer, Float> scores, final boolean prerelease, final int skip, final int take
+    ) {
+        final Comparator<Map.Entry<Integer, Float>> order = Comparator
+            .<Map.Entry<Integer, Float>, Float>comparing(Map.Entry::getValue)
+            .reversed()
+            .thenComparing(hit -> this.docs.get(hit.getKey()).key());
+        final int limit = (int) Math.min((long) skip + take, Integer.MAX_VALUE);
+        final PriorityQueue<Map.Entry<Integer, Float>> best = new PriorityQueue<>(
+            order.reversed()
+        );
+        int total = 0;
+        for (final Map.Entry<Integer, Float> hit : scores.entrySet()) {
+            if (this.docs.get(hit.getKey()).listed(prerelease)) {
+                total += 1;
+                best.add(hit);
+                if (best.size() > limit) {
+                    best.poll();
+                }
+            }
+        }
+        final List<Map.Entry<Integer, Float>> sorted = new ArrayList<>(best);
+        sorted.sort(order);
+        return new SearchResults(
+            total,
+            sorted.stream()
+                .skip(skip)
+                .map(hit -> this.docs.get(hit.getKey()).summary(prerelease))
+                .collect(Collectors.toList())
+        );
+    }
+
+    /**
+     * Upper bound of strings starting with the prefix.
+     *
+     * @param prefix Prefix.
+     * @return String which is greater than any string starting with the prefix.
+     */
+    private static String after(final String prefix) {
+        return prefix.concat(String.valueOf(Character.MAX_VALUE));
+    }
+
+    /**
+     * Weights of terms in package fields.
+     *
+     * @param details Package version details.
+     * @return Weights by term.
+     */
+    private static Map<String, Float> weights(final Details details) {
+        final Map<String, Float> weights = new HashMap<>();
+        SearchIndex.field(weights, details.id().raw(), SearchIndex.ID);
+        details.explicitTitle().ifPresent(
+            title -> SearchIndex.field(weights, title, SearchIndex.TITLE)
+        );
+        details.tags().forEach(tag -> SearchIndex.field(weights, tag, SearchIndex.TAGS));
+        details.authors().forEach(
+            author -> SearchIndex.field(weights, author, SearchIndex.AUTHORS)
+        );
+        SearchIndex.field(weights, details.description(), SearchIndex.DESCRIPTION);
+        return weights;
+    }
+
+    /**
+     * Add field terms to weights.
+     *
+     * @param weights Weights by term.
+     * @param text Field text.
+     * @param weight Field weight.
+     */
+    private static void field(
+        final Map<String, Float> weights, final String text, final float weight
+    ) {
+        SearchIndex.tokens(text).forEach(term -> weights.merge(term, weight, Float::sum));
+    }
+
+    /**
+     * Split text into lowercase terms.
+     *
+     * @param text Text.
+     * @return Terms.
+     */
+    private static List<String> tokens(final String text) {
+        return Arrays.stream(SEPARATOR.split(text.toLowerCase(Locale.ROOT)))
+            .filter(term -> !term.isEmpty())
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Postings of terms: term to weights of the term in documents.
+     *
+     * @since 0.8
+     */
+    private static final class Terms {
+
+        /**
+         * Weights of the term in documents by term.
+         */
+        private final NavigableMap<String, Map<Integer, Float>> postings;
+
+        /**
+         * Ctor.
+         */
+        Terms() {
+            this.postings = new TreeMap<>();
+        }
+
+        /**
+         * Replace terms of the document if its details changed.
+         *
+         * @param doc Document number.
+         * @param before Details indexed before.
+         * @param after Details to index.
+         */
+        void update(final int doc, final Optional<Details> before, final Optional<Details> after) {
+            if (after.isPresent() && !after.equals(before)) {
+                before.ifPresent(
+                    old -> SearchIndex.weights(old).keySet().forEach(
+                        term -> {
+                            final Map<Integer, Float> weights = this.postings.get(term);
+                            weights.remove(doc);
+                            if (weights.isEmpty()) {
+                                this.postings.remove(term);
+                            }
+                        }
+                    )
+                );
+                SearchIndex.weights(after.get()).forEach(
+                    (term, weight) -> this.postings.computeIfAbsent(term, t -> new HashMap<>())
+                        .put(doc, weight)
+                );
+            }
+        }
+
+        /**
+         * Find documents matching single query word exactly or by prefix.
+         *
+         * @param word Query word.
+         * @return Scores by document number.
+         */
+        Map<Integer, Float> matched(final String word) {
+            final Map<Integer, Float> result = new HashMap<>();
+            Optional.ofNullable(this.postings.get(word)).ifPresent(result::putAll);
+            this.postings.subMap(word, false, SearchIndex.after(word), false)
+                .values().forEach(
+                    weights -> weights.forEach(
+                        (doc, weight) -> result.merge(
+                            doc, weight * SearchIndex.PREFIX, Float::max
+                        )
+                    )
+                );
+            return result;
+        }
+    }
+
+    /**
+     * Indexed package.
+     * Keeps all versions, but details of latest and latest stable versions only.
+     *
+     * @since 0.8
+     */
+    private static final class Entry {
+
+        /**
+         * All versions.
+         */
+        private final NavigableSet<Version> all;
+
+        /**
+         * Latest version details.
+         */
+        private Optional<Details> last;
+
+        /**
+         * Latest stable version details.
+         */
+        private Optional<Details> stable;
+
+        /**
+         * Ctor.
+         */
+        Entry() {
+            this.all = new TreeSet<>();
+            this.last = Optional.empty();
+            this.stable = Optional.empty();
+        }
+
+        /**
+         * Add version to package.
+         *
+         * @param details Version details.
+         */
+        void add(final Details details) {
+            final Version version = details.version();
+            this.all.add(version);
+            if (!version.isPrerelease() && Entry.newer(version, this.stable)) {
+                this.stable = Optional.of(details);
+            }
+            if (Entry.newer(version, this.last)) {
+                this.last = Optional.of(details);
+            }
+        }
+
+        /**
+         * Latest version details.
+         *
+         * @param prerelease Include pre-release versions.
+         * @return Details, empty if there are no such versions.
+         */
+        Optional<Details> latest(final boolean prerelease) {
+            final Optional<Details> latest;
+            if (prerelease) {
+                latest = this.last;
+            } else {
+                latest = this.stable;
+            }
+            return latest;
+        }
+
+        /**
+         * Normalized package id.
+         *
+         * @return Package id.
+         */
+        String key() {
+            return this.last.map(details -> details.id().normalized()).orElse("");
+        }
+
+        /**
+         * Check if package has versions to list.
+         *
+         * @param prerelease Include pre-release versions.
+         * @return True if package should be listed.
+         */
+        boolean listed(final boolean prerelease) {
+            final boolean listed;
+            if (prerelease) {
+                listed = this.last.isPresent();
+            } else {
+                listed = this.stable.isPresent();
+            }
+            return listed;
+        }
+
+        /**
+         * Summary of the package.
+         *
+         * @param prerelease Include pre-release versions.
+         * @return Summary.
+         */
+        PackageSummary summary(final boolean prerelease) {
+            return new PackageSummary(this.latest(prerelease).get(), this.versions(prerelease));
+        }
+
+        /**
+         * Versions of the package.
+         *
+         * @param prerelease Include pre-release versions.
+         * @return Versions ordered from lowest to highest.
+         */
+        List<Version> versions(final boolean prerelease) {
+            return Collections.unmodifiableList(
+                this.all.stream()
+                    .filter(version -> prerelease || !version.isPrerelease())
+                    .collect(Collectors.toList())
+            );
+        }
+
+        /**
+         * Check if version is newer then version of details.
+         *
+         * @param version Version.
+         * @param details Details to compare with.
+         * @return True if version is newer or there are no details.
+         */
+        private static boolean newer(final Version version, final Optional<Details> details) {
+            return details.map(current -> version.compareTo(current.version()) > 0)
+                .orElse(true);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+
+package com.artipie.nuget.search;
+
+import java.util.List;
+
+/**
+ * Page of search results.
+ *
+ * @since 0.8
+ */
+public final class SearchResults {
+
+    /**
+     * Total number of packages matching the query.
+     */
+    private final int hits;
+
+    /**
+     * Packages on the page ordered by relevance.
+     */
+    private final List<PackageSummary> page;
+
+    /**
+     * Ctor.
+     *
+     * @param hits Total number of packages matching the query.
+     * @param page Packages on the page ordered by relevance.
+     */
+    SearchResults(final int hits, final List<PackageSummary> page) {
+        this.hits = hits;
+        this.page = page;
+    }
+
+    /**
+     * Total number of packages matching the query.
+     *
+     * @return Number of packages.
+     */
+    public int total() {
+        return this.hits;
+    }
+
+    /**
+     * Packages on the page ordered by relevance.
+     *
+     * @return Packages.
+     */
+    public List<PackageSummary> packages() {
+        return this.page;
+    }
+}
@@ -13,14 +13,23 @@ import com.artipie.asto.blocking.BlockingStorage;
 import com.artipie.asto.memory.InMemoryStorage;
 import com.artipie.nuget.metadata.PackageId;
 import com.artipie.nuget.metadata.Version;
+import com.artipie.nuget.metrics.MicrometerMetrics;
+import com.artipie.nuget.perf.SimulatedStorage;
+import com.google.common.io.ByteSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.io.ByteArrayInputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import javax.json.Json;
@@ -52,7 +61,9 @@ import org.junit.jupiter.api.Test;
  * @checkstyle ExecutableStatementCountCheck (500 lines)
  * @checkstyle ClassFanOutComplexityCheck (500 lines)
  */
-@SuppressWarnings({"PMD.TooManyMethods", "PMD.AvoidCatchingGenericException"})
+@SuppressWarnings(
+    {"PMD.TooManyMethods", "PMD.AvoidCatchingGenericException", "PMD.AvoidDuplicateLiterals"}
+)
 class AstoRepositoryTest {
 
     /**
@@ -112,6 +123,53 @@ class AstoRepositoryTest {
         );
     }
 
+    @Test
+    void shouldRecordAddStages() throws Exception {
+        final MeterRegistry registry = new SimpleMeterRegistry();
+        new AstoRepository(
+            this.asto, Workers.SHARED, PackageListener.NONE, new MicrometerMetrics(registry)
+        ).add(new Content.From(this.nupkg().bytes())).toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            registry.find("nuget.publish.stages").timers().stream()
+                .map(timer -> timer.getId().getTag("stage"))
+                .collect(Collectors.toList()),
+            Matchers.containsInAnyOrder(
+                "save", "read", "nuspec", "exists", "lock",
+                "move", "hash", "metadata", "index", "listeners"
+            )
+        );
+    }
+
+    @Test
+    void shouldParseAndHashPackageWithWorkers() {
+        final AtomicInteger parsing = new AtomicInteger();
+        final AtomicInteger hashing = new AtomicInteger();
+        new AstoRepository(
+            this.asto,
+            new Workers.From(
+                ForkJoinPool.commonPool(),
+                task -> {
+                    parsing.incrementAndGet();
+                    ForkJoinPool.commonPool().execute(task);
+                },
+                task -> {
+                    hashing.incrementAndGet();
+                    ForkJoinPool.commonPool().execute(task);
+                }
+            )
+        ).add(this.nupkg().content()).toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            "Package should be parsed by parsing executor",
+            parsing.get(),
+            new IsEqual<>(1)
+        );
+        MatcherAssert.assertThat(
+            "Package hash should be calculated by hashing executor",
+            hashing.get(),
+            new IsEqual<>(1)
+        );
+    }
+
     @Test
     void shouldFailToAddInvalidPackage() {
         final Throwable cause = Assertions.assertThrows(
@@ -127,6 +185,19 @@ class AstoRepositoryTest {
         );
     }
 
+    @Test
+    void shouldRemoveUploadWhenAddFails() throws Exception {
+        this.repository.add(new Content.From(this.nupkg().bytes())).toCompletableFuture().join();
+        this.repository.add(new Content.From(this.nupkg().bytes()))
+            .handle((nothing, err) -> null).toCompletableFuture().join();
+        this.repository.add(new Content.From("invalid".getBytes()))
+            .handle((nothing, err) -> null).toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            this.storage.list(new Key.From(".upload")),
+            new IsEmptyCollection<>()
+        );
+    }
+
     @Test
     void shouldGetPackageVersions() throws Exception {
         final byte[] bytes = "{\"versions\":[\"1.0.0\",\"1.0.1\"]}"
@@ -161,7 +232,7 @@ class AstoRepositoryTest {
         this.repository.add(new Content.From(this.nupkg().bytes())).toCompletableFuture().join();
         final Throwable cause = Assertions.assertThrows(
             CompletionException.class,
-            () -> this.repository.add(new Content.From(this.nupkg().bytes()))
+            () -> this.repository.add(new Content.From(this.nupkg().changed()))
                 .toCompletableFuture().join()
         ).getCause();
         MatcherAssert.assertThat(
@@ -170,6 +241,88 @@ class AstoRepositoryTest {
         );
     }
 
+    @Test
+    void shouldAddSamePackageAgain() throws Exception {
+        this.repository.add(new Content.From(this.nupkg().bytes())).toCompletableFuture().join();
+        this.repository.add(new Content.From(this.nupkg().bytes())).toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            "Versions are not changed",
+            this.versions(new PackageKeys(new PackageId("Newtonsoft.Json")).versionsKey()),
+            Matchers.hasSize(1)
+        );
+        MatcherAssert.assertThat(
+            "Upload is removed",
+            this.storage.list(new Uploads(this.asto).key().parent().get()),
+            new IsEmptyCollection<>()
+        );
+    }
+
+    @Test
+    void shouldNotifyListenerWhenSamePackageIsPushedAgain() throws Exception {
+        final AtomicInteger calls = new AtomicInteger();
+        final Repository repo = new AstoRepository(
+            this.asto, Workers.SHARED,
+            nuspec -> {
+                final CompletableFuture<Void> res = new CompletableFuture<>();
+                if (calls.getAndIncrement() == 0) {
+                    res.completeExceptionally(new IllegalStateException("Listener failed"));
+                } else {
+                    res.complete(null);
+                }
+                return res;
+            }
+        );
+        Assertions.assertThrows(
+            CompletionException.class,
+            () -> repo.add(new Content.From(this.nupkg().bytes())).toCompletableFuture().join()
+        );
+        repo.add(new Content.From(this.nupkg().bytes())).toCompletableFuture().join();
+        MatcherAssert.assertThat(calls.get(), new IsEqual<>(2));
+    }
+
+    @Test
+    void shouldAddSamePackageConcurrentlyOnce() throws Exception {
+        CompletableFuture.allOf(
+            this.repository.add(new Content.From(this.nupkg().bytes())).toCompletableFuture(),
+            this.repository.add(new Content.From(this.nupkg().bytes())).toCompletableFuture()
+        ).join();
+        MatcherAssert.assertThat(
+            this.versions(new PackageKeys(new PackageId("Newtonsoft.Json")).versionsKey()),
+            Matchers.hasSize(1)
+        );
+    }
+
+    @Test
+    void shouldAddParsedPackagesWithSingleIndexUpdate() {
+        final SimulatedStorage sim = new SimulatedStorage(new InMemoryStorage());
+        final Repository repo = new AstoRepository(sim);
+        final List<ParsedPackage> packages = Stream.of(
+            this.nupkg().bytes(), this.nupkg().versioned("12.0.4"), this.nupkg().versioned("12.0.5")
+        ).map(
+            bytes -> new ParsedPackage(bytes, new Nupkg(ByteSource.wrap(bytes)).nuspec())
+        ).collect(Collectors.toList());
+        CompletableFuture.allOf(
+            repo.add(packages).stream()
+                .map(CompletionStage::toCompletableFuture)
+                .toArray(CompletableFuture[]::new)
+        ).join();
+        MatcherAssert.assertThat(
+            "Should lock package once",
+            sim.counts().get(SimulatedStorage.Operation.EXCLUSIVELY),
+            new IsEqual<>(1L)
+        );
+        MatcherAssert.assertThat(
+            "Should save package files and single index",
+            sim.counts().get(SimulatedStorage.Operation.SAVE),
+            new IsEqual<>(10L)
+        );
+        MatcherAssert.assertThat(
+            "Should add all versions",
+            repo.versions(new PackageKeys("Newtonsoft.Json")).toCompletableFuture().join().all(),
+            Matchers.hasSize(3)
+        );
+    }
+
     @Test
     void shouldReadNuspec() throws Exception {
         final PackageIdentity identity = new PackageIdentity(
@@ -208,12 +361,29 @@ class AstoRepositoryTest {
         );
     }
 
+    @Test
+    void shouldReadContentSize() {
+        final Key key = new Key.From("newtonsoft.json", "12.0.3", "newtonsoft.json.nuspec");
+        this.storage.save(key, new byte[42]);
+        MatcherAssert.assertThat(
+            new AstoRepository(new UnsizedStorage(this.asto)).content(key)
+                .toCompletableFuture().join().get().size(),
+            new IsEqual<>(Optional.of(42L))
+        );
+    }
+
     @RepeatedTest(10)
     void throwsExceptionWhenPackagesAddedSimultaneously() throws Exception {
         final int count = 3;
         final CountDownLatch latch = new CountDownLatch(count);
         final List<CompletableFuture<Void>> tasks = new ArrayList<>(count);
         for (int number = 0; number < count; number += 1) {
+            final byte[] pack;
+            if (number == 0) {
+                pack = this.nupkg().bytes();
+            } else {
+                pack = this.nupkg().changed();
+            }
             final CompletableFuture<Void> future = new CompletableFuture<>();
             tasks.add(future);
             new Thread(
@@ -221,7 +391,7 @@ class AstoRepositoryTest {
                     try {
                         latch.countDown();
                         latch.await();
-                        this.repository.add(new Content.From(this.nupkg().bytes()))
+                        this.repository.add(new Content.From(pack))
                             .toCompletableFuture().join();
                         future.complete(null);
                     } catch (final Exception exception) {
@@ -0,0 +1,71 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+
+package com.artipie.nuget;
+
+import com.artipie.nuget.metadata.Nuspec;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link BatchTimer}.
+ *
+ * @since 0.8
+ */
+class BatchTimerTest {
+
+    @Test
+    void shouldStartTimerWhenPreviousPackageIsAdded() {
+        final AtomicInteger started = new AtomicInteger();
+        final CompletableFuture<Void> first = new CompletableFuture<>();
+        final CompletableFuture<Void> second = new CompletableFuture<>();
+        final CompletionStage<Void> timed = new BatchTimer(
+            action -> {
+                started.incrementAndGet();
+                return action.get();
+            }
+        ).timed(
+            Arrays.asList(
+                BatchTimerTest.parsed("Foo", "1.0.0"),
+                BatchTimerTest.parsed("foo", "2.0.0")
+            ),
+            Arrays.asList(first, second)
+        ).get(1);
+        MatcherAssert.assertThat(
+            "Should not start timer of package waiting for previous one",
+            started.get(),
+            new IsEqual<>(1)
+        );
+        first.complete(null);
+        second.complete(null);
+        timed.toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            "Should start timer of package when previous one is added",
+            started.get(),
+            new IsEqual<>(2)
+        );
+    }
+
+    private static ParsedPackage parsed(final String id, final String version) {
+        return new ParsedPackage(
+            new byte[0],
+            new Nuspec.Xml(
+                String.join(
+                    "",
+                    "<?xml version=\"1.0\"?><package><metadata>",
+                    String.format("<id>%s</id><version>%s</version>", id, version),
+                    "<description>Test</description><authors>Artipie</authors>",
+                    "</metadata></package>"
+                ).getBytes(StandardCharsets.UTF_8)
+            )
+        );
+    }
+}
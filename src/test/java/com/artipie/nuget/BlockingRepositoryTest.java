@@ -0,0 +1,224 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+
+package com.artipie.nuget;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.asto.blocking.BlockingStorage;
+import com.artipie.asto.ext.PublisherAs;
+import com.artipie.asto.memory.InMemoryStorage;
+import com.artipie.nuget.metadata.PackageId;
+import com.artipie.nuget.metadata.Version;
+import com.artipie.nuget.perf.SimulatedStorage;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.collection.IsEmptyCollection;
+import org.hamcrest.core.IsEqual;
+import org.hamcrest.core.IsInstanceOf;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link BlockingRepository}.
+ *
+ * @since 0.8
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
+ */
+@SuppressWarnings({"PMD.AvoidDuplicateLiterals", "PMD.TooManyMethods"})
+class BlockingRepositoryTest {
+
+    /**
+     * Storage used in tests.
+     */
+    private InMemoryStorage storage;
+
+    /**
+     * Executor to run requests on.
+     */
+    private ExecutorService exec;
+
+    /**
+     * Repository to test.
+     */
+    private BlockingRepository repository;
+
+    @BeforeEach
+    void init() {
+        this.storage = new InMemoryStorage();
+        this.exec = Executors.newCachedThreadPool();
+        this.repository = new BlockingRepository(this.storage, this.exec);
+    }
+
+    @AfterEach
+    void tearDown() {
+        this.exec.shutdown();
+    }
+
+    @Test
+    void shouldAddPackage() {
+        this.repository.add(this.nupkg().content()).toCompletableFuture().join();
+        final PackageIdentity identity = new PackageIdentity(
+            new PackageId("Newtonsoft.Json"), new Version("12.0.3")
+        );
+        MatcherAssert.assertThat(
+            "Package content should be saved",
+            new BlockingStorage(this.storage).value(identity.nupkgKey()),
+            new IsEqual<>(this.nupkg().bytes())
+        );
+        MatcherAssert.assertThat(
+            "Package version should be listed",
+            this.repository.versions(new PackageKeys("Newtonsoft.Json"))
+                .toCompletableFuture().join()
+                .all().stream().map(Object::toString).collect(Collectors.toList()),
+            new IsEqual<>(Collections.singletonList("12.0.3"))
+        );
+        MatcherAssert.assertThat(
+            "Package nuspec should be readable",
+            this.repository.nuspec(identity).toCompletableFuture().join().id().raw(),
+            new IsEqual<>("Newtonsoft.Json")
+        );
+        MatcherAssert.assertThat(
+            "Temporary upload should be removed",
+            new BlockingStorage(this.storage).list(Key.ROOT).stream()
+                .map(Key::string)
+                .allMatch(
+                    key -> key.startsWith("newtonsoft.json/")
+                        || key.charAt(0) == '.' && !key.startsWith(".upload/")
+                ),
+            new IsEqual<>(true)
+        );
+    }
+
+    @Test
+    void shouldReadContent() {
+        final Key key = new Key.From("foo", "1.0", "foo.1.0.nupkg");
+        final byte[] data = "data".getBytes();
+        new BlockingStorage(this.storage).save(key, data);
+        MatcherAssert.assertThat(
+            new PublisherAs(
+                this.repository.content(key).toCompletableFuture().join().get()
+            ).bytes().toCompletableFuture().join(),
+            new IsEqual<>(data)
+        );
+        MatcherAssert.assertThat(
+            this.repository.content(new Key.From("bar")).toCompletableFuture().join(),
+            new IsEqual<>(Optional.empty())
+        );
+    }
+
+    @Test
+    void shouldReadContentWithSize() {
+        final Key key = new Key.From("foo", "1.0", "foo.1.0.nupkg");
+        final byte[] data = "data".getBytes();
+        new BlockingStorage(this.storage).save(key, data);
+        MatcherAssert.assertThat(
+            new BlockingRepository(new UnsizedStorage(this.storage), this.exec).content(key)
+                .toCompletableFuture().join().get().size(),
+            new IsEqual<>(Optional.of((long) data.length))
+        );
+    }
+
+    @Test
+    void shouldReadVersionsWithSingleStorageCall() {
+        this.repository.add(this.nupkg().content()).toCompletableFuture().join();
+        final SimulatedStorage counting = new SimulatedStorage(this.storage);
+        new BlockingRepository(counting, this.exec)
+            .versions(new PackageKeys("newtonsoft.json")).toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            counting.counts().values().stream().mapToLong(Long::longValue).sum(),
+            new IsEqual<>(1L)
+        );
+    }
+
+    @Test
+    void shouldFailToAddInvalidPackage() {
+        MatcherAssert.assertThat(
+            Assertions.assertThrows(
+                CompletionException.class,
+                () -> this.repository.add(new Content.From("not a zip".getBytes()))
+                    .toCompletableFuture().join()
+            ).getCause(),
+            new IsInstanceOf(InvalidPackageException.class)
+        );
+    }
+
+    @Test
+    void shouldRemoveUploadWhenAddFails() {
+        this.repository.add(this.nupkg().content()).toCompletableFuture().join();
+        this.repository.add(this.nupkg().content())
+            .handle((nothing, err) -> null).toCompletableFuture().join();
+        this.repository.add(new Content.From("not a zip".getBytes()))
+            .handle((nothing, err) -> null).toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            new BlockingStorage(this.storage).list(new Key.From(".upload")),
+            new IsEmptyCollection<>()
+        );
+    }
+
+    @Test
+    void shouldFailToAddPackageWhenItAlreadyExists() {
+        this.repository.add(this.nupkg().content()).toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            Assertions.assertThrows(
+                CompletionException.class,
+                () -> this.repository.add(new Content.From(this.nupkg().changed()))
+                    .toCompletableFuture().join()
+            ).getCause(),
+            new IsInstanceOf(PackageVersionAlreadyExistsException.class)
+        );
+    }
+
+    @Test
+    void shouldAddSamePackageAgain() {
+        this.repository.add(this.nupkg().content()).toCompletableFuture().join();
+        this.repository.add(this.nupkg().content()).toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            new BlockingStorage(this.storage).list(new Key.From(".upload")),
+            new IsEmptyCollection<>()
+        );
+    }
+
+    @Test
+    void shouldNotifyListenerWhenSamePackageIsAddedAgain() {
+        final AtomicInteger calls = new AtomicInteger();
+        final Repository repo = new BlockingRepository(
+            this.storage, this.exec,
+            nuspec -> {
+                calls.incrementAndGet();
+                return CompletableFuture.allOf();
+            }
+        );
+        repo.add(this.nupkg().content()).toCompletableFuture().join();
+        repo.add(this.nupkg().content()).toCompletableFuture().join();
+        MatcherAssert.assertThat(calls.get(), new IsEqual<>(2));
+    }
+
+    @Test
+    void shouldFailToReadNuspecWhenValueAbsent() {
+        MatcherAssert.assertThat(
+            Assertions.assertThrows(
+                CompletionException.class,
+                () -> this.repository.nuspec(
+                    new PackageIdentity(new PackageId("MyPack"), new Version("1.0"))
+                ).toCompletableFuture().join()
+            ).getCause(),
+            new IsInstanceOf(IllegalArgumentException.class)
+        );
+    }
+
+    private NewtonJsonResource nupkg() {
+        return new NewtonJsonResource("newtonsoft.json.12.0.3.nupkg");
+    }
+}
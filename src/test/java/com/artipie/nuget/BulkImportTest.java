@@ -0,0 +1,219 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+
+package com.artipie.nuget;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Storage;
+import com.artipie.asto.memory.InMemoryStorage;
+import com.artipie.nuget.metadata.NuspecField;
+import com.artipie.nuget.metadata.PackageId;
+import com.artipie.nuget.metadata.Version;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.hamcrest.core.IsEqual;
+import org.hamcrest.core.IsInstanceOf;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests for {@link BulkImport}.
+ *
+ * @since 0.8
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+class BulkImportTest {
+
+    /**
+     * Storage used in tests.
+     */
+    private Storage storage;
+
+    @BeforeEach
+    void init() {
+        this.storage = new InMemoryStorage();
+    }
+
+    @Test
+    void shouldImportPackages(final @TempDir Path dir) throws Exception {
+        Files.write(dir.resolve("foo.1.0.0.nupkg"), BulkImportTest.nupkg("Foo", "1.0.0"));
+        Files.createDirectory(dir.resolve("nested"));
+        Files.write(dir.resolve("nested/foo.2.0.0.nupkg"), BulkImportTest.nupkg("Foo", "2.0.0"));
+        Files.write(
+            dir.resolve("newtonsoft.json.12.0.3.nupkg"),
+            new NewtonJsonResource("newtonsoft.json.12.0.3.nupkg").bytes()
+        );
+        Files.write(dir.resolve("readme.txt"), "not a package".getBytes(StandardCharsets.UTF_8));
+        final BulkImport.Result result = new BulkImport(
+            this.storage, Workers.SHARED, new PackageList(this.storage)
+        ).load(dir).toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            "Should import all packages",
+            result.imported(),
+            new IsEqual<>(3)
+        );
+        final Repository repo = new AstoRepository(this.storage);
+        MatcherAssert.assertThat(
+            "Should write versions list once for all versions",
+            repo.versions(new PackageKeys("foo")).toCompletableFuture().join()
+                .all().stream().map(NuspecField::normalized).collect(Collectors.toList()),
+            Matchers.contains("1.0.0", "2.0.0")
+        );
+        MatcherAssert.assertThat(
+            "Should save package hash",
+            this.storage.exists(
+                new PackageIdentity(new PackageId("Newtonsoft.Json"), new Version("12.0.3"))
+                    .hashKey()
+            ).join(),
+            new IsEqual<>(true)
+        );
+        MatcherAssert.assertThat(
+            "Should update package list",
+            new PackageList(this.storage).items().toCompletableFuture().join().size(),
+            new IsEqual<>(2)
+        );
+    }
+
+    @Test
+    void shouldSkipExistingAndInvalidPackages(final @TempDir Path dir) throws Exception {
+        new AstoRepository(this.storage)
+            .add(new NewtonJsonResource("newtonsoft.json.12.0.3.nupkg").content())
+            .toCompletableFuture().join();
+        Files.write(
+            dir.resolve("newtonsoft.json.12.0.3.nupkg"),
+            new NewtonJsonResource("newtonsoft.json.12.0.3.nupkg").bytes()
+        );
+        Files.write(dir.resolve("a.nupkg"), BulkImportTest.nupkg("Bar", "1.0.0"));
+        Files.write(dir.resolve("b.nupkg"), BulkImportTest.nupkg("Bar", "1.0.0"));
+        Files.write(dir.resolve("broken.nupkg"), "broken".getBytes(StandardCharsets.UTF_8));
+        final BulkImport.Result result = new BulkImport(this.storage).load(dir)
+            .toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            "Should import new package once",
+            result.imported(),
+            new IsEqual<>(1)
+        );
+        MatcherAssert.assertThat(
+            "Should skip existing packages",
+            result.existing(),
+            new IsEqual<>(2)
+        );
+        MatcherAssert.assertThat(
+            "Should skip invalid packages",
+            result.invalid(),
+            new IsEqual<>(1)
+        );
+    }
+
+    @Test
+    void shouldRecordConflictingPackages(final @TempDir Path dir) throws Exception {
+        new AstoRepository(this.storage)
+            .add(new Content.From(BulkImportTest.nupkg("Foo", "1.0.0")))
+            .toCompletableFuture().join();
+        Files.write(dir.resolve("foo.nupkg"), BulkImportTest.nupkg("foo", "1.0.0"));
+        final BulkImport.Result result = new BulkImport(this.storage).load(dir)
+            .toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            "Should not count conflicting package as existing",
+            result.existing(),
+            new IsEqual<>(0)
+        );
+        MatcherAssert.assertThat(
+            "Should record conflict",
+            result.failures().get(dir.resolve("foo.nupkg")),
+            new IsInstanceOf(PackageVersionAlreadyExistsException.class)
+        );
+    }
+
+    @Test
+    void shouldImportPackageLeftPartially(final @TempDir Path dir) throws Exception {
+        final PackageIdentity id = new PackageIdentity(
+            new PackageId("Foo"), new Version("1.0.0")
+        );
+        this.storage.save(id.nuspecKey(), new Content.From("partial".getBytes())).join();
+        Files.write(dir.resolve("foo.nupkg"), BulkImportTest.nupkg("Foo", "1.0.0"));
+        MatcherAssert.assertThat(
+            "Should import package",
+            new BulkImport(this.storage).load(dir).toCompletableFuture().join().imported(),
+            new IsEqual<>(1)
+        );
+        MatcherAssert.assertThat(
+            "Should store package binary",
+            this.storage.exists(id.nupkgKey()).join(),
+            new IsEqual<>(true)
+        );
+    }
+
+    @Test
+    void shouldRecordFailuresAndContinue(final @TempDir Path dir) throws Exception {
+        Files.write(dir.resolve("bar.nupkg"), BulkImportTest.nupkg("Bar", "1.0.0"));
+        Files.write(dir.resolve("foo.nupkg"), BulkImportTest.nupkg("Foo", "1.0.0"));
+        final BulkImport.Result result = new BulkImport(
+            this.storage, Workers.SHARED,
+            nuspec -> {
+                final CompletableFuture<Void> res = new CompletableFuture<>();
+                if ("bar".equals(nuspec.id().normalized())) {
+                    res.completeExceptionally(new IllegalStateException("Listener failed"));
+                } else {
+                    res.complete(null);
+                }
+                return res;
+            }
+        ).load(dir).toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            "Should import other packages",
+            result.imported(),
+            new IsEqual<>(1)
+        );
+        MatcherAssert.assertThat(
+            "Should record failed file",
+            result.failures().keySet(),
+            Matchers.contains(dir.resolve("bar.nupkg"))
+        );
+    }
+
+    @Test
+    void shouldRecordStorageFailures(final @TempDir Path dir) throws Exception {
+        Files.write(dir.resolve("bar.nupkg"), BulkImportTest.nupkg("Bar", "1.0.0"));
+        Files.write(dir.resolve("foo.nupkg"), BulkImportTest.nupkg("Foo", "1.0.0"));
+        MatcherAssert.assertThat(
+            new BulkImport(new ListFailingStorage(this.storage)).load(dir)
+                .toCompletableFuture().join().failures().keySet(),
+            Matchers.contains(dir.resolve("bar.nupkg"), dir.resolve("foo.nupkg"))
+        );
+    }
+
+    private static byte[] nupkg(final String id, final String version) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(out)) {
+            final ZipEntry entry = new ZipEntry(String.format("%s.nuspec", id));
+            entry.setTime(0L);
+            zip.putNextEntry(entry);
+            zip.write(
+                String.join(
+                    "",
+                    "<?xml version=\"1.0\"?><package><metadata>",
+                    String.format("<id>%s</id><version>%s</version>", id, version),
+                    "<description>Test</description><authors>Artipie</authors>",
+                    "</metadata></package>"
+                ).getBytes(StandardCharsets.UTF_8)
+            );
+            zip.closeEntry();
+        }
+        return out.toByteArray();
+    }
+}
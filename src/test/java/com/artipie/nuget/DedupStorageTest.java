@@ -0,0 +1,168 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+
+package com.artipie.nuget;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.asto.Storage;
+import com.artipie.asto.SubStorage;
+import com.artipie.asto.blocking.BlockingStorage;
+import com.artipie.asto.ext.PublisherAs;
+import com.artipie.asto.memory.InMemoryStorage;
+import com.artipie.nuget.metadata.PackageId;
+import com.artipie.nuget.metadata.Version;
+import com.artipie.nuget.perf.SimulatedStorage;
+import com.google.common.io.BaseEncoding;
+import com.google.common.io.ByteSource;
+import java.util.Base64;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link DedupStorage}.
+ *
+ * @since 0.8
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
+ */
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+class DedupStorageTest {
+
+    /**
+     * Origin storage.
+     */
+    private Storage origin;
+
+    /**
+     * Identity of test package.
+     */
+    private PackageIdentity identity;
+
+    @BeforeEach
+    void init() {
+        this.origin = new InMemoryStorage();
+        this.identity = new PackageIdentity(
+            new PackageId("Newtonsoft.Json"), new Version("12.0.3")
+        );
+    }
+
+    @Test
+    void shouldStoreIdenticalPackagesOnce() {
+        final Storage dedup = new DedupStorage(this.origin);
+        final Repository first = new AstoRepository(new SubStorage(new Key.From("one"), dedup));
+        final Repository second = new AstoRepository(new SubStorage(new Key.From("two"), dedup));
+        first.add(DedupStorageTest.nupkg().content()).toCompletableFuture().join();
+        second.add(DedupStorageTest.nupkg().content()).toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            "Should store single blob",
+            new BlockingStorage(this.origin).list(new Key.From(".blobs")).size(),
+            new IsEqual<>(1)
+        );
+        MatcherAssert.assertThat(
+            "Should read package from blob",
+            new PublisherAs(
+                second.content(this.identity.nupkgKey()).toCompletableFuture().join().get()
+            ).bytes().toCompletableFuture().join(),
+            new IsEqual<>(DedupStorageTest.nupkg().bytes())
+        );
+        MatcherAssert.assertThat(
+            "Should resolve blob size",
+            dedup.size(new Key.From("one", this.identity.nupkgKey().string())).join(),
+            new IsEqual<>((long) DedupStorageTest.nupkg().bytes().length)
+        );
+    }
+
+    @Test
+    void shouldReadPackageWithSingleOperation() {
+        final SimulatedStorage sim = new SimulatedStorage(this.origin);
+        final Repository repo = new AstoRepository(new DedupStorage(sim));
+        repo.add(DedupStorageTest.nupkg().content()).toCompletableFuture().join();
+        final long before = DedupStorageTest.total(sim);
+        MatcherAssert.assertThat(
+            "Should read package",
+            new PublisherAs(
+                repo.content(this.identity.nupkgKey()).toCompletableFuture().join().get()
+            ).bytes().toCompletableFuture().join(),
+            new IsEqual<>(DedupStorageTest.nupkg().bytes())
+        );
+        MatcherAssert.assertThat(
+            "Should read blob only",
+            DedupStorageTest.total(sim) - before,
+            new IsEqual<>(1L)
+        );
+    }
+
+    @Test
+    void shouldMovePackageToBlobOfItsContentWithWrongSavedHash() {
+        final Key staged = new Key.From(".upload", "staged");
+        final byte[] wrong = new Hash(ByteSource.wrap("other".getBytes())).digest();
+        this.origin.save(staged, new Content.From(DedupStorageTest.nupkg().bytes())).join();
+        this.origin.save(this.identity.hashKey(), new Content.From(wrong)).join();
+        final Storage dedup = new DedupStorage(this.origin);
+        dedup.move(staged, this.identity.nupkgKey()).join();
+        MatcherAssert.assertThat(
+            "Should not store blob by wrong saved hash",
+            new BlockingStorage(this.origin).exists(DedupStorageTest.blob(wrong)),
+            new IsEqual<>(false)
+        );
+        MatcherAssert.assertThat(
+            "Should store blob by hash of its content",
+            new BlockingStorage(this.origin).value(
+                DedupStorageTest.blob(
+                    new Hash(ByteSource.wrap(DedupStorageTest.nupkg().bytes())).digest()
+                )
+            ),
+            new IsEqual<>(DedupStorageTest.nupkg().bytes())
+        );
+        MatcherAssert.assertThat(
+            "Should remove staged package",
+            new BlockingStorage(this.origin).exists(staged),
+            new IsEqual<>(false)
+        );
+        MatcherAssert.assertThat(
+            "Should know size of blob",
+            new DedupStorage(this.origin).size(this.identity.nupkgKey()).join(),
+            new IsEqual<>((long) DedupStorageTest.nupkg().bytes().length)
+        );
+    }
+
+    @Test
+    void shouldReadPackageSavedBefore() {
+        this.origin.save(
+            this.identity.nupkgKey(), new Content.From(DedupStorageTest.nupkg().bytes())
+        ).join();
+        MatcherAssert.assertThat(
+            new BlockingStorage(new DedupStorage(this.origin)).value(this.identity.nupkgKey()),
+            new IsEqual<>(DedupStorageTest.nupkg().bytes())
+        );
+    }
+
+    @Test
+    void shouldKeepOtherValuesAsIs() {
+        final Key key = new Key.From("foo", "index.json");
+        new DedupStorage(this.origin).save(key, new Content.From("{}".getBytes())).join();
+        MatcherAssert.assertThat(
+            new BlockingStorage(this.origin).value(key),
+            new IsEqual<>("{}".getBytes())
+        );
+    }
+
+    private static long total(final SimulatedStorage sim) {
+        return sim.counts().values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    private static NewtonJsonResource nupkg() {
+        return new NewtonJsonResource("newtonsoft.json.12.0.3.nupkg");
+    }
+
+    private static Key blob(final byte[] digest) {
+        return new Key.From(
+            ".blobs", "sha512",
+            BaseEncoding.base16().lowerCase().encode(Base64.getDecoder().decode(digest))
+        );
+    }
+}
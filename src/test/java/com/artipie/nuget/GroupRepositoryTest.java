@@ -0,0 +1,277 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+
+package com.artipie.nuget;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.asto.Storage;
+import com.artipie.asto.ext.PublisherAs;
+import com.artipie.asto.memory.InMemoryStorage;
+import com.artipie.nuget.metadata.Nuspec;
+import com.artipie.nuget.metadata.NuspecField;
+import com.artipie.nuget.metadata.PackageId;
+import com.artipie.nuget.metadata.Version;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.hamcrest.core.IsEqual;
+import org.hamcrest.core.IsInstanceOf;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link GroupRepository}.
+ *
+ * @since 0.8
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
+ */
+@SuppressWarnings({"PMD.AvoidDuplicateLiterals", "PMD.TooManyMethods"})
+class GroupRepositoryTest {
+
+    /**
+     * Member with the package.
+     */
+    private Repository hosted;
+
+    @BeforeEach
+    void init() {
+        this.hosted = new AstoRepository(new InMemoryStorage());
+        this.hosted.add(new NewtonJsonResource("newtonsoft.json.12.0.3.nupkg").content())
+            .toCompletableFuture().join();
+    }
+
+    @Test
+    void shouldNotWaitForMembersAfterFound() {
+        MatcherAssert.assertThat(
+            new PublisherAs(
+                new GroupRepository(this.hosted, new Stuck())
+                    .content(GroupRepositoryTest.identity().nupkgKey())
+                    .toCompletableFuture().join().get()
+            ).bytes().toCompletableFuture().join(),
+            new IsEqual<>(new NewtonJsonResource("newtonsoft.json.12.0.3.nupkg").bytes())
+        );
+    }
+
+    @Test
+    void shouldNotReadContentFromMembersAfterFound() {
+        final Recorded proxy = new Recorded(this.hosted);
+        new GroupRepository(this.hosted, proxy)
+            .content(GroupRepositoryTest.identity().nupkgKey())
+            .toCompletableFuture().join();
+        MatcherAssert.assertThat(proxy.keys, Matchers.empty());
+    }
+
+    @Test
+    void shouldReadContentFromMemberHavingVersion() {
+        final Recorded member = new Recorded(this.hosted);
+        MatcherAssert.assertThat(
+            new GroupRepository(new AstoRepository(new InMemoryStorage()), member)
+                .content(GroupRepositoryTest.identity().nupkgKey())
+                .toCompletableFuture().join().isPresent(),
+            new IsEqual<>(true)
+        );
+        MatcherAssert.assertThat(member.keys, Matchers.hasSize(1));
+    }
+
+    @Test
+    void shouldReadFromNextMember() {
+        MatcherAssert.assertThat(
+            new GroupRepository(
+                new AstoRepository(new InMemoryStorage()), new Broken(), this.hosted
+            ).nuspec(GroupRepositoryTest.identity())
+                .toCompletableFuture().join().id().raw(),
+            new IsEqual<>("Newtonsoft.Json")
+        );
+    }
+
+    @Test
+    void shouldNotReadNuspecFromMembersWithoutVersion() {
+        final Recorded empty = new Recorded(new AstoRepository(new InMemoryStorage()));
+        new GroupRepository(empty, this.hosted).nuspec(GroupRepositoryTest.identity())
+            .toCompletableFuture().join();
+        MatcherAssert.assertThat(empty.keys, Matchers.empty());
+    }
+
+    @Test
+    void shouldRejectAddingPackage() {
+        final CompletionException err = Assertions.assertThrows(
+            CompletionException.class,
+            () -> new GroupRepository(this.hosted)
+                .add(new NewtonJsonResource("newtonsoft.json.12.0.3.nupkg").content())
+                .toCompletableFuture().join()
+        );
+        MatcherAssert.assertThat(
+            err.getCause(),
+            new IsInstanceOf(ReadOnlyRepositoryException.class)
+        );
+    }
+
+    @Test
+    void shouldNotFindAbsentContent() {
+        MatcherAssert.assertThat(
+            new GroupRepository(this.hosted, new Broken())
+                .content(new Key.From("foo/1.0.0/foo.1.0.0.nupkg"))
+                .toCompletableFuture().join().isPresent(),
+            new IsEqual<>(false)
+        );
+    }
+
+    @Test
+    void shouldFailToFindAbsentNuspec() {
+        final CompletionException err = Assertions.assertThrows(
+            CompletionException.class,
+            () -> new GroupRepository(this.hosted)
+                .nuspec(new PackageIdentity(new PackageId("Foo"), new Version("1.0.0")))
+                .toCompletableFuture().join()
+        );
+        MatcherAssert.assertThat(
+            err.getCause(),
+            new IsInstanceOf(IllegalArgumentException.class)
+        );
+    }
+
+    @Test
+    void shouldMergeVersions() {
+        final Storage other = new InMemoryStorage();
+        final PackageKeys id = new PackageKeys("Newtonsoft.Json");
+        new Versions().add(new Version("12.0.3")).add(new Version("13.0.1"))
+            .save(other, id.versionsKey()).join();
+        final List<String> versions = new GroupRepository(
+            this.hosted, new Broken(), new AstoRepository(other)
+        ).versions(id).toCompletableFuture().join()
+            .all().stream().map(NuspecField::normalized).collect(Collectors.toList());
+        MatcherAssert.assertThat(versions, Matchers.contains("12.0.3", "13.0.1"));
+    }
+
+    private static PackageIdentity identity() {
+        return new PackageIdentity(new PackageId("Newtonsoft.Json"), new Version("12.0.3"));
+    }
+
+    /**
+     * Repository which never responds.
+     *
+     * @since 0.8
+     */
+    private static final class Stuck implements Repository {
+
+        @Override
+        public CompletionStage<Optional<Content>> content(final Key key) {
+            return new CompletableFuture<>();
+        }
+
+        @Override
+        public CompletionStage<Void> add(final Content content) {
+            return new CompletableFuture<>();
+        }
+
+        @Override
+        public CompletionStage<Versions> versions(final PackageKeys id) {
+            return new CompletableFuture<>();
+        }
+
+        @Override
+        public CompletionStage<Nuspec> nuspec(final PackageIdentity identity) {
+            return new CompletableFuture<>();
+        }
+    }
+
+    /**
+     * Repository recording content and package description reads.
+     *
+     * @since 0.8
+     */
+    private static final class Recorded implements Repository {
+
+        /**
+         * Keys of read content and package descriptions.
+         */
+        private final List<Key> keys;
+
+        /**
+         * Origin repository.
+         */
+        private final Repository origin;
+
+        /**
+         * Ctor.
+         *
+         * @param origin Origin repository.
+         */
+        Recorded(final Repository origin) {
+            this.origin = origin;
+            this.keys = new CopyOnWriteArrayList<>();
+        }
+
+        @Override
+        public CompletionStage<Optional<Content>> content(final Key key) {
+            this.keys.add(key);
+            return this.origin.content(key);
+        }
+
+        @Override
+        public CompletionStage<Void> add(final Content content) {
+            return this.origin.add(content);
+        }
+
+        @Override
+        public CompletionStage<Versions> versions(final PackageKeys id) {
+            return this.origin.versions(id);
+        }
+
+        @Override
+        public CompletionStage<Nuspec> nuspec(final PackageIdentity identity) {
+            this.keys.add(identity.nuspecKey());
+            return this.origin.nuspec(identity);
+        }
+    }
+
+    /**
+     * Repository which always fails.
+     *
+     * @since 0.8
+     */
+    private static final class Broken implements Repository {
+
+        @Override
+        public CompletionStage<Optional<Content>> content(final Key key) {
+            return Broken.failed();
+        }
+
+        @Override
+        public CompletionStage<Void> add(final Content content) {
+            return Broken.failed();
+        }
+
+        @Override
+        public CompletionStage<Versions> versions(final PackageKeys id) {
+            return Broken.failed();
+        }
+
+        @Override
+        public CompletionStage<Nuspec> nuspec(final PackageIdentity identity) {
+            return Broken.failed();
+        }
+
+        /**
+         * Failed completion.
+         *
+         * @param <T> Result type.
+         * @return Failed completion.
+         */
+        private static <T> CompletionStage<T> failed() {
+            final CompletableFuture<T> res = new CompletableFuture<>();
+            res.completeExceptionally(new IllegalStateException("Member is down"));
+            return res;
+        }
+    }
+}
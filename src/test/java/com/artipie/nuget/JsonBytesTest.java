@@ -0,0 +1,42 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+
+package com.artipie.nuget;
+
+import java.nio.charset.StandardCharsets;
+import javax.json.Json;
+import javax.json.JsonObject;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link JsonBytes}.
+ *
+ * @since 0.8
+ */
+class JsonBytesTest {
+
+    @Test
+    void shouldSerializeJson() {
+        MatcherAssert.assertThat(
+            new String(
+                new JsonBytes(Json.createObjectBuilder().add("id", "Newtonsoft.Json").build())
+                    .bytes(),
+                StandardCharsets.UTF_8
+            ),
+            new IsEqual<>("{\"id\":\"Newtonsoft.Json\"}")
+        );
+    }
+
+    @Test
+    void shouldReadSerializedJson() {
+        final JsonObject json = Json.createObjectBuilder().add("version", "12.0.3").build();
+        MatcherAssert.assertThat(
+            new JsonBytes(new JsonBytes(json).bytes()).json(),
+            new IsEqual<>(json)
+        );
+    }
+}
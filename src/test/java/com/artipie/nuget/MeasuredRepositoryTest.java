@@ -0,0 +1,101 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+
+package com.artipie.nuget;
+
+import com.artipie.asto.ext.PublisherAs;
+import com.artipie.asto.memory.InMemoryStorage;
+import com.artipie.nuget.metadata.PackageId;
+import com.artipie.nuget.metadata.Version;
+import com.artipie.nuget.metrics.MicrometerMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.CompletionException;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link MeasuredRepository}.
+ *
+ * @since 0.8
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
+ */
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+class MeasuredRepositoryTest {
+
+    /**
+     * Meter registry.
+     */
+    private MeterRegistry registry;
+
+    /**
+     * Repository being tested.
+     */
+    private Repository repo;
+
+    @BeforeEach
+    void init() {
+        this.registry = new SimpleMeterRegistry();
+        this.repo = new MeasuredRepository(
+            new AstoRepository(new InMemoryStorage()), new MicrometerMetrics(this.registry)
+        );
+    }
+
+    @Test
+    void shouldMeasureAddAndRead() {
+        final NewtonJsonResource nupkg = new NewtonJsonResource("newtonsoft.json.12.0.3.nupkg");
+        this.repo.add(nupkg.content()).toCompletableFuture().join();
+        final PackageIdentity identity = new PackageIdentity(
+            new PackageId("Newtonsoft.Json"), new Version("12.0.3")
+        );
+        new PublisherAs(
+            this.repo.content(identity.nupkgKey()).toCompletableFuture().join().get()
+        ).bytes().toCompletableFuture().join();
+        this.repo.nuspec(identity).toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            "Should time add",
+            this.registry.timer(
+                "nuget.repository.calls", "method", "add", "outcome", "success"
+            ).count(),
+            new IsEqual<>(1L)
+        );
+        MatcherAssert.assertThat(
+            "Should time nuspec read",
+            this.registry.timer(
+                "nuget.repository.calls", "method", "nuspec", "outcome", "success"
+            ).count(),
+            new IsEqual<>(1L)
+        );
+        MatcherAssert.assertThat(
+            "Should count added bytes",
+            this.registry.counter("nuget.repository.bytes", "direction", "in").count(),
+            new IsEqual<>((double) nupkg.bytes().length)
+        );
+        MatcherAssert.assertThat(
+            "Should count read bytes",
+            this.registry.counter("nuget.repository.bytes", "direction", "out").count(),
+            new IsEqual<>((double) nupkg.bytes().length)
+        );
+    }
+
+    @Test
+    void shouldMeasureFailure() {
+        Assertions.assertThrows(
+            CompletionException.class,
+            () -> this.repo.nuspec(
+                new PackageIdentity(new PackageId("Absent"), new Version("1.0.0"))
+            ).toCompletableFuture().join()
+        );
+        MatcherAssert.assertThat(
+            this.registry.timer(
+                "nuget.repository.calls", "method", "nuspec", "outcome", "failure"
+            ).count(),
+            new IsEqual<>(1L)
+        );
+    }
+}
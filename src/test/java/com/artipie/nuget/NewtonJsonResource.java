@@ -7,11 +7,21 @@ package com.artipie.nuget;
 
 import com.artipie.asto.Content;
 import com.artipie.asto.test.TestResource;
+import com.google.common.io.ByteStreams;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
 
 /**
  * Newton.Json package resource.
  *
  * @since 0.1
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
  */
 public final class NewtonJsonResource {
 
@@ -46,4 +56,62 @@ public final class NewtonJsonResource {
     public byte[] bytes() {
         return new TestResource(String.format("newtonsoft.json/12.0.3/%s", this.name)).asBytes();
     }
+
+    /**
+     * Reads binary data of the same package identity with different content:
+     * package archive with one more entry.
+     *
+     * @return Binary data.
+     */
+    public byte[] changed() {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ZipInputStream src = new ZipInputStream(new ByteArrayInputStream(this.bytes()));
+            ZipOutputStream zip = new ZipOutputStream(out)) {
+            for (ZipEntry entry = src.getNextEntry(); entry != null;
+                entry = src.getNextEntry()) {
+                zip.putNextEntry(new ZipEntry(entry.getName()));
+                ByteStreams.copy(src, zip);
+                zip.closeEntry();
+            }
+            zip.putNextEntry(new ZipEntry("changed.txt"));
+            zip.write("changed".getBytes(StandardCharsets.UTF_8));
+            zip.closeEntry();
+        } catch (final IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Reads binary data of package with another version:
+     * package archive with version replaced in package description.
+     *
+     * @param version Package version.
+     * @return Binary data.
+     */
+    public byte[] versioned(final String version) {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ZipInputStream src = new ZipInputStream(new ByteArrayInputStream(this.bytes()));
+            ZipOutputStream zip = new ZipOutputStream(out)) {
+            for (ZipEntry entry = src.getNextEntry(); entry != null;
+                entry = src.getNextEntry()) {
+                zip.putNextEntry(new ZipEntry(entry.getName()));
+                if (entry.getName().endsWith(".nuspec")) {
+                    zip.write(
+                        new String(ByteStreams.toByteArray(src), StandardCharsets.UTF_8)
+                            .replace(
+                                "<version>12.0.3</version>",
+                                String.format("<version>%s</version>", version)
+                            ).getBytes(StandardCharsets.UTF_8)
+                    );
+                } else {
+                    ByteStreams.copy(src, zip);
+                }
+                zip.closeEntry();
+            }
+        } catch (final IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return out.toByteArray();
+    }
 }
@@ -0,0 +1,177 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+
+package com.artipie.nuget;
+
+import com.artipie.asto.Key;
+import com.artipie.asto.blocking.BlockingStorage;
+import com.artipie.asto.memory.InMemoryStorage;
+import com.artipie.nuget.metadata.Nuspec;
+import com.artipie.nuget.metadata.PackageId;
+import com.artipie.nuget.metadata.Version;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link PackageList}.
+ *
+ * @since 0.8
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
+ */
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+class PackageListTest {
+
+    /**
+     * Storage used in tests.
+     */
+    private InMemoryStorage storage;
+
+    @BeforeEach
+    void init() {
+        this.storage = new InMemoryStorage();
+    }
+
+    @Test
+    void shouldListPackageAddedToRepository() throws Exception {
+        new AstoRepository(this.storage, Workers.SHARED, new PackageList(this.storage)).add(
+            new NewtonJsonResource("newtonsoft.json.12.0.3.nupkg").content()
+        ).toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            this.items(new PackageList(this.storage)),
+            Matchers.contains("Newtonsoft.Json:12.0.3")
+        );
+    }
+
+    @Test
+    void shouldKeepLatestVersionAndModificationTime() {
+        final PackageList list = new PackageList(
+            this.storage, Clock.fixed(Instant.parse("2021-05-01T10:00:00Z"), ZoneOffset.UTC)
+        );
+        list.added(PackageListTest.nuspec("Foo", "2.0.0")).toCompletableFuture().join();
+        new PackageList(
+            this.storage, Clock.fixed(Instant.parse("2021-05-02T10:00:00Z"), ZoneOffset.UTC)
+        ).added(PackageListTest.nuspec("foo", "1.0.0")).toCompletableFuture().join();
+        final List<PackageList.Item> items = list.items().toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            "Should keep latest version",
+            this.items(list),
+            Matchers.contains("Foo:2.0.0")
+        );
+        MatcherAssert.assertThat(
+            "Should keep last modification time",
+            items.get(0).modified(),
+            new IsEqual<>(Instant.parse("2021-05-02T10:00:00Z"))
+        );
+    }
+
+    @Test
+    void shouldMergeChangesIntoSnapshot() {
+        final PackageList list = new PackageList(this.storage);
+        list.added(PackageListTest.nuspec("Bar", "1.0.0")).toCompletableFuture().join();
+        list.added(PackageListTest.nuspec("Foo", "1.0.0")).toCompletableFuture().join();
+        list.merge().toCompletableFuture().join();
+        list.added(PackageListTest.nuspec("Bar", "1.1.0")).toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            "Should keep one change record after merge",
+            new BlockingStorage(this.storage).list(new Key.From(".meta", "added")),
+            Matchers.hasSize(1)
+        );
+        MatcherAssert.assertThat(
+            "Should read packages from snapshot and changes",
+            this.items(list),
+            Matchers.contains("Bar:1.1.0", "Foo:1.0.0")
+        );
+    }
+
+    @Test
+    void shouldMergeWhenThereAreManyChanges() {
+        final PackageList list = new PackageList(this.storage);
+        final int count = 64;
+        for (int num = 0; num < count; num += 1) {
+            list.added(PackageListTest.nuspec(String.format("Pkg%d", num), "1.0.0"))
+                .toCompletableFuture().join();
+        }
+        MatcherAssert.assertThat(
+            "Should remove merged change records",
+            new BlockingStorage(this.storage).list(new Key.From(".meta", "added")),
+            Matchers.empty()
+        );
+        MatcherAssert.assertThat(
+            "Should list all packages",
+            list.items().toCompletableFuture().join(),
+            Matchers.hasSize(count)
+        );
+    }
+
+    @Test
+    void shouldAddWhenChangesCannotBeListed() {
+        new PackageList(new ListFailingStorage(this.storage))
+            .added(PackageListTest.nuspec("Foo", "1.0.0")).toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            this.items(new PackageList(this.storage)),
+            Matchers.contains("Foo:1.0.0")
+        );
+    }
+
+    @Test
+    void shouldKeepChangesWhenRecordCannotBeRead() {
+        final PackageList list = new PackageList(this.storage);
+        list.added(PackageListTest.nuspec("Foo", "1.0.0")).toCompletableFuture().join();
+        final Key broken = new Key.From(".meta", "added", "broken.json");
+        new BlockingStorage(this.storage).save(broken, "{".getBytes(StandardCharsets.UTF_8));
+        MatcherAssert.assertThat(
+            "Should fail merge",
+            list.merge().toCompletableFuture().handle((nothing, err) -> err != null).join(),
+            new IsEqual<>(true)
+        );
+        MatcherAssert.assertThat(
+            "Should keep change records",
+            new BlockingStorage(this.storage).list(new Key.From(".meta", "added")),
+            Matchers.hasSize(2)
+        );
+    }
+
+    @Test
+    void shouldReplaceRepairedPackages() {
+        final PackageList list = new PackageList(this.storage);
+        list.added(PackageListTest.nuspec("Bar", "2.0.0")).toCompletableFuture().join();
+        list.added(PackageListTest.nuspec("Foo", "1.0.0")).toCompletableFuture().join();
+        list.repaired(new PackageId("bar"), Optional.of(new Version("1.0.0")))
+            .toCompletableFuture().join();
+        list.repaired(new PackageId("foo"), Optional.empty()).toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            this.items(list),
+            Matchers.contains("Bar:1.0.0")
+        );
+    }
+
+    private List<String> items(final PackageList list) {
+        return list.items().toCompletableFuture().join().stream()
+            .map(item -> String.format("%s:%s", item.id().raw(), item.version().normalized()))
+            .collect(Collectors.toList());
+    }
+
+    private static Nuspec nuspec(final String id, final String version) {
+        return new Nuspec.Xml(
+            String.join(
+                "",
+                "<?xml version=\"1.0\"?><package><metadata>",
+                String.format("<id>%s</id><version>%s</version>", id, version),
+                "<description>Test</description><authors>Artipie</authors>",
+                "</metadata></package>"
+            ).getBytes(StandardCharsets.UTF_8)
+        );
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+
+package com.artipie.nuget;
+
+import com.artipie.nuget.metadata.Nuspec;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link PackageListeners}.
+ *
+ * @since 0.8
+ */
+class PackageListenersTest {
+
+    @Test
+    void shouldNotifyListenersInOrder() {
+        final List<String> calls = new ArrayList<>(2);
+        new PackageListeners(
+            nuspec -> {
+                calls.add(String.format("first:%s", nuspec.id().raw()));
+                return CompletableFuture.allOf();
+            },
+            nuspec -> {
+                calls.add(String.format("second:%s", nuspec.id().raw()));
+                return CompletableFuture.allOf();
+            }
+        ).added(
+            new Nuspec.Xml(
+                String.join(
+                    "",
+                    "<?xml version=\"1.0\"?><package><metadata>",
+                    "<id>Foo</id><version>1.0.0</version>",
+                    "<description>Test</description><authors>Artipie</authors>",
+                    "</metadata></package>"
+                ).getBytes(StandardCharsets.UTF_8)
+            )
+        ).toCompletableFuture().join();
+        MatcherAssert.assertThat(calls, Matchers.contains("first:Foo", "second:Foo"));
+    }
+}
@@ -0,0 +1,223 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+
+package com.artipie.nuget;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Storage;
+import com.artipie.asto.blocking.BlockingStorage;
+import com.artipie.asto.memory.InMemoryStorage;
+import com.artipie.nuget.metadata.Nuspec;
+import com.artipie.nuget.metadata.NuspecField;
+import com.artipie.nuget.metadata.PackageId;
+import com.artipie.nuget.metadata.Version;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link Repair}.
+ *
+ * @since 0.8
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
+ */
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+class RepairTest {
+
+    /**
+     * Storage used in tests.
+     */
+    private Storage storage;
+
+    /**
+     * Identity of stored package.
+     */
+    private PackageIdentity identity;
+
+    @BeforeEach
+    void init() {
+        this.storage = new InMemoryStorage();
+        new AstoRepository(this.storage)
+            .add(new NewtonJsonResource("newtonsoft.json.12.0.3.nupkg").content())
+            .toCompletableFuture().join();
+        this.identity = new PackageIdentity(
+            new PackageId("Newtonsoft.Json"), new Version("12.0.3")
+        );
+    }
+
+    @Test
+    void shouldNotChangeConsistentRepository() {
+        final List<Repair.Status> progress = new ArrayList<>(1);
+        final Repair.Status status = new Repair(this.storage).run(progress::add)
+            .toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            "Should check all versions",
+            status.checked(),
+            new IsEqual<>(1)
+        );
+        MatcherAssert.assertThat(
+            "Should not repair anything",
+            status.repaired() + status.broken() + status.indexes(),
+            new IsEqual<>(0)
+        );
+        MatcherAssert.assertThat(
+            "Should report progress",
+            progress.size(),
+            new IsEqual<>(1)
+        );
+    }
+
+    @Test
+    void shouldRegenerateFiles() {
+        final BlockingStorage blocking = new BlockingStorage(this.storage);
+        final byte[] nuspec = blocking.value(this.identity.nuspecKey());
+        final byte[] hash = blocking.value(this.identity.hashKey());
+        blocking.delete(this.identity.nuspecKey());
+        blocking.save(this.identity.hashKey(), "wrong".getBytes(StandardCharsets.US_ASCII));
+        blocking.delete(new PackageKeys("newtonsoft.json").versionsKey());
+        final Repair.Status status = new Repair(this.storage).run(progress -> { })
+            .toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            "Should regenerate nuspec and hash",
+            status.repaired(),
+            new IsEqual<>(2)
+        );
+        MatcherAssert.assertThat(
+            "Should regenerate versions",
+            status.indexes(),
+            new IsEqual<>(1)
+        );
+        MatcherAssert.assertThat(
+            "Should restore nuspec",
+            blocking.value(this.identity.nuspecKey()),
+            new IsEqual<>(nuspec)
+        );
+        MatcherAssert.assertThat(
+            "Should restore hash",
+            blocking.value(this.identity.hashKey()),
+            new IsEqual<>(hash)
+        );
+        MatcherAssert.assertThat(
+            "Should restore versions",
+            this.versions(),
+            Matchers.contains("12.0.3")
+        );
+    }
+
+    @Test
+    void shouldRemoveBrokenVersionFromIndex() {
+        final PackageIdentity broken = new PackageIdentity(
+            new PackageId("Newtonsoft.Json"), new Version("13.0.1")
+        );
+        this.storage.save(broken.nuspecKey(), new Content.From(new byte[]{1})).join();
+        new Versions().add(new Version("12.0.3")).add(new Version("13.0.1"))
+            .save(this.storage, new PackageKeys("newtonsoft.json").versionsKey()).join();
+        final Repair.Status status = new Repair(this.storage).run(progress -> { })
+            .toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            "Should report broken version",
+            status.broken(),
+            new IsEqual<>(1)
+        );
+        MatcherAssert.assertThat(
+            "Should keep only valid versions in index",
+            this.versions(),
+            Matchers.contains("12.0.3")
+        );
+    }
+
+    @Test
+    void shouldKeepVersionPublishedDuringRepair() {
+        final PackageIdentity added = new PackageIdentity(
+            new PackageId("Newtonsoft.Json"), new Version("13.0.1")
+        );
+        new Repair(this.storage).run(
+            progress -> {
+                this.storage.save(added.nupkgKey(), new Content.From(new byte[]{1})).join();
+                new Versions().add(new Version("12.0.3")).add(new Version("13.0.1"))
+                    .save(this.storage, new PackageKeys("newtonsoft.json").versionsKey())
+                    .join();
+            }
+        ).toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            this.versions(),
+            Matchers.contains("12.0.3", "13.0.1")
+        );
+    }
+
+    @Test
+    void shouldRepairPackagesFromPackageList() {
+        final PackageIdentity broken = new PackageIdentity(
+            new PackageId("Newtonsoft.Json"), new Version("13.0.1")
+        );
+        this.storage.save(broken.nuspecKey(), new Content.From(new byte[]{1})).join();
+        new Versions().add(new Version("12.0.3")).add(new Version("13.0.1"))
+            .save(this.storage, new PackageKeys("newtonsoft.json").versionsKey()).join();
+        final PackageList list = new PackageList(this.storage);
+        list.added(
+            new Nuspec.Xml(
+                String.join(
+                    "",
+                    "<?xml version=\"1.0\"?><package><metadata>",
+                    "<id>Newtonsoft.Json</id><version>13.0.1</version>",
+                    "<description>Test</description><authors>Artipie</authors>",
+                    "</metadata></package>"
+                ).getBytes(StandardCharsets.UTF_8)
+            )
+        ).toCompletableFuture().join();
+        final List<String> replayed = new ArrayList<>(1);
+        final Repair.Status status = new Repair(
+            this.storage, Workers.SHARED, list,
+            nuspec -> {
+                replayed.add(nuspec.version().normalized());
+                return CompletableFuture.allOf();
+            }
+        ).run(progress -> { }).toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            "Should check versions of listed package",
+            status.checked(),
+            new IsEqual<>(2)
+        );
+        MatcherAssert.assertThat(
+            "Should replace broken latest version in package list",
+            list.items().toCompletableFuture().join().stream()
+                .map(item -> item.version().normalized())
+                .collect(Collectors.toList()),
+            Matchers.contains("12.0.3")
+        );
+        MatcherAssert.assertThat(
+            "Should replay valid versions of repaired package",
+            replayed,
+            Matchers.contains("12.0.3")
+        );
+    }
+
+    @Test
+    void shouldNotReplayConsistentPackages() {
+        final List<String> replayed = new ArrayList<>(0);
+        new Repair(
+            this.storage, Workers.SHARED,
+            nuspec -> {
+                replayed.add(nuspec.version().normalized());
+                return CompletableFuture.allOf();
+            }
+        ).run(progress -> { }).toCompletableFuture().join();
+        MatcherAssert.assertThat(replayed, Matchers.empty());
+    }
+
+    private List<String> versions() {
+        return new AstoRepository(this.storage).versions(new PackageKeys("newtonsoft.json"))
+            .toCompletableFuture().join().all().stream()
+            .map(NuspecField::normalized)
+            .collect(Collectors.toList());
+    }
+}
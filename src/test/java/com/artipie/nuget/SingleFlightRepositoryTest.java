@@ -0,0 +1,185 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+
+package com.artipie.nuget;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.nuget.metadata.Nuspec;
+import com.artipie.nuget.metadata.PackageId;
+import com.artipie.nuget.metadata.Version;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.core.IsEqual;
+import org.hamcrest.core.IsSame;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link SingleFlightRepository}.
+ *
+ * @since 0.8
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
+ */
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+class SingleFlightRepositoryTest {
+
+    /**
+     * Origin repository.
+     */
+    private Gated origin;
+
+    /**
+     * Repository being tested.
+     */
+    private Repository repo;
+
+    @BeforeEach
+    void init() {
+        this.origin = new Gated();
+        this.repo = new SingleFlightRepository(this.origin);
+    }
+
+    @Test
+    void shouldShareConcurrentVersionsRead() {
+        final PackageKeys id = new PackageKeys("Foo");
+        final CompletableFuture<Versions> first = this.repo.versions(id).toCompletableFuture();
+        final CompletableFuture<Versions> second = this.repo.versions(new PackageKeys("foo"))
+            .toCompletableFuture();
+        final Versions versions = new Versions();
+        this.origin.lists.complete(versions);
+        MatcherAssert.assertThat(
+            "Should read origin once",
+            this.origin.calls.get(),
+            new IsEqual<>(1)
+        );
+        MatcherAssert.assertThat(
+            "Should share result",
+            second.join(),
+            new IsSame<>(first.join())
+        );
+    }
+
+    @Test
+    void shouldReadAgainAfterCompletion() {
+        this.origin.lists.complete(new Versions());
+        this.repo.versions(new PackageKeys("Foo")).toCompletableFuture().join();
+        this.repo.versions(new PackageKeys("Foo")).toCompletableFuture().join();
+        MatcherAssert.assertThat(this.origin.calls.get(), new IsEqual<>(2));
+    }
+
+    @Test
+    void shouldShareFailureAndRetry() {
+        final PackageIdentity identity = new PackageIdentity(
+            new PackageId("Foo"), new Version("1.0.0")
+        );
+        final CompletableFuture<Nuspec> first = this.repo.nuspec(identity).toCompletableFuture();
+        final CompletableFuture<Nuspec> second = this.repo.nuspec(identity).toCompletableFuture();
+        this.origin.specs.completeExceptionally(new IllegalArgumentException("absent"));
+        Assertions.assertThrows(CompletionException.class, first::join);
+        Assertions.assertThrows(CompletionException.class, second::join);
+        this.repo.nuspec(identity);
+        MatcherAssert.assertThat(this.origin.calls.get(), new IsEqual<>(2));
+    }
+
+    @Test
+    void shouldReadContentAgainForWaitingCallers() {
+        final Key key = new Key.From("foo/1.0.0/foo.1.0.0.nupkg");
+        final CompletableFuture<Optional<Content>> first = this.repo.content(key)
+            .toCompletableFuture();
+        final CompletableFuture<Optional<Content>> second = this.repo.content(key)
+            .toCompletableFuture();
+        MatcherAssert.assertThat(
+            "Should wait for first read",
+            this.origin.calls.get(),
+            new IsEqual<>(1)
+        );
+        this.origin.contents.complete(Optional.of(new Content.From(new byte[0])));
+        first.join();
+        second.join();
+        MatcherAssert.assertThat(
+            "Should read content again for waiting caller",
+            this.origin.calls.get(),
+            new IsEqual<>(2)
+        );
+    }
+
+    @Test
+    void shouldNotReadAbsentContentAgain() {
+        final Key key = new Key.From("foo/1.0.0/foo.1.0.0.nupkg");
+        final CompletableFuture<Optional<Content>> first = this.repo.content(key)
+            .toCompletableFuture();
+        final CompletableFuture<Optional<Content>> second = this.repo.content(key)
+            .toCompletableFuture();
+        this.origin.contents.complete(Optional.empty());
+        first.join();
+        MatcherAssert.assertThat(
+            "Should not find content",
+            second.join().isPresent(),
+            new IsEqual<>(false)
+        );
+        MatcherAssert.assertThat(
+            "Should read origin once",
+            this.origin.calls.get(),
+            new IsEqual<>(1)
+        );
+    }
+
+    /**
+     * Repository counting reads and completing them by test command.
+     *
+     * @since 0.8
+     */
+    private static final class Gated implements Repository {
+
+        /**
+         * Number of reads.
+         */
+        private final AtomicInteger calls = new AtomicInteger();
+
+        /**
+         * Content result.
+         */
+        private final CompletableFuture<Optional<Content>> contents = new CompletableFuture<>();
+
+        /**
+         * Versions result.
+         */
+        private final CompletableFuture<Versions> lists = new CompletableFuture<>();
+
+        /**
+         * Package description result.
+         */
+        private final CompletableFuture<Nuspec> specs = new CompletableFuture<>();
+
+        @Override
+        public CompletionStage<Optional<Content>> content(final Key key) {
+            this.calls.incrementAndGet();
+            return this.contents;
+        }
+
+        @Override
+        public CompletionStage<Void> add(final Content content) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public CompletionStage<Versions> versions(final PackageKeys id) {
+            this.calls.incrementAndGet();
+            return this.lists.thenApply(versions -> versions);
+        }
+
+        @Override
+        public CompletionStage<Nuspec> nuspec(final PackageIdentity identity) {
+            this.calls.incrementAndGet();
+            return this.specs.thenApply(nuspec -> nuspec);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+
+package com.artipie.nuget;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.asto.memory.InMemoryStorage;
+import com.artipie.nuget.metadata.Nuspec;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link StoredPackages}.
+ *
+ * @since 0.8
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
+ */
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+class StoredPackagesTest {
+
+    @Test
+    void shouldReplayStoredNuspecs() throws Exception {
+        final InMemoryStorage storage = new InMemoryStorage();
+        new AstoRepository(storage).add(
+            new Content.From(new NewtonJsonResource("newtonsoft.json.12.0.3.nupkg").bytes())
+        ).toCompletableFuture().join();
+        storage.save(
+            new Key.From("other", "1.0", "readme.nuspec"),
+            new Content.From(new byte[0])
+        ).join();
+        final List<String> replayed = new CopyOnWriteArrayList<>();
+        new StoredPackages(storage).replay(
+            (Nuspec nuspec) -> {
+                replayed.add(nuspec.version().normalized());
+                return CompletableFuture.allOf();
+            }
+        ).toCompletableFuture().join();
+        MatcherAssert.assertThat(replayed, Matchers.contains("12.0.3"));
+    }
+
+    @Test
+    void shouldReplayPackagesFromPackageList() throws Exception {
+        final InMemoryStorage storage = new InMemoryStorage();
+        final PackageList list = new PackageList(storage);
+        new AstoRepository(storage, Workers.SHARED, list).add(
+            new Content.From(new NewtonJsonResource("newtonsoft.json.12.0.3.nupkg").bytes())
+        ).toCompletableFuture().join();
+        storage.save(
+            new Key.From("other", "1.0", "other.nuspec"),
+            new Content.From(new byte[0])
+        ).join();
+        final List<String> replayed = new CopyOnWriteArrayList<>();
+        new StoredPackages(storage, Workers.SHARED, list).replay(
+            (Nuspec nuspec) -> {
+                replayed.add(nuspec.version().normalized());
+                return CompletableFuture.allOf();
+            }
+        ).toCompletableFuture().join();
+        MatcherAssert.assertThat(replayed, Matchers.contains("12.0.3"));
+    }
+}
@@ -0,0 +1,37 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+
+package com.artipie.nuget;
+
+import com.artipie.asto.memory.InMemoryStorage;
+import com.artipie.nuget.metrics.Stages;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link TimedRepository}.
+ *
+ * @since 0.8
+ */
+class TimedRepositoryTest {
+
+    @Test
+    void shouldRecordAddingStages() throws Exception {
+        final Stages stages = new Stages();
+        new TimedRepository(new AstoRepository(new InMemoryStorage()), stages).add(
+            new NewtonJsonResource("newtonsoft.json.12.0.3.nupkg").content()
+        ).toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            stages.header(),
+            Matchers.allOf(
+                Matchers.startsWith("save;dur="),
+                Matchers.containsString("lock;dur="),
+                Matchers.containsString("hash;dur="),
+                Matchers.containsString("add;dur=")
+            )
+        );
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+
+package com.artipie.nuget;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.asto.Storage;
+import com.artipie.asto.blocking.BlockingStorage;
+import com.artipie.asto.memory.InMemoryStorage;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.hamcrest.collection.IsEmptyCollection;
+import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link Uploads}.
+ *
+ * @since 0.8
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+class UploadsTest {
+
+    /**
+     * Storage used in tests.
+     */
+    private Storage storage;
+
+    @BeforeEach
+    void init() {
+        this.storage = new InMemoryStorage();
+    }
+
+    @Test
+    void shouldDeleteStagedUploadOnFailure() {
+        Assertions.assertThrows(
+            CompletionException.class,
+            () -> new Uploads(this.storage).<Void>staged(
+                new Content.From("failed".getBytes()),
+                key -> {
+                    throw new IllegalStateException("Processing failed");
+                }
+            ).toCompletableFuture().join()
+        );
+        MatcherAssert.assertThat(
+            new BlockingStorage(this.storage).list(Key.ROOT),
+            new IsEmptyCollection<>()
+        );
+    }
+
+    @Test
+    void shouldPassStagedUpload() {
+        final Key target = new Key.From("target");
+        new Uploads(this.storage).staged(
+            new Content.From("data".getBytes()),
+            key -> this.storage.move(key, target)
+        ).toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            new BlockingStorage(this.storage).list(Key.ROOT),
+            Matchers.contains(target)
+        );
+    }
+
+    @Test
+    void shouldSweepStaleUploads() {
+        final Instant now = Instant.parse("2021-05-01T12:00:00Z");
+        final Key stale = new Uploads(
+            this.storage, Clock.fixed(now.minus(Duration.ofHours(2)), ZoneOffset.UTC)
+        ).key();
+        final Key fresh = new Uploads(
+            this.storage, Clock.fixed(now.minus(Duration.ofMinutes(1)), ZoneOffset.UTC)
+        ).key();
+        final Key unknown = new Key.From(".upload", "unknown");
+        CompletableFuture.allOf(
+            this.storage.save(stale, new Content.From(new byte[0])),
+            this.storage.save(fresh, new Content.From(new byte[0])),
+            this.storage.save(unknown, new Content.From(new byte[0]))
+        ).join();
+        MatcherAssert.assertThat(
+            "Should delete stale uploads",
+            new Uploads(this.storage, Clock.fixed(now, ZoneOffset.UTC))
+                .sweep(Duration.ofHours(1)).toCompletableFuture().join(),
+            new IsEqual<>(2)
+        );
+        MatcherAssert.assertThat(
+            "Should keep fresh upload",
+            new BlockingStorage(this.storage).list(Key.ROOT),
+            Matchers.contains(fresh)
+        );
+    }
+
+    @Test
+    void shouldKeepScheduleAfterFailedSweep() throws Exception {
+        final ScheduledExecutorService exec = Executors.newSingleThreadScheduledExecutor();
+        try {
+            final ScheduledFuture<?> task = new Uploads(new ListFailingStorage(this.storage))
+                .schedule(exec, Duration.ofHours(1), Duration.ofMillis(1));
+            Thread.sleep(100L);
+            MatcherAssert.assertThat(task.isDone(), new IsEqual<>(false));
+        } finally {
+            exec.shutdownNow();
+        }
+    }
+}
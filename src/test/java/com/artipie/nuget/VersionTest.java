@@ -111,6 +111,21 @@ class VersionTest {
         Assertions.assertThrows(RuntimeException.class, version::normalized);
     }
 
+    @ParameterizedTest
+    @CsvSource({
+        "1.0,false",
+        "1.0.0.1,false",
+        "2.0.0+build.1848,false",
+        "1.0.0-alpha,true",
+        "1.0.0-rc.1+build.1,true"
+    })
+    void shouldDetectPrerelease(final String version, final boolean prerelease) {
+        MatcherAssert.assertThat(
+            new Version(version).isPrerelease(),
+            Matchers.equalTo(prerelease)
+        );
+    }
+
     @ParameterizedTest
     @MethodSource("pairs")
     void shouldBeLessThenGreater(final String lesser, final String greater) {
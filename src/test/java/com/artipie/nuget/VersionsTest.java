@@ -33,6 +33,7 @@ import org.junit.jupiter.api.Test;
  * @since 0.1
  * @checkstyle ClassDataAbstractionCouplingCheck (2 lines)
  */
+@SuppressWarnings({"PMD.AvoidDuplicateLiterals", "PMD.TooManyMethods"})
 class VersionsTest {
 
     /**
@@ -65,6 +66,14 @@ class VersionsTest {
         );
     }
 
+    @Test
+    void shouldNotAddPresentVersion() throws Exception {
+        MatcherAssert.assertThat(
+            this.addVersionTo("{\"versions\":[\"1.0.0\"]}", new Version("1.0.0")),
+            Matchers.equalTo(Collections.singletonList("1.0.0"))
+        );
+    }
+
     @Test
     void shouldGetAllVersionsWhenEmpty() {
         final Versions versions = new Versions(
@@ -84,6 +93,29 @@ class VersionsTest {
         );
     }
 
+    @Test
+    void shouldMergeVersions() {
+        final Versions versions = new Versions(
+            ByteSource.wrap("{ \"versions\":[\"0.9.0\",\"2.0.0\"] }".getBytes())
+        ).merge(
+            new Versions(ByteSource.wrap("{ \"versions\":[\"2.0.0\",\"1.5.0\"] }".getBytes()))
+        );
+        MatcherAssert.assertThat(
+            versions.all().stream().map(NuspecField::normalized).collect(Collectors.toList()),
+            new IsEqual<>(Arrays.asList("0.9.0", "1.5.0", "2.0.0"))
+        );
+    }
+
+    @Test
+    void shouldCreateFromVersionsOnce() {
+        MatcherAssert.assertThat(
+            new Versions(
+                Arrays.asList(new Version("2.0.0"), new Version("1.0.0"), new Version("2.0.0"))
+            ).all().stream().map(NuspecField::normalized).collect(Collectors.toList()),
+            new IsEqual<>(Arrays.asList("1.0.0", "2.0.0"))
+        );
+    }
+
     @Test
     void shouldSave() {
         final Key.From key = new Key.From("foo");
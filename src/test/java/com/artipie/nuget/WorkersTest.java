@@ -0,0 +1,97 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+
+package com.artipie.nuget;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.core.StringStartsWith;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link Workers}.
+ *
+ * @since 0.8
+ */
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+class WorkersTest {
+
+    @Test
+    void runsTasksInNamedThreads() {
+        final Workers workers = new Workers.Bounded(1, 1, 1);
+        MatcherAssert.assertThat(
+            CompletableFuture.supplyAsync(
+                () -> Thread.currentThread().getName(),
+                workers.parsing()
+            ).join(),
+            new StringStartsWith("nuget-parsing-")
+        );
+        MatcherAssert.assertThat(
+            CompletableFuture.supplyAsync(
+                () -> Thread.currentThread().getName(),
+                workers.hashing()
+            ).join(),
+            new StringStartsWith("nuget-hashing-")
+        );
+    }
+
+    @Test
+    void neverRunsParsingOrHashingTaskInCallerThread() {
+        final Workers workers = new Workers.Bounded(1, 1, 1);
+        MatcherAssert.assertThat(
+            "Parsing task should not be executed by caller when pool is saturated",
+            WorkersTest.saturated(workers.parsing()).join(),
+            new StringStartsWith("nuget-parsing-")
+        );
+        MatcherAssert.assertThat(
+            "Hashing task should not be executed by caller when pool is saturated",
+            WorkersTest.saturated(workers.hashing()).join(),
+            new StringStartsWith("nuget-hashing-")
+        );
+    }
+
+    @Test
+    void neverRunsBlockingTaskInCallerThread() throws Exception {
+        final Workers workers = new Workers.Bounded(1, 1, 1);
+        final CountDownLatch latch = new CountDownLatch(1);
+        workers.blocking().execute(() -> WorkersTest.await(latch));
+        final int queue = 2048;
+        for (int num = 0; num < queue; num += 1) {
+            workers.blocking().execute(() -> { });
+        }
+        final CompletableFuture<String> name = CompletableFuture.supplyAsync(
+            () -> Thread.currentThread().getName(), workers.blocking()
+        );
+        latch.countDown();
+        MatcherAssert.assertThat(
+            name.join(),
+            new StringStartsWith("nuget-io-")
+        );
+    }
+
+    private static CompletableFuture<String> saturated(final Executor exec) {
+        final CountDownLatch latch = new CountDownLatch(1);
+        exec.execute(() -> WorkersTest.await(latch));
+        final int queue = 2048;
+        for (int num = 0; num < queue; num += 1) {
+            exec.execute(() -> { });
+        }
+        final CompletableFuture<String> name = CompletableFuture.supplyAsync(
+            () -> Thread.currentThread().getName(), exec
+        );
+        latch.countDown();
+        return name;
+    }
+
+    private static void await(final CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,222 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+
+package com.artipie.nuget.catalog;
+
+import com.artipie.asto.Key;
+import com.artipie.asto.Storage;
+import com.artipie.asto.memory.InMemoryStorage;
+import com.artipie.nuget.metadata.Nuspec;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.stream.Collectors;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link Catalog}.
+ *
+ * @since 0.8
+ */
+@SuppressWarnings({"PMD.AvoidDuplicateLiterals", "PMD.TooManyMethods"})
+class CatalogTest {
+
+    /**
+     * Catalog being tested, sealing pages of two items.
+     */
+    private Catalog catalog;
+
+    @BeforeEach
+    void init() {
+        this.catalog = new Catalog(new InMemoryStorage(), new Ticking(Duration.ofHours(1)), 2);
+    }
+
+    @Test
+    void shouldCommitLeaf() {
+        this.add("Foo", "1.0.0");
+        final List<CatalogItem> items = this.catalog.page(0).toCompletableFuture().join().get();
+        MatcherAssert.assertThat(
+            "Should add item to open page",
+            items.stream().map(CatalogItem::packageId).collect(Collectors.toList()),
+            Matchers.contains("Foo")
+        );
+        MatcherAssert.assertThat(
+            "Should write leaf",
+            this.catalog.leaf(items.get(0).leaf()).toCompletableFuture().join()
+                .get().getString("version"),
+            new IsEqual<>("1.0.0")
+        );
+    }
+
+    @Test
+    void shouldSealPages() {
+        this.add("Foo", "1.0.0");
+        this.add("Foo", "2.0.0");
+        this.add("Bar", "1.0.0");
+        this.add("Baz", "1.0.0");
+        this.add("Qux", "1.0.0");
+        final List<CatalogPage> pages = this.catalog.pages().toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            "Should seal full pages and keep open one",
+            pages.stream().map(CatalogPage::count).collect(Collectors.toList()),
+            Matchers.contains(2, 2, 1)
+        );
+        MatcherAssert.assertThat(
+            "Should keep items order in sealed page",
+            this.versions(this.catalog.page(0).toCompletableFuture().join().get()),
+            Matchers.contains("Foo:1.0.0", "Foo:2.0.0")
+        );
+    }
+
+    @Test
+    void shouldReadItemsAfterCursor() {
+        this.add("Foo", "1.0.0");
+        this.add("Bar", "1.0.0");
+        this.add("Baz", "1.0.0");
+        final Instant cursor = this.catalog.page(1).toCompletableFuture().join()
+            .get().get(0).time();
+        this.add("Qux", "1.0.0");
+        MatcherAssert.assertThat(
+            this.versions(this.catalog.after(cursor).toCompletableFuture().join()),
+            Matchers.contains("Qux:1.0.0")
+        );
+    }
+
+    @Test
+    void shouldCommitInIncreasingTimeOrderWhenClockStands() {
+        final Catalog still = new Catalog(new InMemoryStorage(), new Ticking(Duration.ZERO), 2);
+        CatalogTest.add(still, "Foo", "1.0.0");
+        CatalogTest.add(still, "Foo", "2.0.0");
+        CatalogTest.add(still, "Bar", "1.0.0");
+        final List<CatalogItem> items = still.after(Instant.EPOCH).toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            "Should show committed items",
+            this.versions(items),
+            Matchers.contains("Foo:1.0.0", "Foo:2.0.0", "Bar:1.0.0")
+        );
+        MatcherAssert.assertThat(
+            "Should commit items with increasing time",
+            items.get(2).time().isAfter(items.get(1).time())
+                && items.get(1).time().isAfter(items.get(0).time()),
+            new IsEqual<>(true)
+        );
+    }
+
+    @Test
+    void shouldRetryCommitWhenLockIsHeld() {
+        final Storage storage = new InMemoryStorage();
+        final Catalog locked = new Catalog(storage, new Ticking(Duration.ZERO), 2);
+        final CompletableFuture<Void> release = new CompletableFuture<>();
+        final CompletableFuture<Void> held = new CompletableFuture<>();
+        final CompletionStage<Void> lock = storage.exclusively(
+            new Key.From(".catalog/index.json"),
+            target -> {
+                held.complete(null);
+                return release;
+            }
+        );
+        held.join();
+        final CompletionStage<Void> added = CatalogTest.added(locked, "Foo", "1.0.0");
+        release.complete(null);
+        lock.toCompletableFuture().join();
+        added.toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            this.versions(locked.after(Instant.EPOCH).toCompletableFuture().join()),
+            Matchers.contains("Foo:1.0.0")
+        );
+    }
+
+    @Test
+    void shouldNotFindAbsentPage() {
+        MatcherAssert.assertThat(
+            this.catalog.page(1).toCompletableFuture().join().isPresent(),
+            new IsEqual<>(false)
+        );
+    }
+
+    private List<String> versions(final List<CatalogItem> items) {
+        return items.stream()
+            .map(item -> String.format("%s:%s", item.packageId(), item.packageVersion()))
+            .collect(Collectors.toList());
+    }
+
+    private void add(final String id, final String version) {
+        CatalogTest.add(this.catalog, id, version);
+    }
+
+    private static void add(final Catalog target, final String id, final String version) {
+        CatalogTest.added(target, id, version).toCompletableFuture().join();
+    }
+
+    private static CompletionStage<Void> added(
+        final Catalog target, final String id, final String version
+    ) {
+        return target.added(
+            new Nuspec.Xml(
+                String.join(
+                    "",
+                    "<?xml version=\"1.0\"?><package><metadata>",
+                    String.format("<id>%s</id><version>%s</version>", id, version),
+                    "<description>Test</description><authors>Artipie</authors>",
+                    "</metadata></package>"
+                ).getBytes(StandardCharsets.UTF_8)
+            )
+        );
+    }
+
+    /**
+     * Clock moving forward by step on every call.
+     *
+     * @since 0.8
+     */
+    private static final class Ticking extends Clock {
+
+        /**
+         * Step of every call.
+         */
+        private final Duration step;
+
+        /**
+         * Current time.
+         */
+        private Instant now;
+
+        /**
+         * Ctor.
+         *
+         * @param step Step of every call.
+         */
+        Ticking(final Duration step) {
+            this.step = step;
+            this.now = Instant.parse("2021-05-01T00:00:00Z");
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(final ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            this.now = this.now.plus(this.step);
+            return this.now;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+package com.artipie.nuget.http;
+
+import com.artipie.http.Headers;
+import com.artipie.http.hm.RsHasBody;
+import com.artipie.http.hm.RsHasHeaders;
+import com.artipie.http.hm.RsHasStatus;
+import com.artipie.http.rs.RsStatus;
+import java.nio.charset.StandardCharsets;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link Compression}.
+ *
+ * @since 0.8
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+class CompressionTest {
+
+    /**
+     * Document name.
+     */
+    private static final String NAME = "/registrations/newtonsoft.json";
+
+    @Test
+    void shouldSendEncodedDocument() {
+        final byte[] document = CompressionTest.document("12.0.3");
+        MatcherAssert.assertThat(
+            new Compression().response(
+                new Headers.From("Accept-Encoding", "gzip, deflate"),
+                CompressionTest.NAME,
+                document
+            ),
+            Matchers.allOf(
+                new RsHasStatus(RsStatus.OK),
+                new RsHasHeaders(
+                    new Headers.From(
+                        new Headers.From("Vary", "Accept-Encoding"),
+                        "Content-Encoding", "gzip"
+                    )
+                ),
+                new RsHasBody(Encoding.GZIP.encode(document))
+            )
+        );
+    }
+
+    @Test
+    void shouldSendDocumentAsIsWhenEncodingNotAccepted() {
+        final byte[] document = CompressionTest.document("12.0.3");
+        MatcherAssert.assertThat(
+            new Compression().response(Headers.EMPTY, CompressionTest.NAME, document),
+            Matchers.allOf(
+                new RsHasHeaders(new Headers.From("Vary", "Accept-Encoding")),
+                new RsHasBody(document)
+            )
+        );
+    }
+
+    @Test
+    void shouldSendSmallDocumentAsIs() {
+        final byte[] document = "{}".getBytes(StandardCharsets.UTF_8);
+        MatcherAssert.assertThat(
+            new Compression().response(
+                new Headers.From("Accept-Encoding", "gzip"), CompressionTest.NAME, document
+            ),
+            Matchers.allOf(
+                new RsHasHeaders(new Headers.From("Vary", "Accept-Encoding")),
+                new RsHasBody(document)
+            )
+        );
+    }
+
+    @Test
+    void shouldEncodeChangedDocumentAgain() {
+        final Compression compression = new Compression();
+        final Headers headers = new Headers.From("Accept-Encoding", "deflate");
+        compression.response(headers, CompressionTest.NAME, CompressionTest.document("12.0.3"));
+        final byte[] changed = CompressionTest.document("13.0.1");
+        MatcherAssert.assertThat(
+            compression.response(headers, CompressionTest.NAME, changed),
+            new RsHasBody(Encoding.DEFLATE.encode(changed))
+        );
+    }
+
+    /**
+     * Compressible registration-like document.
+     *
+     * @param version Latest package version.
+     * @return Document bytes.
+     */
+    private static byte[] document(final String version) {
+        final StringBuilder json = new StringBuilder("{\"items\":[");
+        for (int idx = 0; idx < 20; idx += 1) {
+            json.append(
+                String.format("{\"@type\":\"Package\",\"version\":\"1.0.%d\"},", idx)
+            );
+        }
+        json.append(String.format("{\"@type\":\"Package\",\"version\":\"%s\"}]}", version));
+        return json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
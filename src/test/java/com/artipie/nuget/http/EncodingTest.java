@@ -0,0 +1,89 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+package com.artipie.nuget.http;
+
+import com.artipie.http.Headers;
+import com.google.common.io.ByteStreams;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+/**
+ * Tests for {@link Encoding}.
+ *
+ * @since 0.8
+ */
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+class EncodingTest {
+
+    @ParameterizedTest
+    @CsvSource({
+        "gzip,gzip",
+        "'deflate, gzip',gzip",
+        "'gzip;q=0.5, deflate',deflate",
+        "'GZIP ; Q=1',gzip",
+        "*,gzip",
+        "'*, gzip;q=0',deflate",
+        "'br, deflate;q=0.1',deflate"
+    })
+    void shouldNegotiateEncoding(final String accept, final String expected) {
+        MatcherAssert.assertThat(
+            Encoding.accepted(new Headers.From("Accept-Encoding", accept)).map(Encoding::coding),
+            new IsEqual<>(Optional.of(expected))
+        );
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+        "identity",
+        "br",
+        "'gzip;q=0, deflate;q=0'",
+        "'*;q=0'",
+        "gzip;q=x"
+    })
+    void shouldNotEncodeWhenNotAccepted(final String accept) {
+        MatcherAssert.assertThat(
+            Encoding.accepted(new Headers.From("Accept-Encoding", accept)),
+            new IsEqual<>(Optional.empty())
+        );
+    }
+
+    @Test
+    void shouldNotEncodeWithoutHeader() {
+        MatcherAssert.assertThat(
+            Encoding.accepted(Headers.EMPTY),
+            new IsEqual<>(Optional.empty())
+        );
+    }
+
+    @Test
+    void shouldEncodeGzip() throws Exception {
+        final byte[] data = "{\"versions\":[\"1.0.0\"]}".getBytes(StandardCharsets.UTF_8);
+        MatcherAssert.assertThat(
+            ByteStreams.toByteArray(
+                new GZIPInputStream(new ByteArrayInputStream(Encoding.GZIP.encode(data)))
+            ),
+            new IsEqual<>(data)
+        );
+    }
+
+    @Test
+    void shouldEncodeDeflate() throws Exception {
+        final byte[] data = "{\"versions\":[\"1.0.0\"]}".getBytes(StandardCharsets.UTF_8);
+        MatcherAssert.assertThat(
+            ByteStreams.toByteArray(
+                new InflaterInputStream(new ByteArrayInputStream(Encoding.DEFLATE.encode(data)))
+            ),
+            new IsEqual<>(data)
+        );
+    }
+}
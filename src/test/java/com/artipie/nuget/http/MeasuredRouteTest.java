@@ -0,0 +1,120 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+package com.artipie.nuget.http;
+
+import com.artipie.asto.memory.InMemoryStorage;
+import com.artipie.http.Headers;
+import com.artipie.http.auth.Authentication;
+import com.artipie.http.auth.Permissions;
+import com.artipie.http.hm.RsHasBody;
+import com.artipie.http.hm.RsHasStatus;
+import com.artipie.http.rq.RequestLine;
+import com.artipie.http.rq.RqMethod;
+import com.artipie.http.rs.RsStatus;
+import com.artipie.nuget.AstoRepository;
+import com.artipie.nuget.metrics.MicrometerMetrics;
+import com.artipie.nuget.search.SearchIndex;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.reactivex.Flowable;
+import java.io.ByteArrayOutputStream;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import org.apache.http.HttpEntity;
+import org.apache.http.entity.mime.MultipartEntityBuilder;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link MeasuredRoute}.
+ *
+ * @since 0.8
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
+ */
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+class MeasuredRouteTest {
+
+    /**
+     * Meter registry.
+     */
+    private MeterRegistry registry;
+
+    /**
+     * Tested NuGet slice.
+     */
+    private NuGet nuget;
+
+    @BeforeEach
+    void init() throws Exception {
+        this.registry = new SimpleMeterRegistry();
+        this.nuget = new NuGet(
+            new URL("http://localhost:4321/repo"),
+            new AstoRepository(new InMemoryStorage()),
+            Permissions.FREE,
+            Authentication.ANONYMOUS,
+            new NuGet.Options().withSearch(new SearchIndex())
+                .withMetrics(new MicrometerMetrics(this.registry))
+        );
+    }
+
+    @Test
+    void shouldMeasureGet() {
+        MatcherAssert.assertThat(
+            this.nuget.response(
+                new RequestLine(RqMethod.GET, "/index.json").toString(),
+                Collections.emptyList(),
+                Flowable.empty()
+            ),
+            new RsHasBody(Matchers.notNullValue(byte[].class))
+        );
+        MatcherAssert.assertThat(
+            "Should time request by route, method and status",
+            this.registry.timer(
+                "nuget.http.requests", "route", "/", "method", "GET", "status", "200"
+            ).count(),
+            new IsEqual<>(1L)
+        );
+        MatcherAssert.assertThat(
+            "Should count response bytes",
+            this.registry.counter("nuget.http.bytes", "route", "/", "direction", "out").count(),
+            Matchers.greaterThan(0.0)
+        );
+    }
+
+    @Test
+    void shouldMeasurePut() throws Exception {
+        final HttpEntity entity = MultipartEntityBuilder.create()
+            .addBinaryBody("package.nupkg", "not a zip".getBytes())
+            .build();
+        final ByteArrayOutputStream sink = new ByteArrayOutputStream();
+        entity.writeTo(sink);
+        MatcherAssert.assertThat(
+            this.nuget.response(
+                new RequestLine(RqMethod.PUT, "/package").toString(),
+                new Headers.From("Content-Type", entity.getContentType().getValue()),
+                Flowable.just(ByteBuffer.wrap(sink.toByteArray()))
+            ),
+            new RsHasStatus(RsStatus.BAD_REQUEST)
+        );
+        MatcherAssert.assertThat(
+            "Should time request with failure status",
+            this.registry.timer(
+                "nuget.http.requests", "route", "/package", "method", "PUT", "status", "400"
+            ).count(),
+            new IsEqual<>(1L)
+        );
+        MatcherAssert.assertThat(
+            "Should count request bytes",
+            this.registry.counter(
+                "nuget.http.bytes", "route", "/package", "direction", "in"
+            ).count(),
+            new IsEqual<>((double) sink.size())
+        );
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+package com.artipie.nuget.http;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.memory.InMemoryStorage;
+import com.artipie.http.Headers;
+import com.artipie.http.rq.RequestLine;
+import com.artipie.http.rq.RqMethod;
+import com.artipie.nuget.AstoRepository;
+import com.artipie.nuget.NewtonJsonResource;
+import com.artipie.nuget.Repository;
+import com.artipie.nuget.perf.SimulatedStorage;
+import io.reactivex.Flowable;
+import java.net.URL;
+import java.util.Map;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Storage round-trips budget of {@link NuGet} read endpoints.
+ * Budgets are upper bounds: endpoints may get cheaper, but extra existence checks
+ * or reads per package version should fail these tests.
+ *
+ * @since 0.8
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
+ */
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+class NuGetStorageBudgetTest {
+
+    /**
+     * Storage round-trips.
+     */
+    private RoundTrips trips;
+
+    /**
+     * Tested NuGet slice.
+     */
+    private NuGet nuget;
+
+    @BeforeEach
+    void init() throws Exception {
+        this.trips = new RoundTrips(new InMemoryStorage());
+        final Repository repo = new AstoRepository(this.trips.storage());
+        final NewtonJsonResource nupkg = new NewtonJsonResource("newtonsoft.json.12.0.3.nupkg");
+        repo.add(nupkg.content()).toCompletableFuture().join();
+        repo.add(new Content.From(nupkg.versioned("12.0.4"))).toCompletableFuture().join();
+        repo.add(new Content.From(nupkg.versioned("12.0.5"))).toCompletableFuture().join();
+        this.nuget = new NuGet(new URL("http://localhost:8080"), repo);
+    }
+
+    @Test
+    void shouldServeServiceIndexWithoutStorage() {
+        MatcherAssert.assertThat(
+            NuGetStorageBudgetTest.total(this.get("/index.json")),
+            Matchers.equalTo(0L)
+        );
+    }
+
+    @Test
+    void shouldServeFlatContainerIndexWithSingleRead() {
+        final Map<SimulatedStorage.Operation, Long> ops =
+            this.get("/content/newtonsoft.json/index.json");
+        MatcherAssert.assertThat(
+            "Should read versions list once",
+            ops.get(SimulatedStorage.Operation.VALUE),
+            Matchers.lessThanOrEqualTo(1L)
+        );
+        MatcherAssert.assertThat(
+            "Should make no other storage operations",
+            NuGetStorageBudgetTest.total(ops),
+            Matchers.lessThanOrEqualTo(1L)
+        );
+    }
+
+    @Test
+    void shouldDownloadWithSingleRead() {
+        final Map<SimulatedStorage.Operation, Long> ops =
+            this.get("/content/newtonsoft.json/12.0.4/newtonsoft.json.12.0.4.nupkg");
+        MatcherAssert.assertThat(
+            "Should read package once",
+            ops.get(SimulatedStorage.Operation.VALUE),
+            Matchers.lessThanOrEqualTo(1L)
+        );
+        MatcherAssert.assertThat(
+            "Should make no other storage operations",
+            NuGetStorageBudgetTest.total(ops),
+            Matchers.lessThanOrEqualTo(1L)
+        );
+    }
+
+    @Test
+    void shouldServeRegistrationWithoutReadPerVersion() {
+        final Map<SimulatedStorage.Operation, Long> ops =
+            this.get("/registrations/newtonsoft.json/index.json");
+        MatcherAssert.assertThat(
+            "Should read versions list and single package description",
+            ops.get(SimulatedStorage.Operation.VALUE),
+            Matchers.lessThanOrEqualTo(2L)
+        );
+        MatcherAssert.assertThat(
+            "Should make no other storage operations",
+            NuGetStorageBudgetTest.total(ops),
+            Matchers.lessThanOrEqualTo(2L)
+        );
+    }
+
+    private Map<SimulatedStorage.Operation, Long> get(final String path) {
+        return this.trips.made(
+            () -> this.nuget.response(
+                new RequestLine(RqMethod.GET, path).toString(),
+                Headers.EMPTY,
+                Flowable.empty()
+            )
+        );
+    }
+
+    private static long total(final Map<SimulatedStorage.Operation, Long> ops) {
+        return ops.values().stream().mapToLong(Long::longValue).sum();
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+package com.artipie.nuget.http;
+
+import com.artipie.asto.Storage;
+import com.artipie.asto.ext.PublisherAs;
+import com.artipie.http.Response;
+import com.artipie.nuget.perf.SimulatedStorage;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Storage round-trips made while single response is created and sent,
+ * used to assert storage operations budget of endpoints.
+ * Requests should be served one at a time, so operations of other requests are not counted.
+ *
+ * @since 0.8
+ */
+public final class RoundTrips {
+
+    /**
+     * Storage counting operations.
+     */
+    private final SimulatedStorage counting;
+
+    /**
+     * Ctor.
+     *
+     * @param origin Origin storage.
+     */
+    public RoundTrips(final Storage origin) {
+        this.counting = new SimulatedStorage(origin);
+    }
+
+    /**
+     * Storage to serve requests from.
+     *
+     * @return Storage counting operations.
+     */
+    public Storage storage() {
+        return this.counting;
+    }
+
+    /**
+     * Count storage operations made to create response and send it with whole body.
+     *
+     * @param response Response creation, e.g. call of {@link NuGet#response}.
+     * @return Number of operations of each kind.
+     */
+    public Map<SimulatedStorage.Operation, Long> made(final Supplier<Response> response) {
+        final Map<SimulatedStorage.Operation, Long> before = this.counting.counts();
+        response.get().send(
+            (status, headers, body) -> new PublisherAs(body).bytes().thenApply(bytes -> null)
+        ).toCompletableFuture().join();
+        final Map<SimulatedStorage.Operation, Long> res =
+            new EnumMap<>(SimulatedStorage.Operation.class);
+        this.counting.counts().forEach((kind, count) -> res.put(kind, count - before.get(kind)));
+        return res;
+    }
+}
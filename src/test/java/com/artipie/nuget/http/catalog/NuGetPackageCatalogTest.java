@@ -0,0 +1,146 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+package com.artipie.nuget.http.catalog;
+
+import com.artipie.asto.Storage;
+import com.artipie.asto.ext.PublisherAs;
+import com.artipie.asto.memory.InMemoryStorage;
+import com.artipie.http.Response;
+import com.artipie.http.auth.Authentication;
+import com.artipie.http.auth.Permissions;
+import com.artipie.http.hm.RsHasStatus;
+import com.artipie.http.rq.RequestLine;
+import com.artipie.http.rq.RqMethod;
+import com.artipie.http.rs.RsStatus;
+import com.artipie.nuget.AstoRepository;
+import com.artipie.nuget.NewtonJsonResource;
+import com.artipie.nuget.Workers;
+import com.artipie.nuget.catalog.Catalog;
+import com.artipie.nuget.http.NuGet;
+import com.artipie.nuget.search.SearchIndex;
+import io.reactivex.Flowable;
+import java.io.ByteArrayInputStream;
+import java.net.URL;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import javax.json.Json;
+import javax.json.JsonObject;
+import javax.json.JsonReader;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.core.IsEqual;
+import org.hamcrest.core.StringStartsWith;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link NuGet}.
+ * Catalog resource.
+ *
+ * @since 0.8
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
+ */
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+class NuGetPackageCatalogTest {
+
+    /**
+     * Tested NuGet slice.
+     */
+    private NuGet nuget;
+
+    @BeforeEach
+    void init() throws Exception {
+        final Storage storage = new InMemoryStorage();
+        final AstoRepository repo = new AstoRepository(
+            storage, Workers.SHARED, new Catalog(storage)
+        );
+        repo.add(new NewtonJsonResource("newtonsoft.json.12.0.3.nupkg").content())
+            .toCompletableFuture().join();
+        this.nuget = new NuGet(
+            new URL("http://localhost:4321/repo"),
+            repo,
+            Permissions.FREE,
+            Authentication.ANONYMOUS,
+            new NuGet.Options().withSearch(new SearchIndex()).withCatalog(
+                new Catalog(storage, Clock.offset(Clock.systemUTC(), Duration.ofHours(1)), 1)
+            )
+        );
+    }
+
+    @Test
+    void shouldAdvertiseCatalog() {
+        MatcherAssert.assertThat(
+            NuGetPackageCatalogTest.json(this.get("/index.json")).getJsonArray("resources")
+                .getValuesAs(JsonObject.class).stream()
+                .filter(res -> "Catalog/3.0.0".equals(res.getString("@type")))
+                .map(res -> res.getString("@id"))
+                .findFirst().get(),
+            new IsEqual<>("http://localhost:4321/repo/catalog/index.json")
+        );
+    }
+
+    @Test
+    void shouldGetIndexPageAndLeaf() {
+        final JsonObject index = NuGetPackageCatalogTest.json(this.get("/catalog/index.json"));
+        MatcherAssert.assertThat(
+            "Index should contain one page",
+            index.getInt("count"),
+            new IsEqual<>(1)
+        );
+        final String page = index.getJsonArray("items").getJsonObject(0).getString("@id");
+        MatcherAssert.assertThat(
+            "Page should be located in catalog",
+            page,
+            new IsEqual<>("http://localhost:4321/repo/catalog/page0.json")
+        );
+        final JsonObject item = NuGetPackageCatalogTest.json(this.get("/catalog/page0.json"))
+            .getJsonArray("items").getJsonObject(0);
+        MatcherAssert.assertThat(
+            "Page item should reference package",
+            item.getString("nuget:id"),
+            new IsEqual<>("Newtonsoft.Json")
+        );
+        final String leaf = item.getString("@id");
+        MatcherAssert.assertThat(
+            "Leaf should be located in catalog data",
+            leaf,
+            new StringStartsWith("http://localhost:4321/repo/catalog/data/")
+        );
+        MatcherAssert.assertThat(
+            "Leaf should contain package version",
+            NuGetPackageCatalogTest.json(
+                this.get(leaf.substring("http://localhost:4321/repo".length()))
+            ).getString("version"),
+            new IsEqual<>("12.0.3")
+        );
+    }
+
+    @Test
+    void shouldNotFindAbsentPage() {
+        MatcherAssert.assertThat(
+            this.get("/catalog/page1.json"),
+            new RsHasStatus(RsStatus.NOT_FOUND)
+        );
+    }
+
+    private Response get(final String uri) {
+        return this.nuget.response(
+            new RequestLine(RqMethod.GET, uri).toString(),
+            Collections.emptyList(),
+            Flowable.empty()
+        );
+    }
+
+    private static JsonObject json(final Response response) {
+        final CompletableFuture<byte[]> bytes = new CompletableFuture<>();
+        response.send(
+            (status, headers, body) -> new PublisherAs(body).bytes().thenAccept(bytes::complete)
+        ).toCompletableFuture().join();
+        try (JsonReader reader = Json.createReader(new ByteArrayInputStream(bytes.join()))) {
+            return reader.readObject();
+        }
+    }
+}
@@ -11,18 +11,22 @@ import com.artipie.asto.memory.InMemoryStorage;
 import com.artipie.http.Headers;
 import com.artipie.http.Response;
 import com.artipie.http.headers.Header;
+import com.artipie.http.hm.IsHeader;
 import com.artipie.http.hm.ResponseMatcher;
 import com.artipie.http.hm.RsHasBody;
+import com.artipie.http.hm.RsHasHeaders;
 import com.artipie.http.hm.RsHasStatus;
 import com.artipie.http.rq.RequestLine;
 import com.artipie.http.rq.RqMethod;
 import com.artipie.http.rs.RsStatus;
 import com.artipie.nuget.AstoRepository;
+import com.artipie.nuget.http.Encoding;
 import com.artipie.nuget.http.NuGet;
 import com.artipie.nuget.http.TestAuthentication;
 import com.artipie.nuget.http.TestPermissions;
 import io.reactivex.Flowable;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.Matchers;
@@ -36,6 +40,7 @@ import org.junit.jupiter.api.Test;
  *
  * @since 0.1
  * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
+ * @checkstyle MagicNumberCheck (500 lines)
  */
 @SuppressWarnings({"PMD.TooManyMethods", "PMD.AvoidDuplicateLiterals"})
 class NuGetPackageContentTest {
@@ -87,6 +92,91 @@ class NuGetPackageContentTest {
         );
     }
 
+    @Test
+    void shouldSendImmutablePackageHeaders() {
+        final byte[] data = "nupkg".getBytes();
+        new BlockingStorage(this.storage).save(
+            new Key.From("newtonsoft.json", "12.0.3", "newtonsoft.json.12.0.3.nupkg"),
+            data
+        );
+        MatcherAssert.assertThat(
+            this.nuget.response(
+                new RequestLine(
+                    RqMethod.GET,
+                    "/content/newtonsoft.json/12.0.3/newtonsoft.json.12.0.3.nupkg"
+                ).toString(),
+                new TestAuthentication.Headers(),
+                Flowable.empty()
+            ),
+            new RsHasHeaders(
+                new IsHeader("Cache-Control", "public, max-age=31536000, immutable"),
+                new IsHeader("Content-Type", "application/octet-stream"),
+                new IsHeader("Content-Length", String.valueOf(data.length))
+            )
+        );
+    }
+
+    @Test
+    void shouldSendImmutableDescriptionHeaders() {
+        new BlockingStorage(this.storage).save(
+            new Key.From("newtonsoft.json", "12.0.3", "newtonsoft.json.nuspec"),
+            "<package/>".getBytes()
+        );
+        MatcherAssert.assertThat(
+            this.nuget.response(
+                new RequestLine(
+                    RqMethod.GET,
+                    "/content/newtonsoft.json/12.0.3/newtonsoft.json.nuspec"
+                ).toString(),
+                new TestAuthentication.Headers(),
+                Flowable.empty()
+            ),
+            new RsHasHeaders(
+                new IsHeader("Cache-Control", "public, max-age=31536000, immutable"),
+                new IsHeader("Content-Type", "application/xml"),
+                new IsHeader("Content-Length", "10")
+            )
+        );
+    }
+
+    @Test
+    void shouldSendContentLengthOfOtherFiles() {
+        new BlockingStorage(this.storage).save(
+            new Key.From("newtonsoft.json", "12.0.3", "icon.png"),
+            new byte[128]
+        );
+        MatcherAssert.assertThat(
+            this.nuget.response(
+                new RequestLine(
+                    RqMethod.GET,
+                    "/content/newtonsoft.json/12.0.3/icon.png"
+                ).toString(),
+                new TestAuthentication.Headers(),
+                Flowable.empty()
+            ),
+            new RsHasHeaders(new IsHeader("Content-Length", "128"))
+        );
+    }
+
+    @Test
+    void shouldSendRevalidationHeadersForVersions() {
+        new BlockingStorage(this.storage).save(
+            new Key.From("package4", "index.json"),
+            "{\"versions\":[]}".getBytes()
+        );
+        MatcherAssert.assertThat(
+            this.nuget.response(
+                new RequestLine(RqMethod.GET, "/content/package4/index.json").toString(),
+                new TestAuthentication.Headers(),
+                Flowable.empty()
+            ),
+            new RsHasHeaders(
+                new IsHeader("Cache-Control", "public, max-age=60, must-revalidate"),
+                new IsHeader("Vary", "Accept-Encoding")
+            )
+        );
+    }
+
     @Test
     void shouldFailGetPackageContentWhenNotExists() {
         MatcherAssert.assertThat(
@@ -143,6 +233,32 @@ class NuGetPackageContentTest {
         );
     }
 
+    @Test
+    void shouldGetCompressedPackageVersions() throws Exception {
+        final StringBuilder json = new StringBuilder("{\"versions\":[\"0.1.0\"");
+        for (int idx = 1; idx < 30; idx += 1) {
+            json.append(String.format(",\"0.1.%d\"", idx));
+        }
+        final byte[] data = json.append("]}").toString().getBytes(StandardCharsets.UTF_8);
+        new BlockingStorage(this.storage).save(new Key.From("package3", "index.json"), data);
+        MatcherAssert.assertThat(
+            this.nuget.response(
+                new RequestLine(RqMethod.GET, "/content/package3/index.json").toString(),
+                new Headers.From(new TestAuthentication.Headers(), "Accept-Encoding", "gzip"),
+                Flowable.empty()
+            ),
+            Matchers.allOf(
+                new RsHasStatus(RsStatus.OK),
+                new RsHasHeaders(
+                    new IsHeader("Content-Encoding", "gzip"),
+                    new IsHeader("Vary", "Accept-Encoding"),
+                    new IsHeader("Cache-Control", "public, max-age=60, must-revalidate")
+                ),
+                new RsHasBody(Encoding.GZIP.encode(data))
+            )
+        );
+    }
+
     @Test
     void shouldFailGetPackageVersionsWhenNotExists() {
         MatcherAssert.assertThat(
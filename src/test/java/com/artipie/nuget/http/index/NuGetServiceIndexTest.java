@@ -6,6 +6,8 @@ package com.artipie.nuget.http.index;
 
 import com.artipie.asto.memory.InMemoryStorage;
 import com.artipie.http.Response;
+import com.artipie.http.auth.Authentication;
+import com.artipie.http.auth.Permissions;
 import com.artipie.http.hm.RsHasBody;
 import com.artipie.http.hm.RsHasStatus;
 import com.artipie.http.rq.RequestLine;
@@ -13,6 +15,7 @@ import com.artipie.http.rq.RqMethod;
 import com.artipie.http.rs.RsStatus;
 import com.artipie.nuget.AstoRepository;
 import com.artipie.nuget.http.NuGet;
+import com.artipie.nuget.search.SearchIndex;
 import io.reactivex.Flowable;
 import java.io.ByteArrayInputStream;
 import java.net.URL;
@@ -56,7 +59,13 @@ class NuGetServiceIndexTest {
     @BeforeEach
     void init() throws Exception {
         this.url = new URL("http://localhost:4321/repo");
-        this.nuget = new NuGet(this.url, new AstoRepository(new InMemoryStorage()));
+        this.nuget = new NuGet(
+            this.url,
+            new AstoRepository(new InMemoryStorage()),
+            Permissions.FREE,
+            Authentication.ANONYMOUS,
+            new NuGet.Options().withSearch(new SearchIndex())
+        );
     }
 
     @Test
@@ -90,6 +99,30 @@ class NuGetServiceIndexTest {
                                             new IsService(
                                                 "PackageBaseAddress/3.0.0",
                                                 String.format("%s/content", this.url)
+                                            ),
+                                            new IsService(
+                                                "SearchQueryService",
+                                                String.format("%s/query", this.url)
+                                            ),
+                                            new IsService(
+                                                "SearchQueryService/3.0.0-rc",
+                                                String.format("%s/query", this.url)
+                                            ),
+                                            new IsService(
+                                                "SearchQueryService/3.5.0",
+                                                String.format("%s/query", this.url)
+                                            ),
+                                            new IsService(
+                                                "SearchAutocompleteService",
+                                                String.format("%s/autocomplete", this.url)
+                                            ),
+                                            new IsService(
+                                                "SearchAutocompleteService/3.0.0-rc",
+                                                String.format("%s/autocomplete", this.url)
+                                            ),
+                                            new IsService(
+                                                "SearchAutocompleteService/3.5.0",
+                                                String.format("%s/autocomplete", this.url)
                                             )
                                         )
                                     )
@@ -102,6 +135,41 @@ class NuGetServiceIndexTest {
         );
     }
 
+    @Test
+    void shouldNotAdvertiseSearchWithoutIndex() {
+        final Response response = new NuGet(
+            this.url, new AstoRepository(new InMemoryStorage())
+        ).response(
+            new RequestLine(RqMethod.GET, "/index.json").toString(),
+            Collections.emptyList(),
+            Flowable.empty()
+        );
+        MatcherAssert.assertThat(
+            response,
+            new RsHasBody(
+                new IsJson(
+                    new JsonHas(
+                        "resources",
+                        new JsonContains(
+                            new IsService(
+                                "PackagePublish/2.0.0",
+                                String.format("%s/package", this.url)
+                            ),
+                            new IsService(
+                                "RegistrationsBaseUrl/Versioned",
+                                String.format("%s/registrations", this.url)
+                            ),
+                            new IsService(
+                                "PackageBaseAddress/3.0.0",
+                                String.format("%s/content", this.url)
+                            )
+                        )
+                    )
+                )
+            )
+        );
+    }
+
     @Test
     void shouldFailPutIndex() {
         final Response response = this.nuget.response(
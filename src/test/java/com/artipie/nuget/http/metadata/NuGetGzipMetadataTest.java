@@ -0,0 +1,167 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+package com.artipie.nuget.http.metadata;
+
+import com.artipie.asto.Key;
+import com.artipie.asto.Storage;
+import com.artipie.asto.ext.PublisherAs;
+import com.artipie.asto.memory.InMemoryStorage;
+import com.artipie.http.Response;
+import com.artipie.http.auth.Authentication;
+import com.artipie.http.auth.Permissions;
+import com.artipie.http.headers.Header;
+import com.artipie.http.hm.RsHasBody;
+import com.artipie.http.hm.RsHasHeaders;
+import com.artipie.http.hm.RsHasStatus;
+import com.artipie.http.rq.RequestLine;
+import com.artipie.http.rq.RqMethod;
+import com.artipie.http.rs.RsStatus;
+import com.artipie.nuget.AstoRepository;
+import com.artipie.nuget.NewtonJsonResource;
+import com.artipie.nuget.Workers;
+import com.artipie.nuget.http.Encoding;
+import com.artipie.nuget.http.NuGet;
+import com.artipie.nuget.search.SearchIndex;
+import io.reactivex.Flowable;
+import java.io.ByteArrayInputStream;
+import java.net.URL;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import javax.json.Json;
+import javax.json.JsonObject;
+import javax.json.JsonReader;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link NuGet}.
+ * Gzip compressed registrations resource.
+ *
+ * @since 0.8
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
+ * @checkstyle ClassFanOutComplexityCheck (500 lines)
+ */
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+class NuGetGzipMetadataTest {
+
+    /**
+     * Base URL.
+     */
+    private static final String BASE = "http://localhost:4321/repo";
+
+    /**
+     * Storage used in tests.
+     */
+    private Storage storage;
+
+    /**
+     * Tested NuGet slice.
+     */
+    private NuGet nuget;
+
+    @BeforeEach
+    void init() throws Exception {
+        this.storage = new InMemoryStorage();
+        final GzipRegistrations gzipped = new GzipRegistrations(
+            new URL(NuGetGzipMetadataTest.BASE), this.storage, new AstoRepository(this.storage)
+        );
+        final AstoRepository repo = new AstoRepository(
+            this.storage, Workers.SHARED, gzipped
+        );
+        repo.add(new NewtonJsonResource("newtonsoft.json.12.0.3.nupkg").content())
+            .toCompletableFuture().join();
+        this.nuget = new NuGet(
+            new URL(NuGetGzipMetadataTest.BASE),
+            repo,
+            Permissions.FREE,
+            Authentication.ANONYMOUS,
+            new NuGet.Options().withSearch(new SearchIndex()).withRegistrations(gzipped)
+        );
+    }
+
+    @Test
+    void shouldAdvertiseGzipRegistrations() {
+        final List<String> urls = NuGetGzipMetadataTest.json(this.get("/index.json"))
+            .getJsonArray("resources").getValuesAs(JsonObject.class).stream()
+            .filter(res -> res.getString("@type").matches("RegistrationsBaseUrl/3\\.[46]\\.0"))
+            .map(res -> res.getString("@id"))
+            .collect(Collectors.toList());
+        MatcherAssert.assertThat(
+            urls,
+            Matchers.contains(
+                "http://localhost:4321/repo/registrations-gz",
+                "http://localhost:4321/repo/registrations-gz"
+            )
+        );
+    }
+
+    @Test
+    void shouldStoreCompressedRegistration() {
+        MatcherAssert.assertThat(
+            this.storage.exists(
+                new Key.From(".registrations-gz", "newtonsoft.json", "index.json")
+            ).join(),
+            new IsEqual<>(true)
+        );
+    }
+
+    @Test
+    void shouldGetCompressedRegistration() {
+        MatcherAssert.assertThat(
+            this.get("/registrations-gz/newtonsoft.json/index.json"),
+            Matchers.allOf(
+                new RsHasStatus(RsStatus.OK),
+                new RsHasHeaders(new Header("Content-Encoding", "gzip")),
+                new RsHasBody(
+                    Encoding.GZIP.encode(
+                        NuGetGzipMetadataTest.bytes(
+                            this.get("/registrations/newtonsoft.json/index.json")
+                        )
+                    )
+                )
+            )
+        );
+    }
+
+    @Test
+    void shouldGetCompressedRegistrationNotStoredYet() {
+        MatcherAssert.assertThat(
+            this.get("/registrations-gz/unknown/index.json"),
+            Matchers.allOf(
+                new RsHasStatus(RsStatus.OK),
+                new RsHasBody(Encoding.GZIP.encode("{\"count\":0,\"items\":[]}".getBytes()))
+            )
+        );
+    }
+
+    private Response get(final String uri) {
+        return this.nuget.response(
+            new RequestLine(RqMethod.GET, uri).toString(),
+            Collections.emptyList(),
+            Flowable.empty()
+        );
+    }
+
+    private static byte[] bytes(final Response response) {
+        final CompletableFuture<byte[]> bytes = new CompletableFuture<>();
+        response.send(
+            (status, headers, body) -> new PublisherAs(body).bytes().thenAccept(bytes::complete)
+        ).toCompletableFuture().join();
+        return bytes.join();
+    }
+
+    private static JsonObject json(final Response response) {
+        try (JsonReader reader = Json.createReader(
+            new ByteArrayInputStream(NuGetGzipMetadataTest.bytes(response))
+        )) {
+            return reader.readObject();
+        }
+    }
+}
@@ -10,7 +10,11 @@ import com.artipie.http.Headers;
 import io.reactivex.Flowable;
 import java.nio.ByteBuffer;
 import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
 import org.hamcrest.core.IsEqual;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -20,6 +24,7 @@ import org.junit.jupiter.api.Test;
  *
  * @since 0.1
  */
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
 class MultipartTest {
 
     @Test
@@ -45,6 +50,26 @@ class MultipartTest {
         );
     }
 
+    @Test
+    void shouldDecodeFirstPartOnExecutor() {
+        final AtomicInteger tasks = new AtomicInteger();
+        MatcherAssert.assertThat(
+            new Multipart(
+                new Headers.From("Content-Type", "multipart/form-data; boundary=xyz"),
+                Flowable.just(
+                    ByteBuffer.wrap("--xyz\r\nSome-Header: info\r\n\r\ndata\r\n--xyz--".getBytes())
+                )
+            ).first(
+                task -> {
+                    tasks.incrementAndGet();
+                    task.run();
+                }
+            ).toCompletableFuture().join(),
+            new IsEqual<>("data".getBytes())
+        );
+        MatcherAssert.assertThat(tasks.get(), new IsEqual<>(1));
+    }
+
     @Test
     void shouldFailIfNoContentTypeHeader() {
         final Multipart multipart = new Multipart(Collections.emptySet(), Flowable.empty());
@@ -73,4 +98,31 @@ class MultipartTest {
             new IsEqual<>("Body has no parts")
         );
     }
+
+    @Test
+    void shouldReadAllParts() {
+        final List<byte[]> parts = new Multipart(
+            new Headers.From("Content-Type", "multipart/form-data; boundary=abc"),
+            Flowable.just(
+                ByteBuffer.wrap(
+                    String.join(
+                        "",
+                        "--abc\r\n",
+                        "Content-Type: text/plain\r\n",
+                        "\r\n",
+                        "one\r\n",
+                        "--abc\r\n",
+                        "Some-Header: info\r\n",
+                        "\r\n",
+                        "two\r\n",
+                        "--abc--"
+                    ).getBytes()
+                )
+            )
+        ).parts().toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            parts.stream().map(String::new).collect(Collectors.toList()),
+            Matchers.contains("one", "two")
+        );
+    }
 }
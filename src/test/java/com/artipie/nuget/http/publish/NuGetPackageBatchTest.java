@@ -0,0 +1,237 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+
+package com.artipie.nuget.http.publish;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.asto.blocking.BlockingStorage;
+import com.artipie.asto.ext.PublisherAs;
+import com.artipie.asto.memory.InMemoryStorage;
+import com.artipie.http.Headers;
+import com.artipie.http.Response;
+import com.artipie.http.headers.Header;
+import com.artipie.http.hm.RsHasStatus;
+import com.artipie.http.rq.RequestLine;
+import com.artipie.http.rq.RqMethod;
+import com.artipie.http.rs.RsStatus;
+import com.artipie.nuget.AstoRepository;
+import com.artipie.nuget.NewtonJsonResource;
+import com.artipie.nuget.PackageIdentity;
+import com.artipie.nuget.PackageKeys;
+import com.artipie.nuget.Repository;
+import com.artipie.nuget.Versions;
+import com.artipie.nuget.http.NuGet;
+import com.artipie.nuget.http.TestAuthentication;
+import com.artipie.nuget.http.TestPermissions;
+import com.artipie.nuget.metadata.Nuspec;
+import io.reactivex.Flowable;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.stream.Collectors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+import javax.json.Json;
+import javax.json.JsonObject;
+import javax.json.JsonReader;
+import org.apache.http.HttpEntity;
+import org.apache.http.entity.mime.MultipartEntityBuilder;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link NuGet}.
+ * Package batch publish resource.
+ *
+ * @since 0.8
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+class NuGetPackageBatchTest {
+
+    /**
+     * Storage used in tests.
+     */
+    private InMemoryStorage storage;
+
+    /**
+     * Tested NuGet slice.
+     */
+    private NuGet nuget;
+
+    @BeforeEach
+    void init() throws Exception {
+        this.storage = new InMemoryStorage();
+        this.nuget = new NuGet(
+            new URL("http://localhost"),
+            new AstoRepository(this.storage),
+            new TestPermissions.Write(TestAuthentication.USERNAME),
+            new TestAuthentication()
+        );
+    }
+
+    @Test
+    void shouldReturnStatusOfEveryPackage() throws Exception {
+        final NewtonJsonResource pkg = new NewtonJsonResource("newtonsoft.json.12.0.3.nupkg");
+        final JsonObject json = NuGetPackageBatchTest.json(
+            this.put(pkg.bytes(), "not a zip".getBytes(), pkg.changed())
+        );
+        MatcherAssert.assertThat(
+            json.getJsonArray("packages").getValuesAs(JsonObject.class).stream()
+                .map(item -> item.getInt("status"))
+                .collect(Collectors.toList()),
+            Matchers.contains(201, 400, 409)
+        );
+        MatcherAssert.assertThat(
+            json.getJsonArray("packages").getJsonObject(0).getString("version"),
+            new IsEqual<>("12.0.3")
+        );
+    }
+
+    @Test
+    void shouldAddPackagesWithSameId() throws Exception {
+        final JsonObject json = NuGetPackageBatchTest.json(
+            this.put(
+                NuGetPackageBatchTest.nupkg("Foo", "1.0.0"),
+                NuGetPackageBatchTest.nupkg("Bar", "1.0.0"),
+                NuGetPackageBatchTest.nupkg("Foo", "2.0.0")
+            )
+        );
+        MatcherAssert.assertThat(
+            "All packages are added",
+            json.getJsonArray("packages").getValuesAs(JsonObject.class).stream()
+                .map(item -> item.getInt("status"))
+                .collect(Collectors.toList()),
+            Matchers.contains(201, 201, 201)
+        );
+        MatcherAssert.assertThat(
+            "All versions are in index",
+            new String(
+                new BlockingStorage(this.storage).value(new Key.From("foo", "index.json")),
+                StandardCharsets.UTF_8
+            ),
+            Matchers.allOf(
+                Matchers.containsString("1.0.0"),
+                Matchers.containsString("2.0.0")
+            )
+        );
+    }
+
+    @Test
+    void shouldReturnInternalErrorWhenStorageFails() throws Exception {
+        this.nuget = new NuGet(
+            new URL("http://localhost"),
+            new Failing(),
+            new TestPermissions.Write(TestAuthentication.USERNAME),
+            new TestAuthentication()
+        );
+        MatcherAssert.assertThat(
+            NuGetPackageBatchTest.json(this.put(NuGetPackageBatchTest.nupkg("Foo", "1.0.0")))
+                .getJsonArray("packages").getJsonObject(0).getInt("status"),
+            new IsEqual<>(500)
+        );
+    }
+
+    @Test
+    void shouldFailWithoutMultipart() {
+        MatcherAssert.assertThat(
+            this.nuget.response(
+                new RequestLine(RqMethod.PUT, "/package/batch").toString(),
+                new Headers.From(new TestAuthentication.Header()),
+                Flowable.fromArray(ByteBuffer.wrap("data".getBytes()))
+            ),
+            new RsHasStatus(RsStatus.BAD_REQUEST)
+        );
+    }
+
+    private Response put(final byte[]... packages) throws Exception {
+        final MultipartEntityBuilder builder = MultipartEntityBuilder.create();
+        for (final byte[] pack : packages) {
+            builder.addBinaryBody("package.nupkg", pack);
+        }
+        final HttpEntity entity = builder.build();
+        final ByteArrayOutputStream sink = new ByteArrayOutputStream();
+        entity.writeTo(sink);
+        return this.nuget.response(
+            new RequestLine(RqMethod.PUT, "/package/batch").toString(),
+            new Headers.From(
+                new TestAuthentication.Header(),
+                new Header("Content-Type", entity.getContentType().getValue())
+            ),
+            Flowable.fromArray(ByteBuffer.wrap(sink.toByteArray()))
+        );
+    }
+
+    private static JsonObject json(final Response response) {
+        final CompletableFuture<byte[]> bytes = new CompletableFuture<>();
+        response.send(
+            (status, headers, body) -> new PublisherAs(body).bytes().thenAccept(bytes::complete)
+        ).toCompletableFuture().join();
+        try (JsonReader reader = Json.createReader(new ByteArrayInputStream(bytes.join()))) {
+            return reader.readObject();
+        }
+    }
+
+    private static byte[] nupkg(final String id, final String version) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(out)) {
+            zip.putNextEntry(new ZipEntry(String.format("%s.nuspec", id)));
+            zip.write(
+                String.join(
+                    "",
+                    "<?xml version=\"1.0\"?><package><metadata>",
+                    String.format("<id>%s</id><version>%s</version>", id, version),
+                    "<description>Test</description><authors>Artipie</authors>",
+                    "</metadata></package>"
+                ).getBytes(StandardCharsets.UTF_8)
+            );
+            zip.closeEntry();
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Repository failing to add packages.
+     *
+     * @since 0.8
+     */
+    private static final class Failing implements Repository {
+
+        @Override
+        public CompletionStage<Optional<Content>> content(final Key key) {
+            return CompletableFuture.completedFuture(Optional.empty());
+        }
+
+        @Override
+        public CompletionStage<Void> add(final Content content) {
+            final CompletableFuture<Void> res = new CompletableFuture<>();
+            res.completeExceptionally(new IllegalStateException("Storage is down"));
+            return res;
+        }
+
+        @Override
+        public CompletionStage<Versions> versions(final PackageKeys id) {
+            return CompletableFuture.completedFuture(new Versions());
+        }
+
+        @Override
+        public CompletionStage<Nuspec> nuspec(final PackageIdentity identity) {
+            final CompletableFuture<Nuspec> res = new CompletableFuture<>();
+            res.completeExceptionally(new IllegalStateException("Storage is down"));
+            return res;
+        }
+    }
+}
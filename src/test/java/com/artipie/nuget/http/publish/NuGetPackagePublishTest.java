@@ -8,24 +8,33 @@ import com.artipie.asto.memory.InMemoryStorage;
 import com.artipie.http.Headers;
 import com.artipie.http.Response;
 import com.artipie.http.headers.Header;
+import com.artipie.http.hm.IsHeader;
 import com.artipie.http.hm.ResponseMatcher;
+import com.artipie.http.hm.RsHasHeaders;
 import com.artipie.http.hm.RsHasStatus;
 import com.artipie.http.rq.RequestLine;
 import com.artipie.http.rq.RqMethod;
 import com.artipie.http.rs.RsStatus;
 import com.artipie.nuget.AstoRepository;
+import com.artipie.nuget.GroupRepository;
+import com.artipie.nuget.MeasuredRepository;
+import com.artipie.nuget.NewtonJsonResource;
 import com.artipie.nuget.http.NuGet;
 import com.artipie.nuget.http.TestAuthentication;
 import com.artipie.nuget.http.TestPermissions;
+import com.artipie.nuget.metrics.Metrics;
 import com.google.common.io.Resources;
 import io.reactivex.Flowable;
 import java.io.ByteArrayOutputStream;
 import java.net.URL;
 import java.nio.ByteBuffer;
+import java.util.Arrays;
 import java.util.concurrent.CompletableFuture;
 import org.apache.http.HttpEntity;
 import org.apache.http.entity.mime.MultipartEntityBuilder;
 import org.hamcrest.MatcherAssert;
+import org.hamcrest.core.AllOf;
+import org.hamcrest.core.StringContains;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -36,7 +45,7 @@ import org.junit.jupiter.api.Test;
  * @since 0.2
  * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
  */
-@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+@SuppressWarnings({"PMD.AvoidDuplicateLiterals", "PMD.TooManyMethods"})
 class NuGetPackagePublishTest {
 
     /**
@@ -78,12 +87,67 @@ class NuGetPackagePublishTest {
             (status, headers, body) -> CompletableFuture.allOf()
         ).toCompletableFuture().join();
         MatcherAssert.assertThat(
-            "Should fail to add same package when it is already present in the repository",
-            this.putPackage(nupkg()),
+            "Should fail to add changed package when it is already present in the repository",
+            this.putPackage(new NewtonJsonResource("newtonsoft.json.12.0.3.nupkg").changed()),
             new RsHasStatus(RsStatus.CONFLICT)
         );
     }
 
+    @Test
+    void shouldPutSamePackageAgain() throws Exception {
+        this.putPackage(nupkg()).send(
+            (status, headers, body) -> CompletableFuture.allOf()
+        ).toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            "Should accept same package when it is already present in the repository",
+            this.putPackage(nupkg()),
+            new RsHasStatus(RsStatus.CREATED)
+        );
+    }
+
+    @Test
+    void shouldSendServerTimingWithMetrics() throws Exception {
+        this.nuget = new NuGet(
+            new URL("http://localhost"),
+            new MeasuredRepository(new AstoRepository(new InMemoryStorage()), Metrics.NONE),
+            new TestPermissions.Write(TestAuthentication.USERNAME),
+            new TestAuthentication(),
+            new NuGet.Options().withMetrics(Metrics.NONE)
+        );
+        MatcherAssert.assertThat(
+            this.putPackage(nupkg()),
+            new RsHasHeaders(
+                new IsHeader(
+                    "Server-Timing",
+                    new AllOf<>(
+                        Arrays.asList(
+                            new StringContains("decode;dur="),
+                            new StringContains("lock;dur="),
+                            new StringContains("move;dur="),
+                            new StringContains("hash;dur="),
+                            new StringContains("index;dur="),
+                            new StringContains("add;dur=")
+                        )
+                    )
+                )
+            )
+        );
+    }
+
+    @Test
+    void shouldNotAllowPutPackageToGroup() throws Exception {
+        this.nuget = new NuGet(
+            new URL("http://localhost"),
+            new GroupRepository(new AstoRepository(new InMemoryStorage())),
+            new TestPermissions.Write(TestAuthentication.USERNAME),
+            new TestAuthentication()
+        );
+        MatcherAssert.assertThat(
+            this.putPackage(nupkg()),
+            new RsHasStatus(RsStatus.METHOD_NOT_ALLOWED)
+        );
+    }
+
     @Test
     void shouldFailGetPackagePublish() {
         final Response response = this.nuget.response(
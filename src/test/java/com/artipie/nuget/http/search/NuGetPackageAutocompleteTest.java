@@ -0,0 +1,103 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+package com.artipie.nuget.http.search;
+
+import com.artipie.asto.memory.InMemoryStorage;
+import com.artipie.http.Response;
+import com.artipie.http.auth.Authentication;
+import com.artipie.http.auth.Permissions;
+import com.artipie.http.hm.RsHasBody;
+import com.artipie.http.hm.RsHasStatus;
+import com.artipie.http.rq.RequestLine;
+import com.artipie.http.rq.RqMethod;
+import com.artipie.http.rs.RsStatus;
+import com.artipie.nuget.AstoRepository;
+import com.artipie.nuget.NewtonJsonResource;
+import com.artipie.nuget.Repository;
+import com.artipie.nuget.Workers;
+import com.artipie.nuget.http.NuGet;
+import com.artipie.nuget.search.SearchIndex;
+import io.reactivex.Flowable;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.core.AllOf;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link NuGet}.
+ * Package autocomplete resource.
+ *
+ * @since 0.8
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
+ */
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+class NuGetPackageAutocompleteTest {
+
+    /**
+     * Tested NuGet slice.
+     */
+    private NuGet nuget;
+
+    @BeforeEach
+    void init() throws Exception {
+        final SearchIndex index = new SearchIndex();
+        final Repository repo = new AstoRepository(
+            new InMemoryStorage(), Workers.SHARED, index
+        );
+        repo.add(new NewtonJsonResource("newtonsoft.json.12.0.3.nupkg").content())
+            .toCompletableFuture().join();
+        this.nuget = new NuGet(
+            new URL("http://localhost:4321/repo"),
+            repo,
+            Permissions.FREE,
+            Authentication.ANONYMOUS,
+            new NuGet.Options().withSearch(index)
+        );
+    }
+
+    @Test
+    void shouldCompleteId() {
+        MatcherAssert.assertThat(
+            this.get("/autocomplete?q=newt&take=5"),
+            new AllOf<>(
+                Arrays.asList(
+                    new RsHasStatus(RsStatus.OK),
+                    new RsHasBody(
+                        "{\"totalHits\":1,\"data\":[\"Newtonsoft.Json\"]}",
+                        StandardCharsets.UTF_8
+                    )
+                )
+            )
+        );
+    }
+
+    @Test
+    void shouldListVersions() {
+        MatcherAssert.assertThat(
+            this.get("/autocomplete?id=newtonsoft.json"),
+            new RsHasBody("{\"data\":[\"12.0.3\"]}", StandardCharsets.UTF_8)
+        );
+    }
+
+    @Test
+    void shouldFailOnInvalidPaging() {
+        MatcherAssert.assertThat(
+            this.get("/autocomplete?q=newt&take=-1"),
+            new RsHasStatus(RsStatus.BAD_REQUEST)
+        );
+    }
+
+    private Response get(final String uri) {
+        return this.nuget.response(
+            new RequestLine(RqMethod.GET, uri).toString(),
+            Collections.emptyList(),
+            Flowable.empty()
+        );
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+package com.artipie.nuget.http.search;
+
+import com.artipie.asto.ext.PublisherAs;
+import com.artipie.asto.memory.InMemoryStorage;
+import com.artipie.http.Response;
+import com.artipie.http.auth.Authentication;
+import com.artipie.http.auth.Permissions;
+import com.artipie.http.hm.RsHasStatus;
+import com.artipie.http.rq.RequestLine;
+import com.artipie.http.rq.RqMethod;
+import com.artipie.http.rs.RsStatus;
+import com.artipie.nuget.AstoRepository;
+import com.artipie.nuget.NewtonJsonResource;
+import com.artipie.nuget.Repository;
+import com.artipie.nuget.Workers;
+import com.artipie.nuget.http.NuGet;
+import com.artipie.nuget.search.SearchIndex;
+import io.reactivex.Flowable;
+import java.io.ByteArrayInputStream;
+import java.net.URL;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import javax.json.Json;
+import javax.json.JsonObject;
+import javax.json.JsonReader;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link NuGet}.
+ * Package search resource.
+ *
+ * @since 0.8
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
+ */
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+class NuGetPackageSearchTest {
+
+    /**
+     * Tested NuGet slice.
+     */
+    private NuGet nuget;
+
+    @BeforeEach
+    void init() throws Exception {
+        final SearchIndex index = new SearchIndex();
+        final Repository repo = new AstoRepository(
+            new InMemoryStorage(), Workers.SHARED, index
+        );
+        repo.add(new NewtonJsonResource("newtonsoft.json.12.0.3.nupkg").content())
+            .toCompletableFuture().join();
+        this.nuget = new NuGet(
+            new URL("http://localhost:4321/repo"),
+            repo,
+            Permissions.FREE,
+            Authentication.ANONYMOUS,
+            new NuGet.Options().withSearch(index)
+        );
+    }
+
+    @Test
+    void shouldFindPackage() {
+        final Response response = this.get("/query?q=json&skip=0&take=10");
+        MatcherAssert.assertThat(response, new RsHasStatus(RsStatus.OK));
+        final JsonObject json = NuGetPackageSearchTest.json(response);
+        MatcherAssert.assertThat(
+            "Should count hits",
+            json.getInt("totalHits"),
+            new IsEqual<>(1)
+        );
+        final JsonObject pkg = json.getJsonArray("data").getJsonObject(0);
+        MatcherAssert.assertThat(
+            "Should return package id",
+            pkg.getString("id"),
+            new IsEqual<>("Newtonsoft.Json")
+        );
+        MatcherAssert.assertThat(
+            "Should return latest version",
+            pkg.getString("version"),
+            new IsEqual<>("12.0.3")
+        );
+        MatcherAssert.assertThat(
+            "Should return registration URL",
+            pkg.getString("registration"),
+            new IsEqual<>("http://localhost:4321/repo/registrations/newtonsoft.json/index.json")
+        );
+        MatcherAssert.assertThat(
+            "Should return registration leaf URL of version",
+            pkg.getJsonArray("versions").getJsonObject(0).getString("@id"),
+            new IsEqual<>("http://localhost:4321/repo/registrations/newtonsoft.json/12.0.3.json")
+        );
+    }
+
+    @Test
+    void shouldReturnEmptyResults() {
+        MatcherAssert.assertThat(
+            NuGetPackageSearchTest.json(this.get("/query?q=unknown")).getInt("totalHits"),
+            new IsEqual<>(0)
+        );
+    }
+
+    @Test
+    void shouldFailOnInvalidPaging() {
+        MatcherAssert.assertThat(
+            this.get("/query?q=json&skip=abc"),
+            new RsHasStatus(RsStatus.BAD_REQUEST)
+        );
+    }
+
+    @Test
+    void shouldFailPutSearch() {
+        final Response response = this.nuget.response(
+            new RequestLine(RqMethod.PUT, "/query").toString(),
+            Collections.emptyList(),
+            Flowable.empty()
+        );
+        MatcherAssert.assertThat(response, new RsHasStatus(RsStatus.METHOD_NOT_ALLOWED));
+    }
+
+    private Response get(final String uri) {
+        return this.nuget.response(
+            new RequestLine(RqMethod.GET, uri).toString(),
+            Collections.emptyList(),
+            Flowable.empty()
+        );
+    }
+
+    private static JsonObject json(final Response response) {
+        final CompletableFuture<byte[]> bytes = new CompletableFuture<>();
+        response.send(
+            (status, headers, body) -> new PublisherAs(body).bytes().thenAccept(bytes::complete)
+        ).toCompletableFuture().join();
+        try (JsonReader reader = Json.createReader(new ByteArrayInputStream(bytes.join()))) {
+            return reader.readObject();
+        }
+    }
+}
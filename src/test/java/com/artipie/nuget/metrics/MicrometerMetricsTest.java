@@ -0,0 +1,47 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+
+package com.artipie.nuget.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.TimeUnit;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link MicrometerMetrics}.
+ *
+ * @since 0.8
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+class MicrometerMetricsTest {
+
+    @Test
+    void shouldRecordTimer() {
+        final MeterRegistry registry = new SimpleMeterRegistry();
+        final Metrics metrics = new MicrometerMetrics(registry);
+        metrics.time("foo.calls", TimeUnit.MILLISECONDS.toNanos(3), "method", "get");
+        metrics.time("foo.calls", TimeUnit.MILLISECONDS.toNanos(5), "method", "get");
+        MatcherAssert.assertThat(
+            registry.timer("foo.calls", "method", "get").totalTime(TimeUnit.MILLISECONDS),
+            new IsEqual<>(8.0)
+        );
+    }
+
+    @Test
+    void shouldIncrementCounter() {
+        final MeterRegistry registry = new SimpleMeterRegistry();
+        final Metrics metrics = new MicrometerMetrics(registry);
+        metrics.count("foo.bytes", 10, "direction", "in");
+        metrics.count("foo.bytes", 32, "direction", "in");
+        MatcherAssert.assertThat(
+            registry.counter("foo.bytes", "direction", "in").count(),
+            new IsEqual<>(42.0)
+        );
+    }
+}
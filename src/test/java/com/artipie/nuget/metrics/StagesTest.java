@@ -0,0 +1,60 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+
+package com.artipie.nuget.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link Stages}.
+ *
+ * @since 0.8
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+class StagesTest {
+
+    @Test
+    void shouldFormatServerTiming() {
+        final Stages stages = new Stages();
+        stages.record("decode", TimeUnit.MICROSECONDS.toNanos(1250));
+        stages.record("lock", TimeUnit.MILLISECONDS.toNanos(3));
+        MatcherAssert.assertThat(
+            stages.header(),
+            new IsEqual<>("decode;dur=1.250, lock;dur=3.000")
+        );
+    }
+
+    @Test
+    void shouldRecordFailedStage() {
+        final MeterRegistry registry = new SimpleMeterRegistry();
+        final Stages stages = new Stages(new MicrometerMetrics(registry));
+        final CompletableFuture<Void> failed = new CompletableFuture<>();
+        failed.completeExceptionally(new IllegalStateException());
+        Assertions.assertThrows(
+            CompletionException.class,
+            () -> stages.timed("move", () -> failed).toCompletableFuture().join()
+        );
+        MatcherAssert.assertThat(
+            "Should report stage in header",
+            stages.header(),
+            Matchers.startsWith("move;dur=")
+        );
+        MatcherAssert.assertThat(
+            "Should record stage to metrics",
+            registry.timer("nuget.publish.stages", "stage", "move").count(),
+            new IsEqual<>(1L)
+        );
+    }
+}
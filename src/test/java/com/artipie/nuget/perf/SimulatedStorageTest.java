@@ -0,0 +1,138 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+
+package com.artipie.nuget.perf;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.asto.ext.PublisherAs;
+import com.artipie.asto.memory.InMemoryStorage;
+import com.artipie.nuget.AstoRepository;
+import com.artipie.nuget.NewtonJsonResource;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link SimulatedStorage}.
+ *
+ * @since 0.8
+ * @checkstyle MagicNumberCheck (500 lines)
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
+ */
+class SimulatedStorageTest {
+
+    /**
+     * Test key.
+     */
+    private static final Key KEY = new Key.From("foo", "bar.json");
+
+    @Test
+    void shouldCountOperations() {
+        final InMemoryStorage origin = new InMemoryStorage();
+        final SimulatedStorage storage = new SimulatedStorage(origin);
+        new AstoRepository(storage).add(
+            new NewtonJsonResource("newtonsoft.json.12.0.3.nupkg").content()
+        ).toCompletableFuture().join();
+        final Map<SimulatedStorage.Operation, Long> counts = storage.counts();
+        MatcherAssert.assertThat(
+            "Should count lock and operations under lock",
+            counts.get(SimulatedStorage.Operation.EXCLUSIVELY),
+            new IsEqual<>(1L)
+        );
+        MatcherAssert.assertThat(
+            "Should count moves",
+            counts.get(SimulatedStorage.Operation.MOVE),
+            new IsEqual<>(1L)
+        );
+        MatcherAssert.assertThat(
+            "Should count saves",
+            counts.get(SimulatedStorage.Operation.SAVE),
+            Matchers.greaterThan(1L)
+        );
+    }
+
+    @Test
+    void shouldAddLatency() {
+        final SimulatedStorage storage = new SimulatedStorage(
+            new InMemoryStorage(), new Latency.Fixed(Duration.ofMillis(50))
+        );
+        final long start = System.nanoTime();
+        storage.exists(SimulatedStorageTest.KEY).join();
+        MatcherAssert.assertThat(
+            System.nanoTime() - start,
+            Matchers.greaterThanOrEqualTo(Duration.ofMillis(50).toNanos())
+        );
+    }
+
+    @Test
+    void shouldLimitConcurrency() {
+        final Map<SimulatedStorage.Operation, Latency> latencies =
+            new EnumMap<>(SimulatedStorage.Operation.class);
+        latencies.put(SimulatedStorage.Operation.EXISTS, new Latency.Fixed(Duration.ofMillis(50)));
+        final SimulatedStorage storage = new SimulatedStorage(
+            new InMemoryStorage(), latencies, 0, 1
+        );
+        final long start = System.nanoTime();
+        CompletableFuture.allOf(
+            storage.exists(SimulatedStorageTest.KEY),
+            storage.exists(SimulatedStorageTest.KEY),
+            storage.exists(SimulatedStorageTest.KEY)
+        ).join();
+        MatcherAssert.assertThat(
+            System.nanoTime() - start,
+            Matchers.greaterThanOrEqualTo(Duration.ofMillis(150).toNanos())
+        );
+    }
+
+    @Test
+    void shouldLimitBandwidth() {
+        final InMemoryStorage origin = new InMemoryStorage();
+        origin.save(SimulatedStorageTest.KEY, new Content.From(new byte[1000])).join();
+        final SimulatedStorage storage = new SimulatedStorage(
+            origin, Collections.emptyMap(), 10_000, Integer.MAX_VALUE
+        );
+        final long start = System.nanoTime();
+        final byte[] bytes = storage.value(SimulatedStorageTest.KEY)
+            .thenApply(PublisherAs::new)
+            .thenCompose(PublisherAs::bytes)
+            .toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            "Should read content",
+            bytes.length,
+            new IsEqual<>(1000)
+        );
+        MatcherAssert.assertThat(
+            "Should read content at bandwidth rate",
+            System.nanoTime() - start,
+            Matchers.greaterThanOrEqualTo(Duration.ofMillis(100).toNanos())
+        );
+    }
+
+    @Test
+    void shouldSampleLogNormalLatency() {
+        final Latency latency = new Latency.LogNormal(
+            Duration.ofMillis(20), Duration.ofMillis(150)
+        );
+        int below = 0;
+        final int count = 10_000;
+        for (int num = 0; num < count; num += 1) {
+            if (latency.next().compareTo(Duration.ofMillis(20)) < 0) {
+                below += 1;
+            }
+        }
+        MatcherAssert.assertThat(
+            "Half of samples should be below median",
+            (double) below / count,
+            Matchers.closeTo(0.5, 0.05)
+        );
+    }
+}
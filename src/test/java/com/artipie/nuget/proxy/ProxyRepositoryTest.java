@@ -0,0 +1,247 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+
+package com.artipie.nuget.proxy;
+
+import com.artipie.asto.Key;
+import com.artipie.asto.Storage;
+import com.artipie.asto.ext.PublisherAs;
+import com.artipie.asto.memory.InMemoryStorage;
+import com.artipie.http.auth.Authentication;
+import com.artipie.http.auth.Permissions;
+import com.artipie.http.misc.RandomFreePort;
+import com.artipie.nuget.AstoRepository;
+import com.artipie.nuget.NewtonJsonResource;
+import com.artipie.nuget.PackageIdentity;
+import com.artipie.nuget.PackageKeys;
+import com.artipie.nuget.ReadOnlyRepositoryException;
+import com.artipie.nuget.Versions;
+import com.artipie.nuget.Workers;
+import com.artipie.nuget.http.NuGet;
+import com.artipie.nuget.metadata.NuspecField;
+import com.artipie.nuget.metadata.PackageId;
+import com.artipie.nuget.metadata.Version;
+import com.artipie.nuget.metrics.MicrometerMetrics;
+import com.artipie.vertx.VertxSliceServer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.net.URL;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Collectors;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.hamcrest.core.IsEqual;
+import org.hamcrest.core.IsInstanceOf;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link ProxyRepository}.
+ * Upstream is NuGet repository served by in-process HTTP server.
+ *
+ * @since 0.8
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+@SuppressWarnings({"PMD.AvoidDuplicateLiterals", "PMD.TooManyMethods"})
+class ProxyRepositoryTest {
+
+    /**
+     * Upstream repository storage.
+     */
+    private Storage remote;
+
+    /**
+     * Upstream HTTP server.
+     */
+    private VertxSliceServer server;
+
+    /**
+     * Upstream service index URL.
+     */
+    private URL index;
+
+    /**
+     * Cache storage.
+     */
+    private Storage cache;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        this.remote = new InMemoryStorage();
+        new AstoRepository(this.remote)
+            .add(new NewtonJsonResource("newtonsoft.json.12.0.3.nupkg").content())
+            .toCompletableFuture().join();
+        final int port = new RandomFreePort().get();
+        final URL base = new URL(String.format("http://localhost:%d", port));
+        this.server = new VertxSliceServer(
+            new NuGet(
+                base,
+                new AstoRepository(this.remote),
+                Permissions.FREE,
+                Authentication.ANONYMOUS
+            ),
+            port
+        );
+        this.server.start();
+        this.index = new URL(base, "/index.json");
+        this.cache = new InMemoryStorage();
+    }
+
+    @AfterEach
+    void tearDown() {
+        this.server.stop();
+    }
+
+    @Test
+    void shouldProxyAndCachePackage() {
+        final Key key = ProxyRepositoryTest.identity().nupkgKey();
+        MatcherAssert.assertThat(
+            "Should read package from upstream",
+            new PublisherAs(
+                this.proxy(Duration.ofMinutes(1)).content(key).toCompletableFuture().join().get()
+            ).bytes().toCompletableFuture().join(),
+            new IsEqual<>(new NewtonJsonResource("newtonsoft.json.12.0.3.nupkg").bytes())
+        );
+        MatcherAssert.assertThat(
+            "Should cache package",
+            this.cache.exists(key).join(),
+            new IsEqual<>(true)
+        );
+    }
+
+    @Test
+    void shouldReadVersionsAndNuspec() {
+        final ProxyRepository proxy = this.proxy(Duration.ofMinutes(1));
+        MatcherAssert.assertThat(
+            "Should read versions from upstream",
+            ProxyRepositoryTest.versions(proxy),
+            Matchers.contains("12.0.3")
+        );
+        MatcherAssert.assertThat(
+            "Should read nuspec from upstream",
+            proxy.nuspec(ProxyRepositoryTest.identity()).toCompletableFuture().join()
+                .id().raw(),
+            new IsEqual<>("Newtonsoft.Json")
+        );
+    }
+
+    @Test
+    void shouldServeCacheWhenUpstreamIsDown() {
+        final ProxyRepository proxy = this.proxy(Duration.ZERO);
+        ProxyRepositoryTest.versions(proxy);
+        proxy.nuspec(ProxyRepositoryTest.identity()).toCompletableFuture().join();
+        this.server.stop();
+        MatcherAssert.assertThat(
+            "Should serve cached versions",
+            ProxyRepositoryTest.versions(proxy),
+            Matchers.contains("12.0.3")
+        );
+        MatcherAssert.assertThat(
+            "Should serve cached nuspec",
+            proxy.nuspec(ProxyRepositoryTest.identity()).toCompletableFuture().join()
+                .version().raw(),
+            new IsEqual<>("12.0.3")
+        );
+    }
+
+    @Test
+    void shouldRefreshVersionsAfterTtl() {
+        final ProxyRepository fresh = this.proxy(Duration.ofMinutes(1));
+        final ProxyRepository stale = this.proxy(Duration.ZERO);
+        ProxyRepositoryTest.versions(fresh);
+        ProxyRepositoryTest.versions(stale);
+        new Versions().add(new Version("12.0.3")).add(new Version("13.0.1"))
+            .save(this.remote, new PackageKeys("newtonsoft.json").versionsKey()).join();
+        MatcherAssert.assertThat(
+            "Should serve fresh cached versions",
+            ProxyRepositoryTest.versions(fresh),
+            Matchers.contains("12.0.3")
+        );
+        MatcherAssert.assertThat(
+            "Should refresh stale cached versions",
+            ProxyRepositoryTest.versions(stale),
+            Matchers.contains("12.0.3", "13.0.1")
+        );
+    }
+
+    @Test
+    void shouldNotFindAbsentPackage() {
+        MatcherAssert.assertThat(
+            this.proxy(Duration.ofMinutes(1))
+                .content(new Key.From("absent", "1.0.0", "absent.1.0.0.nupkg"))
+                .toCompletableFuture().join().isPresent(),
+            new IsEqual<>(false)
+        );
+    }
+
+    @Test
+    void shouldCountCacheLookups() {
+        final MeterRegistry registry = new SimpleMeterRegistry();
+        final ProxyRepository proxy = new ProxyRepository(
+            this.index,
+            new HttpUpstream(Workers.SHARED.blocking(), Duration.ofSeconds(5)),
+            this.cache,
+            Workers.SHARED,
+            Clock.systemUTC(),
+            Duration.ofMinutes(1),
+            new MicrometerMetrics(registry)
+        );
+        final Key key = ProxyRepositoryTest.identity().nupkgKey();
+        for (int read = 0; read < 2; read += 1) {
+            new PublisherAs(proxy.content(key).toCompletableFuture().join().get())
+                .bytes().toCompletableFuture().join();
+        }
+        MatcherAssert.assertThat(
+            "Should count service index and package fetches as misses",
+            registry.counter("nuget.proxy.cache", "result", "miss").count(),
+            new IsEqual<>(2.0)
+        );
+        MatcherAssert.assertThat(
+            "Should count cached package read as hit",
+            registry.counter("nuget.proxy.cache", "result", "hit").count(),
+            new IsEqual<>(1.0)
+        );
+    }
+
+    @Test
+    void shouldFailToAddPackage() {
+        final CompletionException err = Assertions.assertThrows(
+            CompletionException.class,
+            () -> this.proxy(Duration.ofMinutes(1))
+                .add(new NewtonJsonResource("newtonsoft.json.12.0.3.nupkg").content())
+                .toCompletableFuture().join()
+        );
+        MatcherAssert.assertThat(
+            err.getCause(),
+            new IsInstanceOf(ReadOnlyRepositoryException.class)
+        );
+    }
+
+    private ProxyRepository proxy(final Duration ttl) {
+        return new ProxyRepository(
+            this.index,
+            new HttpUpstream(Workers.SHARED.blocking(), Duration.ofSeconds(5)),
+            this.cache,
+            Workers.SHARED,
+            Clock.systemUTC(),
+            ttl
+        );
+    }
+
+    private static PackageIdentity identity() {
+        return new PackageIdentity(new PackageId("Newtonsoft.Json"), new Version("12.0.3"));
+    }
+
+    private static List<String> versions(final ProxyRepository proxy) {
+        return proxy.versions(new PackageKeys("Newtonsoft.Json")).toCompletableFuture().join()
+            .all().stream().map(NuspecField::raw).collect(Collectors.toList());
+    }
+}
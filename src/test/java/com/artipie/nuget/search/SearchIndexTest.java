@@ -0,0 +1,240 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+
+package com.artipie.nuget.search;
+
+import com.artipie.nuget.metadata.Nuspec;
+import com.artipie.nuget.metadata.PackageId;
+import com.artipie.nuget.metadata.Version;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link SearchIndex}.
+ *
+ * @since 0.8
+ * @checkstyle MagicNumberCheck (500 lines)
+ * @checkstyle ParameterNumberCheck (500 lines)
+ */
+@SuppressWarnings(
+    {"PMD.AvoidDuplicateLiterals", "PMD.TooManyMethods", "PMD.UseObjectForClearerAPI"}
+)
+class SearchIndexTest {
+
+    /**
+     * Index being tested.
+     */
+    private SearchIndex index;
+
+    @BeforeEach
+    void init() {
+        this.index = new SearchIndex();
+        this.add("Newtonsoft.Json", "12.0.3", "Json.NET", "json", "James Newton-King");
+        this.add("Json.Lite", "1.0.0", "Lite", "json serializer", "Artipie");
+        this.add("Serilog", "2.10.0", "Serilog", "logging", "Serilog Contributors");
+        this.add("Serilog.Sinks.Json", "3.0.0-beta", "Sink", "logging json", "Artipie");
+    }
+
+    @Test
+    void shouldRankIdMatchesFirst() {
+        this.add("Serializer.Core", "1.0.0", "Core", "core", "Artipie");
+        MatcherAssert.assertThat(
+            this.ids(this.index.search("serializer", false, 0, 10)),
+            Matchers.contains("Serializer.Core", "Json.Lite")
+        );
+    }
+
+    @Test
+    void shouldRankExactIdFirst() {
+        MatcherAssert.assertThat(
+            this.ids(this.index.search("serilog", false, 0, 10)).get(0),
+            new IsEqual<>("Serilog")
+        );
+    }
+
+    @Test
+    void shouldIncludePrerelease() {
+        MatcherAssert.assertThat(
+            this.ids(this.index.search("json", true, 0, 10)),
+            Matchers.containsInAnyOrder("Json.Lite", "Newtonsoft.Json", "Serilog.Sinks.Json")
+        );
+    }
+
+    @Test
+    void shouldMatchAllTermsByPrefix() {
+        MatcherAssert.assertThat(
+            this.ids(this.index.search("seri sink", true, 0, 10)),
+            Matchers.contains("Serilog.Sinks.Json")
+        );
+    }
+
+    @Test
+    void shouldSearchByAuthors() {
+        MatcherAssert.assertThat(
+            this.ids(this.index.search("artipie", true, 0, 10)),
+            Matchers.containsInAnyOrder("Json.Lite", "Serilog.Sinks.Json")
+        );
+    }
+
+    @Test
+    void shouldFilterByPackageId() {
+        MatcherAssert.assertThat(
+            this.ids(this.index.search("packageid:newtonsoft.json", false, 0, 10)),
+            Matchers.contains("Newtonsoft.Json")
+        );
+    }
+
+    @Test
+    void shouldPageResults() {
+        final SearchResults results = this.index.search("", true, 1, 2);
+        MatcherAssert.assertThat(
+            "Total hits should count all packages",
+            results.total(),
+            new IsEqual<>(4)
+        );
+        MatcherAssert.assertThat(
+            "Page should be ordered by id",
+            this.ids(results),
+            Matchers.contains("Newtonsoft.Json", "Serilog")
+        );
+    }
+
+    @Test
+    void shouldListVersionsAndLatestDetails() {
+        this.add("Newtonsoft.Json", "13.0.1", "Json.NET 13", "json", "Newtonsoft");
+        this.add("Newtonsoft.Json", "12.0.1", "Json.NET old", "json", "Newtonsoft");
+        final PackageSummary pkg = this.index.search("newtonsoft", false, 0, 1)
+            .packages().get(0);
+        MatcherAssert.assertThat(
+            "Should return latest version",
+            pkg.version().normalized(),
+            new IsEqual<>("13.0.1")
+        );
+        MatcherAssert.assertThat(
+            "Should return description of latest version",
+            pkg.description(),
+            new IsEqual<>("Json.NET 13")
+        );
+        MatcherAssert.assertThat(
+            "Should return all versions",
+            pkg.versions().stream().map(v -> v.normalized()).collect(Collectors.toList()),
+            Matchers.contains("12.0.1", "12.0.3", "13.0.1")
+        );
+    }
+
+    @Test
+    void shouldForgetTermsOfOldVersion() {
+        this.add("Serilog", "3.0.0", "Structured events", "events", "Serilog Contributors");
+        MatcherAssert.assertThat(
+            this.index.search("logging", false, 0, 10).total(),
+            new IsEqual<>(0)
+        );
+    }
+
+    @Test
+    void shouldSearchStableTermsWithoutPrerelease() {
+        this.add("Serilog", "3.0.0-dev", "Structured events", "events", "Serilog Contributors");
+        MatcherAssert.assertThat(
+            "Should match terms of latest stable version",
+            this.ids(this.index.search("logging", false, 0, 10)),
+            Matchers.contains("Serilog")
+        );
+        MatcherAssert.assertThat(
+            "Should not match terms of pre-release version",
+            this.index.search("events", false, 0, 10).total(),
+            new IsEqual<>(0)
+        );
+        MatcherAssert.assertThat(
+            "Should match terms of pre-release version if included",
+            this.ids(this.index.search("events", true, 0, 10)),
+            Matchers.contains("Serilog")
+        );
+    }
+
+    @Test
+    void shouldListAddedPackageByEmptyQuery() {
+        MatcherAssert.assertThat(
+            "Should list stable packages",
+            this.index.search("", false, 0, 10).total(),
+            new IsEqual<>(3)
+        );
+        this.add("Autofac", "6.1.0", "Autofac", "ioc", "Autofac Contributors");
+        MatcherAssert.assertThat(
+            "Should list added package",
+            this.ids(this.index.search("", false, 0, 2)),
+            Matchers.contains("Autofac", "Json.Lite")
+        );
+    }
+
+    @Test
+    void shouldCompleteIdByPrefix() {
+        final Completions completions = this.index.complete("SERI", true, 0, 10);
+        MatcherAssert.assertThat(
+            "Should count all completions",
+            completions.total(),
+            new IsEqual<>(2)
+        );
+        MatcherAssert.assertThat(
+            "Should return ids in original case ordered alphabetically",
+            completions.ids(),
+            Matchers.contains("Serilog", "Serilog.Sinks.Json")
+        );
+    }
+
+    @Test
+    void shouldNotCompleteWithPrereleaseOnly() {
+        MatcherAssert.assertThat(
+            this.index.complete("serilog.", false, 0, 10).ids(),
+            Matchers.empty()
+        );
+    }
+
+    @Test
+    void shouldListVersionsOfId() {
+        this.add("Serilog", "2.11.0-dev", "Serilog", "logging", "Serilog Contributors");
+        MatcherAssert.assertThat(
+            this.index.versions(new PackageId("serilog"), true).stream()
+                .map(Version::normalized)
+                .collect(Collectors.toList()),
+            Matchers.contains("2.10.0", "2.11.0-dev")
+        );
+    }
+
+    @Test
+    void shouldListNoVersionsOfUnknownId() {
+        MatcherAssert.assertThat(
+            this.index.versions(new PackageId("unknown"), true),
+            Matchers.empty()
+        );
+    }
+
+    private List<String> ids(final SearchResults results) {
+        return results.packages().stream()
+            .map(pkg -> pkg.id().raw())
+            .collect(Collectors.toList());
+    }
+
+    private void add(final String id, final String version, final String description,
+        final String tags, final String authors) {
+        this.index.added(
+            new Nuspec.Xml(
+                String.join(
+                    "",
+                    "<?xml version=\"1.0\"?><package><metadata>",
+                    String.format("<id>%s</id><version>%s</version>", id, version),
+                    String.format("<description>%s</description>", description),
+                    String.format("<authors>%s</authors><tags>%s</tags>", authors, tags),
+                    "</metadata></package>"
+                ).getBytes(StandardCharsets.UTF_8)
+            )
+        ).toCompletableFuture().join();
+    }
+}
@@ -0,0 +1,11 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2021 artipie.com
+ * https://github.com/nuget-adapter/artipie/LICENSE.txt
+ */
+
+/**
+ * Tests for in-memory search over NuGet packages.
+ *
+ * @since 0.8
+ */
+package com.artipie.nuget.search;